@@ -3,9 +3,11 @@ package com.quizgen.app;
 import org.mybatis.spring.annotation.MapperScan;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @MapperScan("com.quizgen.app.**.mapper")
 @SpringBootApplication
+@EnableScheduling
 public class QuizGenApplication {
 
     public static void main(String[] args) {
@@ -0,0 +1,46 @@
+package com.quizgen.app.ai.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "app.llm-cache")
+public class LlmCacheProperties {
+
+    private boolean enabled = true;
+    private int memoryEntries = 512;
+    private int ttlHours = 168;
+    private int purgeIntervalMinutes = 60;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getMemoryEntries() {
+        return Math.max(0, memoryEntries);
+    }
+
+    public void setMemoryEntries(int memoryEntries) {
+        this.memoryEntries = memoryEntries;
+    }
+
+    public int getTtlHours() {
+        return Math.max(1, ttlHours);
+    }
+
+    public void setTtlHours(int ttlHours) {
+        this.ttlHours = ttlHours;
+    }
+
+    public int getPurgeIntervalMinutes() {
+        return Math.max(1, purgeIntervalMinutes);
+    }
+
+    public void setPurgeIntervalMinutes(int purgeIntervalMinutes) {
+        this.purgeIntervalMinutes = purgeIntervalMinutes;
+    }
+}
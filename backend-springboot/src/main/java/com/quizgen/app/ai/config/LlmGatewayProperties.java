@@ -0,0 +1,64 @@
+package com.quizgen.app.ai.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "app.llm-gateway")
+public class LlmGatewayProperties {
+
+    private int maxConcurrentPerConfig = 16;
+    private long acquireTimeoutMs = 30000L;
+    private int connectTimeoutSeconds = 20;
+    private int requestTimeoutSeconds = 120;
+    private int streamTimeoutSeconds = 600;
+    private int streamIdleTimeoutSeconds = 60;
+
+    public int getMaxConcurrentPerConfig() {
+        return Math.max(1, maxConcurrentPerConfig);
+    }
+
+    public void setMaxConcurrentPerConfig(int maxConcurrentPerConfig) {
+        this.maxConcurrentPerConfig = maxConcurrentPerConfig;
+    }
+
+    public long getAcquireTimeoutMs() {
+        return Math.max(0L, acquireTimeoutMs);
+    }
+
+    public void setAcquireTimeoutMs(long acquireTimeoutMs) {
+        this.acquireTimeoutMs = acquireTimeoutMs;
+    }
+
+    public int getConnectTimeoutSeconds() {
+        return Math.max(1, connectTimeoutSeconds);
+    }
+
+    public void setConnectTimeoutSeconds(int connectTimeoutSeconds) {
+        this.connectTimeoutSeconds = connectTimeoutSeconds;
+    }
+
+    public int getRequestTimeoutSeconds() {
+        return Math.max(1, requestTimeoutSeconds);
+    }
+
+    public void setRequestTimeoutSeconds(int requestTimeoutSeconds) {
+        this.requestTimeoutSeconds = requestTimeoutSeconds;
+    }
+
+    public int getStreamTimeoutSeconds() {
+        return Math.max(getRequestTimeoutSeconds(), streamTimeoutSeconds);
+    }
+
+    public void setStreamTimeoutSeconds(int streamTimeoutSeconds) {
+        this.streamTimeoutSeconds = streamTimeoutSeconds;
+    }
+
+    public int getStreamIdleTimeoutSeconds() {
+        return Math.min(getStreamTimeoutSeconds(), Math.max(1, streamIdleTimeoutSeconds));
+    }
+
+    public void setStreamIdleTimeoutSeconds(int streamIdleTimeoutSeconds) {
+        this.streamIdleTimeoutSeconds = streamIdleTimeoutSeconds;
+    }
+}
@@ -0,0 +1,91 @@
+package com.quizgen.app.ai.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "app.llm-router")
+public class LlmRouterProperties {
+
+    private double ewmaAlpha = 0.2;
+    private int failoverAttempts = 2;
+    private int failureThreshold = 5;
+    private int openSeconds = 30;
+    private boolean hedgeEnabled = true;
+    private int hedgePercentile = 95;
+    private long hedgeMinDelayMs = 500L;
+    private int hedgeMinSamples = 20;
+    private int latencyWindow = 128;
+
+    public double getEwmaAlpha() {
+        return Math.min(1.0, Math.max(0.01, ewmaAlpha));
+    }
+
+    public void setEwmaAlpha(double ewmaAlpha) {
+        this.ewmaAlpha = ewmaAlpha;
+    }
+
+    public int getFailoverAttempts() {
+        return Math.max(1, failoverAttempts);
+    }
+
+    public void setFailoverAttempts(int failoverAttempts) {
+        this.failoverAttempts = failoverAttempts;
+    }
+
+    public int getFailureThreshold() {
+        return Math.max(1, failureThreshold);
+    }
+
+    public void setFailureThreshold(int failureThreshold) {
+        this.failureThreshold = failureThreshold;
+    }
+
+    public int getOpenSeconds() {
+        return Math.max(1, openSeconds);
+    }
+
+    public void setOpenSeconds(int openSeconds) {
+        this.openSeconds = openSeconds;
+    }
+
+    public boolean isHedgeEnabled() {
+        return hedgeEnabled;
+    }
+
+    public void setHedgeEnabled(boolean hedgeEnabled) {
+        this.hedgeEnabled = hedgeEnabled;
+    }
+
+    public int getHedgePercentile() {
+        return Math.min(99, Math.max(50, hedgePercentile));
+    }
+
+    public void setHedgePercentile(int hedgePercentile) {
+        this.hedgePercentile = hedgePercentile;
+    }
+
+    public long getHedgeMinDelayMs() {
+        return Math.max(0L, hedgeMinDelayMs);
+    }
+
+    public void setHedgeMinDelayMs(long hedgeMinDelayMs) {
+        this.hedgeMinDelayMs = hedgeMinDelayMs;
+    }
+
+    public int getHedgeMinSamples() {
+        return Math.max(1, hedgeMinSamples);
+    }
+
+    public void setHedgeMinSamples(int hedgeMinSamples) {
+        this.hedgeMinSamples = hedgeMinSamples;
+    }
+
+    public int getLatencyWindow() {
+        return Math.max(getHedgeMinSamples(), latencyWindow);
+    }
+
+    public void setLatencyWindow(int latencyWindow) {
+        this.latencyWindow = latencyWindow;
+    }
+}
@@ -1,22 +1,34 @@
 package com.quizgen.app.ai.controller;
 
+import com.quizgen.app.ai.config.LlmGatewayProperties;
 import com.quizgen.app.ai.dto.ErrorAnalysisRequest;
 import com.quizgen.app.ai.dto.TestConnectionRequest;
 import com.quizgen.app.ai.service.AiService;
 import com.quizgen.app.common.api.ApiResponse;
+import com.quizgen.app.common.error.BusinessException;
 import jakarta.validation.Valid;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 @RestController
 @RequestMapping("/api/ai")
 public class AiController {
 
     private final AiService aiService;
+    private final LlmGatewayProperties llmGatewayProperties;
 
-    public AiController(AiService aiService) {
+    public AiController(AiService aiService, LlmGatewayProperties llmGatewayProperties) {
         this.aiService = aiService;
+        this.llmGatewayProperties = llmGatewayProperties;
     }
 
     @PostMapping("/explanation/{questionId}")
@@ -27,6 +39,14 @@ public class AiController {
         return ApiResponse.ok(aiService.generateExplanation(questionId, Boolean.TRUE.equals(force)));
     }
 
+    @PostMapping(value = "/explanation/{questionId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamExplanation(
+            @PathVariable("questionId") String questionId,
+            @RequestParam(value = "force", required = false) Boolean force
+    ) {
+        return relay(onDelta -> aiService.streamExplanation(questionId, Boolean.TRUE.equals(force), onDelta));
+    }
+
     @GetMapping("/explanation/{questionId}")
     public ApiResponse<Map<String, Object>> getExplanation(@PathVariable("questionId") String questionId) {
         return ApiResponse.ok(aiService.getExplanation(questionId));
@@ -41,6 +61,15 @@ public class AiController {
         return ApiResponse.ok(aiService.generateErrorAnalysis(questionId, request.getUserAnswer(), Boolean.TRUE.equals(force)));
     }
 
+    @PostMapping(value = "/error-analysis/{questionId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamErrorAnalysis(
+            @PathVariable("questionId") String questionId,
+            @Valid @RequestBody ErrorAnalysisRequest request,
+            @RequestParam(value = "force", required = false) Boolean force
+    ) {
+        return relay(onDelta -> aiService.streamErrorAnalysis(questionId, request.getUserAnswer(), Boolean.TRUE.equals(force), onDelta));
+    }
+
     @GetMapping("/error-analysis/{questionId}")
     public ApiResponse<Map<String, Object>> getErrorAnalysis(
             @PathVariable("questionId") String questionId,
@@ -75,6 +104,14 @@ public class AiController {
         return ApiResponse.ok(aiService.generateKnowledgeTree(questionId, Boolean.TRUE.equals(force)));
     }
 
+    @PostMapping(value = "/knowledge-tree/{questionId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamKnowledgeTree(
+            @PathVariable("questionId") String questionId,
+            @RequestParam(value = "force", required = false) Boolean force
+    ) {
+        return relay(onDelta -> aiService.streamKnowledgeTree(questionId, Boolean.TRUE.equals(force), onDelta));
+    }
+
     @GetMapping("/knowledge-tree/{questionId}")
     public ApiResponse<Map<String, Object>> getKnowledgeTree(@PathVariable("questionId") String questionId) {
         return ApiResponse.ok(aiService.getKnowledgeTree(questionId));
@@ -88,6 +125,14 @@ public class AiController {
         return ApiResponse.ok(aiService.generateDesignProcess(questionId, Boolean.TRUE.equals(force)));
     }
 
+    @PostMapping(value = "/design-process/{questionId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamDesignProcess(
+            @PathVariable("questionId") String questionId,
+            @RequestParam(value = "force", required = false) Boolean force
+    ) {
+        return relay(onDelta -> aiService.streamDesignProcess(questionId, Boolean.TRUE.equals(force), onDelta));
+    }
+
     @GetMapping("/design-process/{questionId}")
     public ApiResponse<Map<String, Object>> getDesignProcess(@PathVariable("questionId") String questionId) {
         return ApiResponse.ok(aiService.getDesignProcess(questionId));
@@ -116,4 +161,41 @@ public class AiController {
         int count = aiService.clearVariants();
         return ApiResponse.ok(Map.of("count", count));
     }
+
+    private SseEmitter relay(Function<Consumer<String>, CompletableFuture<Map<String, Object>>> generation) {
+        SseEmitter emitter = new SseEmitter(TimeUnit.SECONDS.toMillis(llmGatewayProperties.getStreamTimeoutSeconds()));
+        CompletableFuture<Map<String, Object>> future;
+        try {
+            future = generation.apply(delta -> send(emitter, "delta", Map.of("content", delta)));
+        } catch (RuntimeException ex) {
+            fail(emitter, ex);
+            return emitter;
+        }
+        future.whenComplete((result, error) -> {
+            if (error != null) {
+                fail(emitter, error);
+                return;
+            }
+            send(emitter, "done", ApiResponse.ok(result));
+            emitter.complete();
+        });
+        return emitter;
+    }
+
+    private void fail(SseEmitter emitter, Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (cause instanceof BusinessException business) {
+            send(emitter, "error", ApiResponse.fail(business.getCode(), business.getMessage()));
+        } else {
+            send(emitter, "error", ApiResponse.fail(50000, cause.getMessage()));
+        }
+        emitter.complete();
+    }
+
+    private void send(SseEmitter emitter, String event, Object data) {
+        try {
+            emitter.send(SseEmitter.event().name(event).data(data, MediaType.APPLICATION_JSON));
+        } catch (IOException | IllegalStateException ignored) {
+        }
+    }
 }
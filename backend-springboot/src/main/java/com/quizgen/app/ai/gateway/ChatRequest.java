@@ -0,0 +1,25 @@
+package com.quizgen.app.ai.gateway;
+
+public class ChatRequest {
+
+    private String systemPrompt;
+    private String userPrompt;
+    private Integer maxTokens;
+    private Double temperature;
+
+    public static ChatRequest of(String systemPrompt, String userPrompt) {
+        ChatRequest request = new ChatRequest();
+        request.setSystemPrompt(systemPrompt);
+        request.setUserPrompt(userPrompt);
+        return request;
+    }
+
+    public String getSystemPrompt() { return systemPrompt; }
+    public void setSystemPrompt(String systemPrompt) { this.systemPrompt = systemPrompt; }
+    public String getUserPrompt() { return userPrompt; }
+    public void setUserPrompt(String userPrompt) { this.userPrompt = userPrompt; }
+    public Integer getMaxTokens() { return maxTokens; }
+    public void setMaxTokens(Integer maxTokens) { this.maxTokens = maxTokens; }
+    public Double getTemperature() { return temperature; }
+    public void setTemperature(Double temperature) { this.temperature = temperature; }
+}
@@ -0,0 +1,27 @@
+package com.quizgen.app.ai.gateway;
+
+public class ChatResult {
+
+    private String content;
+    private String model;
+    private int promptTokens;
+    private int completionTokens;
+    private long latencyMillis;
+    private Long firstDeltaMillis;
+    private Long configId;
+
+    public String getContent() { return content; }
+    public void setContent(String content) { this.content = content; }
+    public String getModel() { return model; }
+    public void setModel(String model) { this.model = model; }
+    public int getPromptTokens() { return promptTokens; }
+    public void setPromptTokens(int promptTokens) { this.promptTokens = promptTokens; }
+    public int getCompletionTokens() { return completionTokens; }
+    public void setCompletionTokens(int completionTokens) { this.completionTokens = completionTokens; }
+    public long getLatencyMillis() { return latencyMillis; }
+    public void setLatencyMillis(long latencyMillis) { this.latencyMillis = latencyMillis; }
+    public Long getFirstDeltaMillis() { return firstDeltaMillis; }
+    public void setFirstDeltaMillis(Long firstDeltaMillis) { this.firstDeltaMillis = firstDeltaMillis; }
+    public Long getConfigId() { return configId; }
+    public void setConfigId(Long configId) { this.configId = configId; }
+}
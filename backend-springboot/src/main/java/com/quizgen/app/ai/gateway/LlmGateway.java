@@ -0,0 +1,513 @@
+package com.quizgen.app.ai.gateway;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.quizgen.app.ai.config.LlmGatewayProperties;
+import com.quizgen.app.common.error.BusinessException;
+import com.quizgen.app.common.error.UpstreamStatusException;
+import com.quizgen.app.setting.entity.ApiConfig;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+@Component
+public class LlmGateway {
+
+    private static final String DEFAULT_MODEL = "Qwen/Qwen2.5-7B-Instruct";
+    private static final int DEFAULT_MAX_TOKENS = 4096;
+    private static final double DEFAULT_TEMPERATURE = 0.7;
+    private static final int ERROR_BODY_LIMIT = 500;
+
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final LlmGatewayProperties properties;
+    private final Map<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+
+    public LlmGateway(ObjectMapper objectMapper, MeterRegistry meterRegistry, LlmGatewayProperties properties) {
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.properties = properties;
+    }
+
+    public ChatResult chat(ApiConfig config, ChatRequest chatRequest) {
+        Endpoint endpoint = endpoint(config);
+        HttpRequest request = buildRequest(config, chatRequest, false);
+        endpoint.bulkhead.await();
+        long start = System.nanoTime();
+        try {
+            HttpResponse<String> response = endpoint.client.send(request, HttpResponse.BodyHandlers.ofString());
+            return complete(endpoint, response, start);
+        } catch (IOException | InterruptedException ex) {
+            if (ex instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            record(endpoint, "error", start);
+            throw new BusinessException(50018, "ai request failed: " + ex.getMessage());
+        } finally {
+            endpoint.bulkhead.release();
+        }
+    }
+
+    public CompletableFuture<ChatResult> chatAsync(ApiConfig config, ChatRequest chatRequest) {
+        Endpoint endpoint = endpoint(config);
+        HttpRequest request;
+        try {
+            request = buildRequest(config, chatRequest, false);
+        } catch (BusinessException ex) {
+            return CompletableFuture.failedFuture(ex);
+        }
+        return endpoint.bulkhead.acquire().thenCompose(permit -> {
+            long start = System.nanoTime();
+            return endpoint.client.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+                    .handle((response, error) -> {
+                        endpoint.bulkhead.release();
+                        if (error != null) {
+                            record(endpoint, "error", start);
+                            Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                            throw new BusinessException(50018, "ai request failed: " + cause.getMessage());
+                        }
+                        return complete(endpoint, response, start);
+                    });
+        });
+    }
+
+    public CompletableFuture<ChatResult> stream(ApiConfig config, ChatRequest chatRequest, Consumer<String> onDelta) {
+        Endpoint endpoint = endpoint(config);
+        HttpRequest request;
+        try {
+            request = buildRequest(config, chatRequest, true);
+        } catch (BusinessException ex) {
+            return CompletableFuture.failedFuture(ex);
+        }
+        CompletableFuture<ChatResult> result = new CompletableFuture<>();
+        endpoint.bulkhead.acquire().whenComplete((permit, failure) -> {
+            if (failure != null) {
+                result.completeExceptionally(failure);
+                return;
+            }
+            if (result.isDone()) {
+                endpoint.bulkhead.release();
+                return;
+            }
+            StreamDrain drain = new StreamDrain(endpoint, onDelta, result);
+            CompletableFuture<HttpResponse<Void>> sent = endpoint.client.sendAsync(request,
+                    info -> HttpResponse.BodySubscribers.fromLineSubscriber(drain.open(info)));
+            sent.whenComplete((response, error) -> {
+                if (error != null) {
+                    drain.fail(error);
+                }
+            });
+            result.whenComplete((chat, error) -> {
+                endpoint.bulkhead.release();
+                drain.close();
+                sent.cancel(true);
+            });
+            watch(drain);
+        });
+        return result;
+    }
+
+    static String model(ApiConfig config) {
+        return StringUtils.hasText(config.getModel()) ? config.getModel() : DEFAULT_MODEL;
+    }
+
+    static int maxTokens(ApiConfig config, ChatRequest chatRequest) {
+        if (chatRequest.getMaxTokens() != null) {
+            return chatRequest.getMaxTokens();
+        }
+        return config.getMaxTokens() == null ? DEFAULT_MAX_TOKENS : config.getMaxTokens();
+    }
+
+    static double temperature(ChatRequest chatRequest) {
+        return chatRequest.getTemperature() == null ? DEFAULT_TEMPERATURE : chatRequest.getTemperature();
+    }
+
+    private HttpRequest buildRequest(ApiConfig config, ChatRequest chatRequest, boolean stream) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("model", model(config));
+        payload.put("messages", List.of(message("system", chatRequest.getSystemPrompt()), message("user", chatRequest.getUserPrompt())));
+        payload.put("stream", stream);
+        payload.put("max_tokens", maxTokens(config, chatRequest));
+        payload.put("temperature", temperature(chatRequest));
+        try {
+            return HttpRequest.newBuilder()
+                    .uri(URI.create(config.getApiUrl()))
+                    .header("Authorization", "Bearer " + config.getApiKeyCipher())
+                    .header("Content-Type", "application/json")
+                    .header("Accept", stream ? "text/event-stream" : "application/json")
+                    .timeout(Duration.ofSeconds(properties.getRequestTimeoutSeconds()))
+                    .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(payload)))
+                    .build();
+        } catch (IOException | IllegalArgumentException ex) {
+            throw new BusinessException(50018, "ai request failed: " + ex.getMessage());
+        }
+    }
+
+    private ChatResult complete(Endpoint endpoint, HttpResponse<String> response, long start) {
+        if (response.statusCode() < 200 || response.statusCode() >= 300) {
+            record(endpoint, "status_" + response.statusCode(), start);
+            throw new UpstreamStatusException(50016, response.statusCode(), retryAfterMillis(response), abbreviate(response.body()));
+        }
+        long latency = record(endpoint, "success", start);
+        JsonNode root;
+        try {
+            root = objectMapper.readTree(response.body());
+        } catch (IOException ex) {
+            throw new BusinessException(50017, "api response has no message content");
+        }
+        JsonNode contentNode = root.path("choices").path(0).path("message").path("content");
+        if (contentNode.isMissingNode() || !StringUtils.hasText(contentNode.asText())) {
+            throw new BusinessException(50017, "api response has no message content");
+        }
+        ChatResult result = new ChatResult();
+        result.setContent(contentNode.asText());
+        result.setModel(root.path("model").asText(null));
+        result.setPromptTokens(root.path("usage").path("prompt_tokens").asInt(0));
+        result.setCompletionTokens(root.path("usage").path("completion_tokens").asInt(0));
+        result.setLatencyMillis(TimeUnit.NANOSECONDS.toMillis(latency));
+        endpoint.promptTokens.record(result.getPromptTokens());
+        endpoint.completionTokens.record(result.getCompletionTokens());
+        return result;
+    }
+
+    private void watch(StreamDrain drain) {
+        long remaining = drain.nanosUntilDeadline();
+        if (remaining <= 0) {
+            drain.timeout();
+            return;
+        }
+        CompletableFuture.delayedExecutor(remaining, TimeUnit.NANOSECONDS).execute(() -> {
+            if (!drain.result.isDone()) {
+                watch(drain);
+            }
+        });
+    }
+
+    private long record(Endpoint endpoint, String outcome, long start) {
+        long elapsed = System.nanoTime() - start;
+        Timer.builder("llm.gateway.requests")
+                .tag("config", endpoint.name)
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .record(elapsed, TimeUnit.NANOSECONDS);
+        return elapsed;
+    }
+
+    private Endpoint endpoint(ApiConfig config) {
+        String key = config.getId() == null ? "default" : String.valueOf(config.getId());
+        return endpoints.computeIfAbsent(key, k -> new Endpoint(k));
+    }
+
+    private long retryAfterMillis(HttpResponse<?> response) {
+        return retryAfterMillis(response.headers());
+    }
+
+    private long retryAfterMillis(HttpHeaders headers) {
+        String value = headers.firstValue("Retry-After").orElse(null);
+        if (!StringUtils.hasText(value)) {
+            return 0L;
+        }
+        try {
+            return Long.parseLong(value.trim()) * 1000L;
+        } catch (NumberFormatException ignored) {
+            return 0L;
+        }
+    }
+
+    private String abbreviate(String body) {
+        if (body == null) {
+            return "";
+        }
+        return body.length() > ERROR_BODY_LIMIT ? body.substring(0, ERROR_BODY_LIMIT) : body;
+    }
+
+    private Map<String, String> message(String role, String content) {
+        Map<String, String> map = new LinkedHashMap<>();
+        map.put("role", role);
+        map.put("content", content);
+        return map;
+    }
+
+    private final class StreamDrain implements Flow.Subscriber<String> {
+
+        private final Endpoint endpoint;
+        private final Consumer<String> onDelta;
+        private final long start = System.nanoTime();
+        private final CompletableFuture<ChatResult> result;
+        private final ChatResult chat = new ChatResult();
+        private final StringBuilder content = new StringBuilder();
+        private volatile long lastActivity = start;
+        private volatile Flow.Subscription subscription;
+        private HttpResponse.ResponseInfo info;
+        private StringBuilder errorBody;
+
+        private StreamDrain(Endpoint endpoint, Consumer<String> onDelta, CompletableFuture<ChatResult> result) {
+            this.endpoint = endpoint;
+            this.onDelta = onDelta;
+            this.result = result;
+        }
+
+        private StreamDrain open(HttpResponse.ResponseInfo responseInfo) {
+            info = responseInfo;
+            if (responseInfo.statusCode() < 200 || responseInfo.statusCode() >= 300) {
+                errorBody = new StringBuilder();
+            }
+            return this;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            if (result.isDone()) {
+                subscription.cancel();
+            } else {
+                subscription.request(Long.MAX_VALUE);
+            }
+        }
+
+        @Override
+        public void onNext(String line) {
+            lastActivity = System.nanoTime();
+            if (result.isDone()) {
+                return;
+            }
+            if (errorBody != null) {
+                if (errorBody.length() < ERROR_BODY_LIMIT) {
+                    errorBody.append(line).append('\n');
+                }
+                return;
+            }
+            try {
+                accept(line);
+            } catch (RuntimeException ex) {
+                subscription.cancel();
+                result.completeExceptionally(ex);
+            }
+        }
+
+        @Override
+        public void onError(Throwable error) {
+            fail(error);
+        }
+
+        @Override
+        public void onComplete() {
+            if (result.isDone()) {
+                return;
+            }
+            if (errorBody != null) {
+                record(endpoint, "status_" + info.statusCode(), start);
+                result.completeExceptionally(new UpstreamStatusException(50016, info.statusCode(),
+                        retryAfterMillis(info.headers()), abbreviate(errorBody.toString().trim())));
+                return;
+            }
+            if (!StringUtils.hasText(content)) {
+                record(endpoint, "empty", start);
+                result.completeExceptionally(new BusinessException(50017, "api response has no message content"));
+                return;
+            }
+            long latency = record(endpoint, "success", start);
+            chat.setContent(content.toString());
+            chat.setLatencyMillis(TimeUnit.NANOSECONDS.toMillis(latency));
+            endpoint.promptTokens.record(chat.getPromptTokens());
+            endpoint.completionTokens.record(chat.getCompletionTokens());
+            result.complete(chat);
+        }
+
+        private void accept(String line) {
+            if (!line.startsWith("data:")) {
+                return;
+            }
+            String data = line.substring(5).trim();
+            if ("[DONE]".equals(data)) {
+                subscription.cancel();
+                onComplete();
+                return;
+            }
+            JsonNode chunk;
+            try {
+                chunk = objectMapper.readTree(data);
+            } catch (IOException ex) {
+                return;
+            }
+            if (chunk.hasNonNull("model")) {
+                chat.setModel(chunk.get("model").asText());
+            }
+            JsonNode usage = chunk.path("usage");
+            if (usage.isObject()) {
+                chat.setPromptTokens(usage.path("prompt_tokens").asInt(0));
+                chat.setCompletionTokens(usage.path("completion_tokens").asInt(0));
+            }
+            JsonNode delta = chunk.path("choices").path(0).path("delta").path("content");
+            if (delta.isTextual() && !delta.asText().isEmpty()) {
+                if (content.length() == 0) {
+                    long firstDelta = System.nanoTime() - start;
+                    endpoint.firstToken.record(firstDelta, TimeUnit.NANOSECONDS);
+                    chat.setFirstDeltaMillis(TimeUnit.NANOSECONDS.toMillis(firstDelta));
+                }
+                content.append(delta.asText());
+                onDelta.accept(delta.asText());
+            }
+        }
+
+        private void fail(Throwable error) {
+            Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+            if (result.completeExceptionally(new BusinessException(50018, "ai request failed: " + cause.getMessage()))) {
+                record(endpoint, "error", start);
+            }
+        }
+
+        private void timeout() {
+            if (result.completeExceptionally(new BusinessException(50018, "ai stream stalled, no data for "
+                    + properties.getStreamIdleTimeoutSeconds() + "s or over " + properties.getStreamTimeoutSeconds() + "s in total"))) {
+                record(endpoint, "timeout", start);
+            }
+            close();
+        }
+
+        private void close() {
+            Flow.Subscription current = subscription;
+            if (current != null) {
+                current.cancel();
+            }
+        }
+
+        private long nanosUntilDeadline() {
+            long idleDeadline = lastActivity + TimeUnit.SECONDS.toNanos(properties.getStreamIdleTimeoutSeconds());
+            long totalDeadline = start + TimeUnit.SECONDS.toNanos(properties.getStreamTimeoutSeconds());
+            return Math.min(idleDeadline, totalDeadline) - System.nanoTime();
+        }
+    }
+
+    private final class Bulkhead {
+
+        private final String name;
+        private final int permits;
+        private final ArrayDeque<CompletableFuture<Void>> waiters = new ArrayDeque<>();
+        private int available;
+
+        private Bulkhead(String name, int permits) {
+            this.name = name;
+            this.permits = permits;
+            this.available = permits;
+        }
+
+        private CompletableFuture<Void> acquire() {
+            long timeoutMs = properties.getAcquireTimeoutMs();
+            CompletableFuture<Void> waiter = new CompletableFuture<>();
+            synchronized (this) {
+                if (available > 0 && waiters.isEmpty()) {
+                    available--;
+                    return CompletableFuture.completedFuture(null);
+                }
+                if (timeoutMs <= 0) {
+                    return CompletableFuture.failedFuture(full());
+                }
+                waiters.add(waiter);
+            }
+            CompletableFuture.delayedExecutor(timeoutMs, TimeUnit.MILLISECONDS).execute(() -> expire(waiter));
+            return waiter;
+        }
+
+        private void await() {
+            CompletableFuture<Void> waiter = acquire();
+            try {
+                waiter.get();
+            } catch (ExecutionException ex) {
+                throw full();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                abandon(waiter);
+                throw new BusinessException(50018, "ai request failed: " + ex.getMessage());
+            }
+        }
+
+        private void release() {
+            CompletableFuture<Void> next;
+            synchronized (this) {
+                next = waiters.poll();
+                if (next == null) {
+                    available = Math.min(permits, available + 1);
+                    return;
+                }
+            }
+            next.complete(null);
+        }
+
+        private void expire(CompletableFuture<Void> waiter) {
+            synchronized (this) {
+                if (!waiters.remove(waiter)) {
+                    return;
+                }
+            }
+            waiter.completeExceptionally(full());
+        }
+
+        private void abandon(CompletableFuture<Void> waiter) {
+            synchronized (this) {
+                if (waiters.remove(waiter)) {
+                    return;
+                }
+            }
+            waiter.thenRun(this::release);
+        }
+
+        private synchronized int inFlight() {
+            return permits - available;
+        }
+
+        private BusinessException full() {
+            return new BusinessException(50036, "too many concurrent ai requests for api config " + name);
+        }
+    }
+
+    private final class Endpoint {
+
+        private final String name;
+        private final HttpClient client;
+        private final Bulkhead bulkhead;
+        private final DistributionSummary promptTokens;
+        private final DistributionSummary completionTokens;
+        private final Timer firstToken;
+
+        private Endpoint(String name) {
+            int permits = properties.getMaxConcurrentPerConfig();
+            this.name = name;
+            this.client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_2)
+                    .connectTimeout(Duration.ofSeconds(properties.getConnectTimeoutSeconds()))
+                    .build();
+            this.bulkhead = new Bulkhead(name, permits);
+            this.promptTokens = DistributionSummary.builder("llm.gateway.tokens").tag("config", name).tag("kind", "prompt")
+                    .register(meterRegistry);
+            this.completionTokens = DistributionSummary.builder("llm.gateway.tokens").tag("config", name).tag("kind", "completion")
+                    .register(meterRegistry);
+            this.firstToken = Timer.builder("llm.gateway.first_token").tag("config", name).register(meterRegistry);
+            Gauge.builder("llm.gateway.in_flight", bulkhead, Bulkhead::inFlight)
+                    .tag("config", name)
+                    .register(meterRegistry);
+        }
+    }
+}
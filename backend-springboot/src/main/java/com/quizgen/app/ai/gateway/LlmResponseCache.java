@@ -0,0 +1,193 @@
+package com.quizgen.app.ai.gateway;
+
+import com.quizgen.app.ai.config.LlmCacheProperties;
+import com.quizgen.app.common.util.ContentHash;
+import com.quizgen.app.setting.entity.ApiConfig;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+@Component
+public class LlmResponseCache {
+
+    private static final String METRIC = "llm.cache.requests";
+
+    private final LlmRouter llmRouter;
+    private final JdbcTemplate jdbcTemplate;
+    private final MeterRegistry meterRegistry;
+    private final LlmCacheProperties properties;
+    private final Map<String, Entry> memory = new LinkedHashMap<>(16, 0.75f, true);
+
+    public LlmResponseCache(LlmRouter llmRouter, JdbcTemplate jdbcTemplate, MeterRegistry meterRegistry, LlmCacheProperties properties) {
+        this.llmRouter = llmRouter;
+        this.jdbcTemplate = jdbcTemplate;
+        this.meterRegistry = meterRegistry;
+        this.properties = properties;
+    }
+
+    public ChatResult chat(List<ApiConfig> configs, ChatRequest request, boolean force, boolean hedge) {
+        if (!properties.isEnabled()) {
+            return llmRouter.chat(configs, request, hedge);
+        }
+        if (force) {
+            count("bypass");
+        } else {
+            ChatResult cached = lookup(configs, request);
+            if (cached != null) {
+                return cached;
+            }
+            count("miss");
+        }
+        ChatResult result = llmRouter.chat(configs, request, hedge);
+        store(key(servedBy(configs, result), request), result);
+        return result;
+    }
+
+    public CompletableFuture<ChatResult> stream(List<ApiConfig> configs, ChatRequest request, boolean force, boolean hedge,
+                                              Consumer<String> onDelta) {
+        if (!properties.isEnabled()) {
+            return llmRouter.stream(configs, request, hedge, onDelta);
+        }
+        if (force) {
+            count("bypass");
+        } else {
+            ChatResult cached = lookup(configs, request);
+            if (cached != null) {
+                onDelta.accept(cached.getContent());
+                return CompletableFuture.completedFuture(cached);
+            }
+            count("miss");
+        }
+        return llmRouter.stream(configs, request, hedge, onDelta).thenApply(result -> {
+            store(key(servedBy(configs, result), request), result);
+            return result;
+        });
+    }
+
+    public int purgeExpired() {
+        synchronized (memory) {
+            LocalDateTime now = LocalDateTime.now();
+            memory.values().removeIf(entry -> entry.expiresAt.isBefore(now));
+        }
+        return jdbcTemplate.update("DELETE FROM llm_response_cache WHERE expires_at <= ?", Timestamp.valueOf(LocalDateTime.now()));
+    }
+
+    private ChatResult lookup(List<ApiConfig> configs, ChatRequest request) {
+        Set<String> keys = new LinkedHashSet<>();
+        for (ApiConfig config : configs) {
+            keys.add(key(config, request));
+        }
+        for (String key : keys) {
+            ChatResult cached = lookup(key);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        return null;
+    }
+
+    private ChatResult lookup(String key) {
+        LocalDateTime now = LocalDateTime.now();
+        synchronized (memory) {
+            Entry entry = memory.get(key);
+            if (entry != null) {
+                if (entry.expiresAt.isAfter(now)) {
+                    count("memory_hit");
+                    return copy(entry.result);
+                }
+                memory.remove(key);
+            }
+        }
+        List<Entry> rows = jdbcTemplate.query(
+                "SELECT model, content, prompt_tokens, completion_tokens, expires_at FROM llm_response_cache WHERE cache_key = ? AND expires_at > ?",
+                (rs, rowNum) -> {
+                    ChatResult result = new ChatResult();
+                    result.setModel(rs.getString(1));
+                    result.setContent(rs.getString(2));
+                    result.setPromptTokens(rs.getInt(3));
+                    result.setCompletionTokens(rs.getInt(4));
+                    return new Entry(result, rs.getTimestamp(5).toLocalDateTime());
+                }, key, Timestamp.valueOf(now));
+        if (rows.isEmpty()) {
+            return null;
+        }
+        count("table_hit");
+        remember(key, rows.get(0));
+        return copy(rows.get(0).result);
+    }
+
+    private void store(String key, ChatResult result) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime expiresAt = now.plusHours(properties.getTtlHours());
+        jdbcTemplate.update("INSERT INTO llm_response_cache (cache_key, model, content, prompt_tokens, completion_tokens, created_at, expires_at) "
+                        + "VALUES (?,?,?,?,?,?,?) ON DUPLICATE KEY UPDATE model = VALUES(model), content = VALUES(content), "
+                        + "prompt_tokens = VALUES(prompt_tokens), completion_tokens = VALUES(completion_tokens), "
+                        + "created_at = VALUES(created_at), expires_at = VALUES(expires_at)",
+                key, result.getModel(), result.getContent(), result.getPromptTokens(), result.getCompletionTokens(),
+                Timestamp.valueOf(now), Timestamp.valueOf(expiresAt));
+        remember(key, new Entry(copy(result), expiresAt));
+    }
+
+    private void remember(String key, Entry entry) {
+        int capacity = properties.getMemoryEntries();
+        if (capacity == 0) {
+            return;
+        }
+        synchronized (memory) {
+            memory.put(key, entry);
+            while (memory.size() > capacity) {
+                memory.remove(memory.keySet().iterator().next());
+            }
+        }
+    }
+
+    private ApiConfig servedBy(List<ApiConfig> configs, ChatResult result) {
+        for (ApiConfig config : configs) {
+            if (config.getId() != null && config.getId().equals(result.getConfigId())) {
+                return config;
+            }
+        }
+        return configs.get(0);
+    }
+
+    private String key(ApiConfig config, ChatRequest request) {
+        StringBuilder sb = new StringBuilder();
+        append(sb, LlmGateway.model(config));
+        append(sb, request.getSystemPrompt());
+        append(sb, request.getUserPrompt());
+        append(sb, String.valueOf(LlmGateway.temperature(request)));
+        append(sb, String.valueOf(LlmGateway.maxTokens(config, request)));
+        return ContentHash.sha256(sb.toString());
+    }
+
+    private void append(StringBuilder sb, String value) {
+        String safe = value == null ? "" : value;
+        sb.append(safe.length()).append(':').append(safe).append('\n');
+    }
+
+    private void count(String result) {
+        meterRegistry.counter(METRIC, "result", result).increment();
+    }
+
+    private ChatResult copy(ChatResult source) {
+        ChatResult result = new ChatResult();
+        result.setContent(source.getContent());
+        result.setModel(source.getModel());
+        result.setPromptTokens(source.getPromptTokens());
+        result.setCompletionTokens(source.getCompletionTokens());
+        return result;
+    }
+
+    private record Entry(ChatResult result, LocalDateTime expiresAt) {
+    }
+}
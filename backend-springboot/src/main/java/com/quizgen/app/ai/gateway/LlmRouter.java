@@ -0,0 +1,518 @@
+package com.quizgen.app.ai.gateway;
+
+import com.quizgen.app.ai.config.LlmRouterProperties;
+import com.quizgen.app.common.error.BusinessException;
+import com.quizgen.app.common.util.TokenBucket;
+import com.quizgen.app.common.util.TokenEstimator;
+import com.quizgen.app.setting.entity.ApiConfig;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+@Component
+public class LlmRouter {
+
+    private static final double MIN_SUCCESS_RATE = 0.05;
+    private static final double PREFERRED_MAX_ERROR_RATE = 0.5;
+
+    private final LlmGateway llmGateway;
+    private final MeterRegistry meterRegistry;
+    private final LlmRouterProperties properties;
+    private final Map<String, Health> health = new ConcurrentHashMap<>();
+    private final Map<String, Budget> budgets = new ConcurrentHashMap<>();
+
+    public LlmRouter(LlmGateway llmGateway, MeterRegistry meterRegistry, LlmRouterProperties properties) {
+        this.llmGateway = llmGateway;
+        this.meterRegistry = meterRegistry;
+        this.properties = properties;
+    }
+
+    public ChatResult chat(List<ApiConfig> configs, ChatRequest request, boolean hedge) {
+        int tokens = estimateTokens(request);
+        List<ApiConfig> ranked = route(configs, tokens);
+        int attempts = Math.min(ranked.size(), properties.getFailoverAttempts());
+        RuntimeException lastError = null;
+        for (int i = 0; i < attempts; i++) {
+            ApiConfig primary = ranked.get(i);
+            ApiConfig backup = hedge && properties.isHedgeEnabled() && i + 1 < ranked.size() ? ranked.get(i + 1) : null;
+            try {
+                reserve(primary, tokens);
+                return backup == null ? call(primary, request) : hedged(primary, backup, request, tokens);
+            } catch (RuntimeException ex) {
+                lastError = ex;
+                if (i + 1 < attempts) {
+                    meterRegistry.counter("llm.router.failovers", "config", health(primary).name).increment();
+                }
+            }
+        }
+        throw lastError;
+    }
+
+    public CompletableFuture<ChatResult> stream(List<ApiConfig> configs, ChatRequest request, boolean hedge, Consumer<String> onDelta) {
+        int tokens = estimateTokens(request);
+        List<ApiConfig> ranked = route(configs, tokens);
+        int attempts = Math.min(ranked.size(), properties.getFailoverAttempts());
+        AtomicBoolean emitted = new AtomicBoolean();
+        Consumer<String> tracking = delta -> {
+            emitted.set(true);
+            onDelta.accept(delta);
+        };
+        return stream(ranked, attempts, 0, request, tokens, hedge, tracking, emitted);
+    }
+
+    public List<ApiConfig> rank(List<ApiConfig> configs) {
+        if (configs.isEmpty()) {
+            throw new BusinessException(40015, "api config is not initialized");
+        }
+        long now = System.nanoTime();
+        List<ApiConfig> available = new ArrayList<>(configs.size());
+        for (ApiConfig config : configs) {
+            if (health(config).available(now)) {
+                available.add(config);
+            }
+        }
+        if (available.isEmpty()) {
+            throw new BusinessException(50038, "all api configs are temporarily unavailable");
+        }
+        available.sort(Comparator.comparingDouble(config -> health(config).score()));
+        ApiConfig preferred = configs.get(0);
+        if (health(preferred).healthy() && available.remove(preferred)) {
+            available.add(0, preferred);
+        }
+        return available;
+    }
+
+    private List<ApiConfig> route(List<ApiConfig> configs, int tokens) {
+        List<ApiConfig> ranked = rank(configs);
+        long now = System.nanoTime();
+        Map<ApiConfig, Long> waits = new HashMap<>();
+        for (ApiConfig config : ranked) {
+            waits.put(config, Math.max(0L, budget(config).waitNanos(tokens, now)));
+        }
+        ranked.sort(Comparator.comparingLong(waits::get));
+        return ranked;
+    }
+
+    private CompletableFuture<ChatResult> stream(List<ApiConfig> ranked, int attempts, int index, ChatRequest request, int tokens,
+                                                 boolean hedge, Consumer<String> onDelta, AtomicBoolean emitted) {
+        ApiConfig config = ranked.get(index);
+        ApiConfig backup = hedge && properties.isHedgeEnabled() && index + 1 < ranked.size() ? ranked.get(index + 1) : null;
+        return reserveAsync(config, tokens)
+                .thenCompose(reserved -> backup == null
+                        ? track(config, llmGateway.stream(config, request, onDelta))
+                        : hedgedStream(config, backup, request, tokens, onDelta))
+                .handle((result, error) -> {
+                    if (error == null) {
+                        return CompletableFuture.completedFuture(result);
+                    }
+                    if (emitted.get() || index + 1 >= attempts) {
+                        return CompletableFuture.<ChatResult>failedFuture(unwrap(error));
+                    }
+                    meterRegistry.counter("llm.router.failovers", "config", health(config).name).increment();
+                    return stream(ranked, attempts, index + 1, request, tokens, hedge, onDelta, emitted);
+                })
+                .thenCompose(Function.identity());
+    }
+
+    private ChatResult call(ApiConfig config, ChatRequest request) {
+        Health target = health(config);
+        try {
+            ChatResult result = llmGateway.chat(config, request);
+            target.success(result.getLatencyMillis());
+            result.setConfigId(config.getId());
+            return result;
+        } catch (RuntimeException ex) {
+            target.failure();
+            throw ex;
+        }
+    }
+
+    private ChatResult hedged(ApiConfig primary, ApiConfig backup, ChatRequest request, int tokens) {
+        long delay = health(primary).hedgeDelayMillis(false);
+        if (delay < 0) {
+            return call(primary, request);
+        }
+        CompletableFuture<ChatResult> first = track(primary, llmGateway.chatAsync(primary, request));
+        try {
+            return first.get(delay, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException ex) {
+            if (budget(backup).tryTake(tokens) > 0) {
+                meterRegistry.counter("llm.router.hedges", "outcome", "rate_limited").increment();
+                return await(first);
+            }
+            meterRegistry.counter("llm.router.hedges", "outcome", "fired").increment();
+            CompletableFuture<ChatResult> second = track(backup, llmGateway.chatAsync(backup, request));
+            ChatResult result = await(firstSuccessful(first, second));
+            String winner = backup.getId() != null && backup.getId().equals(result.getConfigId()) ? "backup_won" : "primary_won";
+            meterRegistry.counter("llm.router.hedges", "outcome", winner).increment();
+            return result;
+        } catch (ExecutionException ex) {
+            throw unwrap(ex.getCause());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new BusinessException(50018, "ai request failed: " + ex.getMessage());
+        }
+    }
+
+    private CompletableFuture<ChatResult> hedgedStream(ApiConfig primary, ApiConfig backup, ChatRequest request, int tokens,
+                                                       Consumer<String> onDelta) {
+        long delay = health(primary).hedgeDelayMillis(true);
+        if (delay < 0) {
+            return track(primary, llmGateway.stream(primary, request, onDelta));
+        }
+        return new HedgedStream(request, tokens, onDelta).start(primary, backup, delay);
+    }
+
+    private void reserve(ApiConfig config, int tokens) {
+        long wait = budget(config).tryTake(tokens);
+        if (wait > 0) {
+            meterRegistry.counter("llm.router.rate_limited", "config", health(config).name).increment();
+        }
+        while (wait > 0) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(wait);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new BusinessException(50018, "ai request failed: " + ex.getMessage());
+            }
+            wait = budget(config).tryTake(tokens);
+        }
+    }
+
+    private CompletableFuture<Void> reserveAsync(ApiConfig config, int tokens) {
+        long wait = budget(config).tryTake(tokens);
+        if (wait <= 0) {
+            return CompletableFuture.completedFuture(null);
+        }
+        meterRegistry.counter("llm.router.rate_limited", "config", health(config).name).increment();
+        return CompletableFuture.runAsync(() -> {
+        }, CompletableFuture.delayedExecutor(wait, TimeUnit.NANOSECONDS)).thenCompose(waited -> reserveAsync(config, tokens));
+    }
+
+    private CompletableFuture<ChatResult> track(ApiConfig config, CompletableFuture<ChatResult> future) {
+        Health target = health(config);
+        return future.handle((result, error) -> {
+            if (error != null) {
+                RuntimeException cause = unwrap(error);
+                if (!(cause instanceof CancellationException)) {
+                    target.failure();
+                }
+                throw cause;
+            }
+            target.success(result.getLatencyMillis());
+            if (result.getFirstDeltaMillis() != null) {
+                target.firstDelta(result.getFirstDeltaMillis());
+            }
+            result.setConfigId(config.getId());
+            return result;
+        });
+    }
+
+    private static CompletableFuture<ChatResult> firstSuccessful(CompletableFuture<ChatResult> first, CompletableFuture<ChatResult> second) {
+        CompletableFuture<ChatResult> winner = new CompletableFuture<>();
+        AtomicInteger failures = new AtomicInteger();
+        for (CompletableFuture<ChatResult> candidate : List.of(first, second)) {
+            candidate.whenComplete((result, error) -> {
+                if (error == null) {
+                    winner.complete(result);
+                } else if (failures.incrementAndGet() == 2) {
+                    winner.completeExceptionally(error);
+                }
+            });
+        }
+        return winner;
+    }
+
+    private static ChatResult await(CompletableFuture<ChatResult> future) {
+        try {
+            return future.get();
+        } catch (ExecutionException ex) {
+            throw unwrap(ex.getCause());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new BusinessException(50018, "ai request failed: " + ex.getMessage());
+        }
+    }
+
+    private static RuntimeException unwrap(Throwable error) {
+        Throwable cause = error;
+        while ((cause instanceof CompletionException || cause instanceof ExecutionException) && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        if (cause instanceof RuntimeException runtime) {
+            return runtime;
+        }
+        return new BusinessException(50018, "ai request failed: " + cause.getMessage());
+    }
+
+    private static int estimateTokens(ChatRequest request) {
+        return 2 * (TokenEstimator.estimate(request.getSystemPrompt()) + TokenEstimator.estimate(request.getUserPrompt()));
+    }
+
+    private static String key(ApiConfig config) {
+        return config.getId() == null ? "default" : String.valueOf(config.getId());
+    }
+
+    private Health health(ApiConfig config) {
+        return health.computeIfAbsent(key(config), Health::new);
+    }
+
+    private Budget budget(ApiConfig config) {
+        int rpm = config.getRpmLimit() == null ? 0 : config.getRpmLimit();
+        int tpm = config.getTpmLimit() == null ? 0 : config.getTpmLimit();
+        return budgets.compute(key(config), (k, current) -> current != null && current.matches(rpm, tpm) ? current : new Budget(rpm, tpm));
+    }
+
+    private final class HedgedStream {
+
+        private final ChatRequest request;
+        private final int tokens;
+        private final Consumer<String> onDelta;
+        private final CompletableFuture<ChatResult> outcome = new CompletableFuture<>();
+        private final List<CompletableFuture<ChatResult>> legs = new ArrayList<>(2);
+        private volatile int owner = -1;
+        private int running;
+
+        private HedgedStream(ChatRequest request, int tokens, Consumer<String> onDelta) {
+            this.request = request;
+            this.tokens = tokens;
+            this.onDelta = onDelta;
+        }
+
+        private CompletableFuture<ChatResult> start(ApiConfig primary, ApiConfig backup, long delayMillis) {
+            launch(primary);
+            CompletableFuture.delayedExecutor(delayMillis, TimeUnit.MILLISECONDS).execute(() -> fire(backup));
+            outcome.whenComplete((result, error) -> cancelLegs());
+            return outcome;
+        }
+
+        private synchronized void launch(ApiConfig config) {
+            int leg = legs.size();
+            running++;
+            CompletableFuture<ChatResult> upstream = llmGateway.stream(config, request, delta -> accept(leg, delta));
+            legs.add(upstream);
+            track(config, upstream).whenComplete((result, error) -> finish(leg, result, error));
+        }
+
+        private synchronized void fire(ApiConfig backup) {
+            if (outcome.isDone() || owner >= 0) {
+                return;
+            }
+            if (budget(backup).tryTake(tokens) > 0) {
+                meterRegistry.counter("llm.router.hedges", "outcome", "rate_limited").increment();
+                return;
+            }
+            meterRegistry.counter("llm.router.hedges", "outcome", "fired").increment();
+            launch(backup);
+        }
+
+        private void accept(int leg, String delta) {
+            int current = owner;
+            if (current < 0) {
+                current = claim(leg);
+            }
+            if (current != leg) {
+                throw new CancellationException("hedged stream lost the race");
+            }
+            onDelta.accept(delta);
+        }
+
+        private synchronized int claim(int leg) {
+            if (owner < 0) {
+                owner = leg;
+                if (legs.size() > 1) {
+                    meterRegistry.counter("llm.router.hedges", "outcome", leg == 0 ? "primary_won" : "backup_won").increment();
+                }
+                cancelLegs();
+            }
+            return owner;
+        }
+
+        private synchronized void finish(int leg, ChatResult result, Throwable error) {
+            running--;
+            if (error == null) {
+                outcome.complete(result);
+            } else if (owner == leg || (owner < 0 && running == 0)) {
+                outcome.completeExceptionally(unwrap(error));
+            }
+        }
+
+        private synchronized void cancelLegs() {
+            for (int i = 0; i < legs.size(); i++) {
+                if (i != owner) {
+                    legs.get(i).cancel(true);
+                }
+            }
+        }
+    }
+
+    private static final class Budget {
+
+        private final int requestsPerMinute;
+        private final int tokensPerMinute;
+        private final TokenBucket requests;
+        private final TokenBucket tokens;
+
+        private Budget(int requestsPerMinute, int tokensPerMinute) {
+            long now = System.nanoTime();
+            this.requestsPerMinute = requestsPerMinute;
+            this.tokensPerMinute = tokensPerMinute;
+            this.requests = requestsPerMinute > 0 ? new TokenBucket(requestsPerMinute, now) : null;
+            this.tokens = tokensPerMinute > 0 ? new TokenBucket(tokensPerMinute, now) : null;
+        }
+
+        private boolean matches(int requestsPerMinute, int tokensPerMinute) {
+            return this.requestsPerMinute == requestsPerMinute && this.tokensPerMinute == tokensPerMinute;
+        }
+
+        private synchronized long waitNanos(int amount, long now) {
+            long requestWait = requests == null ? 0L : requests.waitNanos(1, now);
+            long tokenWait = tokens == null ? 0L : tokens.waitNanos(amount, now);
+            return Math.max(requestWait, tokenWait);
+        }
+
+        private synchronized long tryTake(int amount) {
+            long wait = waitNanos(amount, System.nanoTime());
+            if (wait <= 0) {
+                if (requests != null) {
+                    requests.take(1);
+                }
+                if (tokens != null) {
+                    tokens.take(amount);
+                }
+            }
+            return wait;
+        }
+    }
+
+    private final class Health {
+
+        private final String name;
+        private final Window latencies;
+        private final Window firstDeltas;
+        private double latencyEwma = -1;
+        private double errorEwma;
+        private int consecutiveFailures;
+        private long openUntil;
+
+        private Health(String name) {
+            this.name = name;
+            this.latencies = new Window(properties.getLatencyWindow());
+            this.firstDeltas = new Window(properties.getLatencyWindow());
+            Gauge.builder("llm.router.latency_ewma", this, h -> Math.max(0, h.latencyEwma()))
+                    .tag("config", name)
+                    .register(meterRegistry);
+            Gauge.builder("llm.router.error_rate", this, Health::errorEwma)
+                    .tag("config", name)
+                    .register(meterRegistry);
+        }
+
+        private synchronized boolean available(long now) {
+            if (openUntil == 0L) {
+                return true;
+            }
+            if (now - openUntil < 0) {
+                return false;
+            }
+            openUntil = now + TimeUnit.SECONDS.toNanos(properties.getOpenSeconds());
+            transition("half_open");
+            return true;
+        }
+
+        private synchronized void success(long latencyMillis) {
+            double alpha = properties.getEwmaAlpha();
+            latencyEwma = latencyEwma < 0 ? latencyMillis : alpha * latencyMillis + (1 - alpha) * latencyEwma;
+            errorEwma = (1 - alpha) * errorEwma;
+            consecutiveFailures = 0;
+            latencies.add(latencyMillis);
+            if (openUntil != 0L) {
+                openUntil = 0L;
+                transition("closed");
+            }
+        }
+
+        private synchronized void failure() {
+            double alpha = properties.getEwmaAlpha();
+            errorEwma = alpha + (1 - alpha) * errorEwma;
+            consecutiveFailures++;
+            if (consecutiveFailures >= properties.getFailureThreshold()) {
+                openUntil = System.nanoTime() + TimeUnit.SECONDS.toNanos(properties.getOpenSeconds());
+                consecutiveFailures = 0;
+                transition("open");
+            }
+        }
+
+        private synchronized boolean healthy() {
+            return openUntil == 0L && errorEwma < PREFERRED_MAX_ERROR_RATE;
+        }
+
+        private synchronized double score() {
+            if (latencyEwma < 0) {
+                return errorEwma > 0 ? Double.MAX_VALUE : 0;
+            }
+            return latencyEwma / Math.max(MIN_SUCCESS_RATE, 1 - errorEwma);
+        }
+
+        private synchronized void firstDelta(long millis) {
+            firstDeltas.add(millis);
+        }
+
+        private synchronized long hedgeDelayMillis(boolean streaming) {
+            Window samples = streaming ? firstDeltas : latencies;
+            if (samples.size < properties.getHedgeMinSamples()) {
+                return -1L;
+            }
+            long[] sorted = Arrays.copyOf(samples.values, samples.size);
+            Arrays.sort(sorted);
+            int index = Math.min(samples.size - 1, (int) Math.ceil(samples.size * properties.getHedgePercentile() / 100.0) - 1);
+            return Math.max(properties.getHedgeMinDelayMs(), sorted[Math.max(0, index)]);
+        }
+
+        private synchronized double latencyEwma() {
+            return latencyEwma;
+        }
+
+        private synchronized double errorEwma() {
+            return errorEwma;
+        }
+
+        private void transition(String state) {
+            meterRegistry.counter("llm.router.circuit", "config", name, "state", state).increment();
+        }
+    }
+
+    private static final class Window {
+
+        private final long[] values;
+        private int size;
+        private int next;
+
+        private Window(int capacity) {
+            this.values = new long[capacity];
+        }
+
+        private void add(long value) {
+            values[next] = value;
+            next = (next + 1) % values.length;
+            size = Math.min(values.length, size + 1);
+        }
+    }
+}
@@ -1,15 +1,21 @@
 package com.quizgen.app.ai.service;
 
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 public interface AiService {
 
     Map<String, Object> generateExplanation(String questionCode, boolean force);
 
+    CompletableFuture<Map<String, Object>> streamExplanation(String questionCode, boolean force, Consumer<String> onDelta);
+
     Map<String, Object> getExplanation(String questionCode);
 
     Map<String, Object> generateErrorAnalysis(String questionCode, String userAnswer, boolean force);
 
+    CompletableFuture<Map<String, Object>> streamErrorAnalysis(String questionCode, String userAnswer, boolean force, Consumer<String> onDelta);
+
     Map<String, Object> getErrorAnalysis(String questionCode, String userAnswer);
 
     Map<String, Object> generateVariant(String questionCode, boolean force);
@@ -20,10 +26,14 @@ public interface AiService {
 
     Map<String, Object> generateKnowledgeTree(String questionCode, boolean force);
 
+    CompletableFuture<Map<String, Object>> streamKnowledgeTree(String questionCode, boolean force, Consumer<String> onDelta);
+
     Map<String, Object> getKnowledgeTree(String questionCode);
 
     Map<String, Object> generateDesignProcess(String questionCode, boolean force);
 
+    CompletableFuture<Map<String, Object>> streamDesignProcess(String questionCode, boolean force, Consumer<String> onDelta);
+
     Map<String, Object> getDesignProcess(String questionCode);
 
     Map<String, Object> testConnection(Integer apiIndex);
@@ -12,6 +12,11 @@ import com.quizgen.app.ai.entity.AiErrorAnalysis;
 import com.quizgen.app.ai.entity.AiExplanation;
 import com.quizgen.app.ai.entity.AiKnowledgeTree;
 import com.quizgen.app.ai.entity.AiVariantQuestion;
+import com.quizgen.app.ai.gateway.ChatRequest;
+import com.quizgen.app.ai.gateway.ChatResult;
+import com.quizgen.app.ai.gateway.LlmGateway;
+import com.quizgen.app.ai.gateway.LlmResponseCache;
+import com.quizgen.app.ai.gateway.LlmRouter;
 import com.quizgen.app.ai.mapper.AiDesignProcessMapper;
 import com.quizgen.app.ai.mapper.AiErrorAnalysisMapper;
 import com.quizgen.app.ai.mapper.AiExplanationMapper;
@@ -36,17 +41,13 @@ import com.quizgen.app.setting.mapper.AppSettingMapper;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 
-import java.io.IOException;
-import java.net.URI;
-import java.net.http.HttpClient;
-import java.net.http.HttpRequest;
-import java.net.http.HttpResponse;
-import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 @Service
@@ -55,6 +56,10 @@ public class AiServiceImpl implements AiService {
     private static final String SETTING_EXPLANATION_INDEX = "explanation_api_index";
     private static final String SETTING_KNOWLEDGE_TREE_INDEX = "knowledge_tree_api_index";
     private static final String SETTING_DESIGN_PROCESS_INDEX = "design_process_api_index";
+    private static final String EXPLANATION_SYSTEM_PROMPT = "你是专业刷题助手。";
+    private static final String ERROR_ANALYSIS_SYSTEM_PROMPT = "你是专业教学诊断助手。";
+    private static final String KNOWLEDGE_TREE_SYSTEM_PROMPT = "你是知识图谱构建助手。";
+    private static final String DESIGN_PROCESS_SYSTEM_PROMPT = "你是命题分析专家。";
 
     private final QuestionMapper questionMapper;
     private final QuestionOptionMapper questionOptionMapper;
@@ -67,6 +72,9 @@ public class AiServiceImpl implements AiService {
     private final AiDesignProcessMapper designProcessMapper;
     private final ApiConfigMapper apiConfigMapper;
     private final AppSettingMapper appSettingMapper;
+    private final LlmGateway llmGateway;
+    private final LlmRouter llmRouter;
+    private final LlmResponseCache llmResponseCache;
     private final ObjectMapper objectMapper;
 
     public AiServiceImpl(
@@ -81,6 +89,9 @@ public class AiServiceImpl implements AiService {
             AiDesignProcessMapper designProcessMapper,
             ApiConfigMapper apiConfigMapper,
             AppSettingMapper appSettingMapper,
+            LlmGateway llmGateway,
+            LlmRouter llmRouter,
+            LlmResponseCache llmResponseCache,
             ObjectMapper objectMapper
     ) {
         this.questionMapper = questionMapper;
@@ -94,49 +105,37 @@ public class AiServiceImpl implements AiService {
         this.designProcessMapper = designProcessMapper;
         this.apiConfigMapper = apiConfigMapper;
         this.appSettingMapper = appSettingMapper;
+        this.llmGateway = llmGateway;
+        this.llmRouter = llmRouter;
+        this.llmResponseCache = llmResponseCache;
         this.objectMapper = objectMapper;
     }
 
     @Override
     public Map<String, Object> generateExplanation(String questionCode, boolean force) {
         Question question = findQuestionByCode(questionCode);
-        AiExplanation existing = explanationMapper.selectOne(new LambdaQueryWrapper<AiExplanation>()
-                .eq(AiExplanation::getQuestionId, question.getId()));
-
+        AiExplanation existing = findExplanation(question.getId());
         if (existing != null && !force) {
-            Map<String, Object> result = new HashMap<>();
-            result.put("exists", true);
-            result.put("message", "already exists");
-            result.put("data", toExplanationData(existing));
-            return result;
+            return generationResult("already exists", toExplanationData(existing));
         }
 
-        ApiConfig config = resolveConfigBySettingKey(SETTING_EXPLANATION_INDEX, 0);
-        String prompt = "请用通俗易懂的方式解释这道题。输出结构：关键概念、解题思路、易错点、知识扩展。\\n\\n"
-                + "题型: " + nullSafe(question.getType()) + "\\n"
-                + "题干: " + nullSafe(question.getText()) + "\\n"
-                + "选项:\\n" + buildOptionsText(question.getId()) + "\\n"
-                + "正确答案: " + nullSafe(question.getAnswer()) + "\\n"
-                + "题目解析: " + nullSafe(question.getExplanation());
-
-        String content = callChatCompletion(config, "你是专业刷题助手。", prompt);
+        List<ApiConfig> configs = resolveConfigsBySettingKey(SETTING_EXPLANATION_INDEX, 0);
+        ChatResult result = callCachedChatCompletion(configs, EXPLANATION_SYSTEM_PROMPT, buildExplanationPrompt(question), force);
+        return saveExplanation(question, existing, servedBy(configs, result), result.getContent());
+    }
 
-        AiExplanation saved = existing == null ? new AiExplanation() : existing;
-        saved.setQuestionId(question.getId());
-        saved.setContent(content);
-        saved.setApiConfigId(config.getId());
-        saved.setGeneratedAt(LocalDateTime.now());
-        if (saved.getId() == null) {
-            explanationMapper.insert(saved);
-        } else {
-            explanationMapper.updateById(saved);
+    @Override
+    public CompletableFuture<Map<String, Object>> streamExplanation(String questionCode, boolean force, Consumer<String> onDelta) {
+        Question question = findQuestionByCode(questionCode);
+        AiExplanation existing = findExplanation(question.getId());
+        if (existing != null && !force) {
+            return CompletableFuture.completedFuture(generationResult("already exists", toExplanationData(existing)));
         }
 
-        Map<String, Object> result = new HashMap<>();
-        result.put("exists", true);
-        result.put("message", "generated");
-        result.put("data", toExplanationData(saved));
-        return result;
+        List<ApiConfig> configs = resolveConfigsBySettingKey(SETTING_EXPLANATION_INDEX, 0);
+        ChatRequest request = ChatRequest.of(EXPLANATION_SYSTEM_PROMPT, buildExplanationPrompt(question));
+        return llmResponseCache.stream(configs, request, force, false, onDelta)
+                .thenApply(result -> saveExplanation(question, existing, servedBy(configs, result), result.getContent()));
     }
 
     @Override
@@ -157,52 +156,33 @@ public class AiServiceImpl implements AiService {
 
     @Override
     public Map<String, Object> generateErrorAnalysis(String questionCode, String userAnswer, boolean force) {
-        if (!StringUtils.hasText(userAnswer)) {
-            throw new BusinessException(40031, "userAnswer is required");
-        }
-
+        String normalizedAnswer = requireUserAnswer(userAnswer);
         Question question = findQuestionByCode(questionCode);
-        String normalizedAnswer = userAnswer.trim();
-        AiErrorAnalysis existing = errorAnalysisMapper.selectOne(new LambdaQueryWrapper<AiErrorAnalysis>()
-                .eq(AiErrorAnalysis::getQuestionId, question.getId())
-                .eq(AiErrorAnalysis::getUserAnswer, normalizedAnswer));
-
+        AiErrorAnalysis existing = findErrorAnalysis(question.getId(), normalizedAnswer);
         if (existing != null && !force) {
-            Map<String, Object> result = new HashMap<>();
-            result.put("exists", true);
-            result.put("message", "already exists");
-            result.put("data", toErrorData(existing));
-            return result;
+            return generationResult("already exists", toErrorData(existing));
         }
 
-        ApiConfig config = resolveConfigBySettingKey(SETTING_EXPLANATION_INDEX, 0);
-        String prompt = "请分析学生错因并给出改进建议。输出结构：错误类型、错误原因、知识盲点、改进建议。\\n\\n"
-                + "题型: " + nullSafe(question.getType()) + "\\n"
-                + "题干: " + nullSafe(question.getText()) + "\\n"
-                + "选项:\\n" + buildOptionsText(question.getId()) + "\\n"
-                + "正确答案: " + nullSafe(question.getAnswer()) + "\\n"
-                + "学生答案: " + normalizedAnswer + "\\n"
-                + "题目解析: " + nullSafe(question.getExplanation());
-
-        String content = callChatCompletion(config, "你是专业教学诊断助手。", prompt);
+        List<ApiConfig> configs = resolveConfigsBySettingKey(SETTING_EXPLANATION_INDEX, 0);
+        ChatRequest request = ChatRequest.of(ERROR_ANALYSIS_SYSTEM_PROMPT, buildErrorAnalysisPrompt(question, normalizedAnswer));
+        ChatResult result = llmRouter.chat(configs, request, false);
+        return saveErrorAnalysis(question, existing, normalizedAnswer, servedBy(configs, result), result.getContent());
+    }
 
-        AiErrorAnalysis saved = existing == null ? new AiErrorAnalysis() : existing;
-        saved.setQuestionId(question.getId());
-        saved.setUserAnswer(normalizedAnswer);
-        saved.setContent(content);
-        saved.setApiConfigId(config.getId());
-        saved.setGeneratedAt(LocalDateTime.now());
-        if (saved.getId() == null) {
-            errorAnalysisMapper.insert(saved);
-        } else {
-            errorAnalysisMapper.updateById(saved);
+    @Override
+    public CompletableFuture<Map<String, Object>> streamErrorAnalysis(String questionCode, String userAnswer, boolean force,
+                                                                      Consumer<String> onDelta) {
+        String normalizedAnswer = requireUserAnswer(userAnswer);
+        Question question = findQuestionByCode(questionCode);
+        AiErrorAnalysis existing = findErrorAnalysis(question.getId(), normalizedAnswer);
+        if (existing != null && !force) {
+            return CompletableFuture.completedFuture(generationResult("already exists", toErrorData(existing)));
         }
 
-        Map<String, Object> result = new HashMap<>();
-        result.put("exists", true);
-        result.put("message", "generated");
-        result.put("data", toErrorData(saved));
-        return result;
+        List<ApiConfig> configs = resolveConfigsBySettingKey(SETTING_EXPLANATION_INDEX, 0);
+        ChatRequest request = ChatRequest.of(ERROR_ANALYSIS_SYSTEM_PROMPT, buildErrorAnalysisPrompt(question, normalizedAnswer));
+        return llmRouter.stream(configs, request, false, onDelta)
+                .thenApply(result -> saveErrorAnalysis(question, existing, normalizedAnswer, servedBy(configs, result), result.getContent()));
     }
 
     @Override
@@ -255,7 +235,7 @@ public class AiServiceImpl implements AiService {
             return result;
         }
 
-        ApiConfig config = resolveConfigBySettingKey(SETTING_EXPLANATION_INDEX, 0);
+        List<ApiConfig> configs = resolveConfigsBySettingKey(SETTING_EXPLANATION_INDEX, 0);
         String prompt = "请基于原题生成一道同知识点、同难度的变式题。"
                 + "必须返回 JSON 对象，字段包括 type,text,options,answer,explanation,relation。\\n\\n"
                 + "原题题型: " + nullSafe(question.getType()) + "\\n"
@@ -264,7 +244,7 @@ public class AiServiceImpl implements AiService {
                 + "原题答案: " + nullSafe(question.getAnswer()) + "\\n"
                 + "原题解析: " + nullSafe(question.getExplanation());
 
-        String raw = callChatCompletion(config, "你是专业题目设计助手。", prompt);
+        String raw = callCachedChatCompletion(configs, "你是专业题目设计助手。", prompt, force).getContent();
         String payload = normalizeJsonPayload(raw, "variant");
 
         AiVariantQuestion saved = existing == null ? new AiVariantQuestion() : existing;
@@ -357,43 +337,28 @@ public class AiServiceImpl implements AiService {
     @Override
     public Map<String, Object> generateKnowledgeTree(String questionCode, boolean force) {
         Question question = findQuestionByCode(questionCode);
-        AiKnowledgeTree existing = knowledgeTreeMapper.selectOne(new LambdaQueryWrapper<AiKnowledgeTree>()
-                .eq(AiKnowledgeTree::getQuestionId, question.getId()));
-
+        AiKnowledgeTree existing = findKnowledgeTree(question.getId());
         if (existing != null && !force) {
-            Map<String, Object> result = new HashMap<>();
-            result.put("exists", true);
-            result.put("message", "already exists");
-            result.put("data", toKnowledgeTreeData(existing));
-            return result;
+            return generationResult("already exists", toKnowledgeTreeData(existing));
         }
 
-        ApiConfig config = resolveConfigBySettingKey(SETTING_KNOWLEDGE_TREE_INDEX, 2);
-        String prompt = "请输出该题对应的知识树，返回 JSON 对象，至少包含 root 与 children 层级。\\n\\n"
-                + "题型: " + nullSafe(question.getType()) + "\\n"
-                + "题干: " + nullSafe(question.getText()) + "\\n"
-                + "选项:\\n" + buildOptionsText(question.getId()) + "\\n"
-                + "正确答案: " + nullSafe(question.getAnswer()) + "\\n"
-                + "题目解析: " + nullSafe(question.getExplanation());
-
-        String raw = callChatCompletion(config, "你是知识图谱构建助手。", prompt);
-        String payload = normalizeJsonPayload(raw, "knowledge_tree");
+        List<ApiConfig> configs = resolveConfigsBySettingKey(SETTING_KNOWLEDGE_TREE_INDEX, 2);
+        String raw = callCachedChatCompletion(configs, KNOWLEDGE_TREE_SYSTEM_PROMPT, buildKnowledgeTreePrompt(question), force).getContent();
+        return saveKnowledgeTree(question, existing, raw);
+    }
 
-        AiKnowledgeTree saved = existing == null ? new AiKnowledgeTree() : existing;
-        saved.setQuestionId(question.getId());
-        saved.setTreePayloadJson(payload);
-        saved.setGeneratedAt(LocalDateTime.now());
-        if (saved.getId() == null) {
-            knowledgeTreeMapper.insert(saved);
-        } else {
-            knowledgeTreeMapper.updateById(saved);
+    @Override
+    public CompletableFuture<Map<String, Object>> streamKnowledgeTree(String questionCode, boolean force, Consumer<String> onDelta) {
+        Question question = findQuestionByCode(questionCode);
+        AiKnowledgeTree existing = findKnowledgeTree(question.getId());
+        if (existing != null && !force) {
+            return CompletableFuture.completedFuture(generationResult("already exists", toKnowledgeTreeData(existing)));
         }
 
-        Map<String, Object> result = new HashMap<>();
-        result.put("exists", true);
-        result.put("message", "generated");
-        result.put("data", toKnowledgeTreeData(saved));
-        return result;
+        List<ApiConfig> configs = resolveConfigsBySettingKey(SETTING_KNOWLEDGE_TREE_INDEX, 2);
+        ChatRequest request = ChatRequest.of(KNOWLEDGE_TREE_SYSTEM_PROMPT, buildKnowledgeTreePrompt(question));
+        return llmResponseCache.stream(configs, request, force, false, onDelta)
+                .thenApply(result -> saveKnowledgeTree(question, existing, result.getContent()));
     }
 
     @Override
@@ -415,44 +380,28 @@ public class AiServiceImpl implements AiService {
     @Override
     public Map<String, Object> generateDesignProcess(String questionCode, boolean force) {
         Question question = findQuestionByCode(questionCode);
-        AiDesignProcess existing = designProcessMapper.selectOne(new LambdaQueryWrapper<AiDesignProcess>()
-                .eq(AiDesignProcess::getQuestionId, question.getId()));
-
+        AiDesignProcess existing = findDesignProcess(question.getId());
         if (existing != null && !force) {
-            Map<String, Object> result = new HashMap<>();
-            result.put("exists", true);
-            result.put("message", "already exists");
-            result.put("data", toDesignProcessData(existing));
-            return result;
+            return generationResult("already exists", toDesignProcessData(existing));
         }
 
-        ApiConfig config = resolveConfigBySettingKey(SETTING_DESIGN_PROCESS_INDEX, 3);
-        String prompt = "请输出该题的命题设计过程与解题流程，返回 JSON 对象。"
-                + "包含 design_analysis 与 flowcharts(mermaid)。\\n\\n"
-                + "题型: " + nullSafe(question.getType()) + "\\n"
-                + "题干: " + nullSafe(question.getText()) + "\\n"
-                + "选项:\\n" + buildOptionsText(question.getId()) + "\\n"
-                + "正确答案: " + nullSafe(question.getAnswer()) + "\\n"
-                + "题目解析: " + nullSafe(question.getExplanation());
-
-        String raw = callChatCompletion(config, "你是命题分析专家。", prompt);
-        String payload = normalizeJsonPayload(raw, "design_process");
+        List<ApiConfig> configs = resolveConfigsBySettingKey(SETTING_DESIGN_PROCESS_INDEX, 3);
+        String raw = callCachedChatCompletion(configs, DESIGN_PROCESS_SYSTEM_PROMPT, buildDesignProcessPrompt(question), force).getContent();
+        return saveDesignProcess(question, existing, raw);
+    }
 
-        AiDesignProcess saved = existing == null ? new AiDesignProcess() : existing;
-        saved.setQuestionId(question.getId());
-        saved.setProcessPayloadJson(payload);
-        saved.setGeneratedAt(LocalDateTime.now());
-        if (saved.getId() == null) {
-            designProcessMapper.insert(saved);
-        } else {
-            designProcessMapper.updateById(saved);
+    @Override
+    public CompletableFuture<Map<String, Object>> streamDesignProcess(String questionCode, boolean force, Consumer<String> onDelta) {
+        Question question = findQuestionByCode(questionCode);
+        AiDesignProcess existing = findDesignProcess(question.getId());
+        if (existing != null && !force) {
+            return CompletableFuture.completedFuture(generationResult("already exists", toDesignProcessData(existing)));
         }
 
-        Map<String, Object> result = new HashMap<>();
-        result.put("exists", true);
-        result.put("message", "generated");
-        result.put("data", toDesignProcessData(saved));
-        return result;
+        List<ApiConfig> configs = resolveConfigsBySettingKey(SETTING_DESIGN_PROCESS_INDEX, 3);
+        ChatRequest request = ChatRequest.of(DESIGN_PROCESS_SYSTEM_PROMPT, buildDesignProcessPrompt(question));
+        return llmResponseCache.stream(configs, request, force, false, onDelta)
+                .thenApply(result -> saveDesignProcess(question, existing, result.getContent()));
     }
 
     @Override
@@ -524,9 +473,17 @@ public class AiServiceImpl implements AiService {
         return sb.toString();
     }
 
-    private ApiConfig resolveConfigBySettingKey(String settingKey, int defaultIndex) {
-        int index = readIntSetting(settingKey, defaultIndex);
-        return resolveConfigByIndex(index);
+    private List<ApiConfig> resolveConfigsBySettingKey(String settingKey, int defaultIndex) {
+        ApiConfig preferred = resolveConfigByIndex(readIntSetting(settingKey, defaultIndex));
+        List<ApiConfig> configs = new ArrayList<>();
+        configs.add(preferred);
+        for (ApiConfig config : apiConfigMapper.selectList(new QueryWrapper<ApiConfig>().orderByAsc("id"))) {
+            if (!config.getId().equals(preferred.getId()) && !Boolean.FALSE.equals(config.getEnabled())
+                    && StringUtils.hasText(config.getApiUrl()) && StringUtils.hasText(config.getApiKeyCipher())) {
+                configs.add(config);
+            }
+        }
+        return configs;
     }
 
     private ApiConfig resolveConfigByIndex(int index) {
@@ -573,46 +530,151 @@ public class AiServiceImpl implements AiService {
         }
     }
 
+    private AiExplanation findExplanation(Long questionId) {
+        return explanationMapper.selectOne(new LambdaQueryWrapper<AiExplanation>()
+                .eq(AiExplanation::getQuestionId, questionId));
+    }
+
+    private String buildExplanationPrompt(Question question) {
+        return "请用通俗易懂的方式解释这道题。输出结构：关键概念、解题思路、易错点、知识扩展。\\n\\n"
+                + "题型: " + nullSafe(question.getType()) + "\\n"
+                + "题干: " + nullSafe(question.getText()) + "\\n"
+                + "选项:\\n" + buildOptionsText(question.getId()) + "\\n"
+                + "正确答案: " + nullSafe(question.getAnswer()) + "\\n"
+                + "题目解析: " + nullSafe(question.getExplanation());
+    }
+
+    private Map<String, Object> saveExplanation(Question question, AiExplanation existing, ApiConfig config, String content) {
+        AiExplanation saved = existing == null ? new AiExplanation() : existing;
+        saved.setQuestionId(question.getId());
+        saved.setContent(content);
+        saved.setApiConfigId(config.getId());
+        saved.setGeneratedAt(LocalDateTime.now());
+        if (saved.getId() == null) {
+            explanationMapper.insert(saved);
+        } else {
+            explanationMapper.updateById(saved);
+        }
+        return generationResult("generated", toExplanationData(saved));
+    }
+
+    private String requireUserAnswer(String userAnswer) {
+        if (!StringUtils.hasText(userAnswer)) {
+            throw new BusinessException(40031, "userAnswer is required");
+        }
+        return userAnswer.trim();
+    }
+
+    private AiErrorAnalysis findErrorAnalysis(Long questionId, String userAnswer) {
+        return errorAnalysisMapper.selectOne(new LambdaQueryWrapper<AiErrorAnalysis>()
+                .eq(AiErrorAnalysis::getQuestionId, questionId)
+                .eq(AiErrorAnalysis::getUserAnswer, userAnswer));
+    }
+
+    private String buildErrorAnalysisPrompt(Question question, String userAnswer) {
+        return "请分析学生错因并给出改进建议。输出结构：错误类型、错误原因、知识盲点、改进建议。\\n\\n"
+                + "题型: " + nullSafe(question.getType()) + "\\n"
+                + "题干: " + nullSafe(question.getText()) + "\\n"
+                + "选项:\\n" + buildOptionsText(question.getId()) + "\\n"
+                + "正确答案: " + nullSafe(question.getAnswer()) + "\\n"
+                + "学生答案: " + userAnswer + "\\n"
+                + "题目解析: " + nullSafe(question.getExplanation());
+    }
+
+    private Map<String, Object> saveErrorAnalysis(Question question, AiErrorAnalysis existing, String userAnswer,
+                                                  ApiConfig config, String content) {
+        AiErrorAnalysis saved = existing == null ? new AiErrorAnalysis() : existing;
+        saved.setQuestionId(question.getId());
+        saved.setUserAnswer(userAnswer);
+        saved.setContent(content);
+        saved.setApiConfigId(config.getId());
+        saved.setGeneratedAt(LocalDateTime.now());
+        if (saved.getId() == null) {
+            errorAnalysisMapper.insert(saved);
+        } else {
+            errorAnalysisMapper.updateById(saved);
+        }
+        return generationResult("generated", toErrorData(saved));
+    }
+
+    private AiKnowledgeTree findKnowledgeTree(Long questionId) {
+        return knowledgeTreeMapper.selectOne(new LambdaQueryWrapper<AiKnowledgeTree>()
+                .eq(AiKnowledgeTree::getQuestionId, questionId));
+    }
+
+    private String buildKnowledgeTreePrompt(Question question) {
+        return "请输出该题对应的知识树，返回 JSON 对象，至少包含 root 与 children 层级。\\n\\n"
+                + "题型: " + nullSafe(question.getType()) + "\\n"
+                + "题干: " + nullSafe(question.getText()) + "\\n"
+                + "选项:\\n" + buildOptionsText(question.getId()) + "\\n"
+                + "正确答案: " + nullSafe(question.getAnswer()) + "\\n"
+                + "题目解析: " + nullSafe(question.getExplanation());
+    }
+
+    private Map<String, Object> saveKnowledgeTree(Question question, AiKnowledgeTree existing, String raw) {
+        AiKnowledgeTree saved = existing == null ? new AiKnowledgeTree() : existing;
+        saved.setQuestionId(question.getId());
+        saved.setTreePayloadJson(normalizeJsonPayload(raw, "knowledge_tree"));
+        saved.setGeneratedAt(LocalDateTime.now());
+        if (saved.getId() == null) {
+            knowledgeTreeMapper.insert(saved);
+        } else {
+            knowledgeTreeMapper.updateById(saved);
+        }
+        return generationResult("generated", toKnowledgeTreeData(saved));
+    }
+
+    private AiDesignProcess findDesignProcess(Long questionId) {
+        return designProcessMapper.selectOne(new LambdaQueryWrapper<AiDesignProcess>()
+                .eq(AiDesignProcess::getQuestionId, questionId));
+    }
+
+    private String buildDesignProcessPrompt(Question question) {
+        return "请输出该题的命题设计过程与解题流程，返回 JSON 对象。"
+                + "包含 design_analysis 与 flowcharts(mermaid)。\\n\\n"
+                + "题型: " + nullSafe(question.getType()) + "\\n"
+                + "题干: " + nullSafe(question.getText()) + "\\n"
+                + "选项:\\n" + buildOptionsText(question.getId()) + "\\n"
+                + "正确答案: " + nullSafe(question.getAnswer()) + "\\n"
+                + "题目解析: " + nullSafe(question.getExplanation());
+    }
+
+    private Map<String, Object> saveDesignProcess(Question question, AiDesignProcess existing, String raw) {
+        AiDesignProcess saved = existing == null ? new AiDesignProcess() : existing;
+        saved.setQuestionId(question.getId());
+        saved.setProcessPayloadJson(normalizeJsonPayload(raw, "design_process"));
+        saved.setGeneratedAt(LocalDateTime.now());
+        if (saved.getId() == null) {
+            designProcessMapper.insert(saved);
+        } else {
+            designProcessMapper.updateById(saved);
+        }
+        return generationResult("generated", toDesignProcessData(saved));
+    }
+
+    private Map<String, Object> generationResult(String message, Map<String, Object> data) {
+        Map<String, Object> result = new HashMap<>();
+        result.put("exists", true);
+        result.put("message", message);
+        result.put("data", data);
+        return result;
+    }
+
     private String callChatCompletion(ApiConfig config, String systemPrompt, String userPrompt) {
-        Map<String, Object> payload = new HashMap<>();
-        payload.put("model", StringUtils.hasText(config.getModel()) ? config.getModel() : "Qwen/Qwen2.5-7B-Instruct");
-        List<Map<String, String>> messages = new ArrayList<>();
-        messages.add(message("system", systemPrompt));
-        messages.add(message("user", userPrompt));
-        payload.put("messages", messages);
-        payload.put("stream", false);
-        payload.put("max_tokens", config.getMaxTokens() == null ? 4096 : config.getMaxTokens());
-        payload.put("temperature", 0.7);
+        return llmGateway.chat(config, ChatRequest.of(systemPrompt, userPrompt)).getContent();
+    }
 
-        try {
-            String requestBody = objectMapper.writeValueAsString(payload);
-            HttpRequest request = HttpRequest.newBuilder()
-                    .uri(URI.create(config.getApiUrl()))
-                    .header("Authorization", "Bearer " + config.getApiKeyCipher())
-                    .header("Content-Type", "application/json")
-                    .timeout(Duration.ofSeconds(120))
-                    .POST(HttpRequest.BodyPublishers.ofString(requestBody))
-                    .build();
-
-            HttpClient client = HttpClient.newBuilder()
-                    .connectTimeout(Duration.ofSeconds(20))
-                    .build();
-            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
-            if (response.statusCode() < 200 || response.statusCode() >= 300) {
-                throw new BusinessException(50031, "api error status " + response.statusCode() + ": " + response.body());
-            }
+    private ChatResult callCachedChatCompletion(List<ApiConfig> configs, String systemPrompt, String userPrompt, boolean force) {
+        return llmResponseCache.chat(configs, ChatRequest.of(systemPrompt, userPrompt), force, false);
+    }
 
-            JsonNode root = objectMapper.readTree(response.body());
-            JsonNode contentNode = root.path("choices").path(0).path("message").path("content");
-            if (contentNode.isMissingNode() || !StringUtils.hasText(contentNode.asText())) {
-                throw new BusinessException(50032, "api response has no message content");
+    private ApiConfig servedBy(List<ApiConfig> configs, ChatResult result) {
+        for (ApiConfig config : configs) {
+            if (config.getId() != null && config.getId().equals(result.getConfigId())) {
+                return config;
             }
-            return contentNode.asText();
-        } catch (BusinessException ex) {
-            throw ex;
-        } catch (IOException | InterruptedException ex) {
-            throw new BusinessException(50033, "api request failed: " + ex.getMessage());
         }
+        return configs.get(0);
     }
 
     private String normalizeJsonPayload(String raw, String payloadType) {
@@ -752,12 +814,5 @@ public class AiServiceImpl implements AiService {
         return StringUtils.hasText(value) ? value : defaultValue;
     }
 
-    private Map<String, String> message(String role, String content) {
-        Map<String, String> map = new HashMap<>();
-        map.put("role", role);
-        map.put("content", content);
-        return map;
-    }
-
     private String nullSafe(String value) { return value == null ? "" : value; }
 }
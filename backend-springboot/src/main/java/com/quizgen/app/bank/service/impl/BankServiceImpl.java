@@ -11,6 +11,7 @@ import com.quizgen.app.common.error.BusinessException;
 import com.quizgen.app.common.util.CodeGenerator;
 import com.quizgen.app.question.entity.Question;
 import com.quizgen.app.question.mapper.QuestionMapper;
+import com.quizgen.app.question.support.QuestionBitmapIndex;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -24,10 +25,12 @@ public class BankServiceImpl implements BankService {
 
     private final QuestionBankMapper bankMapper;
     private final QuestionMapper questionMapper;
+    private final QuestionBitmapIndex questionBitmapIndex;
 
-    public BankServiceImpl(QuestionBankMapper bankMapper, QuestionMapper questionMapper) {
+    public BankServiceImpl(QuestionBankMapper bankMapper, QuestionMapper questionMapper, QuestionBitmapIndex questionBitmapIndex) {
         this.bankMapper = bankMapper;
         this.questionMapper = questionMapper;
+        this.questionBitmapIndex = questionBitmapIndex;
     }
 
     @Override
@@ -67,6 +70,7 @@ public class BankServiceImpl implements BankService {
         QuestionBank bank = findByCode(bankCode);
         questionMapper.update(new Question(), new LambdaUpdateWrapper<Question>().set(Question::getBankId, null).eq(Question::getBankId, bank.getId()));
         bankMapper.deleteById(bank.getId());
+        questionBitmapIndex.clearBank(bank.getId());
     }
 
     private QuestionBank findByCode(String bankCode) {
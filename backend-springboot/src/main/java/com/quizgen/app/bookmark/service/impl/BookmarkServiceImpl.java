@@ -9,31 +9,55 @@ import com.quizgen.app.common.error.BusinessException;
 import com.quizgen.app.question.dto.QuestionResponse;
 import com.quizgen.app.question.entity.Question;
 import com.quizgen.app.question.mapper.QuestionMapper;
-import com.quizgen.app.question.service.QuestionService;
+import com.quizgen.app.question.support.QuestionAssembler;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @Service
 public class BookmarkServiceImpl implements BookmarkService {
 
     private final BookmarkMapper bookmarkMapper;
     private final QuestionMapper questionMapper;
-    private final QuestionService questionService;
+    private final QuestionAssembler questionAssembler;
 
-    public BookmarkServiceImpl(BookmarkMapper bookmarkMapper, QuestionMapper questionMapper, QuestionService questionService) {
+    public BookmarkServiceImpl(BookmarkMapper bookmarkMapper, QuestionMapper questionMapper, QuestionAssembler questionAssembler) {
         this.bookmarkMapper = bookmarkMapper;
         this.questionMapper = questionMapper;
-        this.questionService = questionService;
+        this.questionAssembler = questionAssembler;
     }
 
     @Override
     public List<BookmarkItemResponse> list() {
-        return bookmarkMapper.selectList(new LambdaQueryWrapper<Bookmark>().orderByDesc(Bookmark::getCreatedAt)).stream()
-                .map(this::toResponse)
-                .filter(item -> item.getQuestion() != null)
-                .toList();
+        List<Bookmark> bookmarks = bookmarkMapper.selectList(new LambdaQueryWrapper<Bookmark>().orderByDesc(Bookmark::getCreatedAt));
+        if (bookmarks.isEmpty()) {
+            return List.of();
+        }
+        List<Long> questionIds = bookmarks.stream().map(Bookmark::getQuestionId).distinct().toList();
+        List<Question> questions = questionMapper.selectBatchIds(questionIds);
+        List<QuestionResponse> details = questionAssembler.toResponses(questions);
+        Map<Long, QuestionResponse> detailById = new HashMap<>();
+        for (int i = 0; i < questions.size(); i++) {
+            detailById.put(questions.get(i).getId(), details.get(i));
+        }
+
+        List<BookmarkItemResponse> result = new ArrayList<>();
+        for (Bookmark bookmark : bookmarks) {
+            QuestionResponse detail = detailById.get(bookmark.getQuestionId());
+            if (detail == null) {
+                continue;
+            }
+            BookmarkItemResponse response = new BookmarkItemResponse();
+            response.setQuestionId(detail.getId());
+            response.setCreatedAt(bookmark.getCreatedAt());
+            response.setQuestion(detail);
+            result.add(response);
+        }
+        return result;
     }
 
     @Override
@@ -73,17 +97,4 @@ public class BookmarkServiceImpl implements BookmarkService {
         }
         return question;
     }
-
-    private BookmarkItemResponse toResponse(Bookmark bookmark) {
-        BookmarkItemResponse response = new BookmarkItemResponse();
-        Question question = questionMapper.selectById(bookmark.getQuestionId());
-        if (question == null) {
-            return response;
-        }
-        response.setQuestionId(question.getQuestionCode());
-        response.setCreatedAt(bookmark.getCreatedAt());
-        QuestionResponse detail = questionService.getByCode(question.getQuestionCode());
-        response.setQuestion(detail);
-        return response;
-    }
-}
\ No newline at end of file
+}
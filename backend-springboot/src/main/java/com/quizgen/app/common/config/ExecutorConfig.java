@@ -0,0 +1,83 @@
+package com.quizgen.app.common.config;
+
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+public class ExecutorConfig {
+
+    public static final String IMPORT_JOB_EXECUTOR = "importJobExecutor";
+    public static final String IMPORT_CHUNK_EXECUTOR = "importChunkExecutor";
+    public static final String BACKUP_JOB_EXECUTOR = "backupJobExecutor";
+    public static final String BACKGROUND_EXECUTOR = "backgroundExecutor";
+    public static final String IMPORT_EVENT_EXECUTOR = "importEventExecutor";
+
+    private final ExecutorProperties properties;
+
+    public ExecutorConfig(ExecutorProperties properties) {
+        this.properties = properties;
+    }
+
+    @Bean(IMPORT_JOB_EXECUTOR)
+    public ThreadPoolTaskExecutor importJobExecutor() {
+        return executor("import-job-", properties.getImportJobs(), new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @Bean(IMPORT_CHUNK_EXECUTOR)
+    public ThreadPoolTaskExecutor importChunkExecutor() {
+        return executor("import-chunk-", properties.getImportChunks(), new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    @Bean(BACKUP_JOB_EXECUTOR)
+    public ThreadPoolTaskExecutor backupJobExecutor() {
+        return executor("backup-job-", properties.getBackupJobs(), new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @Bean(BACKGROUND_EXECUTOR)
+    public ThreadPoolTaskExecutor backgroundExecutor() {
+        return executor("background-", properties.getBackground(), new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @Bean(IMPORT_EVENT_EXECUTOR)
+    public ThreadPoolTaskExecutor importEventExecutor() {
+        return executor("import-event-", properties.getImportEvents(), new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @Bean
+    public MeterBinder executorMetrics(
+            @Qualifier(IMPORT_JOB_EXECUTOR) ThreadPoolTaskExecutor importJobExecutor,
+            @Qualifier(IMPORT_CHUNK_EXECUTOR) ThreadPoolTaskExecutor importChunkExecutor,
+            @Qualifier(BACKUP_JOB_EXECUTOR) ThreadPoolTaskExecutor backupJobExecutor,
+            @Qualifier(BACKGROUND_EXECUTOR) ThreadPoolTaskExecutor backgroundExecutor,
+            @Qualifier(IMPORT_EVENT_EXECUTOR) ThreadPoolTaskExecutor importEventExecutor
+    ) {
+        return registry -> {
+            new ExecutorServiceMetrics(importJobExecutor.getThreadPoolExecutor(), "import_jobs", Tags.empty()).bindTo(registry);
+            new ExecutorServiceMetrics(importChunkExecutor.getThreadPoolExecutor(), "import_chunks", Tags.empty()).bindTo(registry);
+            new ExecutorServiceMetrics(backupJobExecutor.getThreadPoolExecutor(), "backup_jobs", Tags.empty()).bindTo(registry);
+            new ExecutorServiceMetrics(backgroundExecutor.getThreadPoolExecutor(), "background", Tags.empty()).bindTo(registry);
+            new ExecutorServiceMetrics(importEventExecutor.getThreadPoolExecutor(), "import_events", Tags.empty()).bindTo(registry);
+        };
+    }
+
+    private ThreadPoolTaskExecutor executor(String prefix, ExecutorProperties.Pool pool, RejectedExecutionHandler rejection) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix(prefix);
+        executor.setCorePoolSize(pool.getThreads());
+        executor.setMaxPoolSize(pool.getThreads());
+        executor.setQueueCapacity(pool.getQueueCapacity());
+        executor.setAllowCoreThreadTimeOut(true);
+        executor.setRejectedExecutionHandler(rejection);
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(properties.getAwaitTerminationSeconds());
+        return executor;
+    }
+}
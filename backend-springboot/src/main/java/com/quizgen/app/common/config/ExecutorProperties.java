@@ -0,0 +1,54 @@
+package com.quizgen.app.common.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "app.executors")
+public class ExecutorProperties {
+
+    private int awaitTerminationSeconds = 30;
+    private Pool importJobs = new Pool(2, 32);
+    private Pool importChunks = new Pool(32, 256);
+    private Pool backupJobs = new Pool(1, 4);
+    private Pool background = new Pool(2, 64);
+    private Pool importEvents = new Pool(2, 1024);
+
+    public int getAwaitTerminationSeconds() { return Math.max(0, awaitTerminationSeconds); }
+    public void setAwaitTerminationSeconds(int awaitTerminationSeconds) { this.awaitTerminationSeconds = awaitTerminationSeconds; }
+
+    public Pool getImportJobs() { return importJobs; }
+    public void setImportJobs(Pool importJobs) { this.importJobs = importJobs; }
+
+    public Pool getImportChunks() { return importChunks; }
+    public void setImportChunks(Pool importChunks) { this.importChunks = importChunks; }
+
+    public Pool getBackupJobs() { return backupJobs; }
+    public void setBackupJobs(Pool backupJobs) { this.backupJobs = backupJobs; }
+
+    public Pool getBackground() { return background; }
+    public void setBackground(Pool background) { this.background = background; }
+
+    public Pool getImportEvents() { return importEvents; }
+    public void setImportEvents(Pool importEvents) { this.importEvents = importEvents; }
+
+    public static class Pool {
+
+        private int threads;
+        private int queueCapacity;
+
+        public Pool() {
+        }
+
+        public Pool(int threads, int queueCapacity) {
+            this.threads = threads;
+            this.queueCapacity = queueCapacity;
+        }
+
+        public int getThreads() { return Math.min(256, Math.max(1, threads)); }
+        public void setThreads(int threads) { this.threads = threads; }
+
+        public int getQueueCapacity() { return Math.max(0, queueCapacity); }
+        public void setQueueCapacity(int queueCapacity) { this.queueCapacity = queueCapacity; }
+    }
+}
@@ -0,0 +1,29 @@
+package com.quizgen.app.common.error;
+
+public class UpstreamStatusException extends BusinessException {
+
+    private final int status;
+    private final long retryAfterMillis;
+
+    public UpstreamStatusException(int code, int status, long retryAfterMillis, String detail) {
+        super(code, detail == null || detail.isBlank() ? "api error status " + status : "api error status " + status + ": " + detail);
+        this.status = status;
+        this.retryAfterMillis = retryAfterMillis;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    public long getRetryAfterMillis() {
+        return retryAfterMillis;
+    }
+
+    public boolean isThrottled() {
+        return status == 429 || status == 503;
+    }
+
+    public boolean isServerError() {
+        return status >= 500;
+    }
+}
@@ -0,0 +1,72 @@
+package com.quizgen.app.common.job;
+
+import com.quizgen.app.ai.gateway.LlmResponseCache;
+import com.quizgen.app.question.service.QuestionService;
+import com.quizgen.app.setting.service.SettingsService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Supplier;
+
+@Component
+public class JobJanitor {
+
+    private static final String SWEPT_METRIC = "job.janitor.swept";
+    private static final String RUN_METRIC = "job.janitor.runs";
+
+    private final QuestionService questionService;
+    private final SettingsService settingsService;
+    private final LlmResponseCache llmResponseCache;
+    private final MeterRegistry meterRegistry;
+
+    public JobJanitor(QuestionService questionService, SettingsService settingsService, LlmResponseCache llmResponseCache,
+                      MeterRegistry meterRegistry) {
+        this.questionService = questionService;
+        this.settingsService = settingsService;
+        this.llmResponseCache = llmResponseCache;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Scheduled(fixedDelayString = "#{@importJobProperties.sweepIntervalSeconds * 1000}",
+            initialDelayString = "#{@importJobProperties.sweepIntervalSeconds * 1000}")
+    public void sweepImportJobs() {
+        sweep("import", questionService::sweepImportJobs);
+    }
+
+    @Scheduled(fixedDelayString = "#{@importJobProperties.leaseSeconds * 1000 / 3}", initialDelay = 0)
+    public void maintainImportLeases() {
+        questionService.renewImportLeases();
+        meterRegistry.counter(SWEPT_METRIC, "job", "import", "action", "resumed").increment(questionService.resumeImportJobs());
+    }
+
+    @Scheduled(fixedDelayString = "#{@maintenanceJobProperties.sweepIntervalSeconds * 1000}",
+            initialDelayString = "#{@maintenanceJobProperties.sweepIntervalSeconds * 1000}")
+    public void sweepMaintenanceJobs() {
+        sweep("maintenance", questionService::sweepMaintenanceJobs);
+    }
+
+    @Scheduled(fixedDelayString = "#{@backupJobProperties.sweepIntervalSeconds * 1000}",
+            initialDelayString = "#{@backupJobProperties.sweepIntervalSeconds * 1000}")
+    public void sweepBackupJobs() {
+        sweep("backup", settingsService::sweepBackupJobs);
+    }
+
+    @Scheduled(fixedDelayString = "#{@llmCacheProperties.purgeIntervalMinutes * 60000}", initialDelay = 0)
+    public void purgeLlmResponseCache() {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        int purged = llmResponseCache.purgeExpired();
+        sample.stop(meterRegistry.timer(RUN_METRIC, "job", "llm_cache"));
+        meterRegistry.counter(SWEPT_METRIC, "job", "llm_cache", "action", "expired").increment(purged);
+    }
+
+    private void sweep(String job, Supplier<SweepResult> sweeper) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        SweepResult result = sweeper.get();
+        sample.stop(meterRegistry.timer(RUN_METRIC, "job", job));
+        meterRegistry.counter(SWEPT_METRIC, "job", job, "action", "timed_out").increment(result.timedOut());
+        meterRegistry.counter(SWEPT_METRIC, "job", job, "action", "expired").increment(result.expired());
+        meterRegistry.counter(SWEPT_METRIC, "job", job, "action", "trimmed").increment(result.trimmed());
+    }
+}
@@ -0,0 +1,4 @@
+package com.quizgen.app.common.job;
+
+public record SweepResult(int timedOut, int expired, int trimmed) {
+}
@@ -0,0 +1,73 @@
+package com.quizgen.app.common.util;
+
+import com.quizgen.app.common.error.BusinessException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+public final class CursorCodec {
+
+    private static final String ID_PREFIX = "id:";
+
+    private CursorCodec() {
+    }
+
+    public static String encode(LocalDateTime time, Long id) {
+        return base64(time + "|" + id);
+    }
+
+    public static String encodeId(Long id) {
+        return base64(ID_PREFIX + id);
+    }
+
+    public static Cursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = raw(cursor);
+            int split = raw.lastIndexOf('|');
+            return new Cursor(LocalDateTime.parse(raw.substring(0, split)), Long.parseLong(raw.substring(split + 1)));
+        } catch (RuntimeException ex) {
+            throw new BusinessException(40007, "invalid cursor");
+        }
+    }
+
+    public static Long decodeId(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = raw(cursor);
+            if (!raw.startsWith(ID_PREFIX)) {
+                throw new IllegalArgumentException(raw);
+            }
+            return Long.parseLong(raw.substring(ID_PREFIX.length()));
+        } catch (RuntimeException ex) {
+            throw new BusinessException(40007, "invalid cursor");
+        }
+    }
+
+    private static String base64(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String raw(String cursor) {
+        return new String(Base64.getUrlDecoder().decode(cursor.trim()), StandardCharsets.UTF_8);
+    }
+
+    public static final class Cursor {
+
+        private final LocalDateTime time;
+        private final Long id;
+
+        private Cursor(LocalDateTime time, Long id) {
+            this.time = time;
+            this.id = id;
+        }
+
+        public LocalDateTime getTime() { return time; }
+        public Long getId() { return id; }
+    }
+}
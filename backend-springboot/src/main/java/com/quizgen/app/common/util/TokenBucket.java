@@ -0,0 +1,29 @@
+package com.quizgen.app.common.util;
+
+import java.util.concurrent.TimeUnit;
+
+public final class TokenBucket {
+
+    private final double capacity;
+    private final double perNano;
+    private double available;
+    private long refilledAt;
+
+    public TokenBucket(int perMinute, long now) {
+        this.capacity = perMinute;
+        this.perNano = perMinute / (double) TimeUnit.MINUTES.toNanos(1);
+        this.available = perMinute;
+        this.refilledAt = now;
+    }
+
+    public long waitNanos(int amount, long now) {
+        available = Math.min(capacity, available + (now - refilledAt) * perNano);
+        refilledAt = now;
+        double needed = Math.min(amount, capacity);
+        return available >= needed ? 0 : (long) Math.ceil((needed - available) / perNano);
+    }
+
+    public void take(int amount) {
+        available -= amount;
+    }
+}
@@ -0,0 +1,39 @@
+package com.quizgen.app.common.util;
+
+public final class TokenEstimator {
+
+    private static final int CHARS_PER_LATIN_TOKEN = 4;
+
+    private TokenEstimator() {
+    }
+
+    public static int estimate(CharSequence text) {
+        if (text == null) {
+            return 0;
+        }
+        return estimate(text, 0, text.length());
+    }
+
+    public static int estimate(CharSequence text, int from, int to) {
+        int tokens = 0;
+        int wordLength = 0;
+        for (int i = from; i < to; i++) {
+            char c = text.charAt(i);
+            if (c < 0x80 && Character.isLetterOrDigit(c)) {
+                wordLength++;
+                continue;
+            }
+            tokens += wordTokens(wordLength);
+            wordLength = 0;
+            if (c == ' ' || c == '\t' || c == '\r' || Character.isLowSurrogate(c)) {
+                continue;
+            }
+            tokens++;
+        }
+        return tokens + wordTokens(wordLength);
+    }
+
+    private static int wordTokens(int length) {
+        return (length + CHARS_PER_LATIN_TOKEN - 1) / CHARS_PER_LATIN_TOKEN;
+    }
+}
@@ -7,7 +7,6 @@ import com.quizgen.app.note.service.NoteService;
 import jakarta.validation.Valid;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -25,16 +24,11 @@ public class NoteController {
     public ApiResponse<Map<String, Object>> list(
             @RequestParam(defaultValue = "1") int page,
             @RequestParam(defaultValue = "20") int limit,
-            @RequestParam(required = false) String search
+            @RequestParam(required = false) String search,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "false") boolean withTotal
     ) {
-        List<NoteResponse> notes = noteService.list(page, limit, search);
-        long total = noteService.total(search);
-        Map<String, Object> payload = new HashMap<>();
-        payload.put("data", notes);
-        payload.put("total", total);
-        payload.put("page", page);
-        payload.put("totalPages", (long) Math.ceil((double) total / limit));
-        return ApiResponse.ok(payload);
+        return ApiResponse.ok(noteService.list(page, limit, search, cursor, withTotal));
     }
 
     @GetMapping("/question/{questionId}")
@@ -4,12 +4,11 @@ import com.quizgen.app.note.dto.NoteResponse;
 import com.quizgen.app.note.dto.NoteUpsertRequest;
 
 import java.util.List;
+import java.util.Map;
 
 public interface NoteService {
 
-    List<NoteResponse> list(int page, int limit, String search);
-
-    long total(String search);
+    Map<String, Object> list(int page, int limit, String search, String cursor, boolean withTotal);
 
     List<NoteResponse> byQuestionCode(String questionCode);
 
@@ -3,6 +3,7 @@ package com.quizgen.app.note.service.impl;
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.quizgen.app.common.error.BusinessException;
+import com.quizgen.app.common.util.CursorCodec;
 import com.quizgen.app.note.dto.NoteResponse;
 import com.quizgen.app.note.dto.NoteUpsertRequest;
 import com.quizgen.app.note.entity.Note;
@@ -13,7 +14,11 @@ import com.quizgen.app.question.mapper.QuestionMapper;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 @Service
 public class NoteServiceImpl implements NoteService {
@@ -27,32 +32,50 @@ public class NoteServiceImpl implements NoteService {
     }
 
     @Override
-    public List<NoteResponse> list(int page, int limit, String search) {
+    public Map<String, Object> list(int page, int limit, String search, String cursor, boolean withTotal) {
         LambdaQueryWrapper<Note> wrapper = new LambdaQueryWrapper<>();
         if (search != null && !search.isBlank()) {
             wrapper.like(Note::getContent, search);
         }
-        wrapper.orderByDesc(Note::getUpdatedAt);
-        Page<Note> result = noteMapper.selectPage(new Page<>(page, limit), wrapper);
-        return result.getRecords().stream().map(this::toResponse).toList();
-    }
 
-    @Override
-    public long total(String search) {
-        LambdaQueryWrapper<Note> wrapper = new LambdaQueryWrapper<>();
-        if (search != null && !search.isBlank()) {
-            wrapper.like(Note::getContent, search);
+        Map<String, Object> payload = new HashMap<>();
+        List<Note> records;
+        if (cursor != null) {
+            CursorCodec.Cursor after = CursorCodec.decode(cursor);
+            if (withTotal) {
+                payload.put("total", noteMapper.selectCount(wrapper));
+            }
+            if (after != null) {
+                wrapper.and(w -> w.lt(Note::getUpdatedAt, after.getTime())
+                        .or(o -> o.eq(Note::getUpdatedAt, after.getTime()).lt(Note::getId, after.getId())));
+            }
+            wrapper.orderByDesc(Note::getUpdatedAt).orderByDesc(Note::getId).last("LIMIT " + (limit + 1));
+            records = noteMapper.selectList(wrapper);
+            boolean hasMore = records.size() > limit;
+            if (hasMore) {
+                records = records.subList(0, limit);
+                Note last = records.get(records.size() - 1);
+                payload.put("nextCursor", CursorCodec.encode(last.getUpdatedAt(), last.getId()));
+            }
+            payload.put("hasMore", hasMore);
+        } else {
+            wrapper.orderByDesc(Note::getUpdatedAt).orderByDesc(Note::getId);
+            Page<Note> result = noteMapper.selectPage(new Page<>(page, limit), wrapper);
+            records = result.getRecords();
+            payload.put("total", result.getTotal());
+            payload.put("page", page);
+            payload.put("totalPages", (long) Math.ceil((double) result.getTotal() / limit));
         }
-        return noteMapper.selectCount(wrapper);
+        payload.put("data", toResponses(records));
+        return payload;
     }
 
     @Override
     public List<NoteResponse> byQuestionCode(String questionCode) {
         Question question = findQuestion(questionCode);
-        return noteMapper.selectList(new LambdaQueryWrapper<Note>()
-                        .eq(Note::getQuestionId, question.getId())
-                        .orderByDesc(Note::getCreatedAt))
-                .stream().map(this::toResponse).toList();
+        return toResponses(noteMapper.selectList(new LambdaQueryWrapper<Note>()
+                .eq(Note::getQuestionId, question.getId())
+                .orderByDesc(Note::getCreatedAt)));
     }
 
     @Override
@@ -92,6 +115,22 @@ public class NoteServiceImpl implements NoteService {
         return question;
     }
 
+    private List<NoteResponse> toResponses(List<Note> notes) {
+        List<Long> questionIds = notes.stream().map(Note::getQuestionId).distinct().toList();
+        Map<Long, String> questionCodes = questionIds.isEmpty() ? Collections.emptyMap()
+                : questionMapper.selectBatchIds(questionIds).stream()
+                .collect(Collectors.toMap(Question::getId, Question::getQuestionCode));
+        return notes.stream().map(note -> {
+            NoteResponse response = new NoteResponse();
+            response.setId(String.valueOf(note.getId()));
+            response.setQuestionId(questionCodes.get(note.getQuestionId()));
+            response.setContent(note.getContent());
+            response.setCreatedAt(note.getCreatedAt());
+            response.setUpdatedAt(note.getUpdatedAt());
+            return response;
+        }).toList();
+    }
+
     private NoteResponse toResponse(Note note) {
         NoteResponse response = new NoteResponse();
         response.setId(String.valueOf(note.getId()));
@@ -12,6 +12,12 @@ public class ImportJobProperties {
     private int retentionHours = 24;
     private int timeoutHours = 6;
     private int maxFinishedKeep = 200;
+    private int promptTokenBudget = 6000;
+    private double completionFillRatio = 0.8;
+    private int maxConcurrency = 16;
+    private int sweepIntervalSeconds = 60;
+    private int leaseSeconds = 120;
+    private int progressStreamTimeoutSeconds = 1800;
 
     public int getChunkMaxRetries() {
         return Math.max(0, chunkMaxRetries);
@@ -52,4 +58,52 @@ public class ImportJobProperties {
     public void setMaxFinishedKeep(int maxFinishedKeep) {
         this.maxFinishedKeep = maxFinishedKeep;
     }
+
+    public int getPromptTokenBudget() {
+        return Math.max(500, promptTokenBudget);
+    }
+
+    public void setPromptTokenBudget(int promptTokenBudget) {
+        this.promptTokenBudget = promptTokenBudget;
+    }
+
+    public double getCompletionFillRatio() {
+        return Math.min(1.0, Math.max(0.3, completionFillRatio));
+    }
+
+    public void setCompletionFillRatio(double completionFillRatio) {
+        this.completionFillRatio = completionFillRatio;
+    }
+
+    public int getMaxConcurrency() {
+        return Math.min(64, Math.max(1, maxConcurrency));
+    }
+
+    public void setMaxConcurrency(int maxConcurrency) {
+        this.maxConcurrency = maxConcurrency;
+    }
+
+    public int getSweepIntervalSeconds() {
+        return Math.max(5, sweepIntervalSeconds);
+    }
+
+    public void setSweepIntervalSeconds(int sweepIntervalSeconds) {
+        this.sweepIntervalSeconds = sweepIntervalSeconds;
+    }
+
+    public int getLeaseSeconds() {
+        return Math.max(30, leaseSeconds);
+    }
+
+    public void setLeaseSeconds(int leaseSeconds) {
+        this.leaseSeconds = leaseSeconds;
+    }
+
+    public int getProgressStreamTimeoutSeconds() {
+        return Math.max(30, progressStreamTimeoutSeconds);
+    }
+
+    public void setProgressStreamTimeoutSeconds(int progressStreamTimeoutSeconds) {
+        this.progressStreamTimeoutSeconds = progressStreamTimeoutSeconds;
+    }
 }
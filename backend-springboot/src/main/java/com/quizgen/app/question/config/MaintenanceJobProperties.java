@@ -0,0 +1,30 @@
+package com.quizgen.app.question.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "app.maintenance-job")
+public class MaintenanceJobProperties {
+
+    private int batchSize = 500;
+    private int retentionHours = 24;
+    private int timeoutHours = 6;
+    private int maxFinishedKeep = 200;
+    private int sweepIntervalSeconds = 60;
+
+    public int getBatchSize() { return Math.min(5000, Math.max(50, batchSize)); }
+    public void setBatchSize(int batchSize) { this.batchSize = batchSize; }
+
+    public int getRetentionHours() { return Math.max(1, retentionHours); }
+    public void setRetentionHours(int retentionHours) { this.retentionHours = retentionHours; }
+
+    public int getTimeoutHours() { return Math.max(1, timeoutHours); }
+    public void setTimeoutHours(int timeoutHours) { this.timeoutHours = timeoutHours; }
+
+    public int getMaxFinishedKeep() { return Math.max(10, maxFinishedKeep); }
+    public void setMaxFinishedKeep(int maxFinishedKeep) { this.maxFinishedKeep = maxFinishedKeep; }
+
+    public int getSweepIntervalSeconds() { return Math.max(5, sweepIntervalSeconds); }
+    public void setSweepIntervalSeconds(int sweepIntervalSeconds) { this.sweepIntervalSeconds = sweepIntervalSeconds; }
+}
@@ -0,0 +1,18 @@
+package com.quizgen.app.question.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "app.near-duplicate")
+public class NearDuplicateProperties {
+
+    private double threshold = 0.8;
+    private int reportLimit = 200;
+
+    public double getThreshold() { return Math.min(1.0, Math.max(0.5, threshold)); }
+    public void setThreshold(double threshold) { this.threshold = threshold; }
+
+    public int getReportLimit() { return Math.max(1, reportLimit); }
+    public void setReportLimit(int reportLimit) { this.reportLimit = reportLimit; }
+}
@@ -1,6 +1,7 @@
 package com.quizgen.app.question.controller;
 
 import com.quizgen.app.common.api.ApiResponse;
+import com.quizgen.app.question.config.ImportJobProperties;
 import com.quizgen.app.question.dto.QuestionImportAiRequest;
 import com.quizgen.app.question.dto.QuestionPageRequest;
 import com.quizgen.app.question.dto.QuestionPageResponse;
@@ -8,25 +9,37 @@ import com.quizgen.app.question.dto.QuestionResponse;
 import com.quizgen.app.question.dto.QuestionImportRequest;
 import com.quizgen.app.question.dto.QuestionImportTextRequest;
 import com.quizgen.app.question.dto.QuestionImportResultResponse;
-import com.quizgen.app.question.dto.QuestionCleanResultResponse;
 import com.quizgen.app.question.dto.QuestionBackupResponse;
+import com.quizgen.app.question.dto.QuestionBatchDeleteRequest;
 import com.quizgen.app.question.dto.QuestionRestoreRequest;
 import com.quizgen.app.question.dto.QuestionUpsertRequest;
+import com.quizgen.app.question.dto.TagCountResponse;
 import com.quizgen.app.question.service.QuestionService;
+import com.quizgen.app.question.support.ImportProgressTracker;
 import jakarta.validation.Valid;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 @RestController
 @RequestMapping("/api/questions")
 public class QuestionController {
 
     private final QuestionService questionService;
+    private final ImportJobProperties importJobProperties;
 
-    public QuestionController(QuestionService questionService) {
+    public QuestionController(QuestionService questionService, ImportJobProperties importJobProperties) {
         this.questionService = questionService;
+        this.importJobProperties = importJobProperties;
     }
 
     @GetMapping
@@ -39,6 +52,11 @@ public class QuestionController {
         return ApiResponse.ok(questionService.allTags());
     }
 
+    @GetMapping(value = "/tags/all", params = "withCounts=true")
+    public ApiResponse<List<TagCountResponse>> tagsWithCounts() {
+        return ApiResponse.ok(questionService.allTagsWithCounts());
+    }
+
     @GetMapping("/{id}")
     public ApiResponse<QuestionResponse> get(@PathVariable("id") String id) {
         return ApiResponse.ok(questionService.getByCode(id));
@@ -60,6 +78,11 @@ public class QuestionController {
         return ApiResponse.okMessage("deleted");
     }
 
+    @PostMapping("/batch-delete")
+    public ApiResponse<Map<String, Object>> batchDelete(@RequestBody QuestionBatchDeleteRequest request) {
+        return ApiResponse.ok(questionService.startBatchDeleteJob(request));
+    }
+
     @PostMapping("/import")
     public ApiResponse<QuestionImportResultResponse> importQuestions(@Valid @RequestBody QuestionImportRequest request) {
         return ApiResponse.ok(questionService.importQuestions(request));
@@ -70,6 +93,17 @@ public class QuestionController {
         return ApiResponse.ok(questionService.importText(request));
     }
 
+    @PostMapping(value = "/import/text/stream", consumes = MediaType.TEXT_PLAIN_VALUE)
+    public ApiResponse<QuestionImportResultResponse> importTextStream(
+            InputStream body,
+            @RequestParam(value = "mode", required = false) String mode,
+            @RequestParam(value = "bankId", required = false) String bankId,
+            @RequestParam(value = "tags", required = false) List<String> tags,
+            @RequestParam(value = "skipNearDuplicates", required = false) Boolean skipNearDuplicates) {
+        Reader reader = new InputStreamReader(body, StandardCharsets.UTF_8);
+        return ApiResponse.ok(questionService.importTextStream(reader, mode, bankId, tags, skipNearDuplicates));
+    }
+
     @PostMapping("/import/ai")
     public ApiResponse<Map<String, Object>> importWithAi(@Valid @RequestBody QuestionImportAiRequest request) {
         return ApiResponse.ok(questionService.importWithAi(request));
@@ -80,14 +114,49 @@ public class QuestionController {
         return ApiResponse.ok(questionService.getImportStatus(importId));
     }
 
-    @PostMapping("/clean-duplicates")
-    public ApiResponse<QuestionCleanResultResponse> cleanDuplicates() {
-        return ApiResponse.ok(questionService.cleanDuplicates());
+    @GetMapping(value = "/import/stream/{importId}", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter importStream(@PathVariable("importId") String importId) {
+        SseEmitter emitter = new SseEmitter(TimeUnit.SECONDS.toMillis(importJobProperties.getProgressStreamTimeoutSeconds()));
+        Runnable unsubscribe = questionService.subscribeImportStatus(importId, (event, data) -> {
+            try {
+                emitter.send(SseEmitter.event().name(event).data(data, MediaType.APPLICATION_JSON));
+                if (ImportProgressTracker.EVENT_DONE.equals(event)) {
+                    emitter.complete();
+                }
+            } catch (IOException | IllegalStateException ex) {
+                emitter.completeWithError(ex);
+            }
+        });
+        emitter.onCompletion(unsubscribe);
+        emitter.onTimeout(unsubscribe);
+        emitter.onError(ex -> unsubscribe.run());
+        return emitter;
+    }
+
+    @PostMapping({"/clean-duplicates", "/clean-duplicates/jobs"})
+    public ApiResponse<Map<String, Object>> startCleanDuplicatesJob() {
+        return ApiResponse.ok(questionService.startCleanDuplicatesJob());
+    }
+
+    @GetMapping({"/clean-duplicates/jobs/{jobNo}", "/near-duplicates/jobs/{jobNo}", "/batch-delete/jobs/{jobNo}"})
+    public ApiResponse<Map<String, Object>> maintenanceJob(@PathVariable("jobNo") String jobNo) {
+        return ApiResponse.ok(questionService.getMaintenanceJob(jobNo));
+    }
+
+    @GetMapping("/near-duplicates")
+    public ApiResponse<Map<String, Object>> nearDuplicates(@RequestParam(value = "threshold", required = false) Double threshold) {
+        return ApiResponse.ok(questionService.nearDuplicateReport(threshold));
+    }
+
+    @PostMapping("/near-duplicates/jobs")
+    public ApiResponse<Map<String, Object>> startCleanNearDuplicatesJob(
+            @RequestParam(value = "threshold", required = false) Double threshold) {
+        return ApiResponse.ok(questionService.startCleanNearDuplicatesJob(threshold));
     }
 
     @PostMapping("/backup")
-    public ApiResponse<QuestionBackupResponse> backup() {
-        return ApiResponse.ok(questionService.backup());
+    public ApiResponse<QuestionBackupResponse> backup(@RequestParam(value = "gzip", defaultValue = "false") boolean gzip) {
+        return ApiResponse.ok(questionService.backup(gzip));
     }
 
     @PostMapping("/restore")
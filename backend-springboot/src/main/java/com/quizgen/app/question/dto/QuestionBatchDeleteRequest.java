@@ -0,0 +1,16 @@
+package com.quizgen.app.question.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class QuestionBatchDeleteRequest {
+
+    private List<String> ids = new ArrayList<>();
+
+    private String bankId;
+
+    public List<String> getIds() { return ids; }
+    public void setIds(List<String> ids) { this.ids = ids; }
+    public String getBankId() { return bankId; }
+    public void setBankId(String bankId) { this.bankId = bankId; }
+}
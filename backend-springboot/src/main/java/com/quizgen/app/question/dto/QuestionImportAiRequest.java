@@ -11,10 +11,18 @@ public class QuestionImportAiRequest {
 
     private String bankId;
 
+    private Boolean skipNearDuplicates;
+
+    private Boolean force;
+
     public String getContent() { return content; }
     public void setContent(String content) { this.content = content; }
     public String getMode() { return mode; }
     public void setMode(String mode) { this.mode = mode; }
     public String getBankId() { return bankId; }
     public void setBankId(String bankId) { this.bankId = bankId; }
+    public Boolean getSkipNearDuplicates() { return skipNearDuplicates; }
+    public void setSkipNearDuplicates(Boolean skipNearDuplicates) { this.skipNearDuplicates = skipNearDuplicates; }
+    public Boolean getForce() { return force; }
+    public void setForce(Boolean force) { this.force = force; }
 }
@@ -16,6 +16,8 @@ public class QuestionImportRequest {
 
     private List<String> tags = new ArrayList<>();
 
+    private Boolean skipNearDuplicates;
+
     public List<QuestionUpsertRequest> getQuestions() { return questions; }
     public void setQuestions(List<QuestionUpsertRequest> questions) { this.questions = questions; }
     public String getMode() { return mode; }
@@ -24,4 +26,6 @@ public class QuestionImportRequest {
     public void setBankId(String bankId) { this.bankId = bankId; }
     public List<String> getTags() { return tags; }
     public void setTags(List<String> tags) { this.tags = tags; }
+    public Boolean getSkipNearDuplicates() { return skipNearDuplicates; }
+    public void setSkipNearDuplicates(Boolean skipNearDuplicates) { this.skipNearDuplicates = skipNearDuplicates; }
 }
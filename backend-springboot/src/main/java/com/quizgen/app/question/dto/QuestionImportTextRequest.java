@@ -16,6 +16,8 @@ public class QuestionImportTextRequest {
 
     private List<String> tags = new ArrayList<>();
 
+    private Boolean skipNearDuplicates;
+
     public String getContent() { return content; }
     public void setContent(String content) { this.content = content; }
     public String getMode() { return mode; }
@@ -24,4 +26,6 @@ public class QuestionImportTextRequest {
     public void setBankId(String bankId) { this.bankId = bankId; }
     public List<String> getTags() { return tags; }
     public void setTags(List<String> tags) { this.tags = tags; }
+    public Boolean getSkipNearDuplicates() { return skipNearDuplicates; }
+    public void setSkipNearDuplicates(Boolean skipNearDuplicates) { this.skipNearDuplicates = skipNearDuplicates; }
 }
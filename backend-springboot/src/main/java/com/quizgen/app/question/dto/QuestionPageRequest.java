@@ -8,6 +8,8 @@ public class QuestionPageRequest {
     private String search;
     private String bankId;
     private String tags;
+    private String cursor;
+    private Boolean withTotal;
 
     public Integer getPage() { return page; }
     public void setPage(Integer page) { this.page = page; }
@@ -21,4 +23,8 @@ public class QuestionPageRequest {
     public void setBankId(String bankId) { this.bankId = bankId; }
     public String getTags() { return tags; }
     public void setTags(String tags) { this.tags = tags; }
+    public String getCursor() { return cursor; }
+    public void setCursor(String cursor) { this.cursor = cursor; }
+    public Boolean getWithTotal() { return withTotal; }
+    public void setWithTotal(Boolean withTotal) { this.withTotal = withTotal; }
 }
\ No newline at end of file
@@ -1,20 +1,29 @@
 package com.quizgen.app.question.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 import java.util.List;
 
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class QuestionPageResponse {
 
-    private long total;
-    private long page;
-    private long totalPages;
+    private Long total;
+    private Long page;
+    private Long totalPages;
     private List<QuestionResponse> data;
+    private String nextCursor;
+    private Boolean hasMore;
 
-    public long getTotal() { return total; }
-    public void setTotal(long total) { this.total = total; }
-    public long getPage() { return page; }
-    public void setPage(long page) { this.page = page; }
-    public long getTotalPages() { return totalPages; }
-    public void setTotalPages(long totalPages) { this.totalPages = totalPages; }
+    public Long getTotal() { return total; }
+    public void setTotal(Long total) { this.total = total; }
+    public Long getPage() { return page; }
+    public void setPage(Long page) { this.page = page; }
+    public Long getTotalPages() { return totalPages; }
+    public void setTotalPages(Long totalPages) { this.totalPages = totalPages; }
     public List<QuestionResponse> getData() { return data; }
     public void setData(List<QuestionResponse> data) { this.data = data; }
-}
\ No newline at end of file
+    public String getNextCursor() { return nextCursor; }
+    public void setNextCursor(String nextCursor) { this.nextCursor = nextCursor; }
+    public Boolean getHasMore() { return hasMore; }
+    public void setHasMore(Boolean hasMore) { this.hasMore = hasMore; }
+}
@@ -1,5 +1,7 @@
 package com.quizgen.app.question.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
@@ -16,6 +18,8 @@ public class QuestionResponse {
     private List<String> tags = new ArrayList<>();
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String highlight;
 
     public String getId() { return id; }
     public void setId(String id) { this.id = id; }
@@ -37,4 +41,6 @@ public class QuestionResponse {
     public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
     public LocalDateTime getUpdatedAt() { return updatedAt; }
     public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+    public String getHighlight() { return highlight; }
+    public void setHighlight(String highlight) { this.highlight = highlight; }
 }
\ No newline at end of file
@@ -0,0 +1,12 @@
+package com.quizgen.app.question.dto;
+
+public class TagCountResponse {
+
+    private String name;
+    private long count;
+
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+    public long getCount() { return count; }
+    public void setCount(long count) { this.count = count; }
+}
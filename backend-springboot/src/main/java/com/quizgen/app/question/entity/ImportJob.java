@@ -32,6 +32,12 @@ public class ImportJob {
     @TableField("failed_chunks")
     private Integer failedChunks;
 
+    @TableField("skipped_chunks")
+    private Integer skippedChunks;
+
+    @TableField("inserted_count")
+    private Integer insertedCount;
+
     @TableField("started_at")
     private LocalDateTime startedAt;
 
@@ -41,6 +47,21 @@ public class ImportJob {
     @TableField("error_message")
     private String errorMessage;
 
+    @TableField("bank_id")
+    private String bankId;
+
+    @TableField("skip_near_duplicates")
+    private Boolean skipNearDuplicates;
+
+    @TableField("force_refresh")
+    private Boolean forceRefresh;
+
+    @TableField("lease_owner")
+    private String leaseOwner;
+
+    @TableField("lease_expires_at")
+    private LocalDateTime leaseExpiresAt;
+
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
     public String getJobNo() { return jobNo; }
@@ -57,10 +78,24 @@ public class ImportJob {
     public void setSuccessChunks(Integer successChunks) { this.successChunks = successChunks; }
     public Integer getFailedChunks() { return failedChunks; }
     public void setFailedChunks(Integer failedChunks) { this.failedChunks = failedChunks; }
+    public Integer getSkippedChunks() { return skippedChunks; }
+    public void setSkippedChunks(Integer skippedChunks) { this.skippedChunks = skippedChunks; }
+    public Integer getInsertedCount() { return insertedCount; }
+    public void setInsertedCount(Integer insertedCount) { this.insertedCount = insertedCount; }
     public LocalDateTime getStartedAt() { return startedAt; }
     public void setStartedAt(LocalDateTime startedAt) { this.startedAt = startedAt; }
     public LocalDateTime getEndedAt() { return endedAt; }
     public void setEndedAt(LocalDateTime endedAt) { this.endedAt = endedAt; }
     public String getErrorMessage() { return errorMessage; }
     public void setErrorMessage(String errorMessage) { this.errorMessage = errorMessage; }
+    public String getBankId() { return bankId; }
+    public void setBankId(String bankId) { this.bankId = bankId; }
+    public Boolean getSkipNearDuplicates() { return skipNearDuplicates; }
+    public void setSkipNearDuplicates(Boolean skipNearDuplicates) { this.skipNearDuplicates = skipNearDuplicates; }
+    public Boolean getForceRefresh() { return forceRefresh; }
+    public void setForceRefresh(Boolean forceRefresh) { this.forceRefresh = forceRefresh; }
+    public String getLeaseOwner() { return leaseOwner; }
+    public void setLeaseOwner(String leaseOwner) { this.leaseOwner = leaseOwner; }
+    public LocalDateTime getLeaseExpiresAt() { return leaseExpiresAt; }
+    public void setLeaseExpiresAt(LocalDateTime leaseExpiresAt) { this.leaseExpiresAt = leaseExpiresAt; }
 }
@@ -22,9 +22,20 @@ public class ImportJobItem {
     @TableField("result_json")
     private String resultJson;
 
+    @TableField("inserted_count")
+    private Integer insertedCount;
+
     @TableField("error_message")
     private String errorMessage;
 
+    @TableField("chunk_text")
+    private String chunkText;
+
+    @TableField("chunk_hash")
+    private String chunkHash;
+
+    private Integer attempts;
+
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
     public Long getJobId() { return jobId; }
@@ -35,6 +46,14 @@ public class ImportJobItem {
     public void setStatus(String status) { this.status = status; }
     public String getResultJson() { return resultJson; }
     public void setResultJson(String resultJson) { this.resultJson = resultJson; }
+    public Integer getInsertedCount() { return insertedCount; }
+    public void setInsertedCount(Integer insertedCount) { this.insertedCount = insertedCount; }
     public String getErrorMessage() { return errorMessage; }
     public void setErrorMessage(String errorMessage) { this.errorMessage = errorMessage; }
+    public String getChunkText() { return chunkText; }
+    public void setChunkText(String chunkText) { this.chunkText = chunkText; }
+    public String getChunkHash() { return chunkHash; }
+    public void setChunkHash(String chunkHash) { this.chunkHash = chunkHash; }
+    public Integer getAttempts() { return attempts; }
+    public void setAttempts(Integer attempts) { this.attempts = attempts; }
 }
@@ -0,0 +1,61 @@
+package com.quizgen.app.question.entity;
+
+import com.baomidou.mybatisplus.annotation.IdType;
+import com.baomidou.mybatisplus.annotation.TableField;
+import com.baomidou.mybatisplus.annotation.TableId;
+import com.baomidou.mybatisplus.annotation.TableName;
+
+import java.time.LocalDateTime;
+
+@TableName("maintenance_job")
+public class MaintenanceJob {
+
+    @TableId(type = IdType.AUTO)
+    private Long id;
+
+    @TableField("job_no")
+    private String jobNo;
+
+    private String kind;
+
+    private String status;
+
+    @TableField("total_count")
+    private Long totalCount;
+
+    @TableField("processed_count")
+    private Long processedCount;
+
+    @TableField("error_message")
+    private String errorMessage;
+
+    @TableField("started_at")
+    private LocalDateTime startedAt;
+
+    @TableField("ended_at")
+    private LocalDateTime endedAt;
+
+    @TableField("updated_at")
+    private LocalDateTime updatedAt;
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    public String getJobNo() { return jobNo; }
+    public void setJobNo(String jobNo) { this.jobNo = jobNo; }
+    public String getKind() { return kind; }
+    public void setKind(String kind) { this.kind = kind; }
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+    public Long getTotalCount() { return totalCount; }
+    public void setTotalCount(Long totalCount) { this.totalCount = totalCount; }
+    public Long getProcessedCount() { return processedCount; }
+    public void setProcessedCount(Long processedCount) { this.processedCount = processedCount; }
+    public String getErrorMessage() { return errorMessage; }
+    public void setErrorMessage(String errorMessage) { this.errorMessage = errorMessage; }
+    public LocalDateTime getStartedAt() { return startedAt; }
+    public void setStartedAt(LocalDateTime startedAt) { this.startedAt = startedAt; }
+    public LocalDateTime getEndedAt() { return endedAt; }
+    public void setEndedAt(LocalDateTime endedAt) { this.endedAt = endedAt; }
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+}
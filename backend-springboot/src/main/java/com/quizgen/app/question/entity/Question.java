@@ -23,6 +23,9 @@ public class Question {
 
     private String text;
 
+    @TableField("text_hash")
+    private String textHash;
+
     private String answer;
 
     private String explanation;
@@ -43,6 +46,8 @@ public class Question {
     public void setType(String type) { this.type = type; }
     public String getText() { return text; }
     public void setText(String text) { this.text = text; }
+    public String getTextHash() { return textHash; }
+    public void setTextHash(String textHash) { this.textHash = textHash; }
     public String getAnswer() { return answer; }
     public void setAnswer(String answer) { this.answer = answer; }
     public String getExplanation() { return explanation; }
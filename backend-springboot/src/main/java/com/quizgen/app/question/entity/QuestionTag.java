@@ -15,6 +15,9 @@ public class QuestionTag {
 
     private String name;
 
+    @TableField("usage_count")
+    private Integer usageCount;
+
     @TableField("created_at")
     private LocalDateTime createdAt;
 
@@ -22,6 +25,8 @@ public class QuestionTag {
     public void setId(Long id) { this.id = id; }
     public String getName() { return name; }
     public void setName(String name) { this.name = name; }
+    public Integer getUsageCount() { return usageCount; }
+    public void setUsageCount(Integer usageCount) { this.usageCount = usageCount; }
     public LocalDateTime getCreatedAt() { return createdAt; }
     public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
 }
\ No newline at end of file
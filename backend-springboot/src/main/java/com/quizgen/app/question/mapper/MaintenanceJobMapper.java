@@ -0,0 +1,7 @@
+package com.quizgen.app.question.mapper;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.quizgen.app.question.entity.MaintenanceJob;
+
+public interface MaintenanceJobMapper extends BaseMapper<MaintenanceJob> {
+}
@@ -1,5 +1,6 @@
 package com.quizgen.app.question.service;
 
+import com.quizgen.app.common.job.SweepResult;
 import com.quizgen.app.question.dto.QuestionPageRequest;
 import com.quizgen.app.question.dto.QuestionPageResponse;
 import com.quizgen.app.question.dto.QuestionResponse;
@@ -7,10 +8,13 @@ import com.quizgen.app.question.dto.QuestionImportRequest;
 import com.quizgen.app.question.dto.QuestionImportAiRequest;
 import com.quizgen.app.question.dto.QuestionImportTextRequest;
 import com.quizgen.app.question.dto.QuestionImportResultResponse;
-import com.quizgen.app.question.dto.QuestionCleanResultResponse;
 import com.quizgen.app.question.dto.QuestionBackupResponse;
+import com.quizgen.app.question.dto.QuestionBatchDeleteRequest;
 import com.quizgen.app.question.dto.QuestionUpsertRequest;
+import com.quizgen.app.question.dto.TagCountResponse;
+import com.quizgen.app.question.support.ImportProgressTracker;
 
+import java.io.Reader;
 import java.util.List;
 import java.util.Map;
 
@@ -28,17 +32,39 @@ public interface QuestionService {
 
     List<String> allTags();
 
+    List<TagCountResponse> allTagsWithCounts();
+
     QuestionImportResultResponse importQuestions(QuestionImportRequest request);
 
     QuestionImportResultResponse importText(QuestionImportTextRequest request);
 
+    QuestionImportResultResponse importTextStream(Reader reader, String mode, String bankId, List<String> tags, Boolean skipNearDuplicates);
+
     Map<String, Object> importWithAi(QuestionImportAiRequest request);
 
     Map<String, Object> getImportStatus(String importId);
 
-    QuestionCleanResultResponse cleanDuplicates();
+    Runnable subscribeImportStatus(String importId, ImportProgressTracker.Listener listener);
+
+    SweepResult sweepImportJobs();
+
+    int renewImportLeases();
+
+    int resumeImportJobs();
+
+    SweepResult sweepMaintenanceJobs();
+
+    Map<String, Object> startCleanDuplicatesJob();
+
+    Map<String, Object> getMaintenanceJob(String jobNo);
+
+    Map<String, Object> nearDuplicateReport(Double threshold);
+
+    Map<String, Object> startCleanNearDuplicatesJob(Double threshold);
+
+    Map<String, Object> startBatchDeleteJob(QuestionBatchDeleteRequest request);
 
-    QuestionBackupResponse backup();
+    QuestionBackupResponse backup(boolean gzip);
 
     QuestionBackupResponse restore(String backupId);
 }
@@ -2,21 +2,31 @@ package com.quizgen.app.question.service.impl;
 
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
-import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.MissingNode;
+import com.quizgen.app.ai.gateway.ChatRequest;
+import com.quizgen.app.ai.gateway.ChatResult;
+import com.quizgen.app.ai.gateway.LlmResponseCache;
 import com.quizgen.app.bank.entity.QuestionBank;
 import com.quizgen.app.bank.mapper.QuestionBankMapper;
-import com.quizgen.app.bookmark.entity.Bookmark;
-import com.quizgen.app.bookmark.mapper.BookmarkMapper;
+import com.quizgen.app.common.config.ExecutorConfig;
 import com.quizgen.app.common.error.BusinessException;
+import com.quizgen.app.common.error.UpstreamStatusException;
+import com.quizgen.app.common.job.SweepResult;
 import com.quizgen.app.common.util.CodeGenerator;
-import com.quizgen.app.note.entity.Note;
-import com.quizgen.app.note.mapper.NoteMapper;
+import com.quizgen.app.common.util.ContentHash;
+import com.quizgen.app.common.util.CursorCodec;
 import com.quizgen.app.question.config.ImportJobProperties;
+import com.quizgen.app.question.config.MaintenanceJobProperties;
+import com.quizgen.app.question.config.NearDuplicateProperties;
 import com.quizgen.app.question.dto.QuestionBackupResponse;
-import com.quizgen.app.question.dto.QuestionCleanResultResponse;
+import com.quizgen.app.question.dto.QuestionBatchDeleteRequest;
 import com.quizgen.app.question.dto.QuestionImportAiRequest;
 import com.quizgen.app.question.dto.QuestionImportRequest;
 import com.quizgen.app.question.dto.QuestionImportResultResponse;
@@ -26,176 +36,255 @@ import com.quizgen.app.question.dto.QuestionPageRequest;
 import com.quizgen.app.question.dto.QuestionPageResponse;
 import com.quizgen.app.question.dto.QuestionResponse;
 import com.quizgen.app.question.dto.QuestionUpsertRequest;
+import com.quizgen.app.question.dto.TagCountResponse;
 import com.quizgen.app.question.entity.ImportJob;
 import com.quizgen.app.question.entity.ImportJobItem;
+import com.quizgen.app.question.entity.MaintenanceJob;
 import com.quizgen.app.question.entity.Question;
 import com.quizgen.app.question.entity.QuestionOption;
-import com.quizgen.app.question.entity.QuestionTag;
 import com.quizgen.app.question.entity.QuestionTagRel;
 import com.quizgen.app.question.mapper.ImportJobItemMapper;
 import com.quizgen.app.question.mapper.ImportJobMapper;
+import com.quizgen.app.question.mapper.MaintenanceJobMapper;
 import com.quizgen.app.question.mapper.QuestionMapper;
 import com.quizgen.app.question.mapper.QuestionOptionMapper;
-import com.quizgen.app.question.mapper.QuestionTagMapper;
 import com.quizgen.app.question.mapper.QuestionTagRelMapper;
 import com.quizgen.app.question.service.QuestionService;
+import com.quizgen.app.question.support.AdaptiveChunkScheduler;
+import com.quizgen.app.question.support.ImportChunkPlanner;
+import com.quizgen.app.question.support.ImportChunkFingerprints;
+import com.quizgen.app.question.support.ImportProgressTracker;
+import com.quizgen.app.question.support.IncrementalJsonArrayParser;
+import com.quizgen.app.question.support.NearDuplicateDetector;
+import com.quizgen.app.question.support.PlainTextQuestionParser;
+import com.quizgen.app.question.support.QuestionAssembler;
+import com.quizgen.app.question.support.QuestionBitmapIndex;
+import com.quizgen.app.question.support.QuestionCascadeDeleter;
+import com.quizgen.app.question.support.QuestionImportWriter;
+import com.quizgen.app.question.support.QuestionTextHashBackfill;
+import com.quizgen.app.question.support.TagDictionary;
+import com.quizgen.app.question.support.TagExpression;
+import com.quizgen.app.common.util.TokenEstimator;
+import com.quizgen.app.search.dto.SearchHit;
+import com.quizgen.app.search.service.QuestionSearchService;
 import com.quizgen.app.setting.entity.ApiConfig;
 import com.quizgen.app.setting.entity.AppSetting;
 import com.quizgen.app.setting.mapper.ApiConfigMapper;
 import com.quizgen.app.setting.mapper.AppSettingMapper;
-import com.quizgen.app.study.entity.ReviewCard;
-import com.quizgen.app.study.entity.UserAnswer;
-import com.quizgen.app.study.entity.WrongQuestion;
-import com.quizgen.app.study.mapper.ReviewCardMapper;
-import com.quizgen.app.study.mapper.UserAnswerMapper;
-import com.quizgen.app.study.mapper.WrongQuestionMapper;
+import org.roaringbitmap.longlong.Roaring64NavigableMap;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
 import java.io.IOException;
-import java.net.URI;
-import java.net.http.HttpClient;
-import java.net.http.HttpRequest;
-import java.net.http.HttpResponse;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.time.Duration;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.LongConsumer;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
 
 @Service
 public class QuestionServiceImpl implements QuestionService {
 
     private static final DateTimeFormatter BACKUP_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd_HH-mm-ss");
+    private static final int BACKUP_BATCH_SIZE = 500;
+    private static final int TEXT_IMPORT_BATCH_SIZE = 500;
+    private static final int AI_IMPORT_MICRO_BATCH_SIZE = 10;
+    private static final JsonNode AI_STREAM_END = MissingNode.getInstance();
+    private static final int JOB_SWEEP_BATCH_SIZE = 500;
     private static final String SETTING_IMPORT_MAX_CONCURRENT = "import_max_concurrent";
-    private static final String SETTING_IMPORT_BATCH_DELAY = "import_batch_delay";
+    private static final int DEFAULT_MAX_TOKENS = 4096;
+    private static final String AI_IMPORT_SYSTEM_PROMPT = """
+            你是一位专业的题库格式化助手。你的任务是将提供的文本内容转换为标准的JSON格式。
+
+            请将每个题目解析为以下格式，并将所有题目组合为一个JSON数组：
+            [
+              {
+                "type": "题目类型",
+                "text": "题目内容",
+                "options": [
+                  {"letter": "A", "text": "选项A内容"},
+                  {"letter": "B", "text": "选项B内容"}
+                ],
+                "answer": "正确答案",
+                "explanation": "答案解析"
+              }
+            ]
+
+            请直接返回有效的JSON数组，不要添加任何解释、注释或其他文本。
+            """;
+    private static final String AI_IMPORT_USER_PREFIX = "以下是需要格式化的题库内容：\n\n";
+    private static final int AI_IMPORT_PROMPT_TOKENS = TokenEstimator.estimate(AI_IMPORT_SYSTEM_PROMPT) + TokenEstimator.estimate(AI_IMPORT_USER_PREFIX);
+    private static final String MAINTENANCE_KIND_CLEAN_DUPLICATES = "clean_duplicates";
+    private static final String MAINTENANCE_KIND_CLEAN_NEAR_DUPLICATES = "clean_near_duplicates";
+    private static final String MAINTENANCE_KIND_BATCH_DELETE = "batch_delete";
 
     private final QuestionMapper questionMapper;
     private final QuestionBankMapper bankMapper;
     private final QuestionOptionMapper optionMapper;
-    private final QuestionTagMapper tagMapper;
     private final QuestionTagRelMapper tagRelMapper;
-    private final UserAnswerMapper userAnswerMapper;
-    private final ReviewCardMapper reviewCardMapper;
-    private final WrongQuestionMapper wrongQuestionMapper;
-    private final BookmarkMapper bookmarkMapper;
-    private final NoteMapper noteMapper;
     private final ImportJobMapper importJobMapper;
     private final ImportJobItemMapper importJobItemMapper;
+    private final MaintenanceJobMapper maintenanceJobMapper;
     private final ApiConfigMapper apiConfigMapper;
     private final AppSettingMapper appSettingMapper;
     private final ImportJobProperties importJobProperties;
+    private final MaintenanceJobProperties maintenanceJobProperties;
+    private final NearDuplicateProperties nearDuplicateProperties;
+    private final QuestionAssembler questionAssembler;
+    private final QuestionBitmapIndex questionBitmapIndex;
+    private final QuestionCascadeDeleter questionCascadeDeleter;
+    private final QuestionImportWriter questionImportWriter;
+    private final QuestionSearchService questionSearchService;
+    private final QuestionTextHashBackfill questionTextHashBackfill;
+    private final NearDuplicateDetector nearDuplicateDetector;
+    private final TagDictionary tagDictionary;
+    private final ImportProgressTracker importProgressTracker;
+    private final ImportChunkFingerprints importChunkFingerprints;
+    private final LlmResponseCache llmResponseCache;
     private final ObjectMapper objectMapper;
     private final JdbcTemplate jdbcTemplate;
+    private final Executor importJobExecutor;
+    private final Executor importChunkExecutor;
+    private final Executor backgroundExecutor;
+    private final String importLeaseOwner = "node_" + CodeGenerator.nextCode();
 
     public QuestionServiceImpl(
             QuestionMapper questionMapper,
             QuestionBankMapper bankMapper,
             QuestionOptionMapper optionMapper,
-            QuestionTagMapper tagMapper,
             QuestionTagRelMapper tagRelMapper,
-            UserAnswerMapper userAnswerMapper,
-            ReviewCardMapper reviewCardMapper,
-            WrongQuestionMapper wrongQuestionMapper,
-            BookmarkMapper bookmarkMapper,
-            NoteMapper noteMapper,
             ImportJobMapper importJobMapper,
             ImportJobItemMapper importJobItemMapper,
+            MaintenanceJobMapper maintenanceJobMapper,
             ApiConfigMapper apiConfigMapper,
             AppSettingMapper appSettingMapper,
             ImportJobProperties importJobProperties,
+            MaintenanceJobProperties maintenanceJobProperties,
+            NearDuplicateProperties nearDuplicateProperties,
+            QuestionAssembler questionAssembler,
+            QuestionBitmapIndex questionBitmapIndex,
+            QuestionCascadeDeleter questionCascadeDeleter,
+            QuestionImportWriter questionImportWriter,
+            QuestionSearchService questionSearchService,
+            QuestionTextHashBackfill questionTextHashBackfill,
+            NearDuplicateDetector nearDuplicateDetector,
+            TagDictionary tagDictionary,
+            ImportProgressTracker importProgressTracker,
+            ImportChunkFingerprints importChunkFingerprints,
+            LlmResponseCache llmResponseCache,
             ObjectMapper objectMapper,
-            JdbcTemplate jdbcTemplate
+            JdbcTemplate jdbcTemplate,
+            @Qualifier(ExecutorConfig.IMPORT_JOB_EXECUTOR) Executor importJobExecutor,
+            @Qualifier(ExecutorConfig.IMPORT_CHUNK_EXECUTOR) Executor importChunkExecutor,
+            @Qualifier(ExecutorConfig.BACKGROUND_EXECUTOR) Executor backgroundExecutor
     ) {
         this.questionMapper = questionMapper;
         this.bankMapper = bankMapper;
         this.optionMapper = optionMapper;
-        this.tagMapper = tagMapper;
         this.tagRelMapper = tagRelMapper;
-        this.userAnswerMapper = userAnswerMapper;
-        this.reviewCardMapper = reviewCardMapper;
-        this.wrongQuestionMapper = wrongQuestionMapper;
-        this.bookmarkMapper = bookmarkMapper;
-        this.noteMapper = noteMapper;
         this.importJobMapper = importJobMapper;
         this.importJobItemMapper = importJobItemMapper;
+        this.maintenanceJobMapper = maintenanceJobMapper;
         this.apiConfigMapper = apiConfigMapper;
         this.appSettingMapper = appSettingMapper;
         this.importJobProperties = importJobProperties;
+        this.maintenanceJobProperties = maintenanceJobProperties;
+        this.nearDuplicateProperties = nearDuplicateProperties;
+        this.questionAssembler = questionAssembler;
+        this.questionBitmapIndex = questionBitmapIndex;
+        this.questionCascadeDeleter = questionCascadeDeleter;
+        this.questionImportWriter = questionImportWriter;
+        this.questionSearchService = questionSearchService;
+        this.questionTextHashBackfill = questionTextHashBackfill;
+        this.nearDuplicateDetector = nearDuplicateDetector;
+        this.tagDictionary = tagDictionary;
+        this.importProgressTracker = importProgressTracker;
+        this.importChunkFingerprints = importChunkFingerprints;
+        this.llmResponseCache = llmResponseCache;
         this.objectMapper = objectMapper;
         this.jdbcTemplate = jdbcTemplate;
+        this.importJobExecutor = importJobExecutor;
+        this.importChunkExecutor = importChunkExecutor;
+        this.backgroundExecutor = backgroundExecutor;
     }
 
     @Override
     public QuestionPageResponse page(QuestionPageRequest request) {
         int pageNo = request.getPage() == null || request.getPage() < 1 ? 1 : request.getPage();
         int limit = request.getLimit() == null || request.getLimit() < 1 ? 100 : request.getLimit();
+        String search = StringUtils.hasText(request.getSearch()) ? request.getSearch().trim() : null;
+        TagExpression tags = TagExpression.parse(request.getTags());
 
-        QueryWrapper<Question> q = new QueryWrapper<>();
-        q.orderByDesc("created_at");
-        if (StringUtils.hasText(request.getType())) {
-            q.eq("type", request.getType());
+        if (search != null && questionSearchService.isReady()) {
+            return searchPage(request, search, tags, resolveTagFilter(request, tags), pageNo, limit);
         }
-        if (StringUtils.hasText(request.getSearch())) {
-            q.like("text", request.getSearch());
+        boolean idOrder = tags != null && search == null;
+        Roaring64NavigableMap tagFilter = idOrder ? resolveTagFilter(request, tags) : null;
+        if (tagFilter != null) {
+            return bitmapPage(request, tagFilter, pageNo, limit);
         }
-        if (StringUtils.hasText(request.getBankId())) {
-            if ("null".equalsIgnoreCase(request.getBankId())) {
-                q.isNull("bank_id");
-            } else {
-                QuestionBank bank = bankMapper.selectOne(new LambdaQueryWrapper<QuestionBank>()
-                        .eq(QuestionBank::getBankCode, request.getBankId()));
-                if (bank == null) {
-                    q.eq("id", -1L);
-                } else {
-                    q.eq("bank_id", bank.getId());
-                }
-            }
+        if (request.getCursor() != null) {
+            return cursorPage(request, search, tags, idOrder, limit);
         }
-        if (StringUtils.hasText(request.getTags())) {
-            List<String> tags = Stream.of(request.getTags().split(",")).map(String::trim).filter(s -> !s.isEmpty()).toList();
-            if (!tags.isEmpty()) {
-                List<Long> tagIds = tagMapper.selectList(new LambdaQueryWrapper<QuestionTag>().in(QuestionTag::getName, tags))
-                        .stream().map(QuestionTag::getId).toList();
-                if (tagIds.isEmpty()) {
-                    q.eq("id", -1L);
-                } else {
-                    List<Long> questionIds = tagRelMapper.selectList(new LambdaQueryWrapper<QuestionTagRel>().in(QuestionTagRel::getTagId, tagIds))
-                            .stream().map(QuestionTagRel::getQuestionId).distinct().toList();
-                    if (questionIds.isEmpty()) {
-                        q.eq("id", -1L);
-                    } else {
-                        q.in("id", questionIds);
-                    }
-                }
-            }
+
+        QueryWrapper<Question> q = new QueryWrapper<>();
+        if (idOrder) {
+            q.orderByDesc("id");
+        } else {
+            q.orderByDesc("created_at").orderByDesc("id");
+        }
+        applyFilters(q, request, tags);
+        if (search != null) {
+            q.like("text", search);
         }
 
         Page<Question> p = questionMapper.selectPage(new Page<>(pageNo, limit), q);
         QuestionPageResponse response = new QuestionPageResponse();
-        response.setData(p.getRecords().stream().map(this::toResponse).toList());
+        response.setData(questionAssembler.toResponses(p.getRecords()));
         response.setTotal(p.getTotal());
-        response.setPage(pageNo);
+        response.setPage((long) pageNo);
         response.setTotalPages((long) Math.ceil((double) p.getTotal() / limit));
         return response;
     }
 
     @Override
     public QuestionResponse getByCode(String questionCode) {
-        return toResponse(findByCode(questionCode));
+        return questionAssembler.toResponse(findByCode(questionCode));
     }
 
     @Override
@@ -205,6 +294,7 @@ public class QuestionServiceImpl implements QuestionService {
         question.setQuestionCode(StringUtils.hasText(request.getId()) ? request.getId() : CodeGenerator.nextCode());
         question.setType(request.getType());
         question.setText(request.getText());
+        question.setTextHash(ContentHash.textHash(request.getText()));
         question.setAnswer(normalizeAnswer(request.getAnswer()));
         question.setExplanation(request.getExplanation());
         question.setBankId(findBankId(request.getBankId()));
@@ -212,7 +302,10 @@ public class QuestionServiceImpl implements QuestionService {
         question.setUpdatedAt(LocalDateTime.now());
         questionMapper.insert(question);
         saveAssets(question.getId(), request.getOptions(), request.getTags());
-        return toResponse(question);
+        questionSearchService.refresh(List.of(question.getId()));
+        questionBitmapIndex.refresh(List.of(question.getId()));
+        nearDuplicateDetector.refresh(List.of(question.getId()));
+        return questionAssembler.toResponse(question);
     }
 
     @Override
@@ -221,13 +314,17 @@ public class QuestionServiceImpl implements QuestionService {
         Question question = findByCode(questionCode);
         question.setType(request.getType());
         question.setText(request.getText());
+        question.setTextHash(ContentHash.textHash(request.getText()));
         question.setAnswer(normalizeAnswer(request.getAnswer()));
         question.setExplanation(request.getExplanation());
         question.setBankId(findBankId(request.getBankId()));
         question.setUpdatedAt(LocalDateTime.now());
         questionMapper.updateById(question);
         saveAssets(question.getId(), request.getOptions(), request.getTags());
-        return toResponse(question);
+        questionSearchService.refresh(List.of(question.getId()));
+        questionBitmapIndex.refresh(List.of(question.getId()));
+        nearDuplicateDetector.refresh(List.of(question.getId()));
+        return questionAssembler.toResponse(question);
     }
 
     @Override
@@ -238,8 +335,19 @@ public class QuestionServiceImpl implements QuestionService {
 
     @Override
     public List<String> allTags() {
-        return tagMapper.selectList(new QueryWrapper<QuestionTag>().orderByAsc("name"))
-                .stream().map(QuestionTag::getName).toList();
+        return tagDictionary.names();
+    }
+
+    @Override
+    public List<TagCountResponse> allTagsWithCounts() {
+        Map<String, Long> indexed = questionBitmapIndex.tagCounts();
+        Map<String, Long> counts = indexed != null ? indexed : countTagsFromDatabase();
+        return tagDictionary.names().stream().map(name -> {
+            TagCountResponse response = new TagCountResponse();
+            response.setName(name);
+            response.setCount(counts.getOrDefault(TagDictionary.key(name), 0L));
+            return response;
+        }).toList();
     }
 
     @Override
@@ -247,50 +355,39 @@ public class QuestionServiceImpl implements QuestionService {
         if (request.getQuestions() == null || request.getQuestions().isEmpty()) {
             throw new BusinessException(40001, "questions payload is empty");
         }
+        request.getQuestions().forEach(this::validateRequest);
         if ("replace".equalsIgnoreCase(request.getMode())) {
             purgeAllQuestions();
         }
 
-        int duplicateCount = 0;
-        List<QuestionResponse> inserted = new ArrayList<>();
-        for (QuestionUpsertRequest item : request.getQuestions()) {
-            validateRequest(item);
-            String questionCode = StringUtils.hasText(item.getId()) ? item.getId() : CodeGenerator.nextCode();
-            boolean exists = questionMapper.selectOne(new LambdaQueryWrapper<Question>().eq(Question::getQuestionCode, questionCode)) != null
-                    || questionMapper.selectOne(new LambdaQueryWrapper<Question>().eq(Question::getText, item.getText())) != null;
-            if (exists) {
-                duplicateCount++;
-                continue;
+        List<QuestionUpsertRequest> items = request.getQuestions();
+        if (Boolean.TRUE.equals(request.getSkipNearDuplicates())) {
+            Set<Integer> nearDuplicates = nearDuplicateDetector.findDuplicateItems(items, nearDuplicateProperties.getThreshold());
+            List<QuestionUpsertRequest> kept = new ArrayList<>(items.size() - nearDuplicates.size());
+            for (int i = 0; i < items.size(); i++) {
+                if (!nearDuplicates.contains(i)) {
+                    kept.add(items.get(i));
+                }
             }
-
-            Question question = new Question();
-            question.setQuestionCode(questionCode);
-            question.setType(item.getType());
-            question.setText(item.getText());
-            question.setAnswer(normalizeAnswer(item.getAnswer()));
-            question.setExplanation(item.getExplanation());
-            String bankCode = StringUtils.hasText(item.getBankId()) ? item.getBankId() : request.getBankId();
-            question.setBankId(findBankId(bankCode));
-            question.setCreatedAt(LocalDateTime.now());
-            question.setUpdatedAt(LocalDateTime.now());
-            questionMapper.insert(question);
-
-            List<String> tags = (item.getTags() != null && !item.getTags().isEmpty()) ? item.getTags() : request.getTags();
-            saveAssets(question.getId(), item.getOptions(), tags);
-            inserted.add(toResponse(question));
+            items = kept;
         }
 
+        QuestionImportWriter.Result result = questionImportWriter.write(items, request.getBankId(), request.getTags());
+        questionSearchService.refresh(result.getInsertedIds());
+        questionBitmapIndex.refresh(result.getInsertedIds());
+        nearDuplicateDetector.refresh(result.getInsertedIds());
+
         QuestionImportResultResponse response = new QuestionImportResultResponse();
         response.setParsedCount(request.getQuestions().size());
-        response.setInsertedCount(inserted.size());
-        response.setDuplicateCount(duplicateCount);
-        response.setData(inserted);
+        response.setInsertedCount(result.getInsertedIds().size());
+        response.setDuplicateCount(result.getDuplicateCount() + request.getQuestions().size() - items.size());
+        response.setData(result.getResponses());
         return response;
     }
 
     @Override
     public QuestionImportResultResponse importText(QuestionImportTextRequest request) {
-        List<QuestionUpsertRequest> parsed = parseText(request.getContent());
+        List<QuestionUpsertRequest> parsed = PlainTextQuestionParser.parse(request.getContent());
         if (parsed.isEmpty()) {
             throw new BusinessException(40002, "no valid questions parsed from text");
         }
@@ -299,17 +396,93 @@ public class QuestionServiceImpl implements QuestionService {
         importRequest.setBankId(request.getBankId());
         importRequest.setTags(request.getTags());
         importRequest.setQuestions(parsed);
+        importRequest.setSkipNearDuplicates(request.getSkipNearDuplicates());
         return importQuestions(importRequest);
     }
 
+    @Override
+    public QuestionImportResultResponse importTextStream(Reader reader, String mode, String bankId, List<String> tags, Boolean skipNearDuplicates) {
+        String importMode = normalizeImportMode(mode);
+        if (!"replace".equals(importMode)) {
+            try {
+                return importTextBatches(reader, importMode, bankId, tags, skipNearDuplicates);
+            } catch (IOException e) {
+                throw new BusinessException(50025, "read text content failed: " + e.getMessage());
+            }
+        }
+        Path spool = null;
+        try {
+            spool = Files.createTempFile("question-import-", ".txt");
+            try (Writer out = Files.newBufferedWriter(spool, StandardCharsets.UTF_8)) {
+                reader.transferTo(out);
+            }
+            int[] parsed = {0};
+            try (Reader in = Files.newBufferedReader(spool, StandardCharsets.UTF_8)) {
+                PlainTextQuestionParser.parse(in, question -> {
+                    validateRequest(question);
+                    parsed[0]++;
+                });
+            }
+            if (parsed[0] == 0) {
+                throw new BusinessException(40002, "no valid questions parsed from text");
+            }
+            try (Reader in = Files.newBufferedReader(spool, StandardCharsets.UTF_8)) {
+                return importTextBatches(in, importMode, bankId, tags, skipNearDuplicates);
+            }
+        } catch (IOException e) {
+            throw new BusinessException(50025, "read text content failed: " + e.getMessage());
+        } finally {
+            if (spool != null) {
+                try {
+                    Files.deleteIfExists(spool);
+                } catch (IOException ignored) {
+                }
+            }
+        }
+    }
+
+    private QuestionImportResultResponse importTextBatches(Reader reader, String mode, String bankId, List<String> tags,
+                                                           Boolean skipNearDuplicates) throws IOException {
+        QuestionImportResultResponse summary = new QuestionImportResultResponse();
+        List<QuestionUpsertRequest> batch = new ArrayList<>(TEXT_IMPORT_BATCH_SIZE);
+        String[] batchMode = {mode};
+        PlainTextQuestionParser.parse(reader, question -> {
+            batch.add(question);
+            if (batch.size() >= TEXT_IMPORT_BATCH_SIZE) {
+                importTextBatch(batch, batchMode, bankId, tags, skipNearDuplicates, summary);
+            }
+        });
+        if (!batch.isEmpty()) {
+            importTextBatch(batch, batchMode, bankId, tags, skipNearDuplicates, summary);
+        }
+        if (summary.getParsedCount() == 0) {
+            throw new BusinessException(40002, "no valid questions parsed from text");
+        }
+        return summary;
+    }
+
+    private void importTextBatch(List<QuestionUpsertRequest> batch, String[] batchMode, String bankId, List<String> tags,
+                                 Boolean skipNearDuplicates, QuestionImportResultResponse summary) {
+        QuestionImportRequest importRequest = new QuestionImportRequest();
+        importRequest.setMode(batchMode[0]);
+        importRequest.setBankId(bankId);
+        importRequest.setTags(tags);
+        importRequest.setQuestions(new ArrayList<>(batch));
+        importRequest.setSkipNearDuplicates(skipNearDuplicates);
+        QuestionImportResultResponse result = importQuestions(importRequest);
+        summary.setParsedCount(summary.getParsedCount() + result.getParsedCount());
+        summary.setInsertedCount(summary.getInsertedCount() + result.getInsertedCount());
+        summary.setDuplicateCount(summary.getDuplicateCount() + result.getDuplicateCount());
+        batchMode[0] = "add";
+        batch.clear();
+    }
+
     @Override
     public Map<String, Object> importWithAi(QuestionImportAiRequest request) {
         if (request == null || !StringUtils.hasText(request.getContent())) {
             throw new BusinessException(40011, "content is required");
         }
 
-        cleanupImportJobs();
-
         String mode = normalizeImportMode(request.getMode());
         String importId = "imp_" + CodeGenerator.nextCode();
 
@@ -321,13 +494,24 @@ public class QuestionServiceImpl implements QuestionService {
         job.setProcessedChunks(0);
         job.setSuccessChunks(0);
         job.setFailedChunks(0);
+        job.setSkippedChunks(0);
+        job.setInsertedCount(0);
+        job.setBankId(request.getBankId());
+        job.setSkipNearDuplicates(Boolean.TRUE.equals(request.getSkipNearDuplicates()));
+        job.setForceRefresh(Boolean.TRUE.equals(request.getForce()));
+        job.setLeaseOwner(importLeaseOwner);
+        job.setLeaseExpiresAt(LocalDateTime.now().plusSeconds(importJobProperties.getLeaseSeconds()));
         job.setStartedAt(LocalDateTime.now());
         importJobMapper.insert(job);
+        importProgressTracker.start(job);
 
-        Long jobId = job.getId();
         String content = request.getContent();
-        String bankId = request.getBankId();
-        CompletableFuture.runAsync(() -> processAiImport(jobId, content, mode, bankId));
+        try {
+            CompletableFuture.runAsync(() -> processAiImport(job, content), importJobExecutor);
+        } catch (RejectedExecutionException ex) {
+            markJobFailed(job.getId(), "import queue is full");
+            throw new BusinessException(50037, "too many imports in progress, please retry later");
+        }
 
         Map<String, Object> response = new LinkedHashMap<>();
         response.put("message", "题目导入已开始处理");
@@ -342,130 +526,636 @@ public class QuestionServiceImpl implements QuestionService {
             throw new BusinessException(40012, "importId is required");
         }
 
-        cleanupImportJobs();
+        Map<String, Object> live = importProgressTracker.snapshot(importId.trim());
+        if (live != null) {
+            return live;
+        }
 
         ImportJob job = importJobMapper.selectOne(new LambdaQueryWrapper<ImportJob>().eq(ImportJob::getJobNo, importId.trim()));
         if (job == null) {
             throw new BusinessException(40412, "import job not found");
         }
+        List<String> errors = importJobItemMapper.selectList(
+                        new LambdaQueryWrapper<ImportJobItem>()
+                                .select(ImportJobItem::getErrorMessage)
+                                .eq(ImportJobItem::getJobId, job.getId())
+                                .isNotNull(ImportJobItem::getErrorMessage)
+                                .orderByAsc(ImportJobItem::getChunkNo)
+                                .last("LIMIT 10")
+                ).stream()
+                .map(ImportJobItem::getErrorMessage)
+                .toList();
+        return importProgressTracker.remember(job, errors);
+    }
+
+    @Override
+    public Runnable subscribeImportStatus(String importId, ImportProgressTracker.Listener listener) {
+        Map<String, Object> status = getImportStatus(importId);
+        Runnable unsubscribe = importProgressTracker.subscribe(importId.trim(), listener);
+        if (unsubscribe != null) {
+            return unsubscribe;
+        }
+        listener.onEvent(ImportProgressTracker.EVENT_STATUS, status);
+        listener.onEvent(ImportProgressTracker.EVENT_DONE, status);
+        return () -> {
+        };
+    }
 
-        List<ImportJobItem> items = importJobItemMapper.selectList(
-                new LambdaQueryWrapper<ImportJobItem>()
-                        .eq(ImportJobItem::getJobId, job.getId())
-                        .orderByAsc(ImportJobItem::getChunkNo)
+    @Override
+    public SweepResult sweepImportJobs() {
+        LocalDateTime timeoutAt = LocalDateTime.now().minusHours(importJobProperties.getTimeoutHours());
+        int timedOut = sweepJobIds(
+                ids -> ids.forEach(id -> markJobFailed(id, "import job timeout")),
+                importJobMapper,
+                new LambdaQueryWrapper<ImportJob>()
+                        .select(ImportJob::getId)
+                        .eq(ImportJob::getStatus, "processing")
+                        .lt(ImportJob::getStartedAt, timeoutAt)
+                        .last("LIMIT " + JOB_SWEEP_BATCH_SIZE),
+                ImportJob::getId
+        );
+        LocalDateTime cutoff = LocalDateTime.now().minusHours(importJobProperties.getRetentionHours());
+        int expired = sweepJobIds(
+                this::deleteImportJobs,
+                importJobMapper,
+                new LambdaQueryWrapper<ImportJob>()
+                        .select(ImportJob::getId)
+                        .in(ImportJob::getStatus, List.of("completed", "failed"))
+                        .lt(ImportJob::getEndedAt, cutoff)
+                        .last("LIMIT " + JOB_SWEEP_BATCH_SIZE),
+                ImportJob::getId
+        );
+        int trimmed = sweepJobIds(
+                this::deleteImportJobs,
+                importJobMapper,
+                new LambdaQueryWrapper<ImportJob>()
+                        .select(ImportJob::getId)
+                        .in(ImportJob::getStatus, List.of("completed", "failed"))
+                        .orderByDesc(ImportJob::getEndedAt)
+                        .orderByDesc(ImportJob::getId)
+                        .last("LIMIT " + JOB_SWEEP_BATCH_SIZE + " OFFSET " + importJobProperties.getMaxFinishedKeep()),
+                ImportJob::getId
         );
+        return new SweepResult(timedOut, expired, trimmed);
+    }
 
-        int importedCount = 0;
-        List<String> errors = new ArrayList<>();
-        for (ImportJobItem item : items) {
-            if (StringUtils.hasText(item.getResultJson())) {
-                importedCount += readInsertedCount(item.getResultJson());
+    @Override
+    public int renewImportLeases() {
+        return jdbcTemplate.update(
+                "UPDATE import_job SET lease_expires_at = ? WHERE lease_owner = ? AND status = 'processing'",
+                LocalDateTime.now().plusSeconds(importJobProperties.getLeaseSeconds()),
+                importLeaseOwner
+        );
+    }
+
+    @Override
+    public int resumeImportJobs() {
+        LocalDateTime now = LocalDateTime.now();
+        List<ImportJob> orphaned = importJobMapper.selectList(
+                new LambdaQueryWrapper<ImportJob>()
+                        .eq(ImportJob::getStatus, "processing")
+                        .and(w -> w.isNull(ImportJob::getLeaseExpiresAt).or().lt(ImportJob::getLeaseExpiresAt, now))
+                        .last("LIMIT " + JOB_SWEEP_BATCH_SIZE)
+        );
+        int resumed = 0;
+        for (ImportJob job : orphaned) {
+            LocalDateTime leaseExpiresAt = now.plusSeconds(importJobProperties.getLeaseSeconds());
+            int claimed = jdbcTemplate.update(
+                    "UPDATE import_job SET lease_owner = ?, lease_expires_at = ? WHERE id = ? AND status = 'processing' "
+                            + "AND (lease_expires_at IS NULL OR lease_expires_at < ?)",
+                    importLeaseOwner,
+                    leaseExpiresAt,
+                    job.getId(),
+                    now
+            );
+            if (claimed == 0) {
+                continue;
             }
-            if (StringUtils.hasText(item.getErrorMessage())) {
-                errors.add(item.getErrorMessage());
+            job.setLeaseOwner(importLeaseOwner);
+            job.setLeaseExpiresAt(leaseExpiresAt);
+            importProgressTracker.start(job);
+            try {
+                CompletableFuture.runAsync(() -> resumeAiImport(job), importJobExecutor);
+            } catch (RejectedExecutionException ex) {
+                importProgressTracker.evict(List.of(job.getId()));
+                jdbcTemplate.update("UPDATE import_job SET lease_expires_at = NULL WHERE id = ? AND lease_owner = ?",
+                        job.getId(), importLeaseOwner);
+                break;
             }
+            resumed++;
         }
-        if (errors.isEmpty() && StringUtils.hasText(job.getErrorMessage())) {
-            errors.add(job.getErrorMessage());
+        return resumed;
+    }
+
+    @Override
+    public SweepResult sweepMaintenanceJobs() {
+        LocalDateTime timeoutAt = LocalDateTime.now().minusHours(maintenanceJobProperties.getTimeoutHours());
+        int timedOut = sweepJobIds(
+                ids -> ids.forEach(id -> markMaintenanceJobFailed(id, "maintenance job timeout")),
+                maintenanceJobMapper,
+                new LambdaQueryWrapper<MaintenanceJob>()
+                        .select(MaintenanceJob::getId)
+                        .eq(MaintenanceJob::getStatus, "processing")
+                        .lt(MaintenanceJob::getStartedAt, timeoutAt)
+                        .last("LIMIT " + JOB_SWEEP_BATCH_SIZE),
+                MaintenanceJob::getId
+        );
+        LocalDateTime cutoff = LocalDateTime.now().minusHours(maintenanceJobProperties.getRetentionHours());
+        int expired = sweepJobIds(
+                maintenanceJobMapper::deleteBatchIds,
+                maintenanceJobMapper,
+                new LambdaQueryWrapper<MaintenanceJob>()
+                        .select(MaintenanceJob::getId)
+                        .in(MaintenanceJob::getStatus, List.of("completed", "failed"))
+                        .lt(MaintenanceJob::getEndedAt, cutoff)
+                        .last("LIMIT " + JOB_SWEEP_BATCH_SIZE),
+                MaintenanceJob::getId
+        );
+        int trimmed = sweepJobIds(
+                maintenanceJobMapper::deleteBatchIds,
+                maintenanceJobMapper,
+                new LambdaQueryWrapper<MaintenanceJob>()
+                        .select(MaintenanceJob::getId)
+                        .in(MaintenanceJob::getStatus, List.of("completed", "failed"))
+                        .orderByDesc(MaintenanceJob::getEndedAt)
+                        .orderByDesc(MaintenanceJob::getId)
+                        .last("LIMIT " + JOB_SWEEP_BATCH_SIZE + " OFFSET " + maintenanceJobProperties.getMaxFinishedKeep()),
+                MaintenanceJob::getId
+        );
+        return new SweepResult(timedOut, expired, trimmed);
+    }
+
+    @Override
+    public Map<String, Object> startCleanDuplicatesJob() {
+        return startMaintenanceJob(MAINTENANCE_KIND_CLEAN_DUPLICATES, this::runCleanDuplicatesJob);
+    }
+
+    @Override
+    public Map<String, Object> getMaintenanceJob(String jobNo) {
+        if (!StringUtils.hasText(jobNo)) {
+            throw new BusinessException(40019, "jobNo is required");
         }
-        if (errors.size() > 10) {
-            errors = errors.subList(0, 10);
+        MaintenanceJob job = maintenanceJobMapper.selectOne(
+                new LambdaQueryWrapper<MaintenanceJob>().eq(MaintenanceJob::getJobNo, jobNo.trim()));
+        if (job == null) {
+            throw new BusinessException(40413, "maintenance job not found");
         }
+        return toMaintenanceJobResponse(job);
+    }
 
-        int total = valueOrZero(job.getTotalChunks());
-        int processed = valueOrZero(job.getProcessedChunks());
-        int success = valueOrZero(job.getSuccessChunks());
-        int failed = valueOrZero(job.getFailedChunks());
-        String percentage = total <= 0 ? "0.0" : String.format("%.1f", processed * 100.0 / total);
-
-        LocalDateTime startedAt = job.getStartedAt();
-        LocalDateTime endAt = job.getEndedAt() == null ? LocalDateTime.now() : job.getEndedAt();
-        String duration = "0.0";
-        if (startedAt != null) {
-            long millis = Duration.between(startedAt, endAt).toMillis();
-            duration = String.format("%.1f", millis / 1000.0);
+    @Override
+    public Map<String, Object> nearDuplicateReport(Double threshold) {
+        double resolved = resolveNearDuplicateThreshold(threshold);
+        List<long[]> groups = nearDuplicateDetector.findGroups(resolved);
+        List<long[]> reported = groups.subList(0, Math.min(groups.size(), nearDuplicateProperties.getReportLimit()));
+
+        List<Long> ids = new ArrayList<>();
+        reported.forEach(group -> Arrays.stream(group).forEach(ids::add));
+        Map<Long, QuestionResponse> responses = new HashMap<>();
+        for (int i = 0; i < ids.size(); i += 500) {
+            List<Question> questions = questionMapper.selectBatchIds(ids.subList(i, Math.min(i + 500, ids.size())));
+            List<QuestionResponse> converted = questionAssembler.toResponses(questions);
+            for (int j = 0; j < questions.size(); j++) {
+                responses.put(questions.get(j).getId(), converted.get(j));
+            }
         }
 
-        Map<String, Object> progress = new LinkedHashMap<>();
-        progress.put("total", total);
-        progress.put("processed", processed);
-        progress.put("successful", success);
-        progress.put("failed", failed);
-        progress.put("percentage", percentage);
+        List<Map<String, Object>> groupResponses = new ArrayList<>();
+        for (long[] group : reported) {
+            List<QuestionResponse> questions = Arrays.stream(group)
+                    .mapToObj(responses::get)
+                    .filter(Objects::nonNull)
+                    .toList();
+            if (questions.size() > 1) {
+                groupResponses.add(Map.of("questions", questions));
+            }
+        }
 
         Map<String, Object> response = new LinkedHashMap<>();
-        response.put("id", job.getJobNo());
-        response.put("status", job.getStatus());
-        response.put("mode", job.getMode());
-        response.put("progress", progress);
-        response.put("importedCount", importedCount);
-        response.put("duration", duration);
-        response.put("errors", errors);
+        response.put("threshold", resolved);
+        response.put("groupCount", groups.size());
+        response.put("duplicateCount", groups.stream().mapToLong(group -> group.length - 1L).sum());
+        response.put("groups", groupResponses);
         return response;
     }
 
     @Override
-    public QuestionCleanResultResponse cleanDuplicates() {
-        List<Question> all = questionMapper.selectList(new QueryWrapper<Question>().orderByDesc("created_at"));
-        long original = all.size();
-        Set<String> seen = new LinkedHashSet<>();
-        List<Long> duplicates = new ArrayList<>();
-        for (Question question : all) {
-            String key = question.getText() == null ? "" : question.getText().trim();
-            if (seen.contains(key)) {
-                duplicates.add(question.getId());
-            } else {
-                seen.add(key);
+    public Map<String, Object> startCleanNearDuplicatesJob(Double threshold) {
+        double resolved = resolveNearDuplicateThreshold(threshold);
+        return startMaintenanceJob(MAINTENANCE_KIND_CLEAN_NEAR_DUPLICATES, jobId -> runCleanNearDuplicatesJob(jobId, resolved));
+    }
+
+    @Override
+    public Map<String, Object> startBatchDeleteJob(QuestionBatchDeleteRequest request) {
+        boolean hasIds = request != null && request.getIds() != null && !request.getIds().isEmpty();
+        boolean hasBank = request != null && StringUtils.hasText(request.getBankId());
+        if (!hasIds && !hasBank) {
+            throw new BusinessException(40022, "ids or bankId is required");
+        }
+        List<Long> questionIds = new ArrayList<>();
+        if (hasIds) {
+            List<String> codes = request.getIds().stream().filter(StringUtils::hasText).map(String::trim).distinct().toList();
+            for (int i = 0; i < codes.size(); i += 500) {
+                List<String> slice = codes.subList(i, Math.min(i + 500, codes.size()));
+                questionIds.addAll(jdbcTemplate.queryForList("SELECT id FROM question WHERE question_code IN ("
+                        + String.join(",", Collections.nCopies(slice.size(), "?")) + ")", Long.class, slice.toArray()));
             }
         }
-        deleteQuestionIds(duplicates);
-        long current = questionMapper.selectCount(null);
-        QuestionCleanResultResponse response = new QuestionCleanResultResponse();
-        response.setOriginalCount(original);
-        response.setCurrentCount(current);
-        response.setRemovedCount(original - current);
-        return response;
+        if (hasBank) {
+            Long bankId = findBankId(request.getBankId());
+            questionIds.addAll(jdbcTemplate.queryForList("SELECT id FROM question WHERE bank_id = ?", Long.class, bankId));
+        }
+        List<Long> ids = questionIds.stream().distinct().toList();
+        return launchMaintenanceJob(MAINTENANCE_KIND_BATCH_DELETE, jobId -> runBatchDeleteJob(jobId, ids));
     }
 
     @Override
-    public QuestionBackupResponse backup() {
-        List<QuestionResponse> questions = questionMapper.selectList(new QueryWrapper<Question>().orderByDesc("created_at"))
-                .stream().map(this::toResponse).toList();
+    public QuestionBackupResponse backup(boolean gzip) {
         LocalDateTime now = LocalDateTime.now();
         String id = "questions_backup_" + now.format(BACKUP_FORMAT);
-        String filename = id + ".json";
+        String filename = id + (gzip ? ".json.gz" : ".json");
         Path file = ensureBackupDir().resolve(filename);
+        long count;
         try {
-            objectMapper.writerWithDefaultPrettyPrinter().writeValue(file.toFile(), questions);
+            count = writeBackup(file, gzip);
         } catch (IOException e) {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException ignored) {
+            }
             throw new BusinessException(50021, "backup write failed: " + e.getMessage());
         }
         QuestionBackupResponse response = new QuestionBackupResponse();
         response.setBackupId(id);
         response.setFilename(filename);
         response.setTimestamp(now.toString());
-        response.setQuestionCount(questions.size());
+        response.setQuestionCount((int) count);
         return response;
     }
 
     @Override
     public QuestionBackupResponse restore(String backupId) {
         Path file = resolveBackupFile(backupId);
-        List<QuestionUpsertRequest> questions = readQuestions(file);
+        readQuestionBatches(file, this::validateBatch);
         purgeAllQuestions();
-        QuestionImportRequest request = new QuestionImportRequest();
-        request.setQuestions(questions);
-        request.setMode("add");
-        QuestionImportResultResponse imported = importQuestions(request);
+        int[] inserted = {0};
+        readQuestionBatches(file, batch -> {
+            QuestionImportRequest request = new QuestionImportRequest();
+            request.setQuestions(batch);
+            request.setMode("add");
+            inserted[0] += importQuestions(request).getInsertedCount();
+        });
 
         QuestionBackupResponse response = new QuestionBackupResponse();
         response.setBackupId(backupId);
         response.setFilename(file.getFileName().toString());
         response.setTimestamp(LocalDateTime.now().toString());
-        response.setQuestionCount(imported.getInsertedCount());
+        response.setQuestionCount(inserted[0]);
         return response;
     }
 
+    private long removeDuplicates(LongConsumer onProgress) {
+        int batchSize = maintenanceJobProperties.getBatchSize();
+        List<Long> batch = new ArrayList<>(batchSize);
+        String[] previousHash = {null};
+        long[] removed = {0L};
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(
+                    "SELECT q.id, q.text_hash FROM question q JOIN ("
+                            + "SELECT text_hash FROM question WHERE text_hash IS NOT NULL GROUP BY text_hash HAVING COUNT(*) > 1"
+                            + ") d ON d.text_hash = q.text_hash ORDER BY q.text_hash, q.created_at DESC, q.id DESC",
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(Integer.MIN_VALUE);
+            return ps;
+        }, rs -> {
+            String hash = rs.getString(2);
+            if (hash.equals(previousHash[0])) {
+                batch.add(rs.getLong(1));
+            }
+            previousHash[0] = hash;
+            if (batch.size() >= batchSize) {
+                deleteQuestionIds(batch);
+                removed[0] += batch.size();
+                batch.clear();
+                onProgress.accept(removed[0]);
+            }
+        });
+        if (!batch.isEmpty()) {
+            deleteQuestionIds(batch);
+            removed[0] += batch.size();
+            onProgress.accept(removed[0]);
+        }
+        return removed[0];
+    }
+
+    private long countDuplicates() {
+        Long count = jdbcTemplate.queryForObject(
+                "SELECT COALESCE(SUM(c - 1), 0) FROM ("
+                        + "SELECT COUNT(*) c FROM question WHERE text_hash IS NOT NULL GROUP BY text_hash HAVING COUNT(*) > 1"
+                        + ") d",
+                Long.class);
+        return count == null ? 0L : count;
+    }
+
+    private Map<String, Object> startMaintenanceJob(String kind, Consumer<Long> runner) {
+        MaintenanceJob running = maintenanceJobMapper.selectOne(
+                new LambdaQueryWrapper<MaintenanceJob>()
+                        .eq(MaintenanceJob::getKind, kind)
+                        .eq(MaintenanceJob::getStatus, "processing")
+                        .last("LIMIT 1")
+        );
+        if (running != null) {
+            return toMaintenanceJobResponse(running);
+        }
+        return launchMaintenanceJob(kind, runner);
+    }
+
+    private Map<String, Object> launchMaintenanceJob(String kind, Consumer<Long> runner) {
+        MaintenanceJob job = createMaintenanceJob(kind);
+        Long jobId = job.getId();
+        try {
+            CompletableFuture.runAsync(() -> runner.accept(jobId), backgroundExecutor);
+        } catch (RejectedExecutionException ex) {
+            markMaintenanceJobFailed(jobId, "maintenance queue is full");
+            throw new BusinessException(50037, "too many maintenance jobs in progress, please retry later");
+        }
+        return toMaintenanceJobResponse(job);
+    }
+
+    private MaintenanceJob createMaintenanceJob(String kind) {
+        MaintenanceJob job = new MaintenanceJob();
+        job.setJobNo("mnt_" + CodeGenerator.nextCode());
+        job.setKind(kind);
+        job.setStatus("processing");
+        job.setTotalCount(0L);
+        job.setProcessedCount(0L);
+        job.setStartedAt(LocalDateTime.now());
+        maintenanceJobMapper.insert(job);
+        return job;
+    }
+
+    private void runCleanDuplicatesJob(Long jobId) {
+        try {
+            questionTextHashBackfill.backfill();
+            updateMaintenanceJob(jobId, job -> job.setTotalCount(countDuplicates()));
+            long removed = removeDuplicates(count -> updateMaintenanceJob(jobId, job -> job.setProcessedCount(count)));
+            markMaintenanceJobCompleted(jobId, removed);
+        } catch (Exception ex) {
+            markMaintenanceJobFailed(jobId, safeError(ex.getMessage()));
+        }
+    }
+
+    private void runCleanNearDuplicatesJob(Long jobId, double threshold) {
+        try {
+            List<Long> removeIds = new ArrayList<>();
+            for (long[] group : nearDuplicateDetector.findGroups(threshold)) {
+                long keep = Arrays.stream(group).max().orElse(0L);
+                Arrays.stream(group).filter(id -> id != keep).forEach(removeIds::add);
+            }
+            updateMaintenanceJob(jobId, job -> job.setTotalCount((long) removeIds.size()));
+            long removed = questionCascadeDeleter.delete(removeIds,
+                    count -> updateMaintenanceJob(jobId, job -> job.setProcessedCount(count)));
+            markMaintenanceJobCompleted(jobId, removed);
+        } catch (Exception ex) {
+            markMaintenanceJobFailed(jobId, safeError(ex.getMessage()));
+        }
+    }
+
+    private void runBatchDeleteJob(Long jobId, List<Long> questionIds) {
+        try {
+            updateMaintenanceJob(jobId, job -> job.setTotalCount((long) questionIds.size()));
+            long deleted = questionCascadeDeleter.delete(questionIds,
+                    count -> updateMaintenanceJob(jobId, job -> job.setProcessedCount(count)));
+            markMaintenanceJobCompleted(jobId, deleted);
+        } catch (Exception ex) {
+            markMaintenanceJobFailed(jobId, safeError(ex.getMessage()));
+        }
+    }
+
+    private double resolveNearDuplicateThreshold(Double threshold) {
+        if (threshold == null) {
+            return nearDuplicateProperties.getThreshold();
+        }
+        if (threshold < 0.5 || threshold > 1.0) {
+            throw new BusinessException(40020, "threshold must be between 0.5 and 1.0");
+        }
+        return threshold;
+    }
+
+    private void updateMaintenanceJob(Long jobId, Consumer<MaintenanceJob> change) {
+        MaintenanceJob job = maintenanceJobMapper.selectById(jobId);
+        if (job == null) {
+            return;
+        }
+        change.accept(job);
+        maintenanceJobMapper.updateById(job);
+    }
+
+    private void markMaintenanceJobCompleted(Long jobId, long processed) {
+        updateMaintenanceJob(jobId, job -> {
+            job.setStatus("completed");
+            job.setProcessedCount(processed);
+            job.setTotalCount(Math.max(processed, valueOrZero(job.getTotalCount())));
+            job.setEndedAt(LocalDateTime.now());
+        });
+    }
+
+    private void markMaintenanceJobFailed(Long jobId, String errorMessage) {
+        updateMaintenanceJob(jobId, job -> {
+            job.setStatus("failed");
+            job.setErrorMessage(errorMessage);
+            job.setEndedAt(LocalDateTime.now());
+        });
+    }
+
+    private Map<String, Object> toMaintenanceJobResponse(MaintenanceJob job) {
+        long total = valueOrZero(job.getTotalCount());
+        long processed = valueOrZero(job.getProcessedCount());
+        Map<String, Object> progress = new LinkedHashMap<>();
+        progress.put("total", total);
+        progress.put("processed", processed);
+        progress.put("percentage", total <= 0 ? ("completed".equals(job.getStatus()) ? "100.0" : "0.0")
+                : String.format("%.1f", Math.min(100.0, processed * 100.0 / total)));
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("jobNo", job.getJobNo());
+        response.put("kind", job.getKind());
+        response.put("status", job.getStatus());
+        response.put("progress", progress);
+        response.put("startedAt", job.getStartedAt());
+        response.put("endedAt", job.getEndedAt());
+        if (StringUtils.hasText(job.getErrorMessage())) {
+            response.put("error", job.getErrorMessage());
+        }
+        return response;
+    }
+
+    private QuestionPageResponse cursorPage(QuestionPageRequest request, String search, TagExpression tags, boolean idOrder, int limit) {
+        QueryWrapper<Question> q = new QueryWrapper<>();
+        applyFilters(q, request, tags);
+        if (search != null) {
+            q.like("text", search);
+        }
+
+        QuestionPageResponse response = new QuestionPageResponse();
+        if (Boolean.TRUE.equals(request.getWithTotal())) {
+            response.setTotal(questionMapper.selectCount(q));
+        }
+        if (idOrder) {
+            Long after = CursorCodec.decodeId(request.getCursor());
+            if (after != null) {
+                q.lt("id", after);
+            }
+            q.orderByDesc("id");
+        } else {
+            CursorCodec.Cursor cursor = CursorCodec.decode(request.getCursor());
+            if (cursor != null) {
+                q.and(w -> w.lt("created_at", cursor.getTime())
+                        .or(o -> o.eq("created_at", cursor.getTime()).lt("id", cursor.getId())));
+            }
+            q.orderByDesc("created_at").orderByDesc("id");
+        }
+        q.last("LIMIT " + (limit + 1));
+
+        List<Question> rows = questionMapper.selectList(q);
+        boolean hasMore = rows.size() > limit;
+        if (hasMore) {
+            rows = rows.subList(0, limit);
+            Question last = rows.get(rows.size() - 1);
+            response.setNextCursor(idOrder ? CursorCodec.encodeId(last.getId()) : CursorCodec.encode(last.getCreatedAt(), last.getId()));
+        }
+        response.setData(questionAssembler.toResponses(rows));
+        response.setHasMore(hasMore);
+        return response;
+    }
+
+    private QuestionPageResponse bitmapPage(QuestionPageRequest request, Roaring64NavigableMap filter, int pageNo, int limit) {
+        long total = filter.getLongCardinality();
+        QuestionPageResponse response = new QuestionPageResponse();
+        List<Long> ids = new ArrayList<>();
+        if (request.getCursor() != null) {
+            Long after = CursorCodec.decodeId(request.getCursor());
+            long remaining = after == null ? total : filter.rankLong(after - 1);
+            for (long rank = remaining - 1; rank >= 0 && ids.size() < limit; rank--) {
+                ids.add(filter.select(rank));
+            }
+            response.setHasMore(remaining > ids.size());
+            if (Boolean.TRUE.equals(request.getWithTotal())) {
+                response.setTotal(total);
+            }
+        } else {
+            long offset = (long) (pageNo - 1) * limit;
+            for (long rank = total - 1 - offset; rank >= 0 && ids.size() < limit; rank--) {
+                ids.add(filter.select(rank));
+            }
+            response.setTotal(total);
+            response.setPage((long) pageNo);
+            response.setTotalPages((long) Math.ceil((double) total / limit));
+        }
+
+        Map<Long, Question> byId = ids.isEmpty() ? Collections.emptyMap()
+                : questionMapper.selectBatchIds(ids).stream().collect(Collectors.toMap(Question::getId, q -> q));
+        List<Question> records = ids.stream().map(byId::get).filter(Objects::nonNull).toList();
+        if (Boolean.TRUE.equals(response.getHasMore()) && !records.isEmpty()) {
+            Question last = records.get(records.size() - 1);
+            response.setNextCursor(CursorCodec.encodeId(last.getId()));
+        }
+        response.setData(questionAssembler.toResponses(records));
+        return response;
+    }
+
+    private QuestionPageResponse searchPage(QuestionPageRequest request, String search, TagExpression tags,
+                                            Roaring64NavigableMap tagFilter, int pageNo, int limit) {
+        List<Long> rankedIds = questionSearchService.search(search).stream().map(SearchHit::getQuestionId).toList();
+        if (tagFilter != null) {
+            rankedIds = rankedIds.stream().filter(tagFilter::contains).toList();
+        } else if (!rankedIds.isEmpty() && (tags != null || StringUtils.hasText(request.getType()) || StringUtils.hasText(request.getBankId()))) {
+            Set<Long> allowed = new HashSet<>();
+            for (int i = 0; i < rankedIds.size(); i += 500) {
+                QueryWrapper<Question> q = new QueryWrapper<Question>().select("id");
+                applyFilters(q, request, tags);
+                q.in("id", rankedIds.subList(i, Math.min(i + 500, rankedIds.size())));
+                questionMapper.selectObjs(q).forEach(id -> allowed.add(((Number) id).longValue()));
+            }
+            rankedIds = rankedIds.stream().filter(allowed::contains).toList();
+        }
+
+        int from = Math.min((pageNo - 1) * limit, rankedIds.size());
+        int to = Math.min(from + limit, rankedIds.size());
+        List<Long> pageIds = rankedIds.subList(from, to);
+        Map<Long, Question> byId = pageIds.isEmpty() ? Collections.emptyMap()
+                : questionMapper.selectBatchIds(pageIds).stream().collect(Collectors.toMap(Question::getId, q -> q));
+        List<Question> records = pageIds.stream().map(byId::get).filter(Objects::nonNull).toList();
+        List<QuestionResponse> data = questionAssembler.toResponses(records);
+        for (int i = 0; i < records.size(); i++) {
+            String highlight = questionSearchService.highlight(search, records.get(i).getText());
+            if (highlight == null) {
+                highlight = questionSearchService.highlight(search, records.get(i).getExplanation());
+            }
+            data.get(i).setHighlight(highlight);
+        }
+
+        QuestionPageResponse response = new QuestionPageResponse();
+        response.setData(data);
+        response.setTotal((long) rankedIds.size());
+        response.setPage((long) pageNo);
+        response.setTotalPages((long) Math.ceil((double) rankedIds.size() / limit));
+        return response;
+    }
+
+    private void applyFilters(QueryWrapper<Question> q, QuestionPageRequest request, TagExpression tags) {
+        if (StringUtils.hasText(request.getType())) {
+            q.eq("type", request.getType());
+        }
+        if (StringUtils.hasText(request.getBankId())) {
+            if ("null".equalsIgnoreCase(request.getBankId())) {
+                q.isNull("bank_id");
+            } else {
+                QuestionBank bank = bankMapper.selectOne(new LambdaQueryWrapper<QuestionBank>()
+                        .eq(QuestionBank::getBankCode, request.getBankId()));
+                if (bank == null) {
+                    q.eq("id", -1L);
+                } else {
+                    q.eq("bank_id", bank.getId());
+                }
+            }
+        }
+        if (tags != null) {
+            List<Object> args = new ArrayList<>();
+            q.apply(tags.toSql("id", args), args.toArray());
+        }
+    }
+
+    private Map<String, Long> countTagsFromDatabase() {
+        Map<String, Long> counts = new HashMap<>();
+        jdbcTemplate.query("SELECT t.name, COUNT(*) FROM question_tag_rel r JOIN question_tag t ON t.id = r.tag_id GROUP BY t.name",
+                rs -> {
+                    counts.merge(TagDictionary.key(rs.getString(1)), rs.getLong(2), Long::sum);
+                });
+        return counts;
+    }
+
+    private Roaring64NavigableMap resolveTagFilter(QuestionPageRequest request, TagExpression expression) {
+        if (expression == null) {
+            return null;
+        }
+        Long bankId = null;
+        boolean unassigned = false;
+        if (StringUtils.hasText(request.getBankId())) {
+            if ("null".equalsIgnoreCase(request.getBankId())) {
+                unassigned = true;
+            } else {
+                QuestionBank bank = bankMapper.selectOne(new LambdaQueryWrapper<QuestionBank>()
+                        .eq(QuestionBank::getBankCode, request.getBankId()));
+                if (bank == null) {
+                    return new Roaring64NavigableMap();
+                }
+                bankId = bank.getId();
+            }
+        }
+        return questionBitmapIndex.query(expression, request.getType(), bankId, unassigned);
+    }
+
     private Question findByCode(String code) {
         Question question = questionMapper.selectOne(new LambdaQueryWrapper<Question>().eq(Question::getQuestionCode, code));
         if (question == null) {
@@ -491,43 +1181,6 @@ public class QuestionServiceImpl implements QuestionService {
         }
     }
 
-    private QuestionResponse toResponse(Question question) {
-        QuestionResponse response = new QuestionResponse();
-        response.setId(question.getQuestionCode());
-        response.setType(question.getType());
-        response.setText(question.getText());
-        response.setAnswer(question.getAnswer());
-        response.setExplanation(question.getExplanation());
-        response.setCreatedAt(question.getCreatedAt());
-        response.setUpdatedAt(question.getUpdatedAt());
-        if (question.getBankId() != null) {
-            QuestionBank bank = bankMapper.selectById(question.getBankId());
-            if (bank != null) {
-                response.setBankId(bank.getBankCode());
-            }
-        }
-
-        List<QuestionOptionDto> options = optionMapper.selectList(new LambdaQueryWrapper<QuestionOption>()
-                        .eq(QuestionOption::getQuestionId, question.getId())
-                        .orderByAsc(QuestionOption::getSortOrder))
-                .stream().map(option -> {
-                    QuestionOptionDto dto = new QuestionOptionDto();
-                    dto.setLetter(option.getOptionKey());
-                    dto.setText(option.getOptionText());
-                    return dto;
-                }).toList();
-        response.setOptions(options);
-
-        List<Long> tagIds = tagRelMapper.selectList(new LambdaQueryWrapper<QuestionTagRel>().eq(QuestionTagRel::getQuestionId, question.getId()))
-                .stream().map(QuestionTagRel::getTagId).toList();
-        if (tagIds.isEmpty()) {
-            response.setTags(Collections.emptyList());
-        } else {
-            response.setTags(tagMapper.selectBatchIds(tagIds).stream().map(QuestionTag::getName).toList());
-        }
-        return response;
-    }
-
     private void saveAssets(Long questionId, List<QuestionOptionDto> options, List<String> tags) {
         optionMapper.delete(new LambdaQueryWrapper<QuestionOption>().eq(QuestionOption::getQuestionId, questionId));
         if (options != null) {
@@ -545,80 +1198,33 @@ public class QuestionServiceImpl implements QuestionService {
             }
         }
 
+        Map<Long, Integer> usage = new HashMap<>();
+        List<Long> previousTagIds = tagRelMapper.selectList(
+                new LambdaQueryWrapper<QuestionTagRel>().eq(QuestionTagRel::getQuestionId, questionId))
+                .stream().map(QuestionTagRel::getTagId).toList();
+        previousTagIds.forEach(tagId -> usage.merge(tagId, -1, Integer::sum));
         tagRelMapper.delete(new LambdaQueryWrapper<QuestionTagRel>().eq(QuestionTagRel::getQuestionId, questionId));
         if (tags != null && !tags.isEmpty()) {
-            Set<String> uniqueTags = tags.stream().filter(StringUtils::hasText).map(String::trim)
-                    .filter(s -> !s.isEmpty()).collect(Collectors.toCollection(LinkedHashSet::new));
-            for (String tagName : uniqueTags) {
-                QuestionTag tag = tagMapper.selectOne(new LambdaQueryWrapper<QuestionTag>().eq(QuestionTag::getName, tagName));
-                if (tag == null) {
-                    tag = new QuestionTag();
-                    tag.setName(tagName);
-                    tag.setCreatedAt(LocalDateTime.now());
-                    tagMapper.insert(tag);
-                }
+            Set<Long> tagIds = new LinkedHashSet<>(tagDictionary.resolve(tags).values());
+            for (Long tagId : tagIds) {
                 QuestionTagRel rel = new QuestionTagRel();
                 rel.setQuestionId(questionId);
-                rel.setTagId(tag.getId());
+                rel.setTagId(tagId);
                 tagRelMapper.insert(rel);
+                usage.merge(tagId, 1, Integer::sum);
             }
         }
+        tagDictionary.adjustUsage(usage);
+        tagDictionary.removeUnused(previousTagIds);
     }
 
     private void deleteQuestionIds(List<Long> questionIds) {
-        if (questionIds == null || questionIds.isEmpty()) {
-            return;
-        }
-        noteMapper.delete(new LambdaQueryWrapper<Note>().in(Note::getQuestionId, questionIds));
-        bookmarkMapper.delete(new LambdaQueryWrapper<Bookmark>().in(Bookmark::getQuestionId, questionIds));
-        userAnswerMapper.delete(new LambdaQueryWrapper<UserAnswer>().in(UserAnswer::getQuestionId, questionIds));
-        reviewCardMapper.delete(new LambdaQueryWrapper<ReviewCard>().in(ReviewCard::getQuestionId, questionIds));
-        wrongQuestionMapper.delete(new LambdaQueryWrapper<WrongQuestion>().in(WrongQuestion::getQuestionId, questionIds));
-        optionMapper.delete(new LambdaQueryWrapper<QuestionOption>().in(QuestionOption::getQuestionId, questionIds));
-        tagRelMapper.delete(new LambdaQueryWrapper<QuestionTagRel>().in(QuestionTagRel::getQuestionId, questionIds));
-        deleteAiByQuestionIds(questionIds);
-        questionMapper.delete(new LambdaQueryWrapper<Question>().in(Question::getId, questionIds));
-        cleanOrphanTags();
+        questionCascadeDeleter.delete(questionIds, deleted -> {});
     }
 
     private void purgeAllQuestions() {
-        noteMapper.delete(null);
-        bookmarkMapper.delete(null);
-        userAnswerMapper.delete(null);
-        reviewCardMapper.delete(null);
-        wrongQuestionMapper.delete(null);
-        optionMapper.delete(null);
-        tagRelMapper.delete(null);
-        deleteAllAiArtifacts();
-        questionMapper.delete(null);
-        tagMapper.delete(null);
-    }
-
-    private void cleanOrphanTags() {
-        List<Long> usedTagIds = tagRelMapper.selectList(null).stream().map(QuestionTagRel::getTagId).distinct().toList();
-        if (usedTagIds.isEmpty()) {
-            tagMapper.delete(null);
-        } else {
-            tagMapper.delete(new QueryWrapper<QuestionTag>().notIn("id", usedTagIds));
-        }
-    }
-
-    private void deleteAiByQuestionIds(List<Long> questionIds) {
-        String placeholders = questionIds.stream().map(v -> "?").collect(Collectors.joining(","));
-        Object[] args = questionIds.toArray();
-        jdbcTemplate.update("DELETE FROM ai_explanation WHERE question_id IN (" + placeholders + ")", args);
-        jdbcTemplate.update("DELETE FROM ai_error_analysis WHERE question_id IN (" + placeholders + ")", args);
-        jdbcTemplate.update("DELETE FROM ai_variant_question WHERE question_id IN (" + placeholders + ")", args);
-        jdbcTemplate.update("DELETE FROM ai_knowledge_tree WHERE question_id IN (" + placeholders + ")", args);
-        jdbcTemplate.update("DELETE FROM ai_design_process WHERE question_id IN (" + placeholders + ")", args);
-    }
-
-    private void deleteAllAiArtifacts() {
-        jdbcTemplate.update("DELETE FROM ai_explanation");
-        jdbcTemplate.update("DELETE FROM ai_error_analysis");
-        jdbcTemplate.update("DELETE FROM ai_variant_question");
-        jdbcTemplate.update("DELETE FROM ai_knowledge_tree");
-        jdbcTemplate.update("DELETE FROM ai_design_process");
+        questionCascadeDeleter.purgeAll();
+        importChunkFingerprints.purgeAll();
     }
 
     private Path ensureBackupDir() {
@@ -637,13 +1243,16 @@ public class QuestionServiceImpl implements QuestionService {
         if (Files.exists(exact) && Files.isRegularFile(exact)) {
             return exact;
         }
-        Path withJson = dir.resolve(backupId + ".json");
-        if (Files.exists(withJson) && Files.isRegularFile(withJson)) {
-            return withJson;
+        for (String suffix : List.of(".json", ".json.gz")) {
+            Path withSuffix = dir.resolve(backupId + suffix);
+            if (Files.exists(withSuffix) && Files.isRegularFile(withSuffix)) {
+                return withSuffix;
+            }
         }
         try (Stream<Path> files = Files.list(dir)) {
             return files.filter(Files::isRegularFile)
-                    .filter(path -> path.getFileName().toString().endsWith(".json"))
+                    .filter(path -> path.getFileName().toString().endsWith(".json")
+                            || path.getFileName().toString().endsWith(".json.gz"))
                     .filter(path -> path.getFileName().toString().contains(backupId))
                     .findFirst()
                     .orElseThrow(() -> new BusinessException(40421, "backup file not found: " + backupId));
@@ -652,76 +1261,96 @@ public class QuestionServiceImpl implements QuestionService {
         }
     }
 
-    private List<QuestionUpsertRequest> readQuestions(Path file) {
-        try {
-            JsonNode root = objectMapper.readTree(file.toFile());
-            if (root.isArray()) {
-                return objectMapper.convertValue(root, new TypeReference<List<QuestionUpsertRequest>>() {});
+    private long writeBackup(Path file, boolean gzip) throws IOException {
+        long count = 0;
+        OutputStream out = new BufferedOutputStream(Files.newOutputStream(file));
+        if (gzip) {
+            out = new GZIPOutputStream(out, 64 * 1024);
+        }
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            if (!gzip) {
+                generator.useDefaultPrettyPrinter();
             }
-            JsonNode questions = root.get("questions");
-            if (questions != null && questions.isArray()) {
-                return objectMapper.convertValue(questions, new TypeReference<List<QuestionUpsertRequest>>() {});
+            generator.writeStartArray();
+            Question last = null;
+            while (true) {
+                QueryWrapper<Question> q = new QueryWrapper<>();
+                if (last != null) {
+                    LocalDateTime lastTime = last.getCreatedAt();
+                    Long lastId = last.getId();
+                    q.and(w -> w.lt("created_at", lastTime).or(o -> o.eq("created_at", lastTime).lt("id", lastId)));
+                }
+                q.orderByDesc("created_at").orderByDesc("id").last("LIMIT " + BACKUP_BATCH_SIZE);
+                List<Question> page = questionMapper.selectList(q);
+                for (QuestionResponse response : questionAssembler.toResponses(page)) {
+                    generator.writeObject(response);
+                }
+                count += page.size();
+                if (page.size() < BACKUP_BATCH_SIZE) {
+                    break;
+                }
+                last = page.get(page.size() - 1);
             }
-            throw new BusinessException(40021, "invalid backup format");
-        } catch (IOException e) {
-            throw new BusinessException(50024, "read backup failed: " + e.getMessage());
+            generator.writeEndArray();
         }
+        return count;
     }
 
-    private List<QuestionUpsertRequest> parseText(String content) {
-        List<QuestionUpsertRequest> result = new ArrayList<>();
-        if (!StringUtils.hasText(content)) {
-            return result;
-        }
-        String[] blocks = content.split("\\r?\\n\\s*\\r?\\n");
-        for (String block : blocks) {
-            List<String> lines = Stream.of(block.split("\\r?\\n"))
-                    .map(String::trim).filter(s -> !s.isEmpty()).toList();
-            if (lines.isEmpty()) {
-                continue;
+    private void readQuestionBatches(Path file, Consumer<List<QuestionUpsertRequest>> consumer) {
+        try (InputStream in = openBackup(file);
+             JsonParser parser = objectMapper.getFactory().createParser(in)) {
+            if (!moveToQuestionArray(parser)) {
+                throw new BusinessException(40021, "invalid backup format");
             }
-
-            String text = lines.get(0).replaceFirst("^\\d+[\\.、\\)]\\s*", "");
-            String answer = null;
-            String explanation = null;
-            List<QuestionOptionDto> options = new ArrayList<>();
-
-            for (int i = 1; i < lines.size(); i++) {
-                String line = lines.get(i);
-                if (line.matches("^[A-H][\\.、:：\\)].+")) {
-                    QuestionOptionDto option = new QuestionOptionDto();
-                    option.setLetter(line.substring(0, 1));
-                    option.setText(line.substring(2).trim());
-                    options.add(option);
-                } else if (line.toLowerCase().startsWith("answer:") || line.startsWith("答案:") || line.startsWith("答案：")) {
-                    answer = line.substring(line.indexOf(':') >= 0 ? line.indexOf(':') + 1 : line.indexOf('：') + 1).trim();
-                } else if (line.toLowerCase().startsWith("explanation:") || line.startsWith("解析:") || line.startsWith("解析：")) {
-                    explanation = line.substring(line.indexOf(':') >= 0 ? line.indexOf(':') + 1 : line.indexOf('：') + 1).trim();
+            List<QuestionUpsertRequest> batch = new ArrayList<>(BACKUP_BATCH_SIZE);
+            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                batch.add(objectMapper.readValue(parser, QuestionUpsertRequest.class));
+                if (batch.size() >= BACKUP_BATCH_SIZE) {
+                    consumer.accept(batch);
+                    batch = new ArrayList<>(BACKUP_BATCH_SIZE);
                 }
             }
-
-            if (!StringUtils.hasText(answer)) {
-                continue;
+            if (!batch.isEmpty()) {
+                consumer.accept(batch);
             }
+        } catch (IOException e) {
+            throw new BusinessException(50024, "read backup failed: " + e.getMessage());
+        }
+    }
 
-            QuestionUpsertRequest request = new QuestionUpsertRequest();
-            request.setText(text);
-            request.setAnswer(normalizeAnswer(answer));
-            request.setExplanation(explanation);
-            if (!options.isEmpty()) {
-                request.setOptions(options);
-                request.setType(request.getAnswer().contains(",") ? "多选题" : "单选题");
-            } else {
-                String normalized = request.getAnswer().toLowerCase();
-                if (normalized.equals("对") || normalized.equals("错") || normalized.equals("true") || normalized.equals("false")) {
-                    request.setType("判断题");
-                } else {
-                    request.setType("简答题");
-                }
+    private boolean moveToQuestionArray(JsonParser parser) throws IOException {
+        JsonToken token = parser.nextToken();
+        if (token == JsonToken.START_ARRAY) {
+            return true;
+        }
+        if (token != JsonToken.START_OBJECT) {
+            return false;
+        }
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            JsonToken value = parser.nextToken();
+            if ("questions".equals(field) && value == JsonToken.START_ARRAY) {
+                return true;
             }
-            result.add(request);
+            parser.skipChildren();
         }
-        return result;
+        return false;
+    }
+
+    private InputStream openBackup(Path file) throws IOException {
+        BufferedInputStream in = new BufferedInputStream(Files.newInputStream(file), 64 * 1024);
+        in.mark(2);
+        int first = in.read();
+        int second = in.read();
+        in.reset();
+        if (first == 0x1f && second == 0x8b) {
+            return new GZIPInputStream(in, 64 * 1024);
+        }
+        return in;
+    }
+
+    private void validateBatch(List<QuestionUpsertRequest> batch) {
+        batch.forEach(this::validateRequest);
     }
 
     private String normalizeImportMode(String mode) {
@@ -731,67 +1360,147 @@ public class QuestionServiceImpl implements QuestionService {
         return "add";
     }
 
-    private void processAiImport(Long jobId, String content, String mode, String bankId) {
+    private void processAiImport(ImportJob job, String content) {
         try {
-            if ("replace".equalsIgnoreCase(mode)) {
+            if ("replace".equalsIgnoreCase(job.getMode())) {
                 purgeAllQuestions();
             }
 
-            int chunkSize = resolveImportChunkSize();
-            int maxConcurrent = Math.max(1, readIntSetting(SETTING_IMPORT_MAX_CONCURRENT, 2));
-            int batchDelaySeconds = Math.max(0, readIntSetting(SETTING_IMPORT_BATCH_DELAY, 2));
-            List<String> chunks = splitContentIntoChunks(content, chunkSize);
+            ApiConfig config = resolveImportApiConfig();
+            List<String> chunks = planImportChunks(content, config);
             if (chunks.isEmpty()) {
                 throw new BusinessException(40013, "content has no valid chunk");
             }
-            updateJobTotalChunks(jobId, chunks.size());
-
-            for (int i = 0; i < chunks.size(); i += maxConcurrent) {
-                int end = Math.min(i + maxConcurrent, chunks.size());
-                List<CompletableFuture<Void>> futures = new ArrayList<>();
-                for (int j = i; j < end; j++) {
-                    final int chunkNo = j + 1;
-                    final String chunk = chunks.get(j);
-                    futures.add(CompletableFuture.runAsync(() -> processAiImportChunk(jobId, chunkNo, chunk, bankId)));
-                }
-                for (CompletableFuture<Void> future : futures) {
-                    future.join();
+            List<ImportJobItem> items = saveChunkPlan(job.getId(), chunks);
+            runImportChunks(job, items);
+        } catch (Exception ex) {
+            markJobFailed(job.getId(), ex.getMessage());
+        }
+    }
+
+    private void resumeAiImport(ImportJob job) {
+        try {
+            if (valueOrZero(job.getTotalChunks()) == 0) {
+                throw new BusinessException(40023, "import interrupted before the chunk plan was saved");
+            }
+            jdbcTemplate.update("UPDATE import_job_item SET status = 'pending' WHERE job_id = ? AND status = 'running'", job.getId());
+            List<ImportJobItem> items = importJobItemMapper.selectList(
+                    new LambdaQueryWrapper<ImportJobItem>()
+                            .eq(ImportJobItem::getJobId, job.getId())
+                            .eq(ImportJobItem::getStatus, "pending")
+                            .orderByAsc(ImportJobItem::getChunkNo)
+            );
+            if (items.size() + valueOrZero(job.getProcessedChunks()) < job.getTotalChunks()) {
+                throw new BusinessException(40023, "import interrupted before the chunk plan was saved");
+            }
+            runImportChunks(job, items);
+        } catch (Exception ex) {
+            markJobFailed(job.getId(), ex.getMessage());
+        }
+    }
+
+    private List<ImportJobItem> saveChunkPlan(Long jobId, List<String> chunks) {
+        List<ImportJobItem> items = new ArrayList<>(chunks.size());
+        for (int i = 0; i < chunks.size(); i++) {
+            ImportJobItem item = new ImportJobItem();
+            item.setJobId(jobId);
+            item.setChunkNo(i + 1);
+            item.setStatus("pending");
+            item.setChunkText(chunks.get(i));
+            item.setChunkHash(ContentHash.sha256(chunks.get(i)));
+            item.setAttempts(0);
+            items.add(item);
+        }
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO import_job_item (job_id, chunk_no, status, chunk_text, chunk_hash, attempts) VALUES (?, ?, ?, ?, ?, 0)",
+                items,
+                BACKUP_BATCH_SIZE,
+                (ps, item) -> {
+                    ps.setLong(1, item.getJobId());
+                    ps.setInt(2, item.getChunkNo());
+                    ps.setString(3, item.getStatus());
+                    ps.setString(4, item.getChunkText());
+                    ps.setString(5, item.getChunkHash());
                 }
-                if (end < chunks.size() && batchDelaySeconds > 0) {
-                    sleepQuietly(batchDelaySeconds * 1000L);
+        );
+        updateJobTotalChunks(jobId, chunks.size());
+        return items;
+    }
+
+    private void runImportChunks(ImportJob job, List<ImportJobItem> items) throws InterruptedException {
+        Long jobId = job.getId();
+        List<ApiConfig> configs = resolveImportApiConfigs();
+        int initialConcurrency = Math.max(1, readIntSetting(SETTING_IMPORT_MAX_CONCURRENT, 2));
+        AdaptiveChunkScheduler scheduler = new AdaptiveChunkScheduler(initialConcurrency,
+                Math.max(initialConcurrency, importJobProperties.getMaxConcurrency()),
+                combinedLimit(configs, ApiConfig::getRpmLimit), combinedLimit(configs, ApiConfig::getTpmLimit));
+        List<CompletableFuture<Void>> futures = new ArrayList<>(items.size());
+        for (ImportJobItem item : items) {
+            if (!ContentHash.sha256(item.getChunkText()).equals(item.getChunkHash())) {
+                markChunkFailed(jobId, item.getChunkNo(), "chunk " + item.getChunkNo() + " checkpoint is corrupted", 0);
+                continue;
+            }
+            if (!Boolean.TRUE.equals(job.getForceRefresh())) {
+                ImportChunkFingerprints.Match match = importChunkFingerprints.find(item.getChunkText());
+                if (match != null) {
+                    markChunkSkipped(jobId, item.getChunkNo(), match);
+                    continue;
                 }
             }
-            finalizeJobStatus(jobId);
-        } catch (Exception ex) {
-            markJobFailed(jobId, ex.getMessage());
-        } finally {
-            cleanupImportJobs();
+            final int tokens = AI_IMPORT_PROMPT_TOKENS + 2 * TokenEstimator.estimate(item.getChunkText());
+            scheduler.acquire(tokens);
+            try {
+                futures.add(CompletableFuture.runAsync(() -> processAiImportChunk(job, item, tokens, scheduler), importChunkExecutor));
+            } catch (RejectedExecutionException ex) {
+                scheduler.release();
+                markChunkFailed(jobId, item.getChunkNo(), "chunk " + item.getChunkNo() + " rejected: import executor is saturated", 0);
+            }
         }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+        finalizeJobStatus(jobId);
     }
 
-    private void processAiImportChunk(Long jobId, int chunkNo, String chunk, String bankId) {
+    private void processAiImportChunk(ImportJob job, ImportJobItem item, int tokens, AdaptiveChunkScheduler scheduler) {
+        Long jobId = job.getId();
+        int chunkNo = item.getChunkNo();
+        String chunk = item.getChunkText();
         int maxAttempts = importJobProperties.getChunkMaxRetries() + 1;
+        List<QuestionUpsertRequest> parsed = new ArrayList<>();
+        Set<String> committed = new HashSet<>();
+        QuestionImportResultResponse imported = new QuestionImportResultResponse();
         Exception lastError = null;
         for (int attempt = 1; attempt <= maxAttempts; attempt++) {
             try {
-                List<QuestionUpsertRequest> parsed = parseQuestionsWithAi(chunk);
+                if (attempt > 1) {
+                    scheduler.acquire(tokens);
+                }
+                boolean bypassCache = Boolean.TRUE.equals(job.getForceRefresh()) || attempt > 1;
+                List<ApiConfig> configs;
+                try {
+                    markChunkRunning(jobId, chunkNo);
+                    configs = preferredImportApiConfigs(chunkNo + attempt - 1);
+                } catch (RuntimeException ex) {
+                    scheduler.release();
+                    throw ex;
+                }
+                int malformed = scheduler.call(tokens, () -> streamQuestionsWithAi(job, chunk, configs, bypassCache, parsed, committed, imported));
                 if (parsed.isEmpty()) {
                     throw new BusinessException(40014, "no question parsed from ai result");
                 }
-
-                QuestionImportRequest importRequest = new QuestionImportRequest();
-                importRequest.setMode("add");
-                importRequest.setBankId(bankId);
-                importRequest.setQuestions(parsed);
-                QuestionImportResultResponse imported = importQuestions(importRequest);
+                importChunkFingerprints.record(jobId, chunk, parsed);
 
                 Map<String, Object> result = new LinkedHashMap<>();
                 result.put("parsedCount", imported.getParsedCount());
                 result.put("insertedCount", imported.getInsertedCount());
                 result.put("duplicateCount", imported.getDuplicateCount());
+                result.put("malformedCount", malformed);
                 result.put("attempts", attempt);
-                markChunkSuccess(jobId, chunkNo, writeJson(result));
+                markChunkSuccess(jobId, chunkNo, writeJson(result), imported.getInsertedCount());
                 return;
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                lastError = ex;
+                break;
             } catch (Exception ex) {
                 lastError = ex;
                 if (!isRetryableChunkError(ex) || attempt >= maxAttempts) {
@@ -802,41 +1511,80 @@ public class QuestionServiceImpl implements QuestionService {
         }
         String message = "chunk " + chunkNo + " failed after " + maxAttempts + " attempts: "
                 + (lastError == null ? "unknown error" : lastError.getMessage());
-        markChunkFailed(jobId, chunkNo, message);
+        markChunkFailed(jobId, chunkNo, message, imported.getInsertedCount());
+    }
+
+    private void markChunkRunning(Long jobId, Integer chunkNo) {
+        jdbcTemplate.update(
+                "UPDATE import_job_item SET status = 'running', attempts = attempts + 1 WHERE job_id = ? AND chunk_no = ?",
+                jobId,
+                chunkNo
+        );
+    }
+
+    private void markChunkSuccess(Long jobId, Integer chunkNo, String resultJson, int insertedCount) {
+        jdbcTemplate.update(
+                "UPDATE import_job_item SET status = 'success', result_json = ?, inserted_count = ?, error_message = NULL "
+                        + "WHERE job_id = ? AND chunk_no = ?",
+                resultJson,
+                insertedCount,
+                jobId,
+                chunkNo
+        );
+        jdbcTemplate.update(
+                "UPDATE import_job SET processed_chunks = processed_chunks + 1, success_chunks = success_chunks + 1, "
+                        + "inserted_count = inserted_count + ? WHERE id = ?",
+                insertedCount,
+                jobId
+        );
+        importProgressTracker.chunkSucceeded(jobId, chunkNo, insertedCount);
     }
 
-    private void markChunkSuccess(Long jobId, Integer chunkNo, String resultJson) {
-        ImportJobItem item = new ImportJobItem();
-        item.setJobId(jobId);
-        item.setChunkNo(chunkNo);
-        item.setStatus("success");
-        item.setResultJson(resultJson);
-        importJobItemMapper.insert(item);
+    private void markChunkSkipped(Long jobId, Integer chunkNo, ImportChunkFingerprints.Match match) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("skipped", true);
+        result.put("match", match.exact() ? "exact" : "normalized");
+        result.put("questionCodes", match.questionCodes());
+        jdbcTemplate.update(
+                "UPDATE import_job_item SET status = 'skipped', result_json = ?, inserted_count = 0, error_message = NULL "
+                        + "WHERE job_id = ? AND chunk_no = ?",
+                writeJson(result),
+                jobId,
+                chunkNo
+        );
         jdbcTemplate.update(
-                "UPDATE import_job SET processed_chunks = processed_chunks + 1, success_chunks = success_chunks + 1 WHERE id = ?",
+                "UPDATE import_job SET processed_chunks = processed_chunks + 1, skipped_chunks = skipped_chunks + 1 WHERE id = ?",
                 jobId
         );
+        importProgressTracker.chunkSkipped(jobId, chunkNo);
     }
 
-    private void markChunkFailed(Long jobId, Integer chunkNo, String errorMessage) {
-        ImportJobItem item = new ImportJobItem();
-        item.setJobId(jobId);
-        item.setChunkNo(chunkNo);
-        item.setStatus("failed");
-        item.setErrorMessage(safeError(errorMessage));
-        importJobItemMapper.insert(item);
+    private void markChunkFailed(Long jobId, Integer chunkNo, String errorMessage, int insertedCount) {
+        String error = safeError(errorMessage);
         jdbcTemplate.update(
-                "UPDATE import_job SET processed_chunks = processed_chunks + 1, failed_chunks = failed_chunks + 1 WHERE id = ?",
+                "UPDATE import_job_item SET status = 'failed', inserted_count = ?, error_message = ? WHERE job_id = ? AND chunk_no = ?",
+                insertedCount,
+                error,
+                jobId,
+                chunkNo
+        );
+        jdbcTemplate.update(
+                "UPDATE import_job SET processed_chunks = processed_chunks + 1, failed_chunks = failed_chunks + 1, "
+                        + "inserted_count = inserted_count + ? WHERE id = ?",
+                insertedCount,
                 jobId
         );
+        importProgressTracker.chunkFailed(jobId, chunkNo, insertedCount, error);
     }
 
     private void updateJobTotalChunks(Long jobId, int totalChunks) {
         jdbcTemplate.update("UPDATE import_job SET total_chunks = ? WHERE id = ?", totalChunks, jobId);
+        importProgressTracker.total(jobId, totalChunks);
     }
 
     private void markJobCompleted(Long jobId) {
         jdbcTemplate.update("UPDATE import_job SET status = ?, ended_at = ? WHERE id = ?", "completed", LocalDateTime.now(), jobId);
+        importProgressTracker.finish(jobId, "completed", null);
     }
 
     private void markJobFailed(Long jobId, String errorMessage) {
@@ -847,6 +1595,7 @@ public class QuestionServiceImpl implements QuestionService {
                 safeError(errorMessage),
                 jobId
         );
+        importProgressTracker.finish(jobId, "failed", safeError(errorMessage));
     }
 
     private void finalizeJobStatus(Long jobId) {
@@ -856,7 +1605,8 @@ public class QuestionServiceImpl implements QuestionService {
         }
         int success = valueOrZero(job.getSuccessChunks());
         int failed = valueOrZero(job.getFailedChunks());
-        if (success == 0 && failed > 0) {
+        int skipped = valueOrZero(job.getSkippedChunks());
+        if (success + skipped == 0 && failed > 0) {
             markJobFailed(jobId, "all chunks failed");
         } else {
             markJobCompleted(jobId);
@@ -864,6 +1614,9 @@ public class QuestionServiceImpl implements QuestionService {
     }
 
     private boolean isRetryableChunkError(Exception ex) {
+        if (ex instanceof UpstreamStatusException upstream) {
+            return upstream.isThrottled() || upstream.isServerError();
+        }
         if (ex instanceof BusinessException be) {
             int code = be.getCode();
             return code >= 50000;
@@ -871,50 +1624,17 @@ public class QuestionServiceImpl implements QuestionService {
         return true;
     }
 
-    private void cleanupImportJobs() {
-        markTimeoutImportJobs();
-        cleanupExpiredImportJobs();
-        cleanupOverflowFinishedJobs();
-    }
-
-    private void markTimeoutImportJobs() {
-        LocalDateTime timeoutAt = LocalDateTime.now().minusHours(importJobProperties.getTimeoutHours());
-        List<ImportJob> staleProcessing = importJobMapper.selectList(
-                new LambdaQueryWrapper<ImportJob>()
-                        .eq(ImportJob::getStatus, "processing")
-                        .lt(ImportJob::getStartedAt, timeoutAt)
-        );
-        for (ImportJob job : staleProcessing) {
-            markJobFailed(job.getId(), "import job timeout");
-        }
-    }
-
-    private void cleanupExpiredImportJobs() {
-        LocalDateTime cutoff = LocalDateTime.now().minusHours(importJobProperties.getRetentionHours());
-        List<ImportJob> expired = importJobMapper.selectList(
-                new LambdaQueryWrapper<ImportJob>()
-                        .in(ImportJob::getStatus, List.of("completed", "failed"))
-                        .lt(ImportJob::getEndedAt, cutoff)
-        );
-        deleteImportJobs(expired.stream().map(ImportJob::getId).toList());
-    }
-
-    private void cleanupOverflowFinishedJobs() {
-        List<ImportJob> finishedJobs = importJobMapper.selectList(
-                new QueryWrapper<ImportJob>()
-                        .in("status", List.of("completed", "failed"))
-                        .orderByDesc("ended_at")
-                        .orderByDesc("id")
-        );
-        int keep = importJobProperties.getMaxFinishedKeep();
-        if (finishedJobs.size() <= keep) {
-            return;
+    private <T> int sweepJobIds(Consumer<List<Long>> action, BaseMapper<T> mapper, LambdaQueryWrapper<T> query,
+                                Function<T, Long> idOf) {
+        int swept = 0;
+        while (true) {
+            List<Long> ids = mapper.selectList(query).stream().map(idOf).toList();
+            if (ids.isEmpty()) {
+                return swept;
+            }
+            action.accept(ids);
+            swept += ids.size();
         }
-        List<Long> removeIds = finishedJobs.subList(keep, finishedJobs.size())
-                .stream()
-                .map(ImportJob::getId)
-                .toList();
-        deleteImportJobs(removeIds);
     }
 
     private void deleteImportJobs(List<Long> jobIds) {
@@ -923,40 +1643,60 @@ public class QuestionServiceImpl implements QuestionService {
         }
         importJobItemMapper.delete(new LambdaQueryWrapper<ImportJobItem>().in(ImportJobItem::getJobId, jobIds));
         importJobMapper.delete(new LambdaQueryWrapper<ImportJob>().in(ImportJob::getId, jobIds));
+        importProgressTracker.evict(jobIds);
+    }
+
+    private int streamQuestionsWithAi(ImportJob job, String chunk, List<ApiConfig> configs, boolean force,
+                                      List<QuestionUpsertRequest> parsed, Set<String> committed,
+                                      QuestionImportResultResponse summary) {
+        BlockingQueue<JsonNode> nodes = new LinkedBlockingQueue<>();
+        IncrementalJsonArrayParser parser = new IncrementalJsonArrayParser(objectMapper, nodes::add);
+        ChatRequest request = ChatRequest.of(AI_IMPORT_SYSTEM_PROMPT, AI_IMPORT_USER_PREFIX + chunk);
+        CompletableFuture<ChatResult> stream = llmResponseCache.stream(configs, request, force, true, parser::feed)
+                .whenComplete((result, error) -> nodes.add(AI_STREAM_END));
+        List<QuestionUpsertRequest> batch = new ArrayList<>(AI_IMPORT_MICRO_BATCH_SIZE);
+        try {
+            for (JsonNode node = nodes.take(); node != AI_STREAM_END; node = nodes.take()) {
+                for (QuestionUpsertRequest question : parseQuestionNodes(node)) {
+                    if (committed.contains(ContentHash.textHash(question.getText()))) {
+                        continue;
+                    }
+                    parsed.add(question);
+                    batch.add(question);
+                    if (batch.size() >= AI_IMPORT_MICRO_BATCH_SIZE) {
+                        importAiBatch(batch, job, committed, summary);
+                    }
+                }
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new BusinessException(50018, "ai request failed: " + ex.getMessage());
+        }
+        try {
+            stream.join();
+        } catch (CompletionException ex) {
+            throw ex.getCause() instanceof RuntimeException cause ? cause : ex;
+        }
+        parser.finish();
+        if (!batch.isEmpty()) {
+            importAiBatch(batch, job, committed, summary);
+        }
+        return parser.getMalformed();
     }
 
-    private List<QuestionUpsertRequest> parseQuestionsWithAi(String chunk) {
-        ApiConfig config = resolveImportApiConfig();
-        String systemPrompt = """
-                你是一位专业的题库格式化助手。你的任务是将提供的文本内容转换为标准的JSON格式。
-
-                请将每个题目解析为以下格式，并将所有题目组合为一个JSON数组：
-                [
-                  {
-                    "type": "题目类型",
-                    "text": "题目内容",
-                    "options": [
-                      {"letter": "A", "text": "选项A内容"},
-                      {"letter": "B", "text": "选项B内容"}
-                    ],
-                    "answer": "正确答案",
-                    "explanation": "答案解析"
-                  }
-                ]
-
-                请直接返回有效的JSON数组，不要添加任何解释、注释或其他文本。
-                """;
-        String userPrompt = "以下是需要格式化的题库内容：\n\n" + chunk;
-        String raw = callChatCompletion(config, systemPrompt, userPrompt);
-        String cleaned = extractJsonFromText(raw);
-        JsonNode node = parseJsonNode(cleaned);
-        if (node == null) {
-            node = parseJsonNode(raw);
-        }
-        if (node == null) {
-            throw new BusinessException(50015, "ai response contains no valid json");
-        }
-        return parseQuestionNodes(node);
+    private void importAiBatch(List<QuestionUpsertRequest> batch, ImportJob job, Set<String> committed,
+                               QuestionImportResultResponse summary) {
+        QuestionImportRequest importRequest = new QuestionImportRequest();
+        importRequest.setMode("add");
+        importRequest.setBankId(job.getBankId());
+        importRequest.setQuestions(new ArrayList<>(batch));
+        importRequest.setSkipNearDuplicates(job.getSkipNearDuplicates());
+        QuestionImportResultResponse result = importQuestions(importRequest);
+        summary.setParsedCount(summary.getParsedCount() + result.getParsedCount());
+        summary.setInsertedCount(summary.getInsertedCount() + result.getInsertedCount());
+        summary.setDuplicateCount(summary.getDuplicateCount() + result.getDuplicateCount());
+        batch.forEach(question -> committed.add(ContentHash.textHash(question.getText())));
+        batch.clear();
     }
 
     private List<QuestionUpsertRequest> parseQuestionNodes(JsonNode node) {
@@ -1071,105 +1811,34 @@ public class QuestionServiceImpl implements QuestionService {
         return StringUtils.hasText(value) ? value : null;
     }
 
-    private JsonNode parseJsonNode(String text) {
-        if (!StringUtils.hasText(text)) {
-            return null;
-        }
-        String input = text.trim();
-        try {
-            return objectMapper.readTree(input);
-        } catch (Exception ignored) {
-        }
-
-        int arrStart = input.indexOf('[');
-        int arrEnd = input.lastIndexOf(']');
-        if (arrStart >= 0 && arrEnd > arrStart) {
-            try {
-                return objectMapper.readTree(input.substring(arrStart, arrEnd + 1));
-            } catch (Exception ignored) {
-            }
-        }
-
-        int objStart = input.indexOf('{');
-        int objEnd = input.lastIndexOf('}');
-        if (objStart >= 0 && objEnd > objStart) {
-            try {
-                return objectMapper.readTree(input.substring(objStart, objEnd + 1));
-            } catch (Exception ignored) {
+    private List<ApiConfig> resolveImportApiConfigs() {
+        List<ApiConfig> configs = apiConfigMapper.selectList(new QueryWrapper<ApiConfig>().orderByAsc("id"));
+        List<ApiConfig> usable = new ArrayList<>();
+        for (ApiConfig config : configs) {
+            if (!Boolean.FALSE.equals(config.getEnabled())
+                    && StringUtils.hasText(config.getApiUrl()) && StringUtils.hasText(config.getApiKeyCipher())) {
+                usable.add(config);
             }
         }
-        return null;
+        return usable.isEmpty() ? List.of(resolveImportApiConfig()) : usable;
     }
 
-    private String extractJsonFromText(String text) {
-        if (!StringUtils.hasText(text)) {
-            return text;
-        }
-        String result = text.trim();
-        if (result.contains("```json")) {
-            String[] parts = result.split("```json", 2);
-            result = parts.length > 1 ? parts[1] : result;
-            int end = result.indexOf("```");
-            if (end >= 0) {
-                result = result.substring(0, end);
-            }
-            return result.trim();
-        }
-        if (result.startsWith("```")) {
-            int firstBreak = result.indexOf('\n');
-            if (firstBreak >= 0) {
-                result = result.substring(firstBreak + 1);
-            }
-            int end = result.indexOf("```");
-            if (end >= 0) {
-                result = result.substring(0, end);
-            }
-            return result.trim();
-        }
-        return result;
+    private List<ApiConfig> preferredImportApiConfigs(int rotation) {
+        List<ApiConfig> configs = new ArrayList<>(resolveImportApiConfigs());
+        Collections.rotate(configs, -(rotation % configs.size()));
+        return configs;
     }
 
-    private String callChatCompletion(ApiConfig config, String systemPrompt, String userPrompt) {
-        Map<String, Object> payload = new HashMap<>();
-        payload.put("model", StringUtils.hasText(config.getModel()) ? config.getModel() : "Qwen/Qwen2.5-7B-Instruct");
-        payload.put("messages", List.of(message("system", systemPrompt), message("user", userPrompt)));
-        payload.put("stream", false);
-        payload.put("max_tokens", config.getMaxTokens() == null ? 4096 : config.getMaxTokens());
-        payload.put("temperature", 0.7);
-
-        try {
-            String body = objectMapper.writeValueAsString(payload);
-            HttpRequest request = HttpRequest.newBuilder()
-                    .uri(URI.create(config.getApiUrl()))
-                    .header("Authorization", "Bearer " + config.getApiKeyCipher())
-                    .header("Content-Type", "application/json")
-                    .timeout(Duration.ofSeconds(120))
-                    .POST(HttpRequest.BodyPublishers.ofString(body))
-                    .build();
-            HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(20)).build();
-            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
-            if (response.statusCode() < 200 || response.statusCode() >= 300) {
-                throw new BusinessException(50016, "api error status " + response.statusCode());
-            }
-
-            JsonNode root = objectMapper.readTree(response.body());
-            JsonNode contentNode = root.path("choices").path(0).path("message").path("content");
-            if (contentNode.isMissingNode() || !StringUtils.hasText(contentNode.asText())) {
-                throw new BusinessException(50017, "api response has no message content");
+    private int combinedLimit(List<ApiConfig> configs, Function<ApiConfig, Integer> limit) {
+        long total = 0L;
+        for (ApiConfig config : configs) {
+            int value = valueOrZero(limit.apply(config));
+            if (value <= 0) {
+                return 0;
             }
-            return contentNode.asText();
-        } catch (BusinessException ex) {
-            throw ex;
-        } catch (IOException | InterruptedException ex) {
-            throw new BusinessException(50018, "ai request failed: " + ex.getMessage());
+            total += value;
         }
-    }
-
-    private Map<String, String> message(String role, String content) {
-        Map<String, String> map = new LinkedHashMap<>();
-        map.put("role", role);
-        map.put("content", content);
-        return map;
+        return (int) Math.min(Integer.MAX_VALUE, total);
     }
 
     private ApiConfig resolveImportApiConfig() {
@@ -1204,12 +1873,11 @@ public class QuestionServiceImpl implements QuestionService {
         return selected;
     }
 
-    private int resolveImportChunkSize() {
-        List<ApiConfig> configs = apiConfigMapper.selectList(new QueryWrapper<ApiConfig>().orderByAsc("id"));
-        if (configs.isEmpty() || configs.get(0).getChunkSize() == null) {
-            return 1000;
-        }
-        return Math.max(200, configs.get(0).getChunkSize());
+    private List<String> planImportChunks(String content, ApiConfig config) {
+        int promptBudget = importJobProperties.getPromptTokenBudget() - AI_IMPORT_PROMPT_TOKENS;
+        int maxTokens = config.getMaxTokens() == null ? DEFAULT_MAX_TOKENS : config.getMaxTokens();
+        int completionBudget = (int) (maxTokens * importJobProperties.getCompletionFillRatio());
+        return ImportChunkPlanner.plan(content, promptBudget, completionBudget);
     }
 
     private int readIntSetting(String key, int defaultValue) {
@@ -1242,24 +1910,14 @@ public class QuestionServiceImpl implements QuestionService {
         }
     }
 
-    private int readInsertedCount(String resultJson) {
-        if (!StringUtils.hasText(resultJson)) {
-            return 0;
-        }
-        try {
-            JsonNode node = objectMapper.readTree(resultJson);
-            if (node.has("insertedCount") && node.get("insertedCount").isNumber()) {
-                return node.get("insertedCount").asInt();
-            }
-        } catch (Exception ignored) {
-        }
-        return 0;
-    }
-
     private int valueOrZero(Integer value) {
         return value == null ? 0 : value;
     }
 
+    private long valueOrZero(Long value) {
+        return value == null ? 0L : value;
+    }
+
     private String safeError(String message) {
         if (!StringUtils.hasText(message)) {
             return "unknown error";
@@ -1275,82 +1933,7 @@ public class QuestionServiceImpl implements QuestionService {
         }
     }
 
-    private List<String> splitContentIntoChunks(String content, int chunkSize) {
-        if (!StringUtils.hasText(content)) {
-            return Collections.emptyList();
-        }
-        String[] lines = content.split("\\r?\\n");
-        List<String> questionBlocks = new ArrayList<>();
-        List<String> currentBlock = new ArrayList<>();
-        for (String line : lines) {
-            if (isQuestionStartLine(line) && !currentBlock.isEmpty()) {
-                questionBlocks.add(String.join("\n", currentBlock));
-                currentBlock = new ArrayList<>();
-            }
-            currentBlock.add(line);
-        }
-        if (!currentBlock.isEmpty()) {
-            questionBlocks.add(String.join("\n", currentBlock));
-        }
-
-        if (questionBlocks.size() <= 1 && content.length() > chunkSize) {
-            questionBlocks = new ArrayList<>();
-            currentBlock = new ArrayList<>();
-            for (String line : lines) {
-                if (!StringUtils.hasText(line) && !currentBlock.isEmpty()) {
-                    questionBlocks.add(String.join("\n", currentBlock));
-                    currentBlock = new ArrayList<>();
-                } else {
-                    currentBlock.add(line);
-                }
-            }
-            if (!currentBlock.isEmpty()) {
-                questionBlocks.add(String.join("\n", currentBlock));
-            }
-        }
-
-        List<String> chunks = new ArrayList<>();
-        List<String> currentChunk = new ArrayList<>();
-        int currentSize = 0;
-        for (String block : questionBlocks) {
-            int blockSize = block.length();
-            if (blockSize > chunkSize) {
-                if (!currentChunk.isEmpty()) {
-                    chunks.add(String.join("\n\n", currentChunk));
-                    currentChunk = new ArrayList<>();
-                    currentSize = 0;
-                }
-                chunks.add(block);
-                continue;
-            }
-
-            if (currentSize + blockSize > chunkSize && !currentChunk.isEmpty()) {
-                chunks.add(String.join("\n\n", currentChunk));
-                currentChunk = new ArrayList<>();
-                currentSize = 0;
-            }
-            currentChunk.add(block);
-            currentSize += blockSize;
-        }
-        if (!currentChunk.isEmpty()) {
-            chunks.add(String.join("\n\n", currentChunk));
-        }
-        if (chunks.isEmpty()) {
-            chunks.add(content);
-        }
-        return chunks;
-    }
-
-    private boolean isQuestionStartLine(String line) {
-        if (!StringUtils.hasText(line)) {
-            return false;
-        }
-        String trimmed = line.trim();
-        return trimmed.matches("^(单选题?|多选题?|判断题?|填空题?|简答题?)[：:．.、\\s].*")
-                || trimmed.matches("^\\d+[．.、)\\s].*(单选|多选|判断|填空|简答).*");
-    }
-
     private String normalizeAnswer(String answer) {
-        return answer == null ? null : answer.replace("，", ",").replace(" ", "").trim();
+        return QuestionImportWriter.normalizeAnswer(answer);
     }
 }
@@ -0,0 +1,156 @@
+package com.quizgen.app.question.support;
+
+import com.quizgen.app.common.error.UpstreamStatusException;
+import com.quizgen.app.common.util.TokenBucket;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+public class AdaptiveChunkScheduler {
+
+    private static final double THROTTLE_DECREASE = 0.5;
+    private static final double SLOWDOWN_DECREASE = 0.8;
+    private static final double LATENCY_TOLERANCE = 2.0;
+    private static final double BASELINE_DRIFT = 0.05;
+    private static final long MIN_BACKOFF_NANOS = TimeUnit.SECONDS.toNanos(1);
+    private static final long MAX_BACKOFF_NANOS = TimeUnit.SECONDS.toNanos(60);
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition changed = lock.newCondition();
+    private final LongSupplier clock;
+    private final int maxLimit;
+    private final TokenBucket requestBucket;
+    private final TokenBucket tokenBucket;
+    private double limit;
+    private int inFlight;
+    private double baselineNanosPerToken = -1;
+    private long pausedUntil;
+
+    public AdaptiveChunkScheduler(int initialLimit, int maxLimit, int requestsPerMinute, int tokensPerMinute) {
+        this(initialLimit, maxLimit, requestsPerMinute, tokensPerMinute, System::nanoTime);
+    }
+
+    AdaptiveChunkScheduler(int initialLimit, int maxLimit, int requestsPerMinute, int tokensPerMinute, LongSupplier clock) {
+        long now = clock.getAsLong();
+        this.clock = clock;
+        this.maxLimit = Math.max(1, maxLimit);
+        this.limit = Math.min(this.maxLimit, Math.max(1, initialLimit));
+        this.requestBucket = requestsPerMinute > 0 ? new TokenBucket(requestsPerMinute, now) : null;
+        this.tokenBucket = tokensPerMinute > 0 ? new TokenBucket(tokensPerMinute, now) : null;
+        this.pausedUntil = now;
+    }
+
+    public void acquire(int tokens) throws InterruptedException {
+        lock.lockInterruptibly();
+        try {
+            while (true) {
+                if (inFlight >= (int) limit) {
+                    changed.await();
+                    continue;
+                }
+                long now = clock.getAsLong();
+                long wait = pausedUntil - now;
+                if (wait <= 0) {
+                    wait = Math.max(waitNanos(requestBucket, 1, now), waitNanos(tokenBucket, tokens, now));
+                }
+                if (wait <= 0) {
+                    take(requestBucket, 1);
+                    take(tokenBucket, tokens);
+                    inFlight++;
+                    return;
+                }
+                changed.awaitNanos(wait);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public <T> T call(int tokens, Supplier<T> request) {
+        long start = clock.getAsLong();
+        try {
+            T result = request.get();
+            onSuccess(clock.getAsLong() - start, tokens);
+            return result;
+        } catch (UpstreamStatusException ex) {
+            if (ex.isThrottled() || ex.isServerError()) {
+                onThrottle(ex.getRetryAfterMillis());
+            } else {
+                release();
+            }
+            throw ex;
+        } catch (RuntimeException ex) {
+            release();
+            throw ex;
+        }
+    }
+
+    public int getLimit() {
+        lock.lock();
+        try {
+            return (int) limit;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void release() {
+        lock.lock();
+        try {
+            inFlight--;
+            changed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void onSuccess(long latencyNanos, int tokens) {
+        lock.lock();
+        try {
+            double nanosPerToken = (double) latencyNanos / Math.max(1, tokens);
+            if (baselineNanosPerToken < 0 || nanosPerToken < baselineNanosPerToken) {
+                baselineNanosPerToken = nanosPerToken;
+            } else {
+                baselineNanosPerToken += (nanosPerToken - baselineNanosPerToken) * BASELINE_DRIFT;
+            }
+            if (nanosPerToken > baselineNanosPerToken * LATENCY_TOLERANCE) {
+                limit = Math.max(1, limit * SLOWDOWN_DECREASE);
+            } else {
+                limit = Math.min(maxLimit, limit + 1.0 / limit);
+            }
+            inFlight--;
+            changed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void onThrottle(long retryAfterMillis) {
+        lock.lock();
+        try {
+            limit = Math.max(1, limit * THROTTLE_DECREASE);
+            long backoff = retryAfterMillis > 0 ? TimeUnit.MILLISECONDS.toNanos(retryAfterMillis) : MIN_BACKOFF_NANOS;
+            long until = clock.getAsLong() + Math.min(MAX_BACKOFF_NANOS, Math.max(MIN_BACKOFF_NANOS, backoff));
+            if (until - pausedUntil > 0) {
+                pausedUntil = until;
+            }
+            inFlight--;
+            changed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static long waitNanos(TokenBucket bucket, int amount, long now) {
+        return bucket == null ? 0 : bucket.waitNanos(amount, now);
+    }
+
+    private static void take(TokenBucket bucket, int amount) {
+        if (bucket != null) {
+            bucket.take(amount);
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.quizgen.app.question.support;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.quizgen.app.common.util.ContentHash;
+import com.quizgen.app.question.dto.QuestionUpsertRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.text.Normalizer;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+@Component
+public class ImportChunkFingerprints {
+
+    private static final int MAX_ROWS_PER_STATEMENT = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    public ImportChunkFingerprints(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+    }
+
+    public Match find(String chunkText) {
+        String fingerprint = fingerprint(chunkText);
+        List<Object[]> rows = jdbcTemplate.query(
+                "SELECT exact_hash, question_codes FROM import_chunk_fingerprint WHERE fingerprint = ?",
+                (rs, rowNum) -> new Object[]{rs.getString(1), rs.getString(2)},
+                fingerprint);
+        if (rows.isEmpty()) {
+            return null;
+        }
+        List<String> codes = readCodes((String) rows.get(0)[1]);
+        if (codes.isEmpty() || countExisting(codes) < codes.size()) {
+            jdbcTemplate.update("DELETE FROM import_chunk_fingerprint WHERE fingerprint = ?", fingerprint);
+            return null;
+        }
+        jdbcTemplate.update("UPDATE import_chunk_fingerprint SET hit_count = hit_count + 1, last_hit_at = ? WHERE fingerprint = ?",
+                Timestamp.valueOf(LocalDateTime.now()), fingerprint);
+        return new Match(ContentHash.sha256(chunkText).equals(rows.get(0)[0]), codes);
+    }
+
+    public void record(Long jobId, String chunkText, List<QuestionUpsertRequest> questions) {
+        Set<String> hashes = new LinkedHashSet<>();
+        for (QuestionUpsertRequest question : questions) {
+            hashes.add(ContentHash.textHash(question.getText()));
+        }
+        List<String> codes = selectCodes(new ArrayList<>(hashes));
+        if (codes.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.update("INSERT INTO import_chunk_fingerprint (fingerprint, exact_hash, question_codes, job_id, created_at) "
+                        + "VALUES (?,?,?,?,?) ON DUPLICATE KEY UPDATE exact_hash = VALUES(exact_hash), "
+                        + "question_codes = VALUES(question_codes), job_id = VALUES(job_id), created_at = VALUES(created_at)",
+                fingerprint(chunkText), ContentHash.sha256(chunkText), writeCodes(codes), jobId,
+                Timestamp.valueOf(LocalDateTime.now()));
+    }
+
+    public void purgeAll() {
+        jdbcTemplate.update("DELETE FROM import_chunk_fingerprint");
+    }
+
+    static String fingerprint(String chunkText) {
+        String normalized = Normalizer.normalize(chunkText == null ? "" : chunkText, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+        StringBuilder sb = new StringBuilder(normalized.length());
+        for (int i = 0; i < normalized.length(); i++) {
+            char c = normalized.charAt(i);
+            if (!Character.isWhitespace(c) && !Character.isSpaceChar(c)) {
+                sb.append(c);
+            }
+        }
+        return ContentHash.sha256(sb.toString());
+    }
+
+    private int countExisting(List<String> codes) {
+        int found = 0;
+        for (int i = 0; i < codes.size(); i += MAX_ROWS_PER_STATEMENT) {
+            List<String> slice = codes.subList(i, Math.min(i + MAX_ROWS_PER_STATEMENT, codes.size()));
+            Integer count = jdbcTemplate.queryForObject(
+                    "SELECT COUNT(*) FROM question WHERE question_code IN (" + placeholders(slice.size()) + ")",
+                    Integer.class, slice.toArray());
+            found += count == null ? 0 : count;
+        }
+        return found;
+    }
+
+    private List<String> selectCodes(List<String> hashes) {
+        List<String> codes = new ArrayList<>();
+        for (int i = 0; i < hashes.size(); i += MAX_ROWS_PER_STATEMENT) {
+            List<String> slice = hashes.subList(i, Math.min(i + MAX_ROWS_PER_STATEMENT, hashes.size()));
+            codes.addAll(jdbcTemplate.queryForList(
+                    "SELECT question_code FROM question WHERE text_hash IN (" + placeholders(slice.size()) + ")",
+                    String.class, slice.toArray()));
+        }
+        return codes;
+    }
+
+    private List<String> readCodes(String json) {
+        try {
+            return objectMapper.readValue(json, new TypeReference<List<String>>() {
+            });
+        } catch (JsonProcessingException ex) {
+            return Collections.emptyList();
+        }
+    }
+
+    private String writeCodes(List<String> codes) {
+        try {
+            return objectMapper.writeValueAsString(codes);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private String placeholders(int count) {
+        return String.join(",", Collections.nCopies(count, "?"));
+    }
+
+    public record Match(boolean exact, List<String> questionCodes) {
+    }
+}
@@ -0,0 +1,255 @@
+package com.quizgen.app.question.support;
+
+import com.quizgen.app.common.util.TokenEstimator;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+public final class ImportChunkPlanner {
+
+    private static final String[] QUESTION_KINDS = {"单选", "多选", "判断", "填空", "简答"};
+    private static final String HEADING_SEPARATORS = "：:．.、";
+    private static final String NUMBER_SEPARATORS = "．.、)";
+    private static final String SENTENCE_ENDS = "。！？；.!?;";
+    private static final String[] LEVEL_SEPARATORS = {"\n\n", "\n", ""};
+    private static final int QUESTION_JSON_TOKENS = 40;
+    private static final int OPTION_JSON_TOKENS = 10;
+    private static final int MIN_BUDGET_TOKENS = 64;
+
+    private final int promptBudget;
+    private final int completionBudget;
+    private final List<String> chunks = new ArrayList<>();
+    private final List<String> current = new ArrayList<>();
+    private int currentPrompt;
+    private int currentCompletion;
+
+    private ImportChunkPlanner(int promptBudget, int completionBudget) {
+        this.promptBudget = Math.max(MIN_BUDGET_TOKENS, promptBudget);
+        this.completionBudget = Math.max(MIN_BUDGET_TOKENS + QUESTION_JSON_TOKENS, completionBudget);
+    }
+
+    public static List<String> plan(String content, int promptBudget, int completionBudget) {
+        if (!StringUtils.hasText(content)) {
+            return Collections.emptyList();
+        }
+        ImportChunkPlanner planner = new ImportChunkPlanner(promptBudget, completionBudget);
+        for (String block : splitBlocks(content)) {
+            planner.add(block);
+        }
+        planner.flush();
+        return planner.chunks;
+    }
+
+    private void add(String block) {
+        int prompt = TokenEstimator.estimate(block);
+        int completion = completionTokens(block, prompt);
+        if (fits(prompt, completion)) {
+            append(block, prompt, completion);
+            return;
+        }
+        for (String piece : splitOversized(block, 0)) {
+            int piecePrompt = TokenEstimator.estimate(piece);
+            append(piece, piecePrompt, completionTokens(piece, piecePrompt));
+        }
+    }
+
+    private void append(String block, int prompt, int completion) {
+        int separator = current.isEmpty() ? 0 : TokenEstimator.estimate(LEVEL_SEPARATORS[0]);
+        if (!current.isEmpty() && (currentPrompt + separator + prompt > promptBudget || currentCompletion + completion > completionBudget)) {
+            flush();
+            separator = 0;
+        }
+        current.add(block);
+        currentPrompt += separator + prompt;
+        currentCompletion += completion;
+    }
+
+    private void flush() {
+        if (!current.isEmpty()) {
+            chunks.add(String.join(LEVEL_SEPARATORS[0], current));
+            current.clear();
+            currentPrompt = 0;
+            currentCompletion = 0;
+        }
+    }
+
+    private boolean fits(int prompt, int completion) {
+        return prompt <= promptBudget && completion <= completionBudget;
+    }
+
+    private List<String> splitOversized(String text, int level) {
+        List<String> pieces = new ArrayList<>();
+        if (level >= LEVEL_SEPARATORS.length) {
+            hardCut(text, pieces);
+            return pieces;
+        }
+        String separator = LEVEL_SEPARATORS[level];
+        int separatorTokens = TokenEstimator.estimate(separator);
+        StringBuilder piece = new StringBuilder();
+        int prompt = 0;
+        int completion = QUESTION_JSON_TOKENS;
+        for (String unit : units(text, level)) {
+            int unitPrompt = TokenEstimator.estimate(unit);
+            int unitCompletion = completionTokens(unit, unitPrompt) - QUESTION_JSON_TOKENS;
+            if (!fits(unitPrompt, QUESTION_JSON_TOKENS + unitCompletion)) {
+                if (piece.length() > 0) {
+                    pieces.add(piece.toString());
+                    piece.setLength(0);
+                    prompt = 0;
+                    completion = QUESTION_JSON_TOKENS;
+                }
+                pieces.addAll(splitOversized(unit, level + 1));
+                continue;
+            }
+            if (piece.length() > 0 && !fits(prompt + separatorTokens + unitPrompt, completion + unitCompletion)) {
+                pieces.add(piece.toString());
+                piece.setLength(0);
+                prompt = 0;
+                completion = QUESTION_JSON_TOKENS;
+            }
+            if (piece.length() > 0) {
+                piece.append(separator);
+                prompt += separatorTokens;
+            }
+            piece.append(unit);
+            prompt += unitPrompt;
+            completion += unitCompletion;
+        }
+        if (piece.length() > 0) {
+            pieces.add(piece.toString());
+        }
+        return pieces;
+    }
+
+    private void hardCut(String text, List<String> pieces) {
+        int limit = Math.min(promptBudget, completionBudget - QUESTION_JSON_TOKENS);
+        int start = 0;
+        while (start < text.length()) {
+            int end = Math.min(text.length(), start + limit);
+            if (end < text.length() && Character.isHighSurrogate(text.charAt(end - 1))) {
+                end--;
+            }
+            pieces.add(text.substring(start, end));
+            start = end;
+        }
+    }
+
+    private static List<String> units(String text, int level) {
+        List<String> units = new ArrayList<>();
+        if (level == 2) {
+            int start = 0;
+            for (int i = 0; i < text.length(); i++) {
+                if (SENTENCE_ENDS.indexOf(text.charAt(i)) >= 0) {
+                    units.add(text.substring(start, i + 1));
+                    start = i + 1;
+                }
+            }
+            if (start < text.length()) {
+                units.add(text.substring(start));
+            }
+            return units;
+        }
+        StringBuilder paragraph = new StringBuilder();
+        for (String line : (Iterable<String>) text.lines()::iterator) {
+            if (!StringUtils.hasText(line)) {
+                if (level == 0 && paragraph.length() > 0) {
+                    units.add(paragraph.toString());
+                    paragraph.setLength(0);
+                }
+                continue;
+            }
+            if (level == 1) {
+                units.add(line);
+            } else {
+                paragraph.append(paragraph.length() > 0 ? "\n" : "").append(line);
+            }
+        }
+        if (paragraph.length() > 0) {
+            units.add(paragraph.toString());
+        }
+        return units;
+    }
+
+    private static List<String> splitBlocks(String content) {
+        List<String> lines = content.lines().toList();
+        List<String> blocks = new ArrayList<>();
+        StringBuilder block = new StringBuilder();
+        for (String line : lines) {
+            if (isQuestionStartLine(line) && block.length() > 0) {
+                blocks.add(block.toString());
+                block.setLength(0);
+            }
+            block.append(block.length() > 0 ? "\n" : "").append(line);
+        }
+        if (block.length() > 0) {
+            blocks.add(block.toString());
+        }
+        if (blocks.size() > 1) {
+            return blocks;
+        }
+        return units(content, 0);
+    }
+
+    private static int completionTokens(String block, int promptTokens) {
+        int options = 0;
+        int lineStart = 0;
+        for (int i = 0; i <= block.length(); i++) {
+            if (i == block.length() || block.charAt(i) == '\n') {
+                if (isOptionLine(block.substring(lineStart, i))) {
+                    options++;
+                }
+                lineStart = i + 1;
+            }
+        }
+        return promptTokens + QUESTION_JSON_TOKENS + OPTION_JSON_TOKENS * options;
+    }
+
+    private static boolean isOptionLine(String line) {
+        String trimmed = line.trim();
+        if (trimmed.length() < 2 || trimmed.charAt(0) < 'A' || trimmed.charAt(0) > 'H') {
+            return false;
+        }
+        return ".、:：)．）".indexOf(trimmed.charAt(1)) >= 0;
+    }
+
+    private static boolean isQuestionStartLine(String line) {
+        if (!StringUtils.hasText(line)) {
+            return false;
+        }
+        String trimmed = line.trim();
+        for (String kind : QUESTION_KINDS) {
+            if (trimmed.startsWith(kind)) {
+                int pos = kind.length();
+                if (pos < trimmed.length() && trimmed.charAt(pos) == '题') {
+                    pos++;
+                }
+                if (pos < trimmed.length() && isHeadingSeparator(trimmed.charAt(pos))) {
+                    return true;
+                }
+            }
+        }
+        int pos = 0;
+        while (pos < trimmed.length() && trimmed.charAt(pos) >= '0' && trimmed.charAt(pos) <= '9') {
+            pos++;
+        }
+        if (pos == 0 || pos >= trimmed.length()) {
+            return false;
+        }
+        char separator = trimmed.charAt(pos);
+        if (NUMBER_SEPARATORS.indexOf(separator) < 0 && !Character.isWhitespace(separator)) {
+            return false;
+        }
+        for (String kind : QUESTION_KINDS) {
+            if (trimmed.indexOf(kind, pos + 1) >= 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isHeadingSeparator(char c) {
+        return HEADING_SEPARATORS.indexOf(c) >= 0 || Character.isWhitespace(c);
+    }
+}
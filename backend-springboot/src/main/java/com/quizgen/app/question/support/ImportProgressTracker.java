@@ -0,0 +1,308 @@
+package com.quizgen.app.question.support;
+
+import com.quizgen.app.common.config.ExecutorConfig;
+import com.quizgen.app.question.entity.ImportJob;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+@Component
+public class ImportProgressTracker {
+
+    public static final String EVENT_STATUS = "status";
+    public static final String EVENT_CHUNK = "chunk";
+    public static final String EVENT_DONE = "done";
+
+    private static final int MAX_ERRORS = 10;
+    private static final int MAX_PENDING_EVENTS = 256;
+
+    private final Map<Long, Progress> byId = new ConcurrentHashMap<>();
+    private final Map<String, Progress> byJobNo = new ConcurrentHashMap<>();
+    private final Executor eventExecutor;
+
+    public ImportProgressTracker(@Qualifier(ExecutorConfig.IMPORT_EVENT_EXECUTOR) Executor eventExecutor) {
+        this.eventExecutor = eventExecutor;
+    }
+
+    public void start(ImportJob job) {
+        register(new Progress(job, List.of(), eventExecutor));
+    }
+
+    public Map<String, Object> remember(ImportJob job, List<String> errors) {
+        Progress progress = new Progress(job, errors, eventExecutor);
+        if (progress.isFinished()) {
+            register(progress);
+        }
+        return progress.snapshot();
+    }
+
+    public Map<String, Object> snapshot(String jobNo) {
+        Progress progress = byJobNo.get(jobNo);
+        return progress == null ? null : progress.snapshot();
+    }
+
+    public Runnable subscribe(String jobNo, Listener listener) {
+        Progress progress = byJobNo.get(jobNo);
+        if (progress == null) {
+            return null;
+        }
+        return progress.subscribe(listener);
+    }
+
+    public void total(Long jobId, int totalChunks) {
+        Progress progress = byId.get(jobId);
+        if (progress != null) {
+            progress.total(totalChunks);
+        }
+    }
+
+    public void chunkSucceeded(Long jobId, int chunkNo, int insertedCount) {
+        Progress progress = byId.get(jobId);
+        if (progress != null) {
+            progress.chunk(chunkNo, "success", insertedCount, null);
+        }
+    }
+
+    public void chunkSkipped(Long jobId, int chunkNo) {
+        Progress progress = byId.get(jobId);
+        if (progress != null) {
+            progress.chunk(chunkNo, "skipped", 0, null);
+        }
+    }
+
+    public void chunkFailed(Long jobId, int chunkNo, int insertedCount, String errorMessage) {
+        Progress progress = byId.get(jobId);
+        if (progress != null) {
+            progress.chunk(chunkNo, "failed", insertedCount, errorMessage);
+        }
+    }
+
+    public void finish(Long jobId, String status, String errorMessage) {
+        Progress progress = byId.get(jobId);
+        if (progress != null) {
+            progress.finish(status, errorMessage);
+        }
+    }
+
+    public void evict(Collection<Long> jobIds) {
+        for (Long jobId : jobIds) {
+            Progress progress = byId.remove(jobId);
+            if (progress != null) {
+                byJobNo.remove(progress.jobNo, progress);
+            }
+        }
+    }
+
+    private void register(Progress progress) {
+        byId.put(progress.jobId, progress);
+        byJobNo.put(progress.jobNo, progress);
+    }
+
+    @FunctionalInterface
+    public interface Listener {
+
+        void onEvent(String event, Map<String, Object> data);
+    }
+
+    private static final class Progress {
+
+        private final Long jobId;
+        private final String jobNo;
+        private final String mode;
+        private final LocalDateTime startedAt;
+        private final List<String> errors = new ArrayList<>();
+        private final List<Subscription> subscriptions = new CopyOnWriteArrayList<>();
+        private final Executor eventExecutor;
+        private String status;
+        private int total;
+        private int processed;
+        private int successful;
+        private int failed;
+        private int skipped;
+        private int inserted;
+        private LocalDateTime endedAt;
+        private String jobError;
+
+        private Progress(ImportJob job, List<String> errors, Executor eventExecutor) {
+            this.eventExecutor = eventExecutor;
+            this.jobId = job.getId();
+            this.jobNo = job.getJobNo();
+            this.mode = job.getMode();
+            this.startedAt = job.getStartedAt();
+            this.status = job.getStatus();
+            this.total = valueOrZero(job.getTotalChunks());
+            this.processed = valueOrZero(job.getProcessedChunks());
+            this.successful = valueOrZero(job.getSuccessChunks());
+            this.failed = valueOrZero(job.getFailedChunks());
+            this.skipped = valueOrZero(job.getSkippedChunks());
+            this.inserted = valueOrZero(job.getInsertedCount());
+            this.endedAt = job.getEndedAt();
+            this.jobError = job.getErrorMessage();
+            this.errors.addAll(errors.subList(0, Math.min(MAX_ERRORS, errors.size())));
+        }
+
+        private synchronized Runnable subscribe(Listener listener) {
+            Subscription subscription = new Subscription(listener, eventExecutor);
+            subscription.offer(EVENT_STATUS, snapshot());
+            if (isFinished()) {
+                subscription.offer(EVENT_DONE, snapshot());
+                return () -> {
+                };
+            }
+            subscriptions.add(subscription);
+            return () -> subscriptions.remove(subscription);
+        }
+
+        private synchronized void total(int totalChunks) {
+            total = totalChunks;
+            publish(EVENT_STATUS, snapshot());
+        }
+
+        private synchronized void chunk(int chunkNo, String chunkStatus, int insertedCount, String errorMessage) {
+            processed++;
+            inserted += insertedCount;
+            if ("success".equals(chunkStatus)) {
+                successful++;
+            } else if ("skipped".equals(chunkStatus)) {
+                skipped++;
+            } else {
+                failed++;
+                if (errors.size() < MAX_ERRORS && errorMessage != null) {
+                    errors.add(errorMessage);
+                }
+            }
+            Map<String, Object> chunk = new LinkedHashMap<>();
+            chunk.put("chunkNo", chunkNo);
+            chunk.put("status", chunkStatus);
+            chunk.put("insertedCount", insertedCount);
+            if (errorMessage != null) {
+                chunk.put("error", errorMessage);
+            }
+            Map<String, Object> event = snapshot();
+            event.put("chunk", chunk);
+            publish(EVENT_CHUNK, event);
+        }
+
+        private synchronized void finish(String finalStatus, String errorMessage) {
+            if (isFinished()) {
+                return;
+            }
+            status = finalStatus;
+            endedAt = LocalDateTime.now();
+            if (errorMessage != null) {
+                jobError = errorMessage;
+            }
+            publish(EVENT_DONE, snapshot());
+            subscriptions.clear();
+        }
+
+        private synchronized boolean isFinished() {
+            return "completed".equals(status) || "failed".equals(status);
+        }
+
+        private synchronized Map<String, Object> snapshot() {
+            String percentage = total <= 0 ? "0.0" : String.format("%.1f", processed * 100.0 / total);
+            LocalDateTime endAt = endedAt == null ? LocalDateTime.now() : endedAt;
+            String duration = "0.0";
+            if (startedAt != null) {
+                long millis = Duration.between(startedAt, endAt).toMillis();
+                duration = String.format("%.1f", millis / 1000.0);
+            }
+            List<String> reported = new ArrayList<>(errors);
+            if (reported.isEmpty() && jobError != null && !jobError.isBlank()) {
+                reported.add(jobError);
+            }
+
+            Map<String, Object> progress = new LinkedHashMap<>();
+            progress.put("total", total);
+            progress.put("processed", processed);
+            progress.put("successful", successful);
+            progress.put("failed", failed);
+            progress.put("skipped", skipped);
+            progress.put("percentage", percentage);
+
+            Map<String, Object> response = new LinkedHashMap<>();
+            response.put("id", jobNo);
+            response.put("status", status);
+            response.put("mode", mode);
+            response.put("progress", progress);
+            response.put("importedCount", inserted);
+            response.put("duration", duration);
+            response.put("errors", reported);
+            return response;
+        }
+
+        private void publish(String event, Map<String, Object> data) {
+            for (Subscription subscription : subscriptions) {
+                subscription.offer(event, data);
+            }
+        }
+
+        private static int valueOrZero(Integer value) {
+            return value == null ? 0 : value;
+        }
+    }
+
+    private static final class Subscription implements Runnable {
+
+        private final Listener listener;
+        private final Executor executor;
+        private final ArrayDeque<Event> pending = new ArrayDeque<>();
+        private boolean scheduled;
+
+        private Subscription(Listener listener, Executor executor) {
+            this.listener = listener;
+            this.executor = executor;
+        }
+
+        private void offer(String event, Map<String, Object> data) {
+            synchronized (this) {
+                if (pending.size() >= MAX_PENDING_EVENTS && !EVENT_DONE.equals(event)) {
+                    return;
+                }
+                pending.add(new Event(event, data));
+                if (scheduled) {
+                    return;
+                }
+                scheduled = true;
+            }
+            try {
+                executor.execute(this);
+            } catch (RejectedExecutionException ex) {
+                synchronized (this) {
+                    scheduled = false;
+                }
+            }
+        }
+
+        @Override
+        public void run() {
+            while (true) {
+                Event next;
+                synchronized (this) {
+                    next = pending.poll();
+                    if (next == null) {
+                        scheduled = false;
+                        return;
+                    }
+                }
+                listener.onEvent(next.name(), next.data());
+            }
+        }
+    }
+
+    private record Event(String name, Map<String, Object> data) {
+    }
+}
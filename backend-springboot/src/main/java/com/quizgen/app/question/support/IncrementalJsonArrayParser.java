@@ -0,0 +1,151 @@
+package com.quizgen.app.question.support;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.json.JsonReadFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import java.util.function.Consumer;
+
+public final class IncrementalJsonArrayParser {
+
+    private static final String WRAPPER_KEY = "questions";
+
+    private final ObjectReader reader;
+    private final Consumer<JsonNode> onObject;
+    private final StringBuilder stack = new StringBuilder();
+    private StringBuilder capture;
+    private int captureDepth;
+    private StringBuilder rootObject;
+    private StringBuilder key;
+    private String lastKey;
+    private int targetDepth = -1;
+    private boolean inString;
+    private boolean escape;
+    private int emitted;
+    private int malformed;
+
+    public IncrementalJsonArrayParser(ObjectMapper objectMapper, Consumer<JsonNode> onObject) {
+        this.reader = objectMapper.readerFor(JsonNode.class)
+                .with(JsonReadFeature.ALLOW_TRAILING_COMMA)
+                .with(JsonReadFeature.ALLOW_UNESCAPED_CONTROL_CHARS);
+        this.onObject = onObject;
+    }
+
+    public void feed(CharSequence delta) {
+        for (int i = 0; i < delta.length(); i++) {
+            accept(delta.charAt(i));
+        }
+    }
+
+    public void finish() {
+        if (capture != null || rootObject != null) {
+            malformed++;
+        }
+        capture = null;
+        rootObject = null;
+        stack.setLength(0);
+        targetDepth = -1;
+        inString = false;
+        escape = false;
+    }
+
+    public int getEmitted() {
+        return emitted;
+    }
+
+    public int getMalformed() {
+        return malformed;
+    }
+
+    private void accept(char c) {
+        if (capture != null) {
+            capture.append(c);
+        }
+        if (rootObject != null) {
+            rootObject.append(c);
+        }
+        if (inString) {
+            if (escape) {
+                escape = false;
+            } else if (c == '\\') {
+                escape = true;
+            } else if (c == '"') {
+                inString = false;
+                if (key != null) {
+                    lastKey = key.toString();
+                    key = null;
+                }
+            } else if (key != null) {
+                key.append(c);
+            }
+            return;
+        }
+        if (stack.length() == 0 && c != '[' && c != '{') {
+            return;
+        }
+        switch (c) {
+            case '"' -> {
+                inString = true;
+                if (capture == null && stack.length() == 1 && stack.charAt(0) == '{') {
+                    key = new StringBuilder();
+                }
+            }
+            case '{' -> {
+                if (capture == null && stack.length() == targetDepth) {
+                    capture = new StringBuilder().append(c);
+                    captureDepth = stack.length();
+                } else if (stack.length() == 0) {
+                    rootObject = new StringBuilder().append(c);
+                    lastKey = null;
+                }
+                stack.append(c);
+            }
+            case '[' -> {
+                if (capture == null && targetDepth < 0 && (stack.length() == 0
+                        || (stack.length() == 1 && stack.charAt(0) == '{' && WRAPPER_KEY.equals(lastKey)))) {
+                    targetDepth = stack.length() + 1;
+                    rootObject = null;
+                }
+                stack.append(c);
+            }
+            case '}', ']' -> close(c);
+            default -> {
+            }
+        }
+    }
+
+    private void close(char c) {
+        char expected = c == '}' ? '{' : '[';
+        if (stack.length() == 0 || stack.charAt(stack.length() - 1) != expected) {
+            return;
+        }
+        stack.setLength(stack.length() - 1);
+        if (capture != null && c == '}' && stack.length() == captureDepth) {
+            String text = capture.toString();
+            capture = null;
+            emit(text);
+        }
+        if (c == ']' && stack.length() < targetDepth) {
+            targetDepth = -1;
+        }
+        if (c == '}' && stack.length() == 0 && rootObject != null) {
+            String text = rootObject.toString();
+            rootObject = null;
+            emit(text);
+        }
+    }
+
+    private void emit(String text) {
+        JsonNode node;
+        try {
+            node = reader.readTree(text);
+        } catch (JsonProcessingException ex) {
+            malformed++;
+            return;
+        }
+        emitted++;
+        onObject.accept(node);
+    }
+}
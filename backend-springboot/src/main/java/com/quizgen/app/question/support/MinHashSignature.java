@@ -0,0 +1,142 @@
+package com.quizgen.app.question.support;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+public final class MinHashSignature {
+
+    public static final int HASHES = 64;
+    public static final int BANDS = 16;
+    public static final int ROWS = HASHES / BANDS;
+    public static final int BYTES = HASHES * 2;
+
+    private static final int SHINGLE = 3;
+    private static final long[] MULTIPLIERS = new long[HASHES];
+    private static final long[] OFFSETS = new long[HASHES];
+
+    static {
+        long seed = 0x9E3779B97F4A7C15L;
+        for (int i = 0; i < HASHES; i++) {
+            seed = mix(seed + 0x9E3779B97F4A7C15L);
+            MULTIPLIERS[i] = seed | 1L;
+            seed = mix(seed + 0x9E3779B97F4A7C15L);
+            OFFSETS[i] = seed;
+        }
+    }
+
+    private MinHashSignature() {
+    }
+
+    public static char[] compute(String text, Collection<String> options) {
+        long[] mins = new long[HASHES];
+        Arrays.fill(mins, Long.MAX_VALUE);
+        boolean any = accumulate(normalize(text), mins);
+        if (options != null) {
+            List<String> sorted = new ArrayList<>();
+            for (String option : options) {
+                String normalized = normalize(option);
+                if (!normalized.isEmpty()) {
+                    sorted.add(normalized);
+                }
+            }
+            sorted.sort(null);
+            for (String option : sorted) {
+                any |= accumulate(option, mins);
+            }
+        }
+        char[] signature = new char[HASHES];
+        if (any) {
+            for (int i = 0; i < HASHES; i++) {
+                signature[i] = (char) (mins[i] >>> 48);
+            }
+        }
+        return signature;
+    }
+
+    public static double similarity(char[] a, int aOffset, char[] b, int bOffset) {
+        int equal = 0;
+        for (int i = 0; i < HASHES; i++) {
+            if (a[aOffset + i] == b[bOffset + i]) {
+                equal++;
+            }
+        }
+        return (double) equal / HASHES;
+    }
+
+    public static boolean isBlank(char[] signatures, int offset) {
+        for (int i = 0; i < HASHES; i++) {
+            if (signatures[offset + i] != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public static long bandKey(char[] signatures, int offset, int band) {
+        long value = band;
+        int start = offset + band * ROWS;
+        for (int i = 0; i < ROWS; i++) {
+            value = (value << 16) ^ signatures[start + i];
+        }
+        return mix(value ^ ((long) band << 58));
+    }
+
+    public static byte[] toBytes(char[] signature) {
+        byte[] bytes = new byte[BYTES];
+        for (int i = 0; i < HASHES; i++) {
+            bytes[i * 2] = (byte) (signature[i] >>> 8);
+            bytes[i * 2 + 1] = (byte) signature[i];
+        }
+        return bytes;
+    }
+
+    public static void fromBytes(byte[] bytes, char[] target, int offset) {
+        for (int i = 0; i < HASHES; i++) {
+            target[offset + i] = (char) (((bytes[i * 2] & 0xFF) << 8) | (bytes[i * 2 + 1] & 0xFF));
+        }
+    }
+
+    static String normalize(String value) {
+        if (value == null || value.isEmpty()) {
+            return "";
+        }
+        String normalized = Normalizer.normalize(value, Normalizer.Form.NFKC);
+        StringBuilder sb = new StringBuilder(normalized.length());
+        normalized.codePoints()
+                .filter(Character::isLetterOrDigit)
+                .map(Character::toLowerCase)
+                .forEach(sb::appendCodePoint);
+        return sb.toString();
+    }
+
+    private static boolean accumulate(String value, long[] mins) {
+        if (value.isEmpty()) {
+            return false;
+        }
+        int count = Math.max(1, value.length() - SHINGLE + 1);
+        for (int start = 0; start < count; start++) {
+            long hash = 0xCBF29CE484222325L;
+            int end = Math.min(value.length(), start + SHINGLE);
+            for (int i = start; i < end; i++) {
+                hash = (hash ^ value.charAt(i)) * 0x100000001B3L;
+            }
+            hash = mix(hash);
+            for (int i = 0; i < HASHES; i++) {
+                long permuted = hash * MULTIPLIERS[i] + OFFSETS[i];
+                if (permuted < mins[i]) {
+                    mins[i] = permuted;
+                }
+            }
+        }
+        return true;
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
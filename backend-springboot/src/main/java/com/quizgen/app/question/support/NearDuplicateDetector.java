@@ -0,0 +1,228 @@
+package com.quizgen.app.question.support;
+
+import com.quizgen.app.common.config.ExecutorConfig;
+import com.quizgen.app.question.dto.QuestionOptionDto;
+import com.quizgen.app.question.dto.QuestionUpsertRequest;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+@Component
+public class NearDuplicateDetector {
+
+    private static final int BATCH_SIZE = 500;
+    private static final int MAX_ROWS_PER_STATEMENT = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Executor backgroundExecutor;
+
+    public NearDuplicateDetector(JdbcTemplate jdbcTemplate, @Qualifier(ExecutorConfig.BACKGROUND_EXECUTOR) Executor backgroundExecutor) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.backgroundExecutor = backgroundExecutor;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        CompletableFuture.runAsync(this::backfill, backgroundExecutor);
+    }
+
+    public void refresh(Collection<Long> questionIds) {
+        List<Long> ids = distinctIds(questionIds);
+        for (int i = 0; i < ids.size(); i += BATCH_SIZE) {
+            List<Long> slice = ids.subList(i, Math.min(i + BATCH_SIZE, ids.size()));
+            String placeholders = placeholders(slice.size());
+            Map<Long, String> texts = new LinkedHashMap<>();
+            jdbcTemplate.query("SELECT id, text FROM question WHERE id IN (" + placeholders + ")",
+                    rs -> {
+                        texts.put(rs.getLong(1), rs.getString(2));
+                    }, slice.toArray());
+            Map<Long, List<String>> options = new HashMap<>();
+            jdbcTemplate.query("SELECT question_id, option_text FROM question_option WHERE question_id IN (" + placeholders + ")",
+                    rs -> {
+                        options.computeIfAbsent(rs.getLong(1), k -> new ArrayList<>()).add(rs.getString(2));
+                    }, slice.toArray());
+
+            deleteRows(slice);
+            List<Object[]> signatureRows = new ArrayList<>();
+            List<Object[]> bandRows = new ArrayList<>();
+            for (Map.Entry<Long, String> entry : texts.entrySet()) {
+                char[] signature = MinHashSignature.compute(entry.getValue(), options.get(entry.getKey()));
+                signatureRows.add(new Object[]{entry.getKey(), MinHashSignature.toBytes(signature)});
+                if (!MinHashSignature.isBlank(signature, 0)) {
+                    for (int band = 0; band < MinHashSignature.BANDS; band++) {
+                        bandRows.add(new Object[]{MinHashSignature.bandKey(signature, 0, band), entry.getKey()});
+                    }
+                }
+            }
+            insertRows("INSERT IGNORE INTO question_minhash (question_id, signature) VALUES ", "(?,?)", signatureRows);
+            insertRows("INSERT IGNORE INTO question_minhash_band (band_key, question_id) VALUES ", "(?,?)", bandRows);
+        }
+    }
+
+    public synchronized void rebuild() {
+        jdbcTemplate.update("DELETE FROM question_minhash_band");
+        jdbcTemplate.update("DELETE FROM question_minhash");
+        backfill();
+    }
+
+    public synchronized void backfill() {
+        long lastId = 0L;
+        while (true) {
+            List<Long> ids = jdbcTemplate.queryForList(
+                    "SELECT q.id FROM question q LEFT JOIN question_minhash m ON m.question_id = q.id "
+                            + "WHERE m.question_id IS NULL AND q.id > ? ORDER BY q.id LIMIT " + BATCH_SIZE,
+                    Long.class, lastId);
+            if (ids.isEmpty()) {
+                break;
+            }
+            refresh(ids);
+            lastId = ids.get(ids.size() - 1);
+            if (ids.size() < BATCH_SIZE) {
+                break;
+            }
+        }
+    }
+
+    public List<long[]> findGroups(double threshold) {
+        backfill();
+        long[][] ids = {new long[1024]};
+        char[][] signatures = {new char[1024 * MinHashSignature.HASHES]};
+        int[] count = {0};
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(
+                    "SELECT question_id, signature FROM question_minhash ORDER BY question_id",
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(Integer.MIN_VALUE);
+            return ps;
+        }, rs -> {
+            int n = count[0];
+            if (n == ids[0].length) {
+                ids[0] = Arrays.copyOf(ids[0], n * 2);
+                signatures[0] = Arrays.copyOf(signatures[0], n * 2 * MinHashSignature.HASHES);
+            }
+            ids[0][n] = rs.getLong(1);
+            MinHashSignature.fromBytes(rs.getBytes(2), signatures[0], n * MinHashSignature.HASHES);
+            count[0] = n + 1;
+        });
+
+        List<long[]> groups = new ArrayList<>();
+        for (int[] group : NearDuplicateFinder.cluster(signatures[0], count[0], threshold)) {
+            long[] questionIds = new long[group.length];
+            for (int i = 0; i < group.length; i++) {
+                questionIds[i] = ids[0][group[i]];
+            }
+            groups.add(questionIds);
+        }
+        return groups;
+    }
+
+    public Set<Integer> findDuplicateItems(List<QuestionUpsertRequest> items, double threshold) {
+        int n = items.size();
+        char[] signatures = new char[n * MinHashSignature.HASHES];
+        for (int i = 0; i < n; i++) {
+            QuestionUpsertRequest item = items.get(i);
+            List<String> options = item.getOptions() == null ? null : item.getOptions().stream()
+                    .filter(Objects::nonNull)
+                    .map(QuestionOptionDto::getText)
+                    .toList();
+            char[] signature = MinHashSignature.compute(item.getText(), options);
+            System.arraycopy(signature, 0, signatures, i * MinHashSignature.HASHES, MinHashSignature.HASHES);
+        }
+
+        Set<Integer> duplicates = new HashSet<>();
+        for (int[] group : NearDuplicateFinder.cluster(signatures, n, threshold)) {
+            for (int i = 1; i < group.length; i++) {
+                duplicates.add(group[i]);
+            }
+        }
+
+        Map<Long, List<Integer>> itemsByBandKey = new HashMap<>();
+        for (int i = 0; i < n; i++) {
+            int offset = i * MinHashSignature.HASHES;
+            if (duplicates.contains(i) || MinHashSignature.isBlank(signatures, offset)) {
+                continue;
+            }
+            for (int band = 0; band < MinHashSignature.BANDS; band++) {
+                itemsByBandKey.computeIfAbsent(MinHashSignature.bandKey(signatures, offset, band), k -> new ArrayList<>()).add(i);
+            }
+        }
+        Map<Long, Set<Integer>> candidates = new HashMap<>();
+        List<Long> bandKeys = new ArrayList<>(itemsByBandKey.keySet());
+        for (int i = 0; i < bandKeys.size(); i += MAX_ROWS_PER_STATEMENT) {
+            List<Long> slice = bandKeys.subList(i, Math.min(i + MAX_ROWS_PER_STATEMENT, bandKeys.size()));
+            jdbcTemplate.query("SELECT band_key, question_id FROM question_minhash_band WHERE band_key IN ("
+                            + placeholders(slice.size()) + ")",
+                    rs -> {
+                        candidates.computeIfAbsent(rs.getLong(2), k -> new HashSet<>()).addAll(itemsByBandKey.get(rs.getLong(1)));
+                    }, slice.toArray());
+        }
+
+        List<Long> candidateIds = new ArrayList<>(candidates.keySet());
+        char[] existing = new char[MinHashSignature.HASHES];
+        for (int i = 0; i < candidateIds.size(); i += BATCH_SIZE) {
+            List<Long> slice = candidateIds.subList(i, Math.min(i + BATCH_SIZE, candidateIds.size()));
+            jdbcTemplate.query("SELECT question_id, signature FROM question_minhash WHERE question_id IN ("
+                            + placeholders(slice.size()) + ")",
+                    rs -> {
+                        MinHashSignature.fromBytes(rs.getBytes(2), existing, 0);
+                        for (Integer item : candidates.get(rs.getLong(1))) {
+                            if (MinHashSignature.similarity(signatures, item * MinHashSignature.HASHES, existing, 0) >= threshold) {
+                                duplicates.add(item);
+                            }
+                        }
+                    }, slice.toArray());
+        }
+        return duplicates;
+    }
+
+    private void deleteRows(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        String placeholders = placeholders(ids.size());
+        jdbcTemplate.update("DELETE FROM question_minhash_band WHERE question_id IN (" + placeholders + ")", ids.toArray());
+        jdbcTemplate.update("DELETE FROM question_minhash WHERE question_id IN (" + placeholders + ")", ids.toArray());
+    }
+
+    private void insertRows(String sqlPrefix, String rowTemplate, List<Object[]> rows) {
+        for (int i = 0; i < rows.size(); i += MAX_ROWS_PER_STATEMENT) {
+            List<Object[]> slice = rows.subList(i, Math.min(i + MAX_ROWS_PER_STATEMENT, rows.size()));
+            StringBuilder sql = new StringBuilder(sqlPrefix);
+            List<Object> args = new ArrayList<>();
+            for (int r = 0; r < slice.size(); r++) {
+                sql.append(r == 0 ? "" : ",").append(rowTemplate);
+                Collections.addAll(args, slice.get(r));
+            }
+            jdbcTemplate.update(sql.toString(), args.toArray());
+        }
+    }
+
+    private List<Long> distinctIds(Collection<Long> questionIds) {
+        if (questionIds == null || questionIds.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return questionIds.stream().filter(Objects::nonNull).distinct().toList();
+    }
+
+    private String placeholders(int count) {
+        return String.join(",", Collections.nCopies(count, "?"));
+    }
+}
@@ -0,0 +1,124 @@
+package com.quizgen.app.question.support;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+public final class NearDuplicateFinder {
+
+    private NearDuplicateFinder() {
+    }
+
+    public static List<int[]> cluster(char[] signatures, int count, double threshold) {
+        if (count < 2) {
+            return new ArrayList<>();
+        }
+        List<IntBuffer> bandPairs = IntStream.range(0, MinHashSignature.BANDS)
+                .parallel()
+                .mapToObj(band -> candidatePairs(signatures, count, band, threshold))
+                .toList();
+
+        int[] parent = new int[count];
+        for (int i = 0; i < count; i++) {
+            parent[i] = i;
+        }
+        for (IntBuffer pairs : bandPairs) {
+            for (int i = 0; i < pairs.size; i += 2) {
+                union(parent, pairs.values[i], pairs.values[i + 1]);
+            }
+        }
+
+        Map<Integer, IntBuffer> groups = new HashMap<>();
+        for (int i = 0; i < count; i++) {
+            int root = find(parent, i);
+            if (root != i) {
+                groups.computeIfAbsent(root, k -> new IntBuffer()).add(i);
+            }
+        }
+        List<int[]> result = new ArrayList<>(groups.size());
+        for (Map.Entry<Integer, IntBuffer> entry : groups.entrySet()) {
+            IntBuffer members = entry.getValue();
+            members.add(entry.getKey());
+            int[] group = Arrays.copyOf(members.values, members.size);
+            Arrays.sort(group);
+            result.add(group);
+        }
+        result.sort((a, b) -> a.length != b.length ? Integer.compare(b.length, a.length) : Integer.compare(a[0], b[0]));
+        return result;
+    }
+
+    private static IntBuffer candidatePairs(char[] signatures, int count, int band, double threshold) {
+        int indexBits = Math.max(1, 32 - Integer.numberOfLeadingZeros(count - 1));
+        long indexMask = (1L << indexBits) - 1;
+        long[] keys = new long[count];
+        int size = 0;
+        for (int i = 0; i < count; i++) {
+            int offset = i * MinHashSignature.HASHES;
+            if (!MinHashSignature.isBlank(signatures, offset)) {
+                keys[size++] = (MinHashSignature.bandKey(signatures, offset, band) & ~indexMask) | i;
+            }
+        }
+        Arrays.sort(keys, 0, size);
+
+        IntBuffer pairs = new IntBuffer();
+        int runStart = 0;
+        while (runStart < size) {
+            long bucket = keys[runStart] & ~indexMask;
+            int runEnd = runStart + 1;
+            while (runEnd < size && (keys[runEnd] & ~indexMask) == bucket) {
+                runEnd++;
+            }
+            int leader = (int) (keys[runStart] & indexMask);
+            for (int k = runStart + 1; k < runEnd; k++) {
+                int member = (int) (keys[k] & indexMask);
+                int previous = (int) (keys[k - 1] & indexMask);
+                if (similar(signatures, leader, member, threshold)) {
+                    pairs.add(leader);
+                    pairs.add(member);
+                } else if (previous != leader && similar(signatures, previous, member, threshold)) {
+                    pairs.add(previous);
+                    pairs.add(member);
+                }
+            }
+            runStart = runEnd;
+        }
+        return pairs;
+    }
+
+    private static boolean similar(char[] signatures, int a, int b, double threshold) {
+        return MinHashSignature.similarity(signatures, a * MinHashSignature.HASHES,
+                signatures, b * MinHashSignature.HASHES) >= threshold;
+    }
+
+    private static int find(int[] parent, int i) {
+        while (parent[i] != i) {
+            parent[i] = parent[parent[i]];
+            i = parent[i];
+        }
+        return i;
+    }
+
+    private static void union(int[] parent, int a, int b) {
+        int rootA = find(parent, a);
+        int rootB = find(parent, b);
+        if (rootA != rootB) {
+            parent[Math.max(rootA, rootB)] = Math.min(rootA, rootB);
+        }
+    }
+
+    private static final class IntBuffer {
+
+        private int[] values = new int[16];
+        private int size;
+
+        private void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+    }
+}
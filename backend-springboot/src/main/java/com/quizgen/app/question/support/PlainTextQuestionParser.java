@@ -0,0 +1,268 @@
+package com.quizgen.app.question.support;
+
+import com.quizgen.app.question.dto.QuestionOptionDto;
+import com.quizgen.app.question.dto.QuestionUpsertRequest;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Consumer;
+
+public final class PlainTextQuestionParser {
+
+    private static final int BUFFER_SIZE = 16 * 1024;
+    private static final String[] TYPES = {"单选题", "多选题", "判断题", "简答题"};
+    private static final String TYPE_OPENERS = "[【(（";
+    private static final String TYPE_CLOSERS = "]】)）";
+
+    private final Consumer<QuestionUpsertRequest> sink;
+    private String text;
+    private String explicitType;
+    private String answer;
+    private String explanation;
+    private List<QuestionOptionDto> options = new ArrayList<>();
+
+    private PlainTextQuestionParser(Consumer<QuestionUpsertRequest> sink) {
+        this.sink = sink;
+    }
+
+    public static List<QuestionUpsertRequest> parse(String content) {
+        List<QuestionUpsertRequest> result = new ArrayList<>();
+        if (!StringUtils.hasText(content)) {
+            return result;
+        }
+        try {
+            parse(new StringReader(content), result::add);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return result;
+    }
+
+    public static void parse(Reader reader, Consumer<QuestionUpsertRequest> sink) throws IOException {
+        PlainTextQuestionParser parser = new PlainTextQuestionParser(sink);
+        char[] buffer = new char[BUFFER_SIZE];
+        char[] carry = new char[256];
+        int carryLength = 0;
+        int read;
+        while ((read = reader.read(buffer)) >= 0) {
+            int start = 0;
+            for (int i = 0; i < read; i++) {
+                if (buffer[i] != '\n') {
+                    continue;
+                }
+                if (carryLength == 0) {
+                    parser.acceptLine(buffer, start, i);
+                } else {
+                    carry = append(carry, carryLength, buffer, start, i);
+                    parser.acceptLine(carry, 0, carryLength + i - start);
+                    carryLength = 0;
+                }
+                start = i + 1;
+            }
+            carry = append(carry, carryLength, buffer, start, read);
+            carryLength += read - start;
+        }
+        parser.acceptLine(carry, 0, carryLength);
+        parser.finishBlock();
+    }
+
+    private static char[] append(char[] carry, int carryLength, char[] source, int from, int to) {
+        int length = to - from;
+        if (carryLength + length > carry.length) {
+            carry = Arrays.copyOf(carry, Math.max(carry.length * 2, carryLength + length));
+        }
+        System.arraycopy(source, from, carry, carryLength, length);
+        return carry;
+    }
+
+    private void acceptLine(char[] line, int from, int to) {
+        if (isBlank(line, from, to)) {
+            finishBlock();
+            return;
+        }
+        int start = from;
+        int end = to;
+        while (start < end && line[start] <= ' ') {
+            start++;
+        }
+        while (end > start && line[end - 1] <= ' ') {
+            end--;
+        }
+        if (start == end) {
+            return;
+        }
+        if (text == null) {
+            acceptQuestionLine(line, start, end);
+        } else if (isOption(line, start, end)) {
+            QuestionOptionDto option = new QuestionOptionDto();
+            option.setLetter(String.valueOf(line[start]));
+            option.setText(new String(line, start + 2, end - start - 2).trim());
+            options.add(option);
+        } else if (startsWithIgnoreCase(line, start, end, "answer:") || startsWith(line, start, end, "答案:")
+                || startsWith(line, start, end, "答案：")) {
+            answer = valueAfterColon(line, start, end);
+        } else if (startsWithIgnoreCase(line, start, end, "explanation:") || startsWith(line, start, end, "解析:")
+                || startsWith(line, start, end, "解析：")) {
+            explanation = valueAfterColon(line, start, end);
+        } else if (startsWithIgnoreCase(line, start, end, "type:") || startsWith(line, start, end, "题型:")
+                || startsWith(line, start, end, "题型：")) {
+            String type = valueAfterColon(line, start, end);
+            if (isKnownType(type)) {
+                explicitType = type;
+            }
+        }
+    }
+
+    private void acceptQuestionLine(char[] line, int start, int end) {
+        int pos = start;
+        while (pos < end && line[pos] >= '0' && line[pos] <= '9') {
+            pos++;
+        }
+        if (pos > start && pos < end && (line[pos] == '.' || line[pos] == '、' || line[pos] == ')')) {
+            pos++;
+            while (pos < end && isRegexSpace(line[pos])) {
+                pos++;
+            }
+            start = pos;
+        }
+        int marker = TYPE_OPENERS.indexOf(start < end ? line[start] : '\0');
+        if (marker >= 0) {
+            for (String type : TYPES) {
+                int close = start + 1 + type.length();
+                if (close < end && line[close] == TYPE_CLOSERS.charAt(marker) && startsWith(line, start + 1, end, type)) {
+                    explicitType = type;
+                    text = new String(line, close + 1, end - close - 1).trim();
+                    return;
+                }
+            }
+        }
+        text = new String(line, start, end - start);
+    }
+
+    private void finishBlock() {
+        if (text != null && StringUtils.hasText(answer)) {
+            sink.accept(toRequest());
+        }
+        text = null;
+        explicitType = null;
+        answer = null;
+        explanation = null;
+        if (!options.isEmpty()) {
+            options = new ArrayList<>();
+        }
+    }
+
+    private QuestionUpsertRequest toRequest() {
+        QuestionUpsertRequest request = new QuestionUpsertRequest();
+        request.setText(text);
+        request.setAnswer(QuestionImportWriter.normalizeAnswer(answer));
+        request.setExplanation(explanation);
+        if (!options.isEmpty()) {
+            request.setOptions(options);
+        }
+        if (explicitType != null) {
+            request.setType(explicitType);
+        } else if (!options.isEmpty()) {
+            request.setType(request.getAnswer().contains(",") ? "多选题" : "单选题");
+        } else {
+            String normalized = request.getAnswer().toLowerCase(Locale.ROOT);
+            if (normalized.equals("对") || normalized.equals("错") || normalized.equals("true") || normalized.equals("false")) {
+                request.setType("判断题");
+            } else {
+                request.setType("简答题");
+            }
+        }
+        return request;
+    }
+
+    private static boolean isOption(char[] line, int start, int end) {
+        if (end - start < 3 || line[start] < 'A' || line[start] > 'H') {
+            return false;
+        }
+        char separator = line[start + 1];
+        if (separator != '.' && separator != '、' && separator != ':' && separator != '：' && separator != ')') {
+            return false;
+        }
+        for (int i = start + 2; i < end; i++) {
+            char c = line[i];
+            if (c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String valueAfterColon(char[] line, int start, int end) {
+        int colon = indexOf(line, start, end, ':');
+        if (colon < 0) {
+            colon = indexOf(line, start, end, '：');
+        }
+        return new String(line, colon + 1, end - colon - 1).trim();
+    }
+
+    private static int indexOf(char[] line, int start, int end, char target) {
+        for (int i = start; i < end; i++) {
+            if (line[i] == target) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean startsWith(char[] line, int start, int end, String prefix) {
+        if (end - start < prefix.length()) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length(); i++) {
+            if (line[start + i] != prefix.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean startsWithIgnoreCase(char[] line, int start, int end, String asciiPrefix) {
+        if (end - start < asciiPrefix.length()) {
+            return false;
+        }
+        for (int i = 0; i < asciiPrefix.length(); i++) {
+            char c = line[start + i];
+            if (c >= 'A' && c <= 'Z') {
+                c = (char) (c + ('a' - 'A'));
+            }
+            if (c != asciiPrefix.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isBlank(char[] line, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (!isRegexSpace(line[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isRegexSpace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+    }
+
+    private static boolean isKnownType(String type) {
+        for (String known : TYPES) {
+            if (known.equals(type)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,119 @@
+package com.quizgen.app.question.support;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.quizgen.app.bank.entity.QuestionBank;
+import com.quizgen.app.bank.mapper.QuestionBankMapper;
+import com.quizgen.app.question.dto.QuestionOptionDto;
+import com.quizgen.app.question.dto.QuestionResponse;
+import com.quizgen.app.question.entity.Question;
+import com.quizgen.app.question.entity.QuestionOption;
+import com.quizgen.app.question.mapper.QuestionOptionMapper;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+@Component
+public class QuestionAssembler {
+
+    private static final int BATCH_SIZE = 500;
+
+    private final QuestionBankMapper bankMapper;
+    private final QuestionOptionMapper optionMapper;
+    private final JdbcTemplate jdbcTemplate;
+
+    public QuestionAssembler(QuestionBankMapper bankMapper, QuestionOptionMapper optionMapper, JdbcTemplate jdbcTemplate) {
+        this.bankMapper = bankMapper;
+        this.optionMapper = optionMapper;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public QuestionResponse toResponse(Question question) {
+        return toResponses(List.of(question)).get(0);
+    }
+
+    public List<QuestionResponse> toResponses(List<Question> questions) {
+        if (questions == null || questions.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<Long> questionIds = questions.stream().map(Question::getId).filter(Objects::nonNull).distinct().toList();
+        List<Long> bankIds = questions.stream().map(Question::getBankId).filter(Objects::nonNull).distinct().toList();
+
+        Map<Long, String> bankCodes = new HashMap<>();
+        Map<Long, List<QuestionOptionDto>> options = new HashMap<>();
+        Map<Long, List<String>> tags = new HashMap<>();
+        for (List<Long> slice : partition(bankIds)) {
+            loadBankCodes(slice, bankCodes);
+        }
+        for (List<Long> slice : partition(questionIds)) {
+            loadOptions(slice, options);
+            loadTags(slice, tags);
+        }
+
+        List<QuestionResponse> result = new ArrayList<>(questions.size());
+        for (Question question : questions) {
+            QuestionResponse response = new QuestionResponse();
+            response.setId(question.getQuestionCode());
+            response.setType(question.getType());
+            response.setText(question.getText());
+            response.setAnswer(question.getAnswer());
+            response.setExplanation(question.getExplanation());
+            response.setCreatedAt(question.getCreatedAt());
+            response.setUpdatedAt(question.getUpdatedAt());
+            if (question.getBankId() != null) {
+                response.setBankId(bankCodes.get(question.getBankId()));
+            }
+            response.setOptions(options.getOrDefault(question.getId(), Collections.emptyList()));
+            response.setTags(tags.getOrDefault(question.getId(), Collections.emptyList()));
+            result.add(response);
+        }
+        return result;
+    }
+
+    private void loadBankCodes(List<Long> bankIds, Map<Long, String> target) {
+        for (QuestionBank bank : bankMapper.selectBatchIds(bankIds)) {
+            target.put(bank.getId(), bank.getBankCode());
+        }
+    }
+
+    private void loadOptions(List<Long> questionIds, Map<Long, List<QuestionOptionDto>> target) {
+        List<QuestionOption> rows = optionMapper.selectList(new LambdaQueryWrapper<QuestionOption>()
+                .in(QuestionOption::getQuestionId, questionIds)
+                .orderByAsc(QuestionOption::getQuestionId)
+                .orderByAsc(QuestionOption::getSortOrder));
+        for (QuestionOption option : rows) {
+            QuestionOptionDto dto = new QuestionOptionDto();
+            dto.setLetter(option.getOptionKey());
+            dto.setText(option.getOptionText());
+            target.computeIfAbsent(option.getQuestionId(), k -> new ArrayList<>()).add(dto);
+        }
+    }
+
+    private void loadTags(List<Long> questionIds, Map<Long, List<String>> target) {
+        String placeholders = questionIds.stream().map(v -> "?").collect(Collectors.joining(","));
+        jdbcTemplate.query(
+                "SELECT r.question_id, t.name FROM question_tag_rel r JOIN question_tag t ON t.id = r.tag_id "
+                        + "WHERE r.question_id IN (" + placeholders + ") ORDER BY r.question_id, r.id",
+                rs -> {
+                    target.computeIfAbsent(rs.getLong(1), k -> new ArrayList<>()).add(rs.getString(2));
+                },
+                questionIds.toArray()
+        );
+    }
+
+    private List<List<Long>> partition(Collection<Long> ids) {
+        List<Long> source = new ArrayList<>(ids);
+        List<List<Long>> slices = new ArrayList<>();
+        for (int i = 0; i < source.size(); i += BATCH_SIZE) {
+            slices.add(source.subList(i, Math.min(i + BATCH_SIZE, source.size())));
+        }
+        return slices;
+    }
+}
@@ -0,0 +1,298 @@
+package com.quizgen.app.question.support;
+
+import com.quizgen.app.common.config.ExecutorConfig;
+import org.roaringbitmap.longlong.Roaring64NavigableMap;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+@Component
+public class QuestionBitmapIndex {
+
+    private static final int LOAD_BATCH_SIZE = 5000;
+    private static final int REFRESH_BATCH_SIZE = 500;
+    private static final Roaring64NavigableMap EMPTY = new Roaring64NavigableMap();
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Executor backgroundExecutor;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Object rebuildMonitor = new Object();
+    private final Set<Long> pendingIds = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean warming = new AtomicBoolean();
+
+    private volatile Bitmaps bitmaps = new Bitmaps();
+    private volatile boolean ready;
+    private volatile boolean rebuilding;
+
+    public QuestionBitmapIndex(JdbcTemplate jdbcTemplate, @Qualifier(ExecutorConfig.BACKGROUND_EXECUTOR) Executor backgroundExecutor) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.backgroundExecutor = backgroundExecutor;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (!warming.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            CompletableFuture.runAsync(this::rebuild, backgroundExecutor).whenComplete((ignored, error) -> warming.set(false));
+        } catch (RejectedExecutionException ex) {
+            warming.set(false);
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public Roaring64NavigableMap query(TagExpression tags, String type, Long bankId, boolean unassignedBank) {
+        if (!ready) {
+            warmUp();
+            return null;
+        }
+        lock.readLock().lock();
+        try {
+            Bitmaps b = bitmaps;
+            Roaring64NavigableMap result;
+            if (tags == null) {
+                result = new Roaring64NavigableMap();
+                result.or(b.all);
+            } else {
+                result = tags.evaluate(name -> b.tags.getOrDefault(TagDictionary.key(name), EMPTY), b.all);
+            }
+            if (StringUtils.hasText(type)) {
+                result.and(b.types.getOrDefault(type, EMPTY));
+            }
+            if (unassignedBank) {
+                result.and(b.unassigned);
+            } else if (bankId != null) {
+                result.and(b.banks.getOrDefault(bankId, EMPTY));
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Map<String, Long> tagCounts() {
+        if (!ready) {
+            warmUp();
+            return null;
+        }
+        lock.readLock().lock();
+        try {
+            Map<String, Long> counts = new HashMap<>();
+            bitmaps.tags.forEach((name, bitmap) -> counts.put(name, bitmap.getLongCardinality()));
+            return counts;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void refresh(Collection<Long> questionIds) {
+        List<Long> ids = distinctIds(questionIds);
+        if (ids.isEmpty()) {
+            return;
+        }
+        if (rebuilding) {
+            pendingIds.addAll(ids);
+        }
+        List<Object[]> rows = new ArrayList<>();
+        List<Object[]> tagRows = new ArrayList<>();
+        for (int i = 0; i < ids.size(); i += REFRESH_BATCH_SIZE) {
+            List<Long> slice = ids.subList(i, Math.min(i + REFRESH_BATCH_SIZE, ids.size()));
+            String placeholders = String.join(",", Collections.nCopies(slice.size(), "?"));
+            rows.addAll(loadQuestions("SELECT id, type, bank_id FROM question WHERE id IN (" + placeholders + ")", slice.toArray()));
+            tagRows.addAll(loadTags("SELECT r.question_id, t.name FROM question_tag_rel r JOIN question_tag t ON t.id = r.tag_id "
+                    + "WHERE r.question_id IN (" + placeholders + ")", slice.toArray()));
+        }
+        lock.writeLock().lock();
+        try {
+            Bitmaps b = bitmaps;
+            b.removeAll(toBitmap(ids));
+            rows.forEach(b::addQuestion);
+            tagRows.forEach(b::addTag);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Collection<Long> questionIds) {
+        List<Long> ids = distinctIds(questionIds);
+        if (ids.isEmpty()) {
+            return;
+        }
+        if (rebuilding) {
+            pendingIds.addAll(ids);
+        }
+        lock.writeLock().lock();
+        try {
+            bitmaps.removeAll(toBitmap(ids));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clearBank(Long bankId) {
+        if (bankId == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            Roaring64NavigableMap moved = bitmaps.banks.remove(bankId);
+            if (moved != null) {
+                bitmaps.unassigned.or(moved);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void rebuild() {
+        synchronized (rebuildMonitor) {
+            rebuilding = true;
+            try {
+                Bitmaps fresh = new Bitmaps();
+                long lastId = 0L;
+                while (true) {
+                    List<Object[]> rows = loadQuestions(
+                            "SELECT id, type, bank_id FROM question WHERE id > ? ORDER BY id LIMIT " + LOAD_BATCH_SIZE, lastId);
+                    rows.forEach(fresh::addQuestion);
+                    if (rows.size() < LOAD_BATCH_SIZE) {
+                        break;
+                    }
+                    lastId = (Long) rows.get(rows.size() - 1)[0];
+                }
+                long lastRelId = 0L;
+                while (true) {
+                    List<Object[]> tagRows = new ArrayList<>();
+                    long[] maxRelId = {lastRelId};
+                    jdbcTemplate.query("SELECT r.id, r.question_id, t.name FROM question_tag_rel r JOIN question_tag t ON t.id = r.tag_id "
+                            + "WHERE r.id > ? ORDER BY r.id LIMIT " + LOAD_BATCH_SIZE, rs -> {
+                        maxRelId[0] = rs.getLong(1);
+                        tagRows.add(new Object[]{rs.getLong(2), rs.getString(3)});
+                    }, lastRelId);
+                    tagRows.forEach(fresh::addTag);
+                    if (tagRows.size() < LOAD_BATCH_SIZE) {
+                        break;
+                    }
+                    lastRelId = maxRelId[0];
+                }
+                fresh.optimize();
+                lock.writeLock().lock();
+                try {
+                    bitmaps = fresh;
+                    ready = true;
+                } finally {
+                    lock.writeLock().unlock();
+                }
+            } finally {
+                rebuilding = false;
+            }
+            List<Long> pending = new ArrayList<>(pendingIds);
+            pendingIds.removeAll(pending);
+            refresh(pending);
+        }
+    }
+
+    private List<Object[]> loadQuestions(String sql, Object... args) {
+        List<Object[]> rows = new ArrayList<>();
+        jdbcTemplate.query(sql, rs -> {
+            long bankId = rs.getLong("bank_id");
+            Long bank = rs.wasNull() ? null : bankId;
+            rows.add(new Object[]{rs.getLong("id"), rs.getString("type"), bank});
+        }, args);
+        return rows;
+    }
+
+    private List<Object[]> loadTags(String sql, Object... args) {
+        List<Object[]> rows = new ArrayList<>();
+        jdbcTemplate.query(sql, rs -> {
+            rows.add(new Object[]{rs.getLong(1), rs.getString(2)});
+        }, args);
+        return rows;
+    }
+
+    private List<Long> distinctIds(Collection<Long> questionIds) {
+        if (questionIds == null || questionIds.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return questionIds.stream().filter(Objects::nonNull).distinct().toList();
+    }
+
+    private Roaring64NavigableMap toBitmap(List<Long> ids) {
+        Roaring64NavigableMap bitmap = new Roaring64NavigableMap();
+        ids.forEach(bitmap::addLong);
+        return bitmap;
+    }
+
+    private static final class Bitmaps {
+
+        private final Map<String, Roaring64NavigableMap> tags = new HashMap<>();
+        private final Map<Long, Roaring64NavigableMap> banks = new HashMap<>();
+        private final Map<String, Roaring64NavigableMap> types = new HashMap<>();
+        private final Roaring64NavigableMap unassigned = new Roaring64NavigableMap();
+        private final Roaring64NavigableMap all = new Roaring64NavigableMap();
+
+        private void addQuestion(Object[] row) {
+            long id = (Long) row[0];
+            all.addLong(id);
+            types.computeIfAbsent((String) row[1], k -> new Roaring64NavigableMap()).addLong(id);
+            if (row[2] == null) {
+                unassigned.addLong(id);
+            } else {
+                banks.computeIfAbsent((Long) row[2], k -> new Roaring64NavigableMap()).addLong(id);
+            }
+        }
+
+        private void addTag(Object[] row) {
+            tags.computeIfAbsent(TagDictionary.key((String) row[1]), k -> new Roaring64NavigableMap()).addLong((Long) row[0]);
+        }
+
+        private void removeAll(Roaring64NavigableMap ids) {
+            all.andNot(ids);
+            unassigned.andNot(ids);
+            removeFrom(tags.values(), ids);
+            removeFrom(banks.values(), ids);
+            removeFrom(types.values(), ids);
+        }
+
+        private void removeFrom(Collection<Roaring64NavigableMap> values, Roaring64NavigableMap ids) {
+            Iterator<Roaring64NavigableMap> it = values.iterator();
+            while (it.hasNext()) {
+                Roaring64NavigableMap bitmap = it.next();
+                bitmap.andNot(ids);
+                if (bitmap.isEmpty()) {
+                    it.remove();
+                }
+            }
+        }
+
+        private void optimize() {
+            all.runOptimize();
+            unassigned.runOptimize();
+            tags.values().forEach(Roaring64NavigableMap::runOptimize);
+            banks.values().forEach(Roaring64NavigableMap::runOptimize);
+            types.values().forEach(Roaring64NavigableMap::runOptimize);
+        }
+    }
+}
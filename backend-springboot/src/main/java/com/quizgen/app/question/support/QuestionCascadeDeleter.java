@@ -0,0 +1,117 @@
+package com.quizgen.app.question.support;
+
+import com.quizgen.app.question.config.MaintenanceJobProperties;
+import com.quizgen.app.search.service.QuestionSearchService;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Statement;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.LongConsumer;
+
+@Component
+public class QuestionCascadeDeleter {
+
+    private static final List<String> DEPENDENT_TABLES = List.of(
+            "note",
+            "bookmark",
+            "user_answer",
+            "review_card",
+            "wrong_question",
+            "question_option",
+            "question_tag_rel",
+            "ai_explanation",
+            "ai_error_analysis",
+            "ai_variant_question",
+            "ai_knowledge_tree",
+            "ai_design_process",
+            "question_minhash_band",
+            "question_minhash"
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final MaintenanceJobProperties maintenanceJobProperties;
+    private final TagDictionary tagDictionary;
+    private final QuestionSearchService questionSearchService;
+    private final QuestionBitmapIndex questionBitmapIndex;
+
+    public QuestionCascadeDeleter(
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            MaintenanceJobProperties maintenanceJobProperties,
+            TagDictionary tagDictionary,
+            QuestionSearchService questionSearchService,
+            QuestionBitmapIndex questionBitmapIndex
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maintenanceJobProperties = maintenanceJobProperties;
+        this.tagDictionary = tagDictionary;
+        this.questionSearchService = questionSearchService;
+        this.questionBitmapIndex = questionBitmapIndex;
+    }
+
+    public long delete(List<Long> questionIds, LongConsumer onProgress) {
+        if (questionIds == null || questionIds.isEmpty()) {
+            return 0L;
+        }
+        List<Long> ids = questionIds.stream().filter(Objects::nonNull).distinct().toList();
+        int batchSize = maintenanceJobProperties.getBatchSize();
+        long deleted = 0L;
+        for (int i = 0; i < ids.size(); i += batchSize) {
+            List<Long> batch = ids.subList(i, Math.min(i + batchSize, ids.size()));
+            Map<Long, Integer> tagUsage = transactionTemplate.execute(status -> deleteBatch(batch));
+            questionSearchService.remove(batch);
+            questionBitmapIndex.remove(batch);
+            if (tagUsage != null) {
+                tagDictionary.removeUnused(tagUsage.keySet());
+            }
+            deleted += batch.size();
+            onProgress.accept(deleted);
+        }
+        return deleted;
+    }
+
+    public void purgeAll() {
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("SET FOREIGN_KEY_CHECKS=0");
+                try {
+                    for (String table : DEPENDENT_TABLES) {
+                        statement.execute("TRUNCATE TABLE " + table);
+                    }
+                    statement.execute("TRUNCATE TABLE question");
+                    statement.execute("TRUNCATE TABLE question_tag");
+                } finally {
+                    statement.execute("SET FOREIGN_KEY_CHECKS=1");
+                }
+            }
+            return null;
+        });
+        tagDictionary.reload();
+        questionSearchService.rebuild();
+        questionBitmapIndex.rebuild();
+    }
+
+    private Map<Long, Integer> deleteBatch(List<Long> ids) {
+        String placeholders = String.join(",", Collections.nCopies(ids.size(), "?"));
+        Object[] args = ids.toArray();
+        Map<Long, Integer> tagUsage = tagDictionary.usageOf(ids);
+        for (String table : DEPENDENT_TABLES) {
+            jdbcTemplate.update("DELETE FROM " + table + " WHERE question_id IN (" + placeholders + ")", args);
+        }
+        jdbcTemplate.update("DELETE FROM question WHERE id IN (" + placeholders + ")", args);
+        Map<Long, Integer> deltas = new HashMap<>();
+        tagUsage.forEach((tagId, count) -> deltas.put(tagId, -count));
+        tagDictionary.adjustUsage(deltas);
+        return tagUsage;
+    }
+}
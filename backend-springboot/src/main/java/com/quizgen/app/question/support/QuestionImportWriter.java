@@ -0,0 +1,263 @@
+package com.quizgen.app.question.support;
+
+import com.quizgen.app.common.error.BusinessException;
+import com.quizgen.app.common.util.CodeGenerator;
+import com.quizgen.app.common.util.ContentHash;
+import com.quizgen.app.question.dto.QuestionOptionDto;
+import com.quizgen.app.question.dto.QuestionResponse;
+import com.quizgen.app.question.dto.QuestionUpsertRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@Component
+public class QuestionImportWriter {
+
+    private static final int CHUNK_SIZE = 500;
+    private static final int MAX_ROWS_PER_STATEMENT = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final TagDictionary tagDictionary;
+
+    public QuestionImportWriter(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager, TagDictionary tagDictionary) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.tagDictionary = tagDictionary;
+    }
+
+    public static String normalizeAnswer(String answer) {
+        return answer == null ? null : answer.replace("，", ",").replace(" ", "").trim();
+    }
+
+    public Result write(List<QuestionUpsertRequest> items, String defaultBankCode, List<String> defaultTags) {
+        Result result = new Result();
+        List<PendingQuestion> pending = new ArrayList<>();
+        Set<String> seenCodes = new HashSet<>();
+        Set<String> seenHashes = new HashSet<>();
+        for (QuestionUpsertRequest item : items) {
+            String code = StringUtils.hasText(item.getId()) ? item.getId() : CodeGenerator.nextCode();
+            String textHash = ContentHash.textHash(item.getText());
+            if (!seenCodes.add(code) || !seenHashes.add(textHash)) {
+                result.duplicateCount++;
+                continue;
+            }
+            PendingQuestion question = new PendingQuestion();
+            question.code = code;
+            question.textHash = textHash;
+            question.item = item;
+            String bankCode = StringUtils.hasText(item.getBankId()) ? item.getBankId() : defaultBankCode;
+            question.bankCode = StringUtils.hasText(bankCode) ? bankCode : null;
+            question.tags = normalizeTags(item.getTags() != null && !item.getTags().isEmpty() ? item.getTags() : defaultTags);
+            question.options = normalizeOptions(item.getOptions());
+            pending.add(question);
+        }
+
+        Map<String, Long> bankIds = resolveBanks(pending);
+        for (int i = 0; i < pending.size(); i += CHUNK_SIZE) {
+            List<PendingQuestion> chunk = pending.subList(i, Math.min(i + CHUNK_SIZE, pending.size()));
+            List<PendingQuestion> written = transactionTemplate.execute(status -> writeChunk(chunk, bankIds));
+            if (written == null) {
+                continue;
+            }
+            result.duplicateCount += chunk.size() - written.size();
+            for (PendingQuestion question : written) {
+                result.insertedIds.add(question.id);
+                result.responses.add(toResponse(question));
+            }
+        }
+        return result;
+    }
+
+    private List<PendingQuestion> writeChunk(List<PendingQuestion> chunk, Map<String, Long> bankIds) {
+        Set<String> existingCodes = new HashSet<>(selectStrings("SELECT question_code FROM question WHERE question_code IN ",
+                chunk.stream().map(q -> q.code).toList()));
+        Set<String> existingHashes = new HashSet<>(selectStrings("SELECT text_hash FROM question WHERE text_hash IN ",
+                chunk.stream().map(q -> q.textHash).toList()));
+        List<PendingQuestion> fresh = chunk.stream()
+                .filter(q -> !existingCodes.contains(q.code) && !existingHashes.contains(q.textHash))
+                .toList();
+        if (fresh.isEmpty()) {
+            return fresh;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        Timestamp timestamp = Timestamp.valueOf(now);
+        List<Object[]> questionRows = new ArrayList<>();
+        for (PendingQuestion question : fresh) {
+            question.createdAt = now;
+            questionRows.add(new Object[]{
+                    question.code,
+                    question.bankCode == null ? null : bankIds.get(question.bankCode),
+                    question.item.getType(),
+                    question.item.getText(),
+                    question.textHash,
+                    normalizeAnswer(question.item.getAnswer()),
+                    question.item.getExplanation(),
+                    timestamp,
+                    timestamp
+            });
+        }
+        insertRows("INSERT INTO question (question_code, bank_id, type, text, text_hash, answer, explanation, created_at, updated_at) VALUES ",
+                "(?,?,?,?,?,?,?,?,?)", questionRows);
+
+        Map<String, Long> idsByCode = new HashMap<>();
+        List<String> codes = fresh.stream().map(q -> q.code).toList();
+        jdbcTemplate.query("SELECT id, question_code FROM question WHERE question_code IN (" + placeholders(codes.size()) + ")",
+                rs -> {
+                    idsByCode.put(rs.getString(2), rs.getLong(1));
+                }, codes.toArray());
+        fresh.forEach(q -> q.id = idsByCode.get(q.code));
+
+        List<Object[]> optionRows = new ArrayList<>();
+        for (PendingQuestion question : fresh) {
+            int order = 0;
+            for (QuestionOptionDto option : question.options) {
+                optionRows.add(new Object[]{question.id, option.getLetter(), option.getText(), order++});
+            }
+        }
+        insertRows("INSERT INTO question_option (question_id, option_key, option_text, sort_order) VALUES ",
+                "(?,?,?,?)", optionRows);
+
+        Set<String> tagNames = new LinkedHashSet<>();
+        fresh.forEach(q -> tagNames.addAll(q.tags));
+        Map<String, Long> tagIds = tagDictionary.resolveForUpdate(tagNames);
+        List<Object[]> relRows = new ArrayList<>();
+        for (PendingQuestion question : fresh) {
+            Set<Long> linked = new HashSet<>();
+            for (String tag : question.tags) {
+                Long tagId = tagIds.get(tag);
+                if (tagId != null && linked.add(tagId)) {
+                    relRows.add(new Object[]{question.id, tagId});
+                }
+            }
+        }
+        insertRows("INSERT INTO question_tag_rel (question_id, tag_id) VALUES ", "(?,?)", relRows);
+        Map<Long, Integer> usage = new HashMap<>();
+        relRows.forEach(row -> usage.merge((Long) row[1], 1, Integer::sum));
+        tagDictionary.adjustUsage(usage);
+        return fresh;
+    }
+
+    private Map<String, Long> resolveBanks(List<PendingQuestion> pending) {
+        Set<String> codes = new LinkedHashSet<>();
+        pending.stream().filter(q -> StringUtils.hasText(q.bankCode)).forEach(q -> codes.add(q.bankCode));
+        Map<String, Long> bankIds = new HashMap<>();
+        if (!codes.isEmpty()) {
+            List<String> list = new ArrayList<>(codes);
+            jdbcTemplate.query("SELECT id, bank_code FROM question_bank WHERE bank_code IN (" + placeholders(list.size()) + ")",
+                    rs -> {
+                        bankIds.put(rs.getString(2), rs.getLong(1));
+                    }, list.toArray());
+        }
+        if (bankIds.size() < codes.size()) {
+            throw new BusinessException(40004, "bank not found");
+        }
+        return bankIds;
+    }
+
+    private List<String> selectStrings(String sqlPrefix, List<String> values) {
+        if (values.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return jdbcTemplate.queryForList(sqlPrefix + "(" + placeholders(values.size()) + ")", String.class, values.toArray());
+    }
+
+    private void insertRows(String sqlPrefix, String rowTemplate, List<Object[]> rows) {
+        for (int i = 0; i < rows.size(); i += MAX_ROWS_PER_STATEMENT) {
+            List<Object[]> slice = rows.subList(i, Math.min(i + MAX_ROWS_PER_STATEMENT, rows.size()));
+            StringBuilder sql = new StringBuilder(sqlPrefix);
+            List<Object> args = new ArrayList<>();
+            for (int r = 0; r < slice.size(); r++) {
+                sql.append(r == 0 ? "" : ",").append(rowTemplate);
+                Collections.addAll(args, slice.get(r));
+            }
+            jdbcTemplate.update(sql.toString(), args.toArray());
+        }
+    }
+
+    private List<String> normalizeTags(List<String> tags) {
+        if (tags == null || tags.isEmpty()) {
+            return Collections.emptyList();
+        }
+        Set<String> unique = new LinkedHashSet<>();
+        for (String tag : tags) {
+            if (StringUtils.hasText(tag)) {
+                unique.add(tag.trim());
+            }
+        }
+        return new ArrayList<>(unique);
+    }
+
+    private List<QuestionOptionDto> normalizeOptions(List<QuestionOptionDto> options) {
+        if (options == null || options.isEmpty()) {
+            return Collections.emptyList();
+        }
+        Map<String, QuestionOptionDto> byLetter = new LinkedHashMap<>();
+        for (QuestionOptionDto option : options) {
+            if (option == null || !StringUtils.hasText(option.getLetter()) || !StringUtils.hasText(option.getText())) {
+                continue;
+            }
+            QuestionOptionDto normalized = new QuestionOptionDto();
+            normalized.setLetter(option.getLetter().trim());
+            normalized.setText(option.getText().trim());
+            byLetter.putIfAbsent(normalized.getLetter(), normalized);
+        }
+        return new ArrayList<>(byLetter.values());
+    }
+
+    private QuestionResponse toResponse(PendingQuestion question) {
+        QuestionResponse response = new QuestionResponse();
+        response.setId(question.code);
+        response.setType(question.item.getType());
+        response.setText(question.item.getText());
+        response.setAnswer(normalizeAnswer(question.item.getAnswer()));
+        response.setExplanation(question.item.getExplanation());
+        response.setBankId(question.bankCode);
+        response.setOptions(question.options);
+        response.setTags(question.tags);
+        response.setCreatedAt(question.createdAt);
+        response.setUpdatedAt(question.createdAt);
+        return response;
+    }
+
+    private String placeholders(int count) {
+        return String.join(",", Collections.nCopies(count, "?"));
+    }
+
+    private static final class PendingQuestion {
+        private String code;
+        private String textHash;
+        private QuestionUpsertRequest item;
+        private String bankCode;
+        private List<String> tags;
+        private List<QuestionOptionDto> options;
+        private Long id;
+        private LocalDateTime createdAt;
+    }
+
+    public static final class Result {
+
+        private final List<Long> insertedIds = new ArrayList<>();
+        private final List<QuestionResponse> responses = new ArrayList<>();
+        private int duplicateCount;
+
+        public List<Long> getInsertedIds() { return insertedIds; }
+        public List<QuestionResponse> getResponses() { return responses; }
+        public int getDuplicateCount() { return duplicateCount; }
+    }
+}
@@ -0,0 +1,55 @@
+package com.quizgen.app.question.support;
+
+import com.quizgen.app.common.config.ExecutorConfig;
+import com.quizgen.app.common.util.ContentHash;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+@Component
+public class QuestionTextHashBackfill {
+
+    private static final int BATCH_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Executor backgroundExecutor;
+
+    public QuestionTextHashBackfill(JdbcTemplate jdbcTemplate, @Qualifier(ExecutorConfig.BACKGROUND_EXECUTOR) Executor backgroundExecutor) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.backgroundExecutor = backgroundExecutor;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        CompletableFuture.runAsync(this::backfill, backgroundExecutor);
+    }
+
+    public synchronized int backfill() {
+        int updated = 0;
+        long lastId = 0L;
+        while (true) {
+            List<Object[]> rows = new ArrayList<>();
+            jdbcTemplate.query("SELECT id, text FROM question WHERE text_hash IS NULL AND id > ? ORDER BY id LIMIT " + BATCH_SIZE,
+                    rs -> {
+                        rows.add(new Object[]{ContentHash.textHash(rs.getString(2)), rs.getLong(1)});
+                    }, lastId);
+            if (rows.isEmpty()) {
+                break;
+            }
+            jdbcTemplate.batchUpdate("UPDATE question SET text_hash = ? WHERE id = ?", rows);
+            updated += rows.size();
+            lastId = (Long) rows.get(rows.size() - 1)[1];
+            if (rows.size() < BATCH_SIZE) {
+                break;
+            }
+        }
+        return updated;
+    }
+}
@@ -0,0 +1,251 @@
+package com.quizgen.app.question.support;
+
+import com.quizgen.app.common.error.BusinessException;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+public class TagDictionary {
+
+    private static final int BATCH_SIZE = 500;
+    private static final int LOCK_ATTEMPTS = 3;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate insertTransaction;
+    private final Map<String, Long> idsByKey = new ConcurrentHashMap<>();
+    private final Map<Long, String> namesById = new ConcurrentHashMap<>();
+
+    private volatile boolean ready;
+
+    public TagDictionary(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.insertTransaction = new TransactionTemplate(transactionManager);
+        this.insertTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        reload();
+    }
+
+    public synchronized void reload() {
+        Map<Long, String> loaded = new HashMap<>();
+        jdbcTemplate.query("SELECT id, name FROM question_tag", rs -> {
+            loaded.put(rs.getLong(1), rs.getString(2));
+        });
+        idsByKey.clear();
+        namesById.clear();
+        loaded.forEach(this::put);
+        ready = true;
+    }
+
+    public List<String> names() {
+        ensureReady();
+        List<String> names = new ArrayList<>(namesById.values());
+        names.sort(null);
+        return names;
+    }
+
+    public String name(Long tagId) {
+        ensureReady();
+        return namesById.get(tagId);
+    }
+
+    public Map<String, Long> resolve(Collection<String> names) {
+        ensureReady();
+        Set<String> requested = new LinkedHashSet<>();
+        if (names != null) {
+            names.stream().filter(StringUtils::hasText).map(String::trim).forEach(requested::add);
+        }
+        Map<String, Long> result = new LinkedHashMap<>();
+        List<String> missing = new ArrayList<>();
+        for (String name : requested) {
+            Long id = idsByKey.get(key(name));
+            if (id == null) {
+                missing.add(name);
+            } else {
+                result.put(name, id);
+            }
+        }
+        if (missing.isEmpty()) {
+            return result;
+        }
+
+        load(missing);
+        List<String> absent = missing.stream().filter(name -> !idsByKey.containsKey(key(name))).toList();
+        if (!absent.isEmpty()) {
+            insertTransaction.executeWithoutResult(status -> insert(absent));
+            load(absent);
+        }
+        for (String name : missing) {
+            Long id = idsByKey.get(key(name));
+            if (id == null) {
+                id = jdbcTemplate.queryForList("SELECT id FROM question_tag WHERE name = ?", Long.class, name)
+                        .stream().findFirst().orElse(null);
+                if (id != null) {
+                    idsByKey.put(key(name), id);
+                }
+            }
+            if (id != null) {
+                result.put(name, id);
+            }
+        }
+        return result;
+    }
+
+    public Map<String, Long> resolveForUpdate(Collection<String> names) {
+        Map<String, Long> resolved = resolve(names);
+        for (int attempt = 0; attempt < LOCK_ATTEMPTS; attempt++) {
+            Set<Long> locked = lock(resolved.values());
+            List<String> stale = resolved.entrySet().stream()
+                    .filter(entry -> !locked.contains(entry.getValue()))
+                    .map(Map.Entry::getKey)
+                    .toList();
+            if (stale.isEmpty()) {
+                return resolved;
+            }
+            evict(stale.stream().map(resolved::remove).toList());
+            resolved.putAll(resolve(stale));
+        }
+        throw new BusinessException(50072, "tags were removed concurrently, please retry");
+    }
+
+    public Map<Long, Integer> usageOf(Collection<Long> questionIds) {
+        Map<Long, Integer> usage = new HashMap<>();
+        List<Long> ids = new ArrayList<>(questionIds);
+        for (int i = 0; i < ids.size(); i += BATCH_SIZE) {
+            List<Long> slice = ids.subList(i, Math.min(i + BATCH_SIZE, ids.size()));
+            jdbcTemplate.query("SELECT tag_id, COUNT(*) FROM question_tag_rel WHERE question_id IN ("
+                            + placeholders(slice.size()) + ") GROUP BY tag_id",
+                    rs -> {
+                        usage.merge(rs.getLong(1), rs.getInt(2), Integer::sum);
+                    }, slice.toArray());
+        }
+        return usage;
+    }
+
+    public void adjustUsage(Map<Long, Integer> deltas) {
+        List<Map.Entry<Long, Integer>> entries = deltas.entrySet().stream()
+                .filter(entry -> entry.getValue() != null && entry.getValue() != 0)
+                .toList();
+        for (int i = 0; i < entries.size(); i += BATCH_SIZE) {
+            List<Map.Entry<Long, Integer>> slice = entries.subList(i, Math.min(i + BATCH_SIZE, entries.size()));
+            StringBuilder sql = new StringBuilder("UPDATE question_tag SET usage_count = usage_count + CASE id");
+            List<Object> args = new ArrayList<>();
+            for (Map.Entry<Long, Integer> entry : slice) {
+                sql.append(" WHEN ? THEN ?");
+                args.add(entry.getKey());
+                args.add(entry.getValue());
+            }
+            sql.append(" ELSE 0 END WHERE id IN (").append(placeholders(slice.size())).append(")");
+            slice.forEach(entry -> args.add(entry.getKey()));
+            jdbcTemplate.update(sql.toString(), args.toArray());
+        }
+    }
+
+    public void removeUnused(Collection<Long> tagIds) {
+        List<Long> ids = new ArrayList<>(new LinkedHashSet<>(tagIds));
+        for (int i = 0; i < ids.size(); i += BATCH_SIZE) {
+            List<Long> slice = ids.subList(i, Math.min(i + BATCH_SIZE, ids.size()));
+            List<Long> unused = jdbcTemplate.queryForList("SELECT id FROM question_tag WHERE id IN ("
+                    + placeholders(slice.size()) + ") AND usage_count <= 0 "
+                    + "AND NOT EXISTS (SELECT 1 FROM question_tag_rel r WHERE r.tag_id = question_tag.id)",
+                    Long.class, slice.toArray());
+            if (unused.isEmpty()) {
+                continue;
+            }
+            evict(unused);
+            jdbcTemplate.update("DELETE FROM question_tag WHERE id IN (" + placeholders(unused.size()) + ") "
+                    + "AND usage_count <= 0 AND NOT EXISTS (SELECT 1 FROM question_tag_rel r WHERE r.tag_id = question_tag.id)",
+                    unused.toArray());
+        }
+    }
+
+    public void recountUsage() {
+        jdbcTemplate.update("UPDATE question_tag t "
+                + "LEFT JOIN (SELECT tag_id, COUNT(*) AS c FROM question_tag_rel GROUP BY tag_id) r ON r.tag_id = t.id "
+                + "SET t.usage_count = COALESCE(r.c, 0)");
+    }
+
+    private void ensureReady() {
+        if (!ready) {
+            reload();
+        }
+    }
+
+    private void load(List<String> names) {
+        for (int i = 0; i < names.size(); i += BATCH_SIZE) {
+            List<String> slice = names.subList(i, Math.min(i + BATCH_SIZE, names.size()));
+            jdbcTemplate.query("SELECT id, name FROM question_tag WHERE name IN (" + placeholders(slice.size()) + ")",
+                    rs -> {
+                        put(rs.getLong(1), rs.getString(2));
+                    }, slice.toArray());
+        }
+    }
+
+    private Set<Long> lock(Collection<Long> tagIds) {
+        List<Long> ids = tagIds.stream().distinct().sorted().toList();
+        Set<Long> locked = new HashSet<>();
+        for (int i = 0; i < ids.size(); i += BATCH_SIZE) {
+            List<Long> slice = ids.subList(i, Math.min(i + BATCH_SIZE, ids.size()));
+            locked.addAll(jdbcTemplate.queryForList("SELECT id FROM question_tag WHERE id IN ("
+                    + placeholders(slice.size()) + ") FOR UPDATE", Long.class, slice.toArray()));
+        }
+        return locked;
+    }
+
+    private void evict(Collection<Long> tagIds) {
+        Set<Long> evicted = Set.copyOf(tagIds);
+        namesById.keySet().removeAll(evicted);
+        idsByKey.values().removeAll(evicted);
+    }
+
+    private void insert(List<String> names) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        for (int i = 0; i < names.size(); i += BATCH_SIZE) {
+            List<String> slice = names.subList(i, Math.min(i + BATCH_SIZE, names.size()));
+            List<Object> args = new ArrayList<>();
+            for (String name : slice) {
+                args.add(name);
+                args.add(now);
+            }
+            jdbcTemplate.update("INSERT INTO question_tag (name, created_at) VALUES "
+                    + String.join(",", Collections.nCopies(slice.size(), "(?,?)"))
+                    + " ON DUPLICATE KEY UPDATE id = id", args.toArray());
+        }
+    }
+
+    private void put(Long id, String name) {
+        namesById.put(id, name);
+        idsByKey.put(key(name), id);
+    }
+
+    public static String key(String name) {
+        return name.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private String placeholders(int count) {
+        return String.join(",", Collections.nCopies(count, "?"));
+    }
+}
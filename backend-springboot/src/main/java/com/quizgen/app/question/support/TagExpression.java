@@ -0,0 +1,190 @@
+package com.quizgen.app.question.support;
+
+import com.quizgen.app.common.error.BusinessException;
+import org.roaringbitmap.longlong.Roaring64NavigableMap;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+public final class TagExpression {
+
+    private static final String OPERATORS = ",|&!()";
+    private static final String TAG_EXISTS = "EXISTS (SELECT 1 FROM question_tag_rel r JOIN question_tag t ON t.id = r.tag_id "
+            + "WHERE r.question_id = %s AND t.name = {%d})";
+
+    private final Node root;
+
+    private TagExpression(Node root) {
+        this.root = root;
+    }
+
+    public static TagExpression parse(String expression) {
+        if (expression == null || expression.isBlank()) {
+            return null;
+        }
+        Parser parser = new Parser(expression);
+        Node root = parser.parseOr();
+        parser.skipSpaces();
+        if (!parser.atEnd()) {
+            throw new BusinessException(40008, "invalid tag expression near position " + parser.pos);
+        }
+        return new TagExpression(root);
+    }
+
+    public Roaring64NavigableMap evaluate(Function<String, Roaring64NavigableMap> tagLookup, Roaring64NavigableMap universe) {
+        return root.evaluate(tagLookup, universe);
+    }
+
+    public String toSql(String questionIdColumn, List<Object> args) {
+        return root.sql(questionIdColumn, args);
+    }
+
+    private interface Node {
+        Roaring64NavigableMap evaluate(Function<String, Roaring64NavigableMap> tagLookup, Roaring64NavigableMap universe);
+
+        String sql(String column, List<Object> args);
+    }
+
+    private record TagNode(String name) implements Node {
+        public Roaring64NavigableMap evaluate(Function<String, Roaring64NavigableMap> tagLookup, Roaring64NavigableMap universe) {
+            return copy(tagLookup.apply(name));
+        }
+
+        public String sql(String column, List<Object> args) {
+            args.add(name);
+            return String.format(TAG_EXISTS, column, args.size() - 1);
+        }
+    }
+
+    private record NotNode(Node child) implements Node {
+        public Roaring64NavigableMap evaluate(Function<String, Roaring64NavigableMap> tagLookup, Roaring64NavigableMap universe) {
+            Roaring64NavigableMap result = copy(universe);
+            result.andNot(child.evaluate(tagLookup, universe));
+            return result;
+        }
+
+        public String sql(String column, List<Object> args) {
+            return "NOT " + child.sql(column, args);
+        }
+    }
+
+    private record AndNode(List<Node> children) implements Node {
+        public Roaring64NavigableMap evaluate(Function<String, Roaring64NavigableMap> tagLookup, Roaring64NavigableMap universe) {
+            Roaring64NavigableMap result = children.get(0).evaluate(tagLookup, universe);
+            for (int i = 1; i < children.size() && !result.isEmpty(); i++) {
+                result.and(children.get(i).evaluate(tagLookup, universe));
+            }
+            return result;
+        }
+
+        public String sql(String column, List<Object> args) {
+            return join(children, " AND ", column, args);
+        }
+    }
+
+    private record OrNode(List<Node> children) implements Node {
+        public Roaring64NavigableMap evaluate(Function<String, Roaring64NavigableMap> tagLookup, Roaring64NavigableMap universe) {
+            Roaring64NavigableMap result = new Roaring64NavigableMap();
+            for (Node child : children) {
+                result.or(child.evaluate(tagLookup, universe));
+            }
+            return result;
+        }
+
+        public String sql(String column, List<Object> args) {
+            return join(children, " OR ", column, args);
+        }
+    }
+
+    private static String join(List<Node> children, String operator, String column, List<Object> args) {
+        List<String> parts = new ArrayList<>(children.size());
+        for (Node child : children) {
+            parts.add(child.sql(column, args));
+        }
+        return "(" + String.join(operator, parts) + ")";
+    }
+
+    private static Roaring64NavigableMap copy(Roaring64NavigableMap source) {
+        Roaring64NavigableMap result = new Roaring64NavigableMap();
+        if (source != null) {
+            result.or(source);
+        }
+        return result;
+    }
+
+    private static final class Parser {
+
+        private final String text;
+        private int pos;
+
+        private Parser(String text) {
+            this.text = text;
+        }
+
+        private Node parseOr() {
+            List<Node> children = new ArrayList<>();
+            do {
+                skipSpaces();
+                if (!atEnd() && ",|)".indexOf(text.charAt(pos)) < 0) {
+                    children.add(parseAnd());
+                }
+            } while (consume(',') || consume('|'));
+            if (children.isEmpty()) {
+                throw new BusinessException(40008, "invalid tag expression near position " + pos);
+            }
+            return children.size() == 1 ? children.get(0) : new OrNode(children);
+        }
+
+        private Node parseAnd() {
+            List<Node> children = new ArrayList<>();
+            children.add(parseUnary());
+            while (consume('&')) {
+                children.add(parseUnary());
+            }
+            return children.size() == 1 ? children.get(0) : new AndNode(children);
+        }
+
+        private Node parseUnary() {
+            if (consume('!')) {
+                return new NotNode(parseUnary());
+            }
+            if (consume('(')) {
+                Node inner = parseOr();
+                if (!consume(')')) {
+                    throw new BusinessException(40008, "invalid tag expression: missing ')'");
+                }
+                return inner;
+            }
+            skipSpaces();
+            int start = pos;
+            while (!atEnd() && OPERATORS.indexOf(text.charAt(pos)) < 0) {
+                pos++;
+            }
+            String name = text.substring(start, pos).trim();
+            if (name.isEmpty()) {
+                throw new BusinessException(40008, "invalid tag expression near position " + start);
+            }
+            return new TagNode(name);
+        }
+
+        private boolean consume(char expected) {
+            skipSpaces();
+            if (!atEnd() && text.charAt(pos) == expected) {
+                pos++;
+                return true;
+            }
+            return false;
+        }
+
+        private void skipSpaces() {
+            while (!atEnd() && Character.isWhitespace(text.charAt(pos))) {
+                pos++;
+            }
+        }
+
+        private boolean atEnd() {
+            return pos >= text.length();
+        }
+    }
+}
@@ -65,9 +65,11 @@ public class QuizController {
             @RequestParam(defaultValue = "1") int page,
             @RequestParam(defaultValue = "100") int limit,
             @RequestParam(required = false) String isCorrect,
-            @RequestParam(required = false) String sessionType
+            @RequestParam(required = false) String sessionType,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "false") boolean withTotal
     ) {
-        return ApiResponse.ok(quizService.getUserAnswers(page, limit, isCorrect, sessionType));
+        return ApiResponse.ok(quizService.getUserAnswers(page, limit, isCorrect, sessionType, cursor, withTotal));
     }
 
     @GetMapping("/answers/{questionId}")
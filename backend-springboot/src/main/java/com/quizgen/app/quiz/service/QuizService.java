@@ -22,7 +22,7 @@ public interface QuizService {
 
     Map<String, Object> submitAnswer(SubmitAnswerRequest request);
 
-    Map<String, Object> getUserAnswers(int page, int limit, String isCorrect, String sessionType);
+    Map<String, Object> getUserAnswers(int page, int limit, String isCorrect, String sessionType, String cursor, boolean withTotal);
 
     List<Map<String, Object>> getQuestionAnswers(String questionCode);
 
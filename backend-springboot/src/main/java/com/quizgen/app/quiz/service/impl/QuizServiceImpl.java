@@ -6,12 +6,15 @@ import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.quizgen.app.bank.entity.QuestionBank;
 import com.quizgen.app.bank.mapper.QuestionBankMapper;
 import com.quizgen.app.common.error.BusinessException;
+import com.quizgen.app.common.util.CursorCodec;
 import com.quizgen.app.quiz.dto.StartQuizRequest;
 import com.quizgen.app.quiz.dto.SubmitAnswerRequest;
 import com.quizgen.app.quiz.service.QuizService;
 import com.quizgen.app.question.entity.Question;
 import com.quizgen.app.question.mapper.QuestionMapper;
 import com.quizgen.app.review.service.ReviewService;
+import com.quizgen.app.search.dto.SearchHit;
+import com.quizgen.app.search.service.QuestionSearchService;
 import com.quizgen.app.stats.service.StatsService;
 import com.quizgen.app.streak.service.StreakService;
 import com.quizgen.app.study.entity.UserAnswer;
@@ -35,12 +38,15 @@ import java.util.stream.Collectors;
 @Service
 public class QuizServiceImpl implements QuizService {
 
+    private static final int NAVIGATOR_BATCH_SIZE = 500;
+
     private final QuestionMapper questionMapper;
     private final QuestionBankMapper bankMapper;
     private final UserAnswerMapper userAnswerMapper;
     private final StatsService statsService;
     private final ReviewService reviewService;
     private final StreakService streakService;
+    private final QuestionSearchService questionSearchService;
 
     private final Map<String, List<Long>> sessions = new ConcurrentHashMap<>();
 
@@ -50,7 +56,8 @@ public class QuizServiceImpl implements QuizService {
             UserAnswerMapper userAnswerMapper,
             StatsService statsService,
             ReviewService reviewService,
-            StreakService streakService
+            StreakService streakService,
+            QuestionSearchService questionSearchService
     ) {
         this.questionMapper = questionMapper;
         this.bankMapper = bankMapper;
@@ -58,6 +65,7 @@ public class QuizServiceImpl implements QuizService {
         this.statsService = statsService;
         this.reviewService = reviewService;
         this.streakService = streakService;
+        this.questionSearchService = questionSearchService;
     }
 
     @Override
@@ -222,11 +230,10 @@ public class QuizServiceImpl implements QuizService {
     }
 
     @Override
-    public Map<String, Object> getUserAnswers(int page, int limit, String isCorrect, String sessionType) {
+    public Map<String, Object> getUserAnswers(int page, int limit, String isCorrect, String sessionType, String cursor, boolean withTotal) {
         int p = page < 1 ? 1 : page;
         int size = limit < 1 ? 100 : limit;
-        LambdaQueryWrapper<UserAnswer> q = new LambdaQueryWrapper<UserAnswer>()
-                .orderByDesc(UserAnswer::getAnsweredAt);
+        LambdaQueryWrapper<UserAnswer> q = new LambdaQueryWrapper<>();
         if (StringUtils.hasText(isCorrect)) {
             q.eq(UserAnswer::getIsCorrect, Boolean.parseBoolean(isCorrect));
         }
@@ -234,11 +241,42 @@ public class QuizServiceImpl implements QuizService {
             q.eq(UserAnswer::getSessionType, sessionType);
         }
 
-        Page<UserAnswer> result = userAnswerMapper.selectPage(new Page<>(p, size), q);
-        List<Map<String, Object>> items = result.getRecords().stream().map(a -> {
-            Question question = questionMapper.selectById(a.getQuestionId());
+        Map<String, Object> data = new HashMap<>();
+        List<UserAnswer> records;
+        if (cursor != null) {
+            CursorCodec.Cursor after = CursorCodec.decode(cursor);
+            if (withTotal) {
+                data.put("total", userAnswerMapper.selectCount(q));
+            }
+            if (after != null) {
+                q.and(w -> w.lt(UserAnswer::getAnsweredAt, after.getTime())
+                        .or(o -> o.eq(UserAnswer::getAnsweredAt, after.getTime()).lt(UserAnswer::getId, after.getId())));
+            }
+            q.orderByDesc(UserAnswer::getAnsweredAt).orderByDesc(UserAnswer::getId).last("LIMIT " + (size + 1));
+            records = userAnswerMapper.selectList(q);
+            boolean hasMore = records.size() > size;
+            if (hasMore) {
+                records = records.subList(0, size);
+                UserAnswer last = records.get(records.size() - 1);
+                data.put("nextCursor", CursorCodec.encode(last.getAnsweredAt(), last.getId()));
+            }
+            data.put("hasMore", hasMore);
+        } else {
+            q.orderByDesc(UserAnswer::getAnsweredAt).orderByDesc(UserAnswer::getId);
+            Page<UserAnswer> result = userAnswerMapper.selectPage(new Page<>(p, size), q);
+            records = result.getRecords();
+            data.put("total", result.getTotal());
+            data.put("page", p);
+            data.put("totalPages", (long) Math.ceil((double) result.getTotal() / size));
+        }
+
+        List<Long> questionIds = records.stream().map(UserAnswer::getQuestionId).distinct().toList();
+        Map<Long, String> questionCodes = questionIds.isEmpty() ? Collections.emptyMap()
+                : questionMapper.selectBatchIds(questionIds).stream()
+                .collect(Collectors.toMap(Question::getId, Question::getQuestionCode));
+        List<Map<String, Object>> items = records.stream().map(a -> {
             Map<String, Object> row = new LinkedHashMap<>();
-            row.put("questionId", question == null ? null : question.getQuestionCode());
+            row.put("questionId", questionCodes.get(a.getQuestionId()));
             row.put("userAnswer", a.getUserAnswer());
             row.put("isCorrect", a.getIsCorrect());
             row.put("sessionType", a.getSessionType());
@@ -246,11 +284,7 @@ public class QuizServiceImpl implements QuizService {
             return row;
         }).toList();
 
-        Map<String, Object> data = new HashMap<>();
         data.put("count", items.size());
-        data.put("total", result.getTotal());
-        data.put("page", p);
-        data.put("totalPages", (long) Math.ceil((double) result.getTotal() / size));
         data.put("data", items);
         return data;
     }
@@ -282,14 +316,23 @@ public class QuizServiceImpl implements QuizService {
 
     @Override
     public List<Map<String, Object>> navigator(String filter, String type, String search) {
-        LambdaQueryWrapper<Question> q = new LambdaQueryWrapper<>();
-        if (StringUtils.hasText(type) && !"all".equalsIgnoreCase(type)) {
-            q.eq(Question::getType, type);
-        }
-        if (StringUtils.hasText(search)) {
-            q.like(Question::getText, search);
+        List<Question> questions;
+        if (StringUtils.hasText(search) && questionSearchService.isReady()) {
+            List<Long> matched = questionSearchService.search(search.trim()).stream()
+                    .map(SearchHit::getQuestionId).distinct().sorted().toList();
+            questions = new ArrayList<>(matched.size());
+            for (int i = 0; i < matched.size(); i += NAVIGATOR_BATCH_SIZE) {
+                questions.addAll(questionMapper.selectList(navigatorQuery(type)
+                        .in(Question::getId, matched.subList(i, Math.min(i + NAVIGATOR_BATCH_SIZE, matched.size())))
+                        .orderByAsc(Question::getId)));
+            }
+        } else {
+            LambdaQueryWrapper<Question> q = navigatorQuery(type);
+            if (StringUtils.hasText(search)) {
+                q.like(Question::getText, search);
+            }
+            questions = questionMapper.selectList(q);
         }
-        List<Question> questions = questionMapper.selectList(q);
         Map<Long, UserAnswer> latest = latestAnswersMap();
         String f = filter == null ? "all" : filter;
 
@@ -322,6 +365,14 @@ public class QuizServiceImpl implements QuizService {
         return data;
     }
 
+    private LambdaQueryWrapper<Question> navigatorQuery(String type) {
+        LambdaQueryWrapper<Question> q = new LambdaQueryWrapper<>();
+        if (StringUtils.hasText(type) && !"all".equalsIgnoreCase(type)) {
+            q.eq(Question::getType, type);
+        }
+        return q;
+    }
+
     private Question findQuestion(String code) {
         Question q = questionMapper.selectOne(new LambdaQueryWrapper<Question>()
                 .eq(Question::getQuestionCode, code));
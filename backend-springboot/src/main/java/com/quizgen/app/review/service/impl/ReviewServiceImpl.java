@@ -5,9 +5,12 @@ import com.quizgen.app.bank.entity.QuestionBank;
 import com.quizgen.app.bank.mapper.QuestionBankMapper;
 import com.quizgen.app.question.entity.Question;
 import com.quizgen.app.question.mapper.QuestionMapper;
+import com.quizgen.app.question.support.QuestionBitmapIndex;
+import com.quizgen.app.question.support.TagExpression;
 import com.quizgen.app.review.service.ReviewService;
 import com.quizgen.app.study.entity.ReviewCard;
 import com.quizgen.app.study.mapper.ReviewCardMapper;
+import org.roaringbitmap.longlong.Roaring64NavigableMap;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
@@ -15,22 +18,33 @@ import org.springframework.util.StringUtils;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.stream.Collectors;
 
 @Service
 public class ReviewServiceImpl implements ReviewService {
 
+    private static final int DUE_BATCH_SIZE = 500;
+
     private final ReviewCardMapper reviewCardMapper;
     private final QuestionMapper questionMapper;
     private final QuestionBankMapper bankMapper;
-
-    public ReviewServiceImpl(ReviewCardMapper reviewCardMapper, QuestionMapper questionMapper, QuestionBankMapper bankMapper) {
+    private final QuestionBitmapIndex questionBitmapIndex;
+
+    public ReviewServiceImpl(
+            ReviewCardMapper reviewCardMapper,
+            QuestionMapper questionMapper,
+            QuestionBankMapper bankMapper,
+            QuestionBitmapIndex questionBitmapIndex
+    ) {
         this.reviewCardMapper = reviewCardMapper;
         this.questionMapper = questionMapper;
         this.bankMapper = bankMapper;
+        this.questionBitmapIndex = questionBitmapIndex;
     }
 
     @Override
@@ -68,25 +82,46 @@ public class ReviewServiceImpl implements ReviewService {
     @Override
     public List<Map<String, Object>> getDueQuestions(String bankId, String tags, Integer limit) {
         int max = limit == null || limit < 1 ? 50 : limit;
-        List<ReviewCard> cards = reviewCardMapper.selectList(new LambdaQueryWrapper<ReviewCard>()
+        LambdaQueryWrapper<ReviewCard> q = new LambdaQueryWrapper<ReviewCard>()
                 .le(ReviewCard::getNextReviewAt, LocalDateTime.now())
-                .orderByAsc(ReviewCard::getNextReviewAt)
-                .last("limit " + max));
-        if (cards.isEmpty()) {
-            return List.of();
-        }
-        List<Long> questionIds = cards.stream().map(ReviewCard::getQuestionId).toList();
-        List<Question> questions = questionMapper.selectBatchIds(questionIds);
-
-        if (StringUtils.hasText(bankId)) {
-            QuestionBank bank = bankMapper.selectOne(new LambdaQueryWrapper<QuestionBank>().eq(QuestionBank::getBankCode, bankId));
-            if (bank == null) {
+                .orderByAsc(ReviewCard::getNextReviewAt);
+        TagExpression expression = TagExpression.parse(tags);
+        List<Long> questionIds;
+        if (StringUtils.hasText(bankId) || expression != null) {
+            Long bankPk = null;
+            if (StringUtils.hasText(bankId)) {
+                QuestionBank bank = bankMapper.selectOne(new LambdaQueryWrapper<QuestionBank>().eq(QuestionBank::getBankCode, bankId));
+                if (bank == null) {
+                    return List.of();
+                }
+                bankPk = bank.getId();
+            }
+            Roaring64NavigableMap allowed = questionBitmapIndex.query(expression, null, bankPk, false);
+            if (allowed == null) {
+                if (bankPk != null) {
+                    q.apply("question_id IN (SELECT id FROM question WHERE bank_id = {0})", bankPk);
+                }
+                if (expression != null) {
+                    List<Object> args = new ArrayList<>();
+                    q.apply(expression.toSql("question_id", args), args.toArray());
+                }
+                questionIds = reviewCardMapper.selectList(q.select(ReviewCard::getQuestionId).last("limit " + max)).stream()
+                        .map(ReviewCard::getQuestionId).toList();
+            } else if (allowed.isEmpty()) {
                 return List.of();
+            } else {
+                questionIds = dueQuestionIdsIn(allowed, max);
             }
-            questions = questions.stream().filter(q -> Objects.equals(q.getBankId(), bank.getId())).toList();
+        } else {
+            questionIds = reviewCardMapper.selectList(q.last("limit " + max)).stream()
+                    .map(ReviewCard::getQuestionId).toList();
         }
-        // tags filter is reserved for next iteration.
-        return questions.stream().map(this::toQuestionMap).toList();
+        if (questionIds.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Question> byId = questionMapper.selectBatchIds(questionIds).stream()
+                .collect(Collectors.toMap(Question::getId, question -> question));
+        return questionIds.stream().map(byId::get).filter(Objects::nonNull).map(this::toQuestionMap).toList();
     }
 
     @Override
@@ -113,6 +148,34 @@ public class ReviewServiceImpl implements ReviewService {
         return data;
     }
 
+    private List<Long> dueQuestionIdsIn(Roaring64NavigableMap allowed, int max) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> questionIds = new ArrayList<>();
+        ReviewCard last = null;
+        while (questionIds.size() < max) {
+            ReviewCard after = last;
+            LambdaQueryWrapper<ReviewCard> q = new LambdaQueryWrapper<ReviewCard>()
+                    .select(ReviewCard::getId, ReviewCard::getQuestionId, ReviewCard::getNextReviewAt)
+                    .le(ReviewCard::getNextReviewAt, now);
+            if (after != null) {
+                q.and(w -> w.gt(ReviewCard::getNextReviewAt, after.getNextReviewAt())
+                        .or(o -> o.eq(ReviewCard::getNextReviewAt, after.getNextReviewAt()).gt(ReviewCard::getId, after.getId())));
+            }
+            q.orderByAsc(ReviewCard::getNextReviewAt).orderByAsc(ReviewCard::getId).last("limit " + DUE_BATCH_SIZE);
+            List<ReviewCard> batch = reviewCardMapper.selectList(q);
+            for (ReviewCard card : batch) {
+                if (allowed.contains(card.getQuestionId()) && questionIds.size() < max) {
+                    questionIds.add(card.getQuestionId());
+                }
+            }
+            if (batch.size() < DUE_BATCH_SIZE) {
+                break;
+            }
+            last = batch.get(batch.size() - 1);
+        }
+        return questionIds;
+    }
+
     private int deriveQuality(boolean isCorrect, String sessionType) {
         if (!isCorrect) {
             return 1;
@@ -0,0 +1,12 @@
+package com.quizgen.app.search.dto;
+
+public class SearchHit {
+
+    private Long questionId;
+    private double score;
+
+    public Long getQuestionId() { return questionId; }
+    public void setQuestionId(Long questionId) { this.questionId = questionId; }
+    public double getScore() { return score; }
+    public void setScore(double score) { this.score = score; }
+}
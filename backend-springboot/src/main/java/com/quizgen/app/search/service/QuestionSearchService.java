@@ -0,0 +1,21 @@
+package com.quizgen.app.search.service;
+
+import com.quizgen.app.search.dto.SearchHit;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface QuestionSearchService {
+
+    boolean isReady();
+
+    List<SearchHit> search(String query);
+
+    String highlight(String query, String text);
+
+    void refresh(Collection<Long> questionIds);
+
+    void remove(Collection<Long> questionIds);
+
+    void rebuild();
+}
@@ -0,0 +1,278 @@
+package com.quizgen.app.search.service.impl;
+
+import com.quizgen.app.common.config.ExecutorConfig;
+import com.quizgen.app.search.dto.SearchHit;
+import com.quizgen.app.search.service.QuestionSearchService;
+import com.quizgen.app.search.support.CjkBigramTokenizer;
+import com.quizgen.app.search.support.InvertedIndex;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+@Service
+public class QuestionSearchServiceImpl implements QuestionSearchService {
+
+    private static final int LOAD_BATCH_SIZE = 1000;
+    private static final int REFRESH_BATCH_SIZE = 500;
+    private static final int TEXT_WEIGHT = 2;
+    private static final int SNIPPET_LEADING = 30;
+    private static final int SNIPPET_LENGTH = 120;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Executor backgroundExecutor;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Object rebuildMonitor = new Object();
+    private final Set<Long> pendingIds = ConcurrentHashMap.newKeySet();
+
+    private volatile InvertedIndex index = new InvertedIndex();
+    private volatile boolean ready;
+    private volatile boolean rebuilding;
+
+    public QuestionSearchServiceImpl(JdbcTemplate jdbcTemplate, @Qualifier(ExecutorConfig.BACKGROUND_EXECUTOR) Executor backgroundExecutor) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.backgroundExecutor = backgroundExecutor;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        CompletableFuture.runAsync(this::rebuild, backgroundExecutor);
+    }
+
+    @Override
+    public boolean isReady() {
+        return ready;
+    }
+
+    @Override
+    public List<SearchHit> search(String query) {
+        List<String> terms = CjkBigramTokenizer.queryTerms(query);
+        if (terms.isEmpty()) {
+            return Collections.emptyList();
+        }
+        lock.readLock().lock();
+        try {
+            return index.search(terms);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public String highlight(String query, String text) {
+        if (!StringUtils.hasText(query) || !StringUtils.hasText(text)) {
+            return null;
+        }
+        String lower = text.toLowerCase(Locale.ROOT);
+        if (lower.length() != text.length()) {
+            lower = text;
+        }
+        List<String> terms = new ArrayList<>(CjkBigramTokenizer.highlightTerms(query));
+        terms.sort(Comparator.comparingInt(String::length).reversed());
+
+        boolean[] marked = new boolean[text.length()];
+        int first = -1;
+        for (String term : terms) {
+            int idx = lower.indexOf(term);
+            while (idx >= 0) {
+                for (int i = idx; i < idx + term.length(); i++) {
+                    marked[i] = true;
+                }
+                first = first < 0 ? idx : Math.min(first, idx);
+                idx = lower.indexOf(term, idx + term.length());
+            }
+        }
+        if (first < 0) {
+            return null;
+        }
+
+        int start = Math.max(0, first - SNIPPET_LEADING);
+        int end = Math.min(text.length(), start + SNIPPET_LENGTH);
+        StringBuilder sb = new StringBuilder();
+        if (start > 0) {
+            sb.append("...");
+        }
+        boolean open = false;
+        for (int i = start; i < end; i++) {
+            if (marked[i] && !open) {
+                sb.append("<mark>");
+                open = true;
+            } else if (!marked[i] && open) {
+                sb.append("</mark>");
+                open = false;
+            }
+            appendEscaped(sb, text.charAt(i));
+        }
+        if (open) {
+            sb.append("</mark>");
+        }
+        if (end < text.length()) {
+            sb.append("...");
+        }
+        return sb.toString();
+    }
+
+    @Override
+    public void refresh(Collection<Long> questionIds) {
+        List<Long> ids = distinctIds(questionIds);
+        if (ids.isEmpty()) {
+            return;
+        }
+        if (rebuilding) {
+            pendingIds.addAll(ids);
+        }
+        Map<Long, IndexedDocument> documents = new HashMap<>();
+        for (int i = 0; i < ids.size(); i += REFRESH_BATCH_SIZE) {
+            List<Long> slice = ids.subList(i, Math.min(i + REFRESH_BATCH_SIZE, ids.size()));
+            String placeholders = placeholders(slice.size());
+            documents.putAll(loadDocuments(
+                    "SELECT id, text, explanation FROM question WHERE id IN (" + placeholders + ")",
+                    slice.toArray()));
+        }
+        lock.writeLock().lock();
+        try {
+            for (Long id : ids) {
+                IndexedDocument document = documents.get(id);
+                if (document == null) {
+                    index.remove(id);
+                } else {
+                    index.add(id, document.termFreqs, document.length);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(Collection<Long> questionIds) {
+        List<Long> ids = distinctIds(questionIds);
+        if (ids.isEmpty()) {
+            return;
+        }
+        if (rebuilding) {
+            pendingIds.addAll(ids);
+        }
+        lock.writeLock().lock();
+        try {
+            for (Long id : ids) {
+                index.remove(id);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void rebuild() {
+        synchronized (rebuildMonitor) {
+            rebuilding = true;
+            try {
+                InvertedIndex fresh = new InvertedIndex();
+                long lastId = 0L;
+                while (true) {
+                    Map<Long, IndexedDocument> documents = loadDocuments(
+                            "SELECT id, text, explanation FROM question WHERE id > ? ORDER BY id LIMIT " + LOAD_BATCH_SIZE,
+                            lastId);
+                    if (documents.isEmpty()) {
+                        break;
+                    }
+                    for (Map.Entry<Long, IndexedDocument> entry : documents.entrySet()) {
+                        fresh.add(entry.getKey(), entry.getValue().termFreqs, entry.getValue().length);
+                        lastId = Math.max(lastId, entry.getKey());
+                    }
+                    if (documents.size() < LOAD_BATCH_SIZE) {
+                        break;
+                    }
+                }
+                lock.writeLock().lock();
+                try {
+                    index = fresh;
+                    ready = true;
+                } finally {
+                    lock.writeLock().unlock();
+                }
+            } finally {
+                rebuilding = false;
+            }
+            List<Long> pending = new ArrayList<>(pendingIds);
+            pendingIds.removeAll(pending);
+            refresh(pending);
+        }
+    }
+
+    private Map<Long, IndexedDocument> loadDocuments(String sql, Object... args) {
+        Map<Long, String[]> rows = new LinkedHashMap<>();
+        jdbcTemplate.query(sql, rs -> {
+            rows.put(rs.getLong("id"), new String[]{rs.getString("text"), rs.getString("explanation")});
+        }, args);
+        if (rows.isEmpty()) {
+            return Collections.emptyMap();
+        }
+
+        Map<Long, List<String>> options = new HashMap<>();
+        List<Long> ids = new ArrayList<>(rows.keySet());
+        jdbcTemplate.query(
+                "SELECT question_id, option_text FROM question_option WHERE question_id IN (" + placeholders(ids.size()) + ")",
+                rs -> {
+                    options.computeIfAbsent(rs.getLong(1), k -> new ArrayList<>()).add(rs.getString(2));
+                },
+                ids.toArray());
+
+        Map<Long, IndexedDocument> documents = new LinkedHashMap<>();
+        for (Map.Entry<Long, String[]> row : rows.entrySet()) {
+            IndexedDocument document = new IndexedDocument();
+            document.length += CjkBigramTokenizer.collect(row.getValue()[0], TEXT_WEIGHT, document.termFreqs);
+            document.length += CjkBigramTokenizer.collect(row.getValue()[1], 1, document.termFreqs);
+            for (String option : options.getOrDefault(row.getKey(), Collections.emptyList())) {
+                document.length += CjkBigramTokenizer.collect(option, 1, document.termFreqs);
+            }
+            documents.put(row.getKey(), document);
+        }
+        return documents;
+    }
+
+    private List<Long> distinctIds(Collection<Long> questionIds) {
+        if (questionIds == null || questionIds.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return questionIds.stream().filter(Objects::nonNull).distinct().toList();
+    }
+
+    private String placeholders(int count) {
+        return String.join(",", Collections.nCopies(count, "?"));
+    }
+
+    private void appendEscaped(StringBuilder sb, char c) {
+        switch (c) {
+            case '<' -> sb.append("&lt;");
+            case '>' -> sb.append("&gt;");
+            case '&' -> sb.append("&amp;");
+            case '"' -> sb.append("&quot;");
+            default -> sb.append(c);
+        }
+    }
+
+    private static final class IndexedDocument {
+        private final Map<String, Integer> termFreqs = new HashMap<>();
+        private int length;
+    }
+}
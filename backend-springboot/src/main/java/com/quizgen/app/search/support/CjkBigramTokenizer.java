@@ -0,0 +1,117 @@
+package com.quizgen.app.search.support;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+public final class CjkBigramTokenizer {
+
+    private CjkBigramTokenizer() {
+    }
+
+    public static String normalize(String text) {
+        if (text == null || text.isEmpty()) {
+            return "";
+        }
+        return Normalizer.normalize(text, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+    }
+
+    public static int collect(String text, int weight, Map<String, Integer> termFreqs) {
+        int[] count = {0};
+        scan(normalize(text), true, term -> {
+            termFreqs.merge(term, weight, Integer::sum);
+            count[0]++;
+        });
+        return count[0];
+    }
+
+    public static List<String> queryTerms(String query) {
+        Set<String> terms = new LinkedHashSet<>();
+        scan(normalize(query), false, terms::add);
+        return new ArrayList<>(terms);
+    }
+
+    public static List<String> highlightTerms(String query) {
+        Set<String> terms = new LinkedHashSet<>();
+        String normalized = normalize(query);
+        int i = 0;
+        while (i < normalized.length()) {
+            int cp = normalized.codePointAt(i);
+            if (!isCjk(cp) && !Character.isLetterOrDigit(cp)) {
+                i += Character.charCount(cp);
+                continue;
+            }
+            int start = i;
+            while (i < normalized.length()) {
+                int next = normalized.codePointAt(i);
+                if (!isCjk(next) && !Character.isLetterOrDigit(next)) {
+                    break;
+                }
+                i += Character.charCount(next);
+            }
+            terms.add(normalized.substring(start, i));
+        }
+        terms.addAll(queryTerms(query));
+        return new ArrayList<>(terms);
+    }
+
+    public static boolean isCjk(int codePoint) {
+        Character.UnicodeScript script = Character.UnicodeScript.of(codePoint);
+        return script == Character.UnicodeScript.HAN
+                || script == Character.UnicodeScript.HIRAGANA
+                || script == Character.UnicodeScript.KATAKANA
+                || script == Character.UnicodeScript.HANGUL;
+    }
+
+    private static void scan(String text, boolean indexing, Consumer<String> sink) {
+        int i = 0;
+        int length = text.length();
+        while (i < length) {
+            int cp = text.codePointAt(i);
+            if (isCjk(cp)) {
+                List<String> run = new ArrayList<>();
+                while (i < length) {
+                    int next = text.codePointAt(i);
+                    if (!isCjk(next)) {
+                        break;
+                    }
+                    run.add(new String(Character.toChars(next)));
+                    i += Character.charCount(next);
+                }
+                emitCjkRun(run, indexing, sink);
+            } else if (Character.isLetterOrDigit(cp)) {
+                int start = i;
+                while (i < length) {
+                    int next = text.codePointAt(i);
+                    if (!Character.isLetterOrDigit(next) || isCjk(next)) {
+                        break;
+                    }
+                    i += Character.charCount(next);
+                }
+                sink.accept(text.substring(start, i));
+            } else {
+                i += Character.charCount(cp);
+            }
+        }
+    }
+
+    private static void emitCjkRun(List<String> run, boolean indexing, Consumer<String> sink) {
+        if (run.size() == 1) {
+            sink.accept(run.get(0));
+            return;
+        }
+        for (int i = 0; i < run.size(); i++) {
+            if (indexing) {
+                sink.accept(run.get(i));
+            }
+            if (i + 1 < run.size()) {
+                sink.accept(run.get(i) + run.get(i + 1));
+            }
+        }
+    }
+}
@@ -0,0 +1,211 @@
+package com.quizgen.app.search.support;
+
+import com.quizgen.app.search.dto.SearchHit;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+public class InvertedIndex {
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final int MAX_PREFIX_EXPANSION = 64;
+    private static final int MIN_COMPACT_GARBAGE = 4096;
+
+    private final NavigableMap<String, Postings> terms = new TreeMap<>();
+    private final Map<Long, Integer> docNoById = new HashMap<>();
+    private final BitSet live = new BitSet();
+    private long[] docIds = new long[1024];
+    private int[] docLengths = new int[1024];
+    private int nextDocNo;
+    private int liveCount;
+    private long liveLength;
+
+    public void add(long questionId, Map<String, Integer> termFreqs, int length) {
+        remove(questionId);
+        int docNo = nextDocNo++;
+        ensureCapacity(nextDocNo);
+        docIds[docNo] = questionId;
+        docLengths[docNo] = length;
+        live.set(docNo);
+        docNoById.put(questionId, docNo);
+        liveCount++;
+        liveLength += length;
+        for (Map.Entry<String, Integer> entry : termFreqs.entrySet()) {
+            terms.computeIfAbsent(entry.getKey(), k -> new Postings()).add(docNo, entry.getValue());
+        }
+    }
+
+    public void remove(long questionId) {
+        Integer docNo = docNoById.remove(questionId);
+        if (docNo == null) {
+            return;
+        }
+        live.clear(docNo);
+        liveCount--;
+        liveLength -= docLengths[docNo];
+        int garbage = nextDocNo - liveCount;
+        if (garbage > MIN_COMPACT_GARBAGE && garbage > liveCount) {
+            compact();
+        }
+    }
+
+    public int size() {
+        return liveCount;
+    }
+
+    public List<SearchHit> search(List<String> clauses) {
+        if (clauses.isEmpty() || liveCount == 0) {
+            return Collections.emptyList();
+        }
+        List<List<Postings>> expanded = new ArrayList<>(clauses.size());
+        for (String clause : clauses) {
+            List<Postings> lists = expand(clause);
+            if (lists.isEmpty()) {
+                return Collections.emptyList();
+            }
+            expanded.add(lists);
+        }
+        expanded.sort((a, b) -> Integer.compare(totalSize(a), totalSize(b)));
+
+        double avgLength = Math.max(1.0, (double) liveLength / liveCount);
+        double[] scores = new double[nextDocNo];
+        int[] matched = new int[nextDocNo];
+        for (int c = 0; c < expanded.size(); c++) {
+            for (Postings postings : expanded.get(c)) {
+                double idf = Math.log(1.0 + (liveCount - postings.size + 0.5) / (postings.size + 0.5));
+                for (int i = 0; i < postings.size; i++) {
+                    int docNo = postings.docs[i];
+                    if (matched[docNo] == c && live.get(docNo)) {
+                        matched[docNo] = c + 1;
+                    } else if (matched[docNo] != c + 1) {
+                        continue;
+                    }
+                    int tf = postings.freqs[i];
+                    double norm = K1 * (1 - B + B * docLengths[docNo] / avgLength);
+                    scores[docNo] += idf * tf * (K1 + 1) / (tf + norm);
+                }
+            }
+        }
+
+        List<SearchHit> hits = new ArrayList<>();
+        int required = expanded.size();
+        for (int docNo = 0; docNo < nextDocNo; docNo++) {
+            if (matched[docNo] == required) {
+                SearchHit hit = new SearchHit();
+                hit.setQuestionId(docIds[docNo]);
+                hit.setScore(scores[docNo]);
+                hits.add(hit);
+            }
+        }
+        hits.sort((a, b) -> {
+            int byScore = Double.compare(b.getScore(), a.getScore());
+            return byScore != 0 ? byScore : Long.compare(b.getQuestionId(), a.getQuestionId());
+        });
+        return hits;
+    }
+
+    private List<Postings> expand(String clause) {
+        if (CjkBigramTokenizer.isCjk(clause.codePointAt(0))) {
+            Postings postings = terms.get(clause);
+            return postings == null ? Collections.emptyList() : List.of(postings);
+        }
+        List<Postings> lists = new ArrayList<>();
+        Postings exact = terms.get(clause);
+        if (exact != null) {
+            lists.add(exact);
+        }
+        Iterator<Map.Entry<String, Postings>> it = terms.subMap(clause, false, clause + Character.MAX_VALUE, true)
+                .entrySet().iterator();
+        while (it.hasNext() && lists.size() < MAX_PREFIX_EXPANSION) {
+            lists.add(it.next().getValue());
+        }
+        return lists;
+    }
+
+    private int totalSize(Collection<Postings> lists) {
+        int total = 0;
+        for (Postings postings : lists) {
+            total += postings.size;
+        }
+        return total;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > docIds.length) {
+            int next = Math.max(capacity, docIds.length * 2);
+            docIds = Arrays.copyOf(docIds, next);
+            docLengths = Arrays.copyOf(docLengths, next);
+        }
+    }
+
+    private void compact() {
+        int[] remap = new int[nextDocNo];
+        int count = 0;
+        for (int docNo = 0; docNo < nextDocNo; docNo++) {
+            if (live.get(docNo)) {
+                remap[docNo] = count;
+                docIds[count] = docIds[docNo];
+                docLengths[count] = docLengths[docNo];
+                docNoById.put(docIds[count], count);
+                count++;
+            } else {
+                remap[docNo] = -1;
+            }
+        }
+        Iterator<Postings> it = terms.values().iterator();
+        while (it.hasNext()) {
+            Postings postings = it.next();
+            postings.retain(remap);
+            if (postings.size == 0) {
+                it.remove();
+            }
+        }
+        live.clear();
+        live.set(0, count);
+        nextDocNo = count;
+    }
+
+    private static final class Postings {
+
+        private int[] docs = new int[4];
+        private int[] freqs = new int[4];
+        private int size;
+
+        private void add(int docNo, int freq) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                freqs = Arrays.copyOf(freqs, size * 2);
+            }
+            docs[size] = docNo;
+            freqs[size] = freq;
+            size++;
+        }
+
+        private void retain(int[] remap) {
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                int target = remap[docs[i]];
+                if (target >= 0) {
+                    docs[kept] = target;
+                    freqs[kept] = freqs[i];
+                    kept++;
+                }
+            }
+            size = kept;
+            if (docs.length > 16 && size < docs.length / 4) {
+                docs = Arrays.copyOf(docs, Math.max(4, size * 2));
+                freqs = Arrays.copyOf(freqs, Math.max(4, size * 2));
+            }
+        }
+    }
+}
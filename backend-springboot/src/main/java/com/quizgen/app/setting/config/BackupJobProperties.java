@@ -12,6 +12,7 @@ public class BackupJobProperties {
     private int retentionHours = 72;
     private int maxFinishedKeep = 200;
     private int staleProcessingMinutes = 30;
+    private int sweepIntervalSeconds = 60;
 
     public int getMaxRetries() { return Math.max(0, maxRetries); }
     public void setMaxRetries(int maxRetries) { this.maxRetries = maxRetries; }
@@ -27,4 +28,7 @@ public class BackupJobProperties {
 
     public int getStaleProcessingMinutes() { return Math.max(5, staleProcessingMinutes); }
     public void setStaleProcessingMinutes(int staleProcessingMinutes) { this.staleProcessingMinutes = staleProcessingMinutes; }
+
+    public int getSweepIntervalSeconds() { return Math.max(5, sweepIntervalSeconds); }
+    public void setSweepIntervalSeconds(int sweepIntervalSeconds) { this.sweepIntervalSeconds = sweepIntervalSeconds; }
 }
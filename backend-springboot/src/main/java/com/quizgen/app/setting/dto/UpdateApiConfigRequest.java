@@ -8,6 +8,8 @@ public class UpdateApiConfigRequest {
     private String model;
     private Integer chunk_size;
     private Integer max_tokens;
+    private Integer rpm_limit;
+    private Integer tpm_limit;
     private Boolean enabled;
 
     public String getName() { return name; }
@@ -22,6 +24,10 @@ public class UpdateApiConfigRequest {
     public void setChunk_size(Integer chunk_size) { this.chunk_size = chunk_size; }
     public Integer getMax_tokens() { return max_tokens; }
     public void setMax_tokens(Integer max_tokens) { this.max_tokens = max_tokens; }
+    public Integer getRpm_limit() { return rpm_limit; }
+    public void setRpm_limit(Integer rpm_limit) { this.rpm_limit = rpm_limit; }
+    public Integer getTpm_limit() { return tpm_limit; }
+    public void setTpm_limit(Integer tpm_limit) { this.tpm_limit = tpm_limit; }
     public Boolean getEnabled() { return enabled; }
     public void setEnabled(Boolean enabled) { this.enabled = enabled; }
 }
@@ -32,6 +32,12 @@ public class ApiConfig {
     @TableField("max_tokens")
     private Integer maxTokens;
 
+    @TableField("rpm_limit")
+    private Integer rpmLimit;
+
+    @TableField("tpm_limit")
+    private Integer tpmLimit;
+
     private Boolean enabled;
 
     @TableField("updated_at")
@@ -53,6 +59,10 @@ public class ApiConfig {
     public void setChunkSize(Integer chunkSize) { this.chunkSize = chunkSize; }
     public Integer getMaxTokens() { return maxTokens; }
     public void setMaxTokens(Integer maxTokens) { this.maxTokens = maxTokens; }
+    public Integer getRpmLimit() { return rpmLimit; }
+    public void setRpmLimit(Integer rpmLimit) { this.rpmLimit = rpmLimit; }
+    public Integer getTpmLimit() { return tpmLimit; }
+    public void setTpmLimit(Integer tpmLimit) { this.tpmLimit = tpmLimit; }
     public Boolean getEnabled() { return enabled; }
     public void setEnabled(Boolean enabled) { this.enabled = enabled; }
     public LocalDateTime getUpdatedAt() { return updatedAt; }
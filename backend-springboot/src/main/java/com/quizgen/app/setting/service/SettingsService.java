@@ -1,5 +1,6 @@
 package com.quizgen.app.setting.service;
 
+import com.quizgen.app.common.job.SweepResult;
 import com.quizgen.app.setting.dto.UpdateApiConfigRequest;
 
 import java.util.List;
@@ -28,4 +29,6 @@ public interface SettingsService {
     Map<String, Object> updateDataPath(String path);
 
     List<Map<String, Object>> getBackupFiles();
+
+    SweepResult sweepBackupJobs();
 }
@@ -6,7 +6,14 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.quizgen.app.common.config.ExecutorConfig;
 import com.quizgen.app.common.error.BusinessException;
+import com.quizgen.app.common.job.SweepResult;
+import com.quizgen.app.question.support.NearDuplicateDetector;
+import com.quizgen.app.question.support.QuestionBitmapIndex;
+import com.quizgen.app.question.support.QuestionTextHashBackfill;
+import com.quizgen.app.question.support.TagDictionary;
+import com.quizgen.app.search.service.QuestionSearchService;
 import com.quizgen.app.setting.config.BackupJobProperties;
 import com.quizgen.app.setting.dto.UpdateApiConfigRequest;
 import com.quizgen.app.setting.entity.ApiConfig;
@@ -16,6 +23,7 @@ import com.quizgen.app.setting.mapper.ApiConfigMapper;
 import com.quizgen.app.setting.mapper.AppSettingMapper;
 import com.quizgen.app.setting.mapper.BackupJobMapper;
 import com.quizgen.app.setting.service.SettingsService;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
@@ -40,6 +48,8 @@ import java.util.Objects;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -51,6 +61,7 @@ public class SettingsServiceImpl implements SettingsService {
     private static final String BACKUP_STATUS_PROCESSING = "processing";
     private static final String BACKUP_STATUS_COMPLETED = "completed";
     private static final String BACKUP_STATUS_FAILED = "failed";
+    private static final int JOB_SWEEP_BATCH_SIZE = 500;
 
     private static final String KEY_IMPORT_MAX_CONCURRENT = "import_max_concurrent";
     private static final String KEY_IMPORT_BATCH_DELAY = "import_batch_delay";
@@ -115,6 +126,13 @@ public class SettingsServiceImpl implements SettingsService {
     private final BackupJobProperties backupJobProperties;
     private final JdbcTemplate jdbcTemplate;
     private final ObjectMapper objectMapper;
+    private final QuestionSearchService questionSearchService;
+    private final QuestionBitmapIndex questionBitmapIndex;
+    private final QuestionTextHashBackfill questionTextHashBackfill;
+    private final NearDuplicateDetector nearDuplicateDetector;
+    private final TagDictionary tagDictionary;
+    private final Executor backupJobExecutor;
+    private final Executor backgroundExecutor;
 
     public SettingsServiceImpl(
             ApiConfigMapper apiConfigMapper,
@@ -122,7 +140,14 @@ public class SettingsServiceImpl implements SettingsService {
             BackupJobMapper backupJobMapper,
             BackupJobProperties backupJobProperties,
             JdbcTemplate jdbcTemplate,
-            ObjectMapper objectMapper
+            ObjectMapper objectMapper,
+            QuestionSearchService questionSearchService,
+            QuestionBitmapIndex questionBitmapIndex,
+            QuestionTextHashBackfill questionTextHashBackfill,
+            NearDuplicateDetector nearDuplicateDetector,
+            TagDictionary tagDictionary,
+            @Qualifier(ExecutorConfig.BACKUP_JOB_EXECUTOR) Executor backupJobExecutor,
+            @Qualifier(ExecutorConfig.BACKGROUND_EXECUTOR) Executor backgroundExecutor
     ) {
         this.apiConfigMapper = apiConfigMapper;
         this.appSettingMapper = appSettingMapper;
@@ -130,6 +155,13 @@ public class SettingsServiceImpl implements SettingsService {
         this.backupJobProperties = backupJobProperties;
         this.jdbcTemplate = jdbcTemplate;
         this.objectMapper = objectMapper;
+        this.questionSearchService = questionSearchService;
+        this.questionBitmapIndex = questionBitmapIndex;
+        this.questionTextHashBackfill = questionTextHashBackfill;
+        this.nearDuplicateDetector = nearDuplicateDetector;
+        this.tagDictionary = tagDictionary;
+        this.backupJobExecutor = backupJobExecutor;
+        this.backgroundExecutor = backgroundExecutor;
     }
 
     @Override
@@ -205,6 +237,12 @@ public class SettingsServiceImpl implements SettingsService {
             if (request.getMax_tokens() != null) {
                 config.setMaxTokens(Math.max(1, request.getMax_tokens()));
             }
+            if (request.getRpm_limit() != null) {
+                config.setRpmLimit(Math.max(0, request.getRpm_limit()));
+            }
+            if (request.getTpm_limit() != null) {
+                config.setTpmLimit(Math.max(0, request.getTpm_limit()));
+            }
             if (request.getEnabled() != null) {
                 config.setEnabled(request.getEnabled());
             }
@@ -269,9 +307,13 @@ public class SettingsServiceImpl implements SettingsService {
     @Override
     public Map<String, Object> backupData() {
         ensureDefaults();
-        cleanupBackupJobs();
         BackupJob job = createBackupJob(BACKUP_KIND_FULL);
-        CompletableFuture.runAsync(() -> runBackupJob(job.getId()));
+        try {
+            CompletableFuture.runAsync(() -> runBackupJob(job.getId()), backupJobExecutor);
+        } catch (RejectedExecutionException ex) {
+            markBackupJobFailed(job.getId(), 0, "backup queue is full");
+            throw new BusinessException(50071, "too many backups in progress, please retry later");
+        }
 
         Map<String, Object> response = new LinkedHashMap<>();
         response.put("jobNo", job.getJobNo());
@@ -283,7 +325,6 @@ public class SettingsServiceImpl implements SettingsService {
 
     @Override
     public Map<String, Object> getBackupJobStatus(String jobNo) {
-        cleanupBackupJobs();
         if (!StringUtils.hasText(jobNo)) {
             throw new BusinessException(40064, "jobNo is required");
         }
@@ -343,6 +384,18 @@ public class SettingsServiceImpl implements SettingsService {
         } finally {
             jdbcTemplate.execute("SET FOREIGN_KEY_CHECKS=1");
         }
+        tagDictionary.recountUsage();
+        tagDictionary.reload();
+        try {
+            CompletableFuture.runAsync(() -> {
+                questionSearchService.rebuild();
+                questionBitmapIndex.rebuild();
+                questionTextHashBackfill.backfill();
+                nearDuplicateDetector.rebuild();
+            }, backgroundExecutor);
+        } catch (RejectedExecutionException ex) {
+            throw new BusinessException(50037, "backup restored but the index rebuild queue is full, please retry the restore later");
+        }
 
         Map<String, Object> stats = new LinkedHashMap<>();
         for (String table : BACKUP_TABLES) {
@@ -376,7 +429,6 @@ public class SettingsServiceImpl implements SettingsService {
 
     @Override
     public List<Map<String, Object>> getBackupFiles() {
-        cleanupBackupJobs();
         Path backupDir = resolveBackupDir();
         try {
             Files.createDirectories(backupDir);
@@ -396,6 +448,59 @@ public class SettingsServiceImpl implements SettingsService {
         }
     }
 
+    @Override
+    public SweepResult sweepBackupJobs() {
+        LocalDateTime staleAt = LocalDateTime.now().minus(backupJobProperties.getStaleProcessingMinutes(), ChronoUnit.MINUTES);
+        int timedOut = 0;
+        while (true) {
+            List<BackupJob> staleJobs = backupJobMapper.selectList(
+                    new LambdaQueryWrapper<BackupJob>()
+                            .select(BackupJob::getId, BackupJob::getRetryCount)
+                            .eq(BackupJob::getStatus, BACKUP_STATUS_PROCESSING)
+                            .lt(BackupJob::getStartedAt, staleAt)
+                            .last("LIMIT " + JOB_SWEEP_BATCH_SIZE)
+            );
+            if (staleJobs.isEmpty()) {
+                break;
+            }
+            for (BackupJob staleJob : staleJobs) {
+                markBackupJobFailed(staleJob.getId(), valueOrZero(staleJob.getRetryCount()), "backup job timeout");
+            }
+            timedOut += staleJobs.size();
+        }
+
+        LocalDateTime cutoff = LocalDateTime.now().minusHours(backupJobProperties.getRetentionHours());
+        int expired = deleteBackupJobBatches(
+                new LambdaQueryWrapper<BackupJob>()
+                        .select(BackupJob::getId)
+                        .in(BackupJob::getStatus, List.of(BACKUP_STATUS_COMPLETED, BACKUP_STATUS_FAILED))
+                        .and(w -> w.lt(BackupJob::getEndedAt, cutoff)
+                                .or(o -> o.isNull(BackupJob::getEndedAt).lt(BackupJob::getCreatedAt, cutoff)))
+                        .last("LIMIT " + JOB_SWEEP_BATCH_SIZE)
+        );
+        int trimmed = deleteBackupJobBatches(
+                new LambdaQueryWrapper<BackupJob>()
+                        .select(BackupJob::getId)
+                        .in(BackupJob::getStatus, List.of(BACKUP_STATUS_COMPLETED, BACKUP_STATUS_FAILED))
+                        .orderByDesc(BackupJob::getCreatedAt)
+                        .orderByDesc(BackupJob::getId)
+                        .last("LIMIT " + JOB_SWEEP_BATCH_SIZE + " OFFSET " + backupJobProperties.getMaxFinishedKeep())
+        );
+        return new SweepResult(timedOut, expired, trimmed);
+    }
+
+    private int deleteBackupJobBatches(LambdaQueryWrapper<BackupJob> query) {
+        int deleted = 0;
+        while (true) {
+            List<Long> ids = backupJobMapper.selectList(query).stream().map(BackupJob::getId).toList();
+            if (ids.isEmpty()) {
+                return deleted;
+            }
+            backupJobMapper.deleteBatchIds(ids);
+            deleted += ids.size();
+        }
+    }
+
     private BackupJob createBackupJob(String kind) {
         LocalDateTime now = LocalDateTime.now();
         BackupJob job = new BackupJob();
@@ -419,7 +524,6 @@ public class SettingsServiceImpl implements SettingsService {
                 BackupBuildResult backup = createBackupFile("quiz_app_backup_");
                 String filename = String.valueOf(backup.backupInfo.getOrDefault("filename", ""));
                 markBackupJobCompleted(jobId, filename, attempt);
-                cleanupBackupJobs();
                 return;
             } catch (Exception ex) {
                 if (attempt < maxRetries) {
@@ -430,7 +534,6 @@ public class SettingsServiceImpl implements SettingsService {
                 }
             }
         }
-        cleanupBackupJobs();
     }
 
     private void markBackupJobRetrying(Long jobId, int retryCount, String errorMessage) {
@@ -468,57 +571,6 @@ public class SettingsServiceImpl implements SettingsService {
         backupJobMapper.updateById(job);
     }
 
-    private void cleanupBackupJobs() {
-        markStaleProcessingBackupJobsFailed();
-        cleanupExpiredFinishedBackupJobs();
-        cleanupOverflowBackupJobs();
-    }
-
-    private void markStaleProcessingBackupJobsFailed() {
-        LocalDateTime staleAt = LocalDateTime.now().minus(backupJobProperties.getStaleProcessingMinutes(), ChronoUnit.MINUTES);
-        List<BackupJob> staleJobs = backupJobMapper.selectList(
-                new LambdaQueryWrapper<BackupJob>()
-                        .eq(BackupJob::getStatus, BACKUP_STATUS_PROCESSING)
-                        .lt(BackupJob::getStartedAt, staleAt)
-        );
-        for (BackupJob staleJob : staleJobs) {
-            markBackupJobFailed(staleJob.getId(), valueOrZero(staleJob.getRetryCount()), "backup job timeout");
-        }
-    }
-
-    private void cleanupExpiredFinishedBackupJobs() {
-        LocalDateTime cutoff = LocalDateTime.now().minusHours(backupJobProperties.getRetentionHours());
-        List<BackupJob> finishedJobs = backupJobMapper.selectList(
-                new LambdaQueryWrapper<BackupJob>()
-                        .in(BackupJob::getStatus, List.of(BACKUP_STATUS_COMPLETED, BACKUP_STATUS_FAILED))
-        );
-        List<Long> removeIds = finishedJobs.stream()
-                .filter(job -> {
-                    LocalDateTime time = job.getEndedAt() != null ? job.getEndedAt() : job.getCreatedAt();
-                    return time != null && time.isBefore(cutoff);
-                })
-                .map(BackupJob::getId)
-                .toList();
-        if (!removeIds.isEmpty()) {
-            backupJobMapper.delete(new LambdaQueryWrapper<BackupJob>().in(BackupJob::getId, removeIds));
-        }
-    }
-
-    private void cleanupOverflowBackupJobs() {
-        List<BackupJob> finishedJobs = backupJobMapper.selectList(
-                new QueryWrapper<BackupJob>()
-                        .in("status", List.of(BACKUP_STATUS_COMPLETED, BACKUP_STATUS_FAILED))
-                        .orderByDesc("created_at")
-                        .orderByDesc("id")
-        );
-        int keep = backupJobProperties.getMaxFinishedKeep();
-        if (finishedJobs.size() <= keep) {
-            return;
-        }
-        List<Long> removeIds = finishedJobs.subList(keep, finishedJobs.size()).stream().map(BackupJob::getId).toList();
-        backupJobMapper.delete(new LambdaQueryWrapper<BackupJob>().in(BackupJob::getId, removeIds));
-    }
-
     private Map<String, Object> resolveBackupInfo(String filename) {
         Path path = resolveBackupDir().resolve(filename);
         Map<String, Object> info = new LinkedHashMap<>();
@@ -645,6 +697,8 @@ public class SettingsServiceImpl implements SettingsService {
         item.put("model", config.getModel());
         item.put("chunk_size", config.getChunkSize());
         item.put("max_tokens", config.getMaxTokens());
+        item.put("rpm_limit", config.getRpmLimit());
+        item.put("tpm_limit", config.getTpmLimit());
         item.put("enabled", config.getEnabled());
         return item;
     }
@@ -0,0 +1,13 @@
+ALTER TABLE import_job
+  ADD COLUMN inserted_count INT NOT NULL DEFAULT 0;
+
+ALTER TABLE import_job_item
+  ADD COLUMN inserted_count INT NOT NULL DEFAULT 0;
+
+UPDATE import_job_item
+SET inserted_count = COALESCE(CAST(JSON_UNQUOTE(JSON_EXTRACT(result_json, '$.insertedCount')) AS SIGNED), 0)
+WHERE result_json IS NOT NULL;
+
+UPDATE import_job j
+  LEFT JOIN (SELECT job_id, SUM(inserted_count) AS c FROM import_job_item GROUP BY job_id) i ON i.job_id = j.id
+SET j.inserted_count = COALESCE(i.c, 0);
@@ -0,0 +1,5 @@
+CREATE INDEX idx_import_job_status_started_at ON import_job (status, started_at);
+CREATE INDEX idx_import_job_status_ended_at ON import_job (status, ended_at);
+CREATE INDEX idx_backup_job_status_started_at ON backup_job (status, started_at);
+CREATE INDEX idx_backup_job_status_ended_at ON backup_job (status, ended_at);
+CREATE INDEX idx_maintenance_job_status_ended_at ON maintenance_job (status, ended_at);
@@ -0,0 +1,14 @@
+ALTER TABLE import_job
+  ADD COLUMN bank_id VARCHAR(64) NULL,
+  ADD COLUMN skip_near_duplicates TINYINT(1) NOT NULL DEFAULT 0,
+  ADD COLUMN force_refresh TINYINT(1) NOT NULL DEFAULT 0,
+  ADD COLUMN lease_owner VARCHAR(64) NULL,
+  ADD COLUMN lease_expires_at DATETIME NULL;
+
+ALTER TABLE import_job_item
+  ADD COLUMN chunk_text LONGTEXT NULL,
+  ADD COLUMN chunk_hash CHAR(64) NULL,
+  ADD COLUMN attempts INT NOT NULL DEFAULT 0,
+  ADD COLUMN updated_at DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP;
+
+CREATE INDEX idx_import_job_status_lease ON import_job (status, lease_expires_at);
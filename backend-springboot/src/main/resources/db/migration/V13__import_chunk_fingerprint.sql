@@ -0,0 +1,12 @@
+CREATE TABLE IF NOT EXISTS import_chunk_fingerprint (
+  fingerprint CHAR(64) PRIMARY KEY,
+  exact_hash CHAR(64) NOT NULL,
+  question_codes LONGTEXT NOT NULL,
+  job_id BIGINT NULL,
+  hit_count INT NOT NULL DEFAULT 0,
+  created_at DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP,
+  last_hit_at DATETIME NULL
+);
+
+ALTER TABLE import_job
+  ADD COLUMN skipped_chunks INT NOT NULL DEFAULT 0;
@@ -0,0 +1,3 @@
+CREATE INDEX idx_question_created_at_id ON question (created_at, id);
+CREATE INDEX idx_user_answer_answered_at_id ON user_answer (answered_at, id);
+CREATE INDEX idx_note_updated_at_id ON note (updated_at, id);
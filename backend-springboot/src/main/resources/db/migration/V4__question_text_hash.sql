@@ -0,0 +1,4 @@
+ALTER TABLE question
+  ADD COLUMN text_hash CHAR(64) NULL AFTER text;
+
+CREATE INDEX idx_question_text_hash ON question (text_hash);
@@ -0,0 +1,14 @@
+CREATE TABLE IF NOT EXISTS maintenance_job (
+  id BIGINT PRIMARY KEY AUTO_INCREMENT,
+  job_no VARCHAR(64) NOT NULL UNIQUE,
+  kind VARCHAR(32) NOT NULL,
+  status VARCHAR(16) NOT NULL,
+  total_count BIGINT NOT NULL DEFAULT 0,
+  processed_count BIGINT NOT NULL DEFAULT 0,
+  error_message TEXT NULL,
+  started_at DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP,
+  ended_at DATETIME NULL,
+  updated_at DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP
+);
+
+CREATE INDEX idx_maintenance_job_status_started_at ON maintenance_job (status, started_at);
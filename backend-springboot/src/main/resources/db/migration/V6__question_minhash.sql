@@ -0,0 +1,11 @@
+CREATE TABLE IF NOT EXISTS question_minhash (
+  question_id BIGINT PRIMARY KEY,
+  signature VARBINARY(128) NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS question_minhash_band (
+  band_key BIGINT NOT NULL,
+  question_id BIGINT NOT NULL,
+  PRIMARY KEY (band_key, question_id),
+  KEY idx_question_minhash_band_question (question_id)
+);
@@ -0,0 +1,6 @@
+ALTER TABLE question_tag
+  ADD COLUMN usage_count INT NOT NULL DEFAULT 0;
+
+UPDATE question_tag t
+  LEFT JOIN (SELECT tag_id, COUNT(*) AS c FROM question_tag_rel GROUP BY tag_id) r ON r.tag_id = t.id
+SET t.usage_count = COALESCE(r.c, 0);
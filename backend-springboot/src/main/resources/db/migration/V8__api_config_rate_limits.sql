@@ -0,0 +1,3 @@
+ALTER TABLE api_config
+  ADD COLUMN rpm_limit INT NULL,
+  ADD COLUMN tpm_limit INT NULL;
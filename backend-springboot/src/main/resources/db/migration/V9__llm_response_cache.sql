@@ -0,0 +1,11 @@
+CREATE TABLE IF NOT EXISTS llm_response_cache (
+  cache_key CHAR(64) PRIMARY KEY,
+  model VARCHAR(128) NULL,
+  content LONGTEXT NOT NULL,
+  prompt_tokens INT NOT NULL DEFAULT 0,
+  completion_tokens INT NOT NULL DEFAULT 0,
+  created_at DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP,
+  expires_at DATETIME NOT NULL
+);
+
+CREATE INDEX idx_llm_response_cache_expires_at ON llm_response_cache (expires_at);
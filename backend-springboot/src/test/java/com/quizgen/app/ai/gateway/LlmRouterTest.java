@@ -0,0 +1,202 @@
+package com.quizgen.app.ai.gateway;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.quizgen.app.ai.config.LlmGatewayProperties;
+import com.quizgen.app.ai.config.LlmRouterProperties;
+import com.quizgen.app.setting.entity.ApiConfig;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LlmRouterTest {
+
+    private static final String BODY = "{\"model\":\"mock\",\"choices\":[{\"message\":{\"content\":\"ok\"}}],"
+            + "\"usage\":{\"prompt_tokens\":3,\"completion_tokens\":1}}";
+
+    private static final String STREAM_BODY = "data: {\"model\":\"mock\",\"choices\":[{\"delta\":{\"content\":\"ok\"}}]}\n\n"
+            + "data: [DONE]\n\n";
+
+    private final List<MockProvider> providers = new ArrayList<>();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @AfterEach
+    void tearDown() {
+        providers.forEach(MockProvider::stop);
+    }
+
+    @Test
+    void hedgingCutsTailLatencyOfSlowProvider() throws IOException {
+        LlmRouterProperties properties = new LlmRouterProperties();
+        properties.setHedgePercentile(80);
+        properties.setHedgeMinDelayMs(50);
+        LlmRouter router = router(properties);
+        List<ApiConfig> configs = List.of(
+                config(1L, provider(5, 300, 10).url()),
+                config(2L, provider(5, 300, 10).url()));
+        ChatRequest request = ChatRequest.of("system", "user");
+
+        for (int i = 0; i < 60; i++) {
+            router.chat(configs, request, false);
+        }
+        long unhedged = p95(configs, router, request, false);
+        long hedged = p95(configs, router, request, true);
+
+        assertTrue(hedged * 2 < unhedged, "p95 without hedging " + unhedged + "ms, with hedging " + hedged + "ms");
+    }
+
+    @Test
+    void opensCircuitAndFailsOverAfterRepeatedFailures() throws IOException {
+        MockProvider flaky = provider(1, 1, 0);
+        MockProvider steady = provider(100, 100, 0);
+        List<ApiConfig> configs = List.of(config(1L, flaky.url()), config(2L, steady.url()));
+        ChatRequest request = ChatRequest.of("system", "user");
+        LlmRouter router = router(new LlmRouterProperties());
+
+        for (int i = 0; i < 30; i++) {
+            router.chat(configs, request, false);
+        }
+        assertEquals(1L, router.rank(configs).get(0).getId());
+        flaky.failing.set(true);
+        int before = flaky.hits.get();
+        for (int i = 0; i < 20; i++) {
+            assertEquals(2L, router.chat(configs, request, false).getConfigId());
+        }
+
+        assertEquals(5, flaky.hits.get() - before);
+        assertEquals(2L, router.rank(configs).get(0).getId());
+        assertEquals(1, router.rank(configs).size());
+    }
+
+    @Test
+    void keepsPreferredConfigFirstAndSpillsOverWhenItIsRateLimited() throws IOException {
+        MockProvider slowPreferred = provider(50, 50, 0);
+        MockProvider fast = provider(1, 1, 0);
+        ApiConfig preferred = config(1L, slowPreferred.url());
+        preferred.setRpmLimit(3);
+        List<ApiConfig> configs = List.of(preferred, config(2L, fast.url()));
+        ChatRequest request = ChatRequest.of("system", "user");
+        LlmRouter router = router(new LlmRouterProperties());
+
+        for (int i = 0; i < 8; i++) {
+            router.chat(configs, request, false);
+        }
+
+        assertEquals(1L, router.rank(configs).get(0).getId());
+        assertEquals(3, slowPreferred.hits.get());
+        assertEquals(5, fast.hits.get());
+    }
+
+    @Test
+    void hedgesStreamWhenFirstDeltaIsLateAndForwardsOnlyTheWinner() throws IOException {
+        LlmRouterProperties properties = new LlmRouterProperties();
+        properties.setHedgeMinDelayMs(50);
+        LlmRouter router = router(properties);
+        MockProvider stalled = provider(5, 3000, 0);
+        List<ApiConfig> configs = List.of(config(1L, stalled.url()), config(2L, provider(5, 5, 0).url()));
+        ChatRequest request = ChatRequest.of("system", "user");
+
+        for (int i = 0; i < 30; i++) {
+            router.stream(configs, request, true, delta -> {
+            }).join();
+        }
+        stalled.stalled.set(true);
+        StringBuilder deltas = new StringBuilder();
+        long start = System.nanoTime();
+        ChatResult result = router.stream(configs, request, true, deltas::append).join();
+        long elapsed = (System.nanoTime() - start) / 1_000_000L;
+
+        assertEquals(2L, result.getConfigId());
+        assertEquals("ok", deltas.toString());
+        assertTrue(elapsed < 1000, "hedged stream took " + elapsed + "ms");
+        assertEquals(1.0, registry.counter("llm.router.hedges", "outcome", "backup_won").count());
+    }
+
+    private long p95(List<ApiConfig> configs, LlmRouter router, ChatRequest request, boolean hedge) {
+        long[] latencies = new long[100];
+        for (int i = 0; i < latencies.length; i++) {
+            long start = System.nanoTime();
+            router.chat(configs, request, hedge);
+            latencies[i] = (System.nanoTime() - start) / 1_000_000L;
+        }
+        Arrays.sort(latencies);
+        return latencies[94];
+    }
+
+    private LlmRouter router(LlmRouterProperties properties) {
+        LlmGateway gateway = new LlmGateway(new ObjectMapper(), registry, new LlmGatewayProperties());
+        return new LlmRouter(gateway, registry, properties);
+    }
+
+    private ApiConfig config(Long id, String url) {
+        ApiConfig config = new ApiConfig();
+        config.setId(id);
+        config.setName("mock-" + id);
+        config.setApiUrl(url);
+        config.setApiKeyCipher("test-key");
+        config.setModel("mock");
+        config.setEnabled(true);
+        return config;
+    }
+
+    private MockProvider provider(long fastMillis, long slowMillis, int slowEvery) throws IOException {
+        MockProvider provider = new MockProvider(fastMillis, slowMillis, slowEvery);
+        providers.add(provider);
+        return provider;
+    }
+
+    private static final class MockProvider {
+
+        private final HttpServer server;
+        private final ExecutorService executor = Executors.newCachedThreadPool();
+        private final AtomicInteger hits = new AtomicInteger();
+        private final AtomicBoolean failing = new AtomicBoolean();
+        private final AtomicBoolean stalled = new AtomicBoolean();
+
+        private MockProvider(long fastMillis, long slowMillis, int slowEvery) throws IOException {
+            server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+            server.createContext("/v1/chat/completions", exchange -> {
+                int hit = hits.incrementAndGet();
+                boolean stream = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8).contains("\"stream\":true");
+                try {
+                    Thread.sleep(stalled.get() || (slowEvery > 0 && hit % slowEvery == 0) ? slowMillis : fastMillis);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+                int status = failing.get() ? 500 : 200;
+                byte[] body = (failing.get() ? "{\"error\":\"down\"}" : stream ? STREAM_BODY : BODY).getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().add("Content-Type", stream ? "text/event-stream" : "application/json");
+                exchange.sendResponseHeaders(status, body.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(body);
+                }
+            });
+            server.setExecutor(executor);
+            server.start();
+        }
+
+        private String url() {
+            return "http://127.0.0.1:" + server.getAddress().getPort() + "/v1/chat/completions";
+        }
+
+        private void stop() {
+            server.stop(0);
+            executor.shutdownNow();
+        }
+    }
+}
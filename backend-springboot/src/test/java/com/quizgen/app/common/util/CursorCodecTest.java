@@ -0,0 +1,88 @@
+package com.quizgen.app.common.util;
+
+import com.quizgen.app.common.error.BusinessException;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CursorCodecTest {
+
+    @Test
+    void roundTripsTimeCursors() {
+        Object[][] cases = {
+                {LocalDateTime.of(2024, 1, 2, 3, 4, 5), 1L},
+                {LocalDateTime.of(2024, 1, 2, 3, 4), 42L},
+                {LocalDateTime.of(2024, 12, 31, 23, 59, 59, 123_456_789), Long.MAX_VALUE},
+                {LocalDateTime.of(1999, 6, 1, 0, 0), 0L},
+        };
+        for (Object[] c : cases) {
+            String cursor = CursorCodec.encode((LocalDateTime) c[0], (Long) c[1]);
+            CursorCodec.Cursor decoded = CursorCodec.decode(cursor);
+
+            assertUrlSafe(cursor);
+            assertEquals(c[0], decoded.getTime(), cursor);
+            assertEquals(c[1], decoded.getId(), cursor);
+        }
+    }
+
+    @Test
+    void roundTripsIdCursors() {
+        long[] cases = {0L, 1L, 987_654_321L, Long.MAX_VALUE};
+        for (long id : cases) {
+            String cursor = CursorCodec.encodeId(id);
+
+            assertUrlSafe(cursor);
+            assertEquals(id, CursorCodec.decodeId(cursor));
+            assertEquals(id, CursorCodec.decodeId(" " + cursor + " "));
+        }
+    }
+
+    @Test
+    void treatsBlankCursorsAsFirstPage() {
+        assertNull(CursorCodec.decode(null));
+        assertNull(CursorCodec.decode(" "));
+        assertNull(CursorCodec.decodeId(null));
+        assertNull(CursorCodec.decodeId(""));
+    }
+
+    @Test
+    void rejectsGarbageAndMismatchedCursors() {
+        String[] timeCases = {
+                "!!!",
+                "not a cursor",
+                base64("2024-01-02T03:04:05"),
+                base64("2024-01-02T03:04:05|x"),
+                base64("yesterday|7"),
+                CursorCodec.encodeId(7L),
+        };
+        for (String c : timeCases) {
+            assertEquals(40007, assertThrows(BusinessException.class, () -> CursorCodec.decode(c), c).getCode(), c);
+        }
+        String[] idCases = {
+                "%%%",
+                base64("7"),
+                base64("id:"),
+                base64("id:seven"),
+                base64("ID:7"),
+                CursorCodec.encode(LocalDateTime.of(2024, 1, 2, 3, 4, 5), 7L),
+        };
+        for (String c : idCases) {
+            assertEquals(40007, assertThrows(BusinessException.class, () -> CursorCodec.decodeId(c), c).getCode(), c);
+        }
+    }
+
+    private static void assertUrlSafe(String cursor) {
+        assertTrue(cursor.chars().noneMatch(ch -> ch == '+' || ch == '/' || ch == '='), cursor);
+    }
+
+    private static String base64(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,33 @@
+package com.quizgen.app.common.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TokenBucketTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    void startsFullAndRefillsAtConfiguredRate() {
+        TokenBucket bucket = new TokenBucket(60, 0);
+
+        assertEquals(0, bucket.waitNanos(60, 0));
+        bucket.take(60);
+        assertEquals(SECOND, bucket.waitNanos(1, 0), 1);
+        assertEquals(SECOND / 2, bucket.waitNanos(1, SECOND / 2), 1);
+        assertEquals(0, bucket.waitNanos(1, SECOND + 1));
+    }
+
+    @Test
+    void capsRefillAtCapacityAndClampsOversizedRequests() {
+        TokenBucket bucket = new TokenBucket(60, 0);
+
+        assertEquals(0, bucket.waitNanos(120, 10 * 60 * SECOND));
+        bucket.take(120);
+
+        assertEquals(120 * SECOND, bucket.waitNanos(120, 10 * 60 * SECOND), 1);
+    }
+}
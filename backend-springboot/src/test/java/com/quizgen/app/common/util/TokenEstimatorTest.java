@@ -0,0 +1,35 @@
+package com.quizgen.app.common.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TokenEstimatorTest {
+
+    @Test
+    void countsLatinWordsInFourCharacterTokens() {
+        assertEquals(1, TokenEstimator.estimate("abcd"));
+        assertEquals(2, TokenEstimator.estimate("abcde"));
+        assertEquals(4, TokenEstimator.estimate("hello world"));
+        assertEquals(3, TokenEstimator.estimate("TCP/IP"));
+    }
+
+    @Test
+    void countsEveryOtherVisibleCharacterAsOneToken() {
+        assertEquals(3, TokenEstimator.estimate("进程。"));
+        assertEquals(4, TokenEstimator.estimate("线程 A."));
+        assertEquals(1, TokenEstimator.estimate("😀"));
+        assertEquals(1, TokenEstimator.estimate("\n"));
+        assertEquals(0, TokenEstimator.estimate(" \t\r"));
+        assertEquals(0, TokenEstimator.estimate(null));
+    }
+
+    @Test
+    void estimatesSlicesIndependently() {
+        String text = "abcd进程efgh";
+
+        assertEquals(2, TokenEstimator.estimate(text, 4, 6));
+        assertEquals(TokenEstimator.estimate(text),
+                TokenEstimator.estimate(text, 0, 4) + TokenEstimator.estimate(text, 4, 6) + TokenEstimator.estimate(text, 6, text.length()));
+    }
+}
@@ -0,0 +1,149 @@
+package com.quizgen.app.question.support;
+
+import com.quizgen.app.common.error.UpstreamStatusException;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AdaptiveChunkSchedulerTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+    private final AtomicLong now = new AtomicLong();
+
+    @Test
+    void growsAdditivelyUpToMaxWhileLatencyIsSteady() throws InterruptedException {
+        AdaptiveChunkScheduler scheduler = new AdaptiveChunkScheduler(2, 4, 0, 0, now::get);
+
+        succeed(scheduler, 100, 1_000);
+        assertEquals(2, scheduler.getLimit());
+        succeed(scheduler, 100, 1_000);
+        succeed(scheduler, 100, 1_000);
+        assertEquals(3, scheduler.getLimit());
+        for (int i = 0; i < 10; i++) {
+            succeed(scheduler, 100, 1_000);
+        }
+        assertEquals(4, scheduler.getLimit());
+    }
+
+    @Test
+    void shrinksWhenLatencyPerTokenDoubles() throws InterruptedException {
+        AdaptiveChunkScheduler scheduler = new AdaptiveChunkScheduler(10, 10, 0, 0, now::get);
+
+        succeed(scheduler, 100, 1_000);
+        succeed(scheduler, 200, 2_000);
+        assertEquals(10, scheduler.getLimit());
+        succeed(scheduler, 100, 5_000);
+
+        assertEquals(8, scheduler.getLimit());
+    }
+
+    @Test
+    void halvesLimitAndPausesAfterThrottle() throws InterruptedException {
+        AdaptiveChunkScheduler scheduler = new AdaptiveChunkScheduler(8, 8, 0, 0, now::get);
+
+        scheduler.acquire(100);
+        assertThrows(UpstreamStatusException.class,
+                () -> scheduler.call(100, () -> {
+                    throw new UpstreamStatusException(50016, 429, 0, "rate limited");
+                }));
+        assertEquals(4, scheduler.getLimit());
+
+        Thread waiter = acquireInBackground(scheduler, 100, new AtomicReference<>());
+        awaitState(waiter, Thread.State.TIMED_WAITING);
+        now.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        waiter.join(TIMEOUT.toMillis());
+
+        assertEquals(Thread.State.TERMINATED, waiter.getState());
+    }
+
+    @Test
+    void waitsForTokenBudgetToRefill() throws InterruptedException {
+        AdaptiveChunkScheduler scheduler = new AdaptiveChunkScheduler(4, 4, 0, 6_000, now::get);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+
+        succeed(scheduler, 6_000, 1_000);
+        Thread waiter = acquireInBackground(scheduler, 100, failure);
+        awaitState(waiter, Thread.State.TIMED_WAITING);
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(500));
+        assertTrue(waiter.isAlive());
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(500));
+        waiter.join(TIMEOUT.toMillis());
+
+        assertEquals(Thread.State.TERMINATED, waiter.getState());
+        assertNull(failure.get());
+    }
+
+    @Test
+    void releasesPermitOnEveryOutcome() throws InterruptedException {
+        AdaptiveChunkScheduler scheduler = new AdaptiveChunkScheduler(1, 1, 0, 0, now::get);
+
+        succeed(scheduler, 10, 1_000);
+        acquire(scheduler);
+        assertThrows(UpstreamStatusException.class,
+                () -> scheduler.call(10, () -> {
+                    throw new UpstreamStatusException(50015, 400, 0, "bad request");
+                }));
+        acquire(scheduler);
+        assertThrows(IllegalStateException.class,
+                () -> scheduler.call(10, () -> {
+                    throw new IllegalStateException("parse failed");
+                }));
+        acquire(scheduler);
+        assertThrows(UpstreamStatusException.class,
+                () -> scheduler.call(10, () -> {
+                    throw new UpstreamStatusException(50016, 503, 0, "overloaded");
+                }));
+        now.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        acquire(scheduler);
+        scheduler.release();
+        acquire(scheduler);
+
+        Thread waiter = acquireInBackground(scheduler, 10, new AtomicReference<>());
+        awaitState(waiter, Thread.State.WAITING);
+        waiter.interrupt();
+        waiter.join(TIMEOUT.toMillis());
+        assertEquals(1, scheduler.getLimit());
+    }
+
+    private void succeed(AdaptiveChunkScheduler scheduler, int tokens, long latencyNanos) throws InterruptedException {
+        scheduler.acquire(tokens);
+        scheduler.call(tokens, () -> now.addAndGet(latencyNanos));
+    }
+
+    private void acquire(AdaptiveChunkScheduler scheduler) {
+        assertTimeoutPreemptively(TIMEOUT, () -> scheduler.acquire(10));
+    }
+
+    private Thread acquireInBackground(AdaptiveChunkScheduler scheduler, int tokens, AtomicReference<Throwable> failure) {
+        Thread thread = new Thread(() -> {
+            try {
+                scheduler.acquire(tokens);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            } catch (RuntimeException ex) {
+                failure.set(ex);
+            }
+        });
+        thread.setDaemon(true);
+        thread.start();
+        return thread;
+    }
+
+    private void awaitState(Thread thread, Thread.State state) throws InterruptedException {
+        long deadline = System.nanoTime() + TIMEOUT.toNanos();
+        while (thread.getState() != state) {
+            assertTrue(System.nanoTime() < deadline, "thread stayed " + thread.getState());
+            Thread.sleep(5);
+        }
+    }
+}
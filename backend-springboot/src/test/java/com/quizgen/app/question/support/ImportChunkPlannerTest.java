@@ -0,0 +1,78 @@
+package com.quizgen.app.question.support;
+
+import com.quizgen.app.common.util.TokenEstimator;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ImportChunkPlannerTest {
+
+    private static final int UNLIMITED = 100_000;
+
+    @Test
+    void packsWholeQuestionsUpToPromptBudget() {
+        List<String> blocks = questions(6);
+        int blockTokens = TokenEstimator.estimate(blocks.get(0));
+        int budget = 2 * blockTokens + TokenEstimator.estimate("\n\n");
+
+        List<String> chunks = ImportChunkPlanner.plan(String.join("\n", blocks), budget, UNLIMITED);
+
+        assertEquals(3, chunks.size());
+        for (int i = 0; i < chunks.size(); i++) {
+            assertEquals(blocks.get(2 * i) + "\n\n" + blocks.get(2 * i + 1), chunks.get(i));
+            assertTrue(TokenEstimator.estimate(chunks.get(i)) <= budget);
+        }
+    }
+
+    @Test
+    void packsByCompletionBudgetWhenItIsTighter() {
+        List<String> blocks = questions(4);
+        int completion = TokenEstimator.estimate(blocks.get(0)) + 40 + 2 * 10;
+
+        List<String> chunks = ImportChunkPlanner.plan(String.join("\n", blocks), UNLIMITED, completion + 1);
+
+        assertEquals(blocks, chunks);
+    }
+
+    @Test
+    void splitsOversizedParagraphAtSentenceEnds() {
+        String content = "进程是资源分配的基本单位。".repeat(28);
+
+        List<String> chunks = ImportChunkPlanner.plan(content, 64, UNLIMITED);
+
+        assertEquals(7, chunks.size());
+        for (String chunk : chunks) {
+            assertTrue(TokenEstimator.estimate(chunk) <= 64, chunk);
+            assertTrue(chunk.endsWith("。"), chunk);
+        }
+        assertEquals(content, String.join("", chunks));
+    }
+
+    @Test
+    void hardCutsTextWithoutBreaksAndKeepsSurrogatePairsTogether() {
+        String content = "题" + "😀".repeat(100);
+
+        List<String> chunks = ImportChunkPlanner.plan(content, 64, UNLIMITED);
+
+        assertTrue(chunks.size() > 1);
+        for (String chunk : chunks) {
+            assertTrue(TokenEstimator.estimate(chunk) <= 64, chunk);
+            assertFalse(Character.isHighSurrogate(chunk.charAt(chunk.length() - 1)), chunk);
+        }
+        assertEquals(content, String.join("", chunks).replace("\n\n", ""));
+    }
+
+    private List<String> questions(int count) {
+        List<String> blocks = new ArrayList<>();
+        for (int i = 1; i <= count; i++) {
+            blocks.add(i + ". 单选题：下列关于进程与线程的描述中，哪一项是正确的说法？请根据操作系统教材内容作答。\n"
+                    + "A. 线程是资源分配的基本单位\nB. 进程是资源分配的基本单位");
+        }
+        return blocks;
+    }
+}
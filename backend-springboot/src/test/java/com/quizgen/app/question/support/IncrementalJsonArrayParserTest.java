@@ -0,0 +1,71 @@
+package com.quizgen.app.question.support;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class IncrementalJsonArrayParserTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void emitsEachObjectAsSoonAsItCloses() {
+        List<JsonNode> nodes = new ArrayList<>();
+        IncrementalJsonArrayParser parser = new IncrementalJsonArrayParser(objectMapper, nodes::add);
+
+        parser.feed("```json\n[{\"text\":\"进程是什么？\",\"options\":[{\"letter\":\"A\",\"text\":\"资源分配单位 {1}\"}],");
+        assertEquals(0, nodes.size());
+        parser.feed("\"answer\":\"A\"}");
+        assertEquals(1, nodes.size());
+        parser.feed(", {\"text\":\"引号 \\\"}]\\\" 不会打断解析\",\"answer\":\"对\"}]\n```");
+        parser.finish();
+
+        assertEquals(2, nodes.size());
+        assertEquals("A", nodes.get(0).path("options").path(0).path("letter").asText());
+        assertEquals("引号 \"}]\" 不会打断解析", nodes.get(1).path("text").asText());
+        assertEquals(0, parser.getMalformed());
+    }
+
+    @Test
+    void readsQuestionsWrapperAndSingleObject() {
+        List<JsonNode> wrapped = new ArrayList<>();
+        IncrementalJsonArrayParser wrapper = new IncrementalJsonArrayParser(objectMapper, wrapped::add);
+        feedByChar(wrapper, "说明文字 {\"count\":2,\"questions\":[{\"text\":\"a\",\"answer\":\"A\"},{\"text\":\"b\",\"answer\":\"B\"}]}");
+        wrapper.finish();
+
+        List<JsonNode> single = new ArrayList<>();
+        IncrementalJsonArrayParser object = new IncrementalJsonArrayParser(objectMapper, single::add);
+        feedByChar(object, "{\"text\":\"c\",\"options\":[{\"text\":\"x\"},{\"text\":\"y\"}],\"answer\":\"A\"}");
+        object.finish();
+
+        assertEquals(2, wrapped.size());
+        assertEquals("b", wrapped.get(1).path("text").asText());
+        assertEquals(1, single.size());
+        assertEquals(2, single.get(0).path("options").size());
+    }
+
+    @Test
+    void recoversFromMalformedObjectsAndTruncatedTail() {
+        List<JsonNode> nodes = new ArrayList<>();
+        IncrementalJsonArrayParser parser = new IncrementalJsonArrayParser(objectMapper, nodes::add);
+
+        parser.feed("[{\"text\":\"ok\",\"answer\":\"A\",}\n{\"text\": broken}\n{\"text\":\"多行\n题干\",\"answer\":\"B\"},");
+        parser.feed("{\"text\":\"被截断的题目\",\"answ");
+        parser.finish();
+
+        assertEquals(2, nodes.size());
+        assertEquals("多行\n题干", nodes.get(1).path("text").asText());
+        assertEquals(2, parser.getMalformed());
+    }
+
+    private void feedByChar(IncrementalJsonArrayParser parser, String text) {
+        for (int i = 0; i < text.length(); i++) {
+            parser.feed(text.substring(i, i + 1));
+        }
+    }
+}
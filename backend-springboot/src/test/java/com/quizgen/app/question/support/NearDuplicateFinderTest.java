@@ -0,0 +1,125 @@
+package com.quizgen.app.question.support;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class NearDuplicateFinderTest {
+
+    @Test
+    void groupsQuestionsThatDifferOnlyInPunctuationWhitespaceAndOptionOrder() {
+        char[] signatures = signatures(
+                MinHashSignature.compute("下列关于 TCP 三次握手的说法，哪一项是正确的？",
+                        List.of("客户端先发送 SYN", "服务器回复 SYN+ACK", "客户端最后发送 ACK", "以上都对")),
+                MinHashSignature.compute("下列关于TCP三次握手的说法哪一项是正确的",
+                        List.of("以上都对", "客户端最后发送ACK", "服务器回复SYN+ACK", "客户端先发送SYN")),
+                MinHashSignature.compute("进程和线程的主要区别是什么？",
+                        List.of("资源分配单位不同", "调度单位不同", "两者没有区别", "以上都不对")));
+
+        List<int[]> groups = NearDuplicateFinder.cluster(signatures, 3, 0.8);
+
+        assertEquals(1, groups.size());
+        assertTrue(Arrays.equals(new int[]{0, 1}, groups.get(0)));
+    }
+
+    @Test
+    void ignoresQuestionsWithoutSignatureContent() {
+        char[] signatures = signatures(
+                MinHashSignature.compute("？？？", List.of()),
+                MinHashSignature.compute("!!!", List.of()));
+
+        assertTrue(NearDuplicateFinder.cluster(signatures, 2, 0.8).isEmpty());
+    }
+
+    @Test
+    void benchmarkOneMillionSyntheticQuestions() {
+        assumeTrue(Boolean.getBoolean("quizgen.benchmark"));
+        int count = Integer.getInteger("quizgen.benchmark.size", 1_000_000);
+        int planted = count / 100;
+
+        long start = System.nanoTime();
+        String[] texts = new String[count];
+        List<List<String>> options = new ArrayList<>(Collections.nCopies(count, null));
+        SplittableRandom random = new SplittableRandom(42);
+        for (int i = 0; i < count - planted; i++) {
+            texts[i] = randomSentence(random, 30 + random.nextInt(20));
+            List<String> opts = new ArrayList<>();
+            for (int k = 0; k < 4; k++) {
+                opts.add(randomSentence(random, 6 + random.nextInt(6)));
+            }
+            options.set(i, opts);
+        }
+        Map<Integer, Integer> expected = new HashMap<>();
+        for (int i = count - planted; i < count; i++) {
+            int source = random.nextInt(count - planted);
+            char[] chars = texts[source].toCharArray();
+            chars[random.nextInt(chars.length)] = (char) (0x4E00 + random.nextInt(3000));
+            texts[i] = "  " + new String(chars).replace("，", " ") + "？";
+            List<String> shuffled = new ArrayList<>(options.get(source));
+            Collections.shuffle(shuffled, new Random(i));
+            options.set(i, shuffled);
+            expected.put(i, source);
+        }
+        long generated = System.nanoTime();
+
+        char[] signatures = new char[count * MinHashSignature.HASHES];
+        IntStream.range(0, count).parallel().forEach(i -> System.arraycopy(
+                MinHashSignature.compute(texts[i], options.get(i)), 0,
+                signatures, i * MinHashSignature.HASHES, MinHashSignature.HASHES));
+        long signed = System.nanoTime();
+
+        List<int[]> groups = NearDuplicateFinder.cluster(signatures, count, 0.8);
+        long clustered = System.nanoTime();
+
+        int[] groupOf = new int[count];
+        Arrays.fill(groupOf, -1);
+        for (int g = 0; g < groups.size(); g++) {
+            for (int member : groups.get(g)) {
+                groupOf[member] = g;
+            }
+        }
+        long found = expected.entrySet().stream()
+                .filter(e -> groupOf[e.getKey()] >= 0 && groupOf[e.getKey()] == groupOf[e.getValue()])
+                .count();
+        long falseGroups = groups.stream().filter(group -> group.length == 2 && !expected.containsKey(group[1])).count();
+
+        System.out.printf("near-duplicate benchmark: %d questions, generate %d ms, signatures %d ms, lsh %d ms, "
+                        + "groups %d, planted recall %.4f, unplanted groups %d%n",
+                count,
+                (generated - start) / 1_000_000,
+                (signed - generated) / 1_000_000,
+                (clustered - signed) / 1_000_000,
+                groups.size(),
+                (double) found / planted,
+                falseGroups);
+        assertTrue(found >= planted * 0.95);
+    }
+
+    private static char[] signatures(char[]... values) {
+        char[] signatures = new char[values.length * MinHashSignature.HASHES];
+        for (int i = 0; i < values.length; i++) {
+            System.arraycopy(values[i], 0, signatures, i * MinHashSignature.HASHES, MinHashSignature.HASHES);
+        }
+        return signatures;
+    }
+
+    private static String randomSentence(SplittableRandom random, int length) {
+        StringBuilder sb = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            sb.append(i > 0 && i % 12 == 0 ? '，' : (char) (0x4E00 + random.nextInt(3000)));
+        }
+        return sb.toString();
+    }
+}
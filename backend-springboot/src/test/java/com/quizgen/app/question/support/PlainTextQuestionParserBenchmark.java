@@ -0,0 +1,170 @@
+package com.quizgen.app.question.support;
+
+import com.quizgen.app.question.dto.QuestionOptionDto;
+import com.quizgen.app.question.dto.QuestionUpsertRequest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.util.StringUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class PlainTextQuestionParserBenchmark {
+
+    private static final String SYLLABLES = "数据结构算法网络协议操作系统进程线程内存管理编译原理数据库事务索引查询优化分布式一致性缓存并发";
+
+    @Param("52428800")
+    public int targetBytes;
+
+    private String content;
+    private byte[] utf8;
+
+    @Setup
+    public void setUp() {
+        content = textbookDump(targetBytes, 42L);
+        utf8 = content.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public int legacySplitAndRegex() {
+        return legacyParse(content).size();
+    }
+
+    @Benchmark
+    public int streamingScanner() throws IOException {
+        int[] count = {0};
+        PlainTextQuestionParser.parse(new StringReader(content), question -> count[0]++);
+        return count[0];
+    }
+
+    @Benchmark
+    public int legacyFromUtf8Bytes() {
+        return legacyParse(new String(utf8, StandardCharsets.UTF_8)).size();
+    }
+
+    @Benchmark
+    public int streamingFromUtf8Bytes() throws IOException {
+        int[] count = {0};
+        PlainTextQuestionParser.parse(new InputStreamReader(new ByteArrayInputStream(utf8), StandardCharsets.UTF_8),
+                question -> count[0]++);
+        return count[0];
+    }
+
+    static String textbookDump(int targetBytes, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        StringBuilder sb = new StringBuilder(targetBytes / 2);
+        int bytes = 0;
+        int number = 1;
+        while (bytes < targetBytes) {
+            int start = sb.length();
+            String newline = random.nextInt(10) == 0 ? "\r\n" : "\n";
+            sb.append(number++).append(random.nextBoolean() ? ". " : "、").append(sentence(random, 20 + random.nextInt(40))).append(newline);
+            int kind = random.nextInt(4);
+            if (kind < 2) {
+                int optionCount = 4 + random.nextInt(2);
+                for (int i = 0; i < optionCount; i++) {
+                    sb.append((char) ('A' + i)).append(random.nextBoolean() ? ". " : "、").append(sentence(random, 4 + random.nextInt(12))).append(newline);
+                }
+                sb.append(random.nextBoolean() ? "答案：" : "Answer: ").append(kind == 0 ? "B" : "A，C").append(newline);
+            } else if (kind == 2) {
+                sb.append("答案：").append(random.nextBoolean() ? "对" : "错").append(newline);
+            } else {
+                sb.append("答案：").append(sentence(random, 10 + random.nextInt(30))).append(newline);
+            }
+            if (random.nextInt(3) > 0) {
+                sb.append("解析：").append(sentence(random, 30 + random.nextInt(80))).append(newline);
+            }
+            sb.append(random.nextInt(5) == 0 ? "   " + newline + newline : newline);
+            bytes += (sb.length() - start) * 2;
+        }
+        return sb.toString();
+    }
+
+    private static String sentence(SplittableRandom random, int length) {
+        StringBuilder sb = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            int r = random.nextInt(20);
+            if (r == 0) {
+                sb.append('，');
+            } else if (r == 1) {
+                sb.append(' ').append((char) ('a' + random.nextInt(26)));
+            } else {
+                sb.append(SYLLABLES.charAt(random.nextInt(SYLLABLES.length())));
+            }
+        }
+        return sb.toString();
+    }
+
+    static List<QuestionUpsertRequest> legacyParse(String content) {
+        List<QuestionUpsertRequest> result = new ArrayList<>();
+        if (!StringUtils.hasText(content)) {
+            return result;
+        }
+        String[] blocks = content.split("\\r?\\n\\s*\\r?\\n");
+        for (String block : blocks) {
+            List<String> lines = Stream.of(block.split("\\r?\\n"))
+                    .map(String::trim).filter(s -> !s.isEmpty()).toList();
+            if (lines.isEmpty()) {
+                continue;
+            }
+
+            String text = lines.get(0).replaceFirst("^\\d+[\\.、\\)]\\s*", "");
+            String answer = null;
+            String explanation = null;
+            List<QuestionOptionDto> options = new ArrayList<>();
+
+            for (int i = 1; i < lines.size(); i++) {
+                String line = lines.get(i);
+                if (line.matches("^[A-H][\\.、:：\\)].+")) {
+                    QuestionOptionDto option = new QuestionOptionDto();
+                    option.setLetter(line.substring(0, 1));
+                    option.setText(line.substring(2).trim());
+                    options.add(option);
+                } else if (line.toLowerCase().startsWith("answer:") || line.startsWith("答案:") || line.startsWith("答案：")) {
+                    answer = line.substring(line.indexOf(':') >= 0 ? line.indexOf(':') + 1 : line.indexOf('：') + 1).trim();
+                } else if (line.toLowerCase().startsWith("explanation:") || line.startsWith("解析:") || line.startsWith("解析：")) {
+                    explanation = line.substring(line.indexOf(':') >= 0 ? line.indexOf(':') + 1 : line.indexOf('：') + 1).trim();
+                }
+            }
+
+            if (!StringUtils.hasText(answer)) {
+                continue;
+            }
+
+            QuestionUpsertRequest request = new QuestionUpsertRequest();
+            request.setText(text);
+            request.setAnswer(QuestionImportWriter.normalizeAnswer(answer));
+            request.setExplanation(explanation);
+            if (!options.isEmpty()) {
+                request.setOptions(options);
+                request.setType(request.getAnswer().contains(",") ? "多选题" : "单选题");
+            } else {
+                String normalized = request.getAnswer().toLowerCase();
+                if (normalized.equals("对") || normalized.equals("错") || normalized.equals("true") || normalized.equals("false")) {
+                    request.setType("判断题");
+                } else {
+                    request.setType("简答题");
+                }
+            }
+            result.add(request);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,150 @@
+package com.quizgen.app.question.support;
+
+import com.quizgen.app.question.dto.QuestionOptionDto;
+import com.quizgen.app.question.dto.QuestionUpsertRequest;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class PlainTextQuestionParserTest {
+
+    private static final String EDGE_CASES = String.join("\n",
+            "1) 下列哪个是 TCP 的特点？",
+            "A. 面向连接",
+            "B、 无连接",
+            "C:",
+            "D） 全角括号不是选项",
+            "E) 尽力而为",
+            "answer: a ， b",
+            "Explanation: 可靠传输",
+            "  \t ",
+            "",
+            "2.HTTP 是无状态协议",
+            "答案:对",
+            "\r",
+            "没有答案的块会被忽略",
+            "A. 选项",
+            "",
+            "",
+            "12、 简述进程与线程的区别",
+            "解析：第一个解析",
+            "答案：进程是资源分配单位：线程是调度单位",
+            "解析:覆盖前面的解析",
+            "   ",
+            "　全角空格开头的题目",
+            "答案：TRUE",
+            "\u0001",
+            "A.不是选项，因为在题干之后第一行才算",
+            "答案：C");
+
+    @Test
+    void matchesLegacySplitAndRegexParser() throws IOException {
+        String content = PlainTextQuestionParserBenchmark.textbookDump(2 * 1024 * 1024, 7L) + "\n\n" + EDGE_CASES;
+
+        List<QuestionUpsertRequest> expected = PlainTextQuestionParserBenchmark.legacyParse(content);
+        List<QuestionUpsertRequest> actual = PlainTextQuestionParser.parse(content);
+        List<QuestionUpsertRequest> streamed = new ArrayList<>();
+        PlainTextQuestionParser.parse(new TrickleReader(content), streamed::add);
+
+        assertEquals(describe(expected), describe(actual));
+        assertEquals(describe(expected), describe(streamed));
+    }
+
+    @Test
+    void honoursExplicitTypeMarkers() {
+        List<QuestionUpsertRequest> parsed = PlainTextQuestionParser.parse(String.join("\n",
+                "1. 【多选题】以下哪些是关系型数据库？",
+                "A. MySQL",
+                "B. PostgreSQL",
+                "答案：AB",
+                "",
+                "2. [简答题] 对",
+                "答案：对",
+                "",
+                "3. 题干中的 (单选题) 不是标记",
+                "题型：判断题",
+                "答案：错",
+                "",
+                "4. (填空题) 未知题型保持原样",
+                "题型：填空题",
+                "答案：x"));
+
+        assertEquals(List.of("多选题", "简答题", "判断题", "简答题"), parsed.stream().map(QuestionUpsertRequest::getType).toList());
+        assertEquals("以下哪些是关系型数据库？", parsed.get(0).getText());
+        assertEquals("对", parsed.get(1).getText());
+        assertEquals("题干中的 (单选题) 不是标记", parsed.get(2).getText());
+        assertEquals("(填空题) 未知题型保持原样", parsed.get(3).getText());
+        assertNull(parsed.get(3).getOptions());
+    }
+
+    @Test
+    void benchmarkFiftyMegabyteTextbookDump() throws RunnerException {
+        assumeTrue(Boolean.getBoolean("quizgen.benchmark"));
+        Options options = new OptionsBuilder()
+                .include(PlainTextQuestionParserBenchmark.class.getName())
+                .param("targetBytes", String.valueOf(Integer.getInteger("quizgen.benchmark.bytes", 50 * 1024 * 1024)))
+                .forks(1)
+                .jvmArgsAppend("-Xmx4g")
+                .warmupIterations(2)
+                .measurementIterations(5)
+                .build();
+        new Runner(options).run();
+    }
+
+    private static List<String> describe(List<QuestionUpsertRequest> questions) {
+        List<String> lines = new ArrayList<>(questions.size());
+        for (QuestionUpsertRequest question : questions) {
+            StringBuilder sb = new StringBuilder()
+                    .append(question.getType()).append('|')
+                    .append(question.getText()).append('|')
+                    .append(question.getAnswer()).append('|')
+                    .append(question.getExplanation());
+            if (question.getOptions() != null) {
+                for (QuestionOptionDto option : question.getOptions()) {
+                    sb.append('|').append(option.getLetter()).append('=').append(option.getText());
+                }
+            }
+            lines.add(sb.toString());
+        }
+        return lines;
+    }
+
+    private static final class TrickleReader extends Reader {
+
+        private final String content;
+        private int pos;
+        private int step;
+
+        private TrickleReader(String content) {
+            this.content = content;
+        }
+
+        @Override
+        public int read(char[] buffer, int offset, int length) {
+            if (pos >= content.length()) {
+                return -1;
+            }
+            step = step % 7 + 1;
+            int count = Math.min(Math.min(length, step), content.length() - pos);
+            content.getChars(pos, pos + count, buffer, offset);
+            pos += count;
+            return count;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
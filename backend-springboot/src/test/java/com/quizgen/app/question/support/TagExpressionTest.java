@@ -0,0 +1,106 @@
+package com.quizgen.app.question.support;
+
+import com.quizgen.app.common.error.BusinessException;
+import org.junit.jupiter.api.Test;
+import org.roaringbitmap.longlong.Roaring64NavigableMap;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class TagExpressionTest {
+
+    private static final Roaring64NavigableMap UNIVERSE = Roaring64NavigableMap.bitmapOf(1, 2, 3, 4, 5, 6);
+    private static final Map<String, Roaring64NavigableMap> TAGS = Map.of(
+            "java", Roaring64NavigableMap.bitmapOf(1, 2, 3),
+            "spring", Roaring64NavigableMap.bitmapOf(2, 3, 4),
+            "db", Roaring64NavigableMap.bitmapOf(4, 5),
+            "legacy", Roaring64NavigableMap.bitmapOf(3),
+            "spring boot", Roaring64NavigableMap.bitmapOf(6));
+
+    @Test
+    void evaluatesOperatorsWithPrecedenceAndCaseFolding() {
+        Object[][] cases = {
+                {"java", new long[]{1, 2, 3}},
+                {"JAVA", new long[]{1, 2, 3}},
+                {"java,db", new long[]{1, 2, 3, 4, 5}},
+                {"java | db", new long[]{1, 2, 3, 4, 5}},
+                {"java & spring", new long[]{2, 3}},
+                {"java & !legacy", new long[]{1, 2}},
+                {"!java", new long[]{4, 5, 6}},
+                {"!!java", new long[]{1, 2, 3}},
+                {"java | spring & db", new long[]{1, 2, 3, 4}},
+                {"(java | spring) & db", new long[]{4}},
+                {"  Spring & ( DB , Legacy ) ", new long[]{3, 4}},
+                {"Spring Boot | legacy", new long[]{3, 6}},
+                {"java,", new long[]{1, 2, 3}},
+                {"unknown", new long[]{}},
+                {"unknown | db", new long[]{4, 5}},
+                {"unknown & java", new long[]{}},
+        };
+        for (Object[] c : cases) {
+            TagExpression expression = TagExpression.parse((String) c[0]);
+            Roaring64NavigableMap result = expression.evaluate(
+                    name -> TAGS.get(TagDictionary.key(name)), UNIVERSE);
+
+            assertArrayEquals((long[]) c[1], result.toArray(), (String) c[0]);
+        }
+    }
+
+    @Test
+    void doesNotMutateLookupBitmaps() {
+        TagExpression.parse("!java & spring | legacy").evaluate(name -> TAGS.get(TagDictionary.key(name)), UNIVERSE);
+
+        assertArrayEquals(new long[]{1, 2, 3}, TAGS.get("java").toArray());
+        assertArrayEquals(new long[]{2, 3, 4}, TAGS.get("spring").toArray());
+        assertArrayEquals(new long[]{1, 2, 3, 4, 5, 6}, UNIVERSE.toArray());
+    }
+
+    @Test
+    void rendersExistsFallbackWithPositionalArgs() {
+        Object[][] cases = {
+                {"Java", "EX0", List.of("Java")},
+                {"java & !legacy", "(EX0 AND NOT EX1)", List.of("java", "legacy")},
+                {"(java | spring) & db", "((EX0 OR EX1) AND EX2)", List.of("java", "spring", "db")},
+                {"java, spring boot", "(EX0 OR EX1)", List.of("java", "spring boot")},
+        };
+        for (Object[] c : cases) {
+            List<Object> args = new ArrayList<>();
+            String sql = TagExpression.parse((String) c[0]).toSql("q.id", args);
+
+            assertEquals(expand((String) c[1]), sql, (String) c[0]);
+            assertEquals(c[2], args, (String) c[0]);
+        }
+    }
+
+    @Test
+    void returnsNullForBlankExpressions() {
+        assertNull(TagExpression.parse(null));
+        assertNull(TagExpression.parse(""));
+        assertNull(TagExpression.parse("   "));
+    }
+
+    @Test
+    void rejectsMalformedExpressions() {
+        String[] cases = {"java &", "& java", "(java", "java)", "()", "!", ",", "java & (spring |", "java db)"};
+        for (String c : cases) {
+            BusinessException ex = assertThrows(BusinessException.class, () -> TagExpression.parse(c), c);
+
+            assertEquals(40008, ex.getCode(), c);
+        }
+    }
+
+    private static String expand(String template) {
+        String sql = template;
+        for (int i = 2; i >= 0; i--) {
+            sql = sql.replace("EX" + i, "EXISTS (SELECT 1 FROM question_tag_rel r JOIN question_tag t ON t.id = r.tag_id "
+                    + "WHERE r.question_id = q.id AND t.name = {" + i + "})");
+        }
+        return sql;
+    }
+}
@@ -0,0 +1,54 @@
+package com.quizgen.app.search.support;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class CjkBigramTokenizerTest {
+
+    @Test
+    void splitsQueriesIntoLatinWordsAndCjkBigrams() {
+        Object[][] cases = {
+                {"Java线程池", List.of("java", "线程", "程池")},
+                {"Ｊａｖａ 进程", List.of("java", "进程")},
+                {"TCP/IP协议v2", List.of("tcp", "ip", "协议", "v2")},
+                {"锁", List.of("锁")},
+                {"线程 线程", List.of("线程")},
+                {"カタカナ構造", List.of("カタ", "タカ", "カナ", "ナ構", "構造")},
+                {"Redis的缓存 & DB", List.of("redis", "的缓", "缓存", "db")},
+                {"  ,;  ", List.of()},
+                {null, List.of()},
+        };
+        for (Object[] c : cases) {
+            assertEquals(c[1], CjkBigramTokenizer.queryTerms((String) c[0]), String.valueOf(c[0]));
+        }
+    }
+
+    @Test
+    void indexesCjkUnigramsAndBigramsWithWeights() {
+        Map<String, Integer> termFreqs = new HashMap<>();
+
+        assertEquals(7, CjkBigramTokenizer.collect("Java线程池 JAVA", 2, termFreqs));
+        assertEquals(Map.of("java", 4, "线", 2, "程", 2, "池", 2, "线程", 2, "程池", 2), termFreqs);
+
+        assertEquals(2, CjkBigramTokenizer.collect("锁 java", 1, termFreqs));
+        assertEquals(5, termFreqs.get("java"));
+        assertEquals(1, termFreqs.get("锁"));
+    }
+
+    @Test
+    void highlightsWholeRunsBeforeBigrams() {
+        Object[][] cases = {
+                {"Java 线程池", List.of("java", "线程池", "线程", "程池")},
+                {"死锁", List.of("死锁")},
+                {"HTTP/2", List.of("http", "2")},
+        };
+        for (Object[] c : cases) {
+            assertEquals(c[1], CjkBigramTokenizer.highlightTerms((String) c[0]), (String) c[0]);
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.quizgen.app.search.support;
+
+import com.quizgen.app.search.dto.SearchHit;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class InvertedIndexTest {
+
+    @Test
+    void ranksMixedTextWithBm25AndRequiresEveryClause() {
+        InvertedIndex index = new InvertedIndex();
+        add(index, 1L, "Java线程池原理");
+        add(index, 2L, "Java 内存模型");
+        add(index, 3L, "线程安全与锁");
+        add(index, 4L, "线程 线程 线程 调度");
+
+        Object[][] cases = {
+                {"java线程", List.of(1L)},
+                {"线程", List.of(4L, 1L, 3L)},
+                {"JAVA", List.of(2L, 1L)},
+                {"jav", List.of(2L, 1L)},
+                {"线", List.of(4L, 1L, 3L)},
+                {"程池原", List.of(1L)},
+                {"内存 锁", List.of()},
+                {"python", List.of()},
+                {"", List.of()},
+        };
+        for (Object[] c : cases) {
+            assertEquals(c[1], ids(index.search(CjkBigramTokenizer.queryTerms((String) c[0]))), (String) c[0]);
+        }
+    }
+
+    @Test
+    void prefersHigherTermFrequencyThenShorterDocumentsThenHigherId() {
+        InvertedIndex index = new InvertedIndex();
+        index.add(1L, Map.of("cache", 1), 10);
+        index.add(2L, Map.of("cache", 3), 10);
+        index.add(3L, Map.of("cache", 1), 4);
+        index.add(4L, Map.of("cache", 1), 10);
+        index.add(5L, Map.of("other", 1), 10);
+
+        List<SearchHit> hits = index.search(List.of("cache"));
+
+        assertEquals(List.of(2L, 3L, 4L, 1L), ids(hits));
+        assertTrue(hits.get(0).getScore() > hits.get(1).getScore());
+        assertTrue(hits.get(1).getScore() > hits.get(2).getScore());
+        assertEquals(hits.get(2).getScore(), hits.get(3).getScore());
+    }
+
+    @Test
+    void replacesAndRemovesDocuments() {
+        InvertedIndex index = new InvertedIndex();
+        index.add(1L, Map.of("redis", 1), 5);
+        index.add(2L, Map.of("redis", 1), 5);
+        index.add(1L, Map.of("mysql", 1), 5);
+
+        assertEquals(2, index.size());
+        assertEquals(List.of(2L), ids(index.search(List.of("redis"))));
+        assertEquals(List.of(1L), ids(index.search(List.of("mysql"))));
+
+        index.remove(2L);
+        index.remove(99L);
+
+        assertEquals(1, index.size());
+        assertEquals(List.of(), ids(index.search(List.of("redis"))));
+    }
+
+    private static void add(InvertedIndex index, long id, String text) {
+        Map<String, Integer> termFreqs = new HashMap<>();
+        int length = CjkBigramTokenizer.collect(text, 1, termFreqs);
+        index.add(id, termFreqs, length);
+    }
+
+    private static List<Long> ids(List<SearchHit> hits) {
+        return hits.stream().map(SearchHit::getQuestionId).toList();
+    }
+}